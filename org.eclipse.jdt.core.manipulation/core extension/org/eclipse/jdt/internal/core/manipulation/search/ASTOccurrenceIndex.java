@@ -0,0 +1,382 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Assignment;
+import org.eclipse.jdt.core.dom.ClassInstanceCreation;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.Expression;
+import org.eclipse.jdt.core.dom.FieldAccess;
+import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.ImportDeclaration;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.Name;
+import org.eclipse.jdt.core.dom.NameQualifiedType;
+import org.eclipse.jdt.core.dom.ParameterizedType;
+import org.eclipse.jdt.core.dom.PostfixExpression;
+import org.eclipse.jdt.core.dom.PrefixExpression;
+import org.eclipse.jdt.core.dom.QualifiedName;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.SimpleType;
+import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
+import org.eclipse.jdt.core.dom.Type;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+
+import org.eclipse.jdt.internal.corext.dom.Bindings;
+
+/**
+ * An index of the names in a compilation unit AST by the key of the declaration they refer to,
+ * and of the method declarations with the methods they override. The index is shared by all
+ * clients of that AST, e.g. the {@link OccurrencesFinder} and the override indicators of the Java
+ * editor. It is stored as a property of the AST root, so it lives as long as the AST.
+ * <p>
+ * The parts of the index are built when they are first asked for: the names with a traversal that
+ * resolves their bindings, the method declarations with a traversal that resolves nothing, unless
+ * the names have been indexed already.
+ * </p>
+ * <p>
+ * The names are recorded in the order in which the {@link OccurrencesFinder} visits them.
+ * </p>
+ *
+ * @since 1.18
+ */
+public final class ASTOccurrenceIndex {
+
+	/**
+	 * A name with the binding it refers to.
+	 */
+	public static final class Occurrence {
+		private final Name fName;
+		private final IBinding fBinding;
+
+		Occurrence(Name name, IBinding binding) {
+			fName= name;
+			fBinding= binding;
+		}
+
+		/**
+		 * @return the name
+		 */
+		public Name getName() {
+			return fName;
+		}
+
+		/**
+		 * @return the declaration of the binding the name refers to
+		 */
+		public IBinding getBinding() {
+			return fBinding;
+		}
+	}
+
+	private static final String PROPERTY= ASTOccurrenceIndex.class.getName();
+
+	private final Map<String, List<Occurrence>> fOccurrences= new HashMap<>();
+	private final Set<Name> fWrites= new HashSet<>();
+	/* qualified names of fields, they hide their qualifier if their name is an occurrence */
+	private final Set<QualifiedName> fQualifiedFieldNames= new HashSet<>();
+	private final List<MethodDeclaration> fMethodDeclarations= new ArrayList<>();
+	private final Map<MethodDeclaration, IMethodBinding> fOverriddenMethods= new HashMap<>();
+	private final CompilationUnit fRoot;
+	/* whether the names have been indexed */
+	private volatile boolean fBuilt;
+	/* whether the method declarations have been collected */
+	private volatile boolean fMethodsBuilt;
+	private int fQueries;
+
+	private ASTOccurrenceIndex(CompilationUnit root) {
+		fRoot= root;
+	}
+
+	/**
+	 * Returns the index of an AST. The parts of the index are built when they are first asked for.
+	 *
+	 * @param root the AST
+	 * @return the index
+	 */
+	public static ASTOccurrenceIndex get(CompilationUnit root) {
+		return getIndex(root);
+	}
+
+	/**
+	 * Returns the index of an AST for an occurrences query. A single query is answered faster by
+	 * traversing the AST, so the names are only indexed when the AST is queried again or when they
+	 * have already been indexed for another client.
+	 *
+	 * @param root the AST
+	 * @return the index, or <code>null</code> if the query should traverse the AST
+	 */
+	public static ASTOccurrenceIndex getForQuery(CompilationUnit root) {
+		ASTOccurrenceIndex index= getIndex(root);
+		synchronized (index) {
+			if (!index.fBuilt && ++index.fQueries == 1)
+				return null;
+		}
+		index.build();
+		return index;
+	}
+
+	private static ASTOccurrenceIndex getIndex(CompilationUnit root) {
+		// the AST is shared by several threads, but only this class uses the property
+		synchronized (root) {
+			ASTOccurrenceIndex index= (ASTOccurrenceIndex) root.getProperty(PROPERTY);
+			if (index == null) {
+				index= new ASTOccurrenceIndex(root);
+				root.setProperty(PROPERTY, index);
+			}
+			return index;
+		}
+	}
+
+	private synchronized void build() {
+		if (!fBuilt) {
+			fRoot.accept(new Builder());
+			fBuilt= true;
+			fMethodsBuilt= true;
+		}
+	}
+
+	private synchronized void buildMethodDeclarations() {
+		if (!fMethodsBuilt) {
+			fRoot.accept(new ASTVisitor() {
+				@Override
+				public boolean visit(MethodDeclaration node) {
+					fMethodDeclarations.add(node);
+					return true;
+				}
+			});
+			fMethodsBuilt= true;
+		}
+	}
+
+	/**
+	 * Returns the names that refer to the declaration with the given key, in traversal order.
+	 *
+	 * @param key the key of the declaration binding
+	 * @return the occurrences
+	 */
+	public List<Occurrence> getOccurrences(String key) {
+		if (!fBuilt)
+			build();
+		List<Occurrence> occurrences= fOccurrences.get(key);
+		return occurrences == null ? Collections.emptyList() : occurrences;
+	}
+
+	/**
+	 * Returns whether a name is written to, i.e. it is the target of an assignment, an increment or
+	 * decrement, or the name of an initialized variable declaration.
+	 *
+	 * @param name the name
+	 * @return <code>true</code> if the name is a write access
+	 */
+	public boolean isWrite(Name name) {
+		if (!fBuilt)
+			build();
+		return fWrites.contains(name);
+	}
+
+	/**
+	 * Returns whether a traversal that stops at occurrences does not reach a name, because it is
+	 * part of an enclosing qualified name that is an occurrence itself.
+	 *
+	 * @param name the name
+	 * @param occurrences the names that are occurrences
+	 * @return <code>true</code> if the name is hidden by an enclosing occurrence
+	 */
+	public boolean isHidden(Name name, Set<Name> occurrences) {
+		if (!fBuilt)
+			build();
+		ASTNode child= name;
+		ASTNode parent= name.getParent();
+		while (parent instanceof QualifiedName) {
+			QualifiedName qualifiedName= (QualifiedName) parent;
+			if (fQualifiedFieldNames.contains(qualifiedName)) {
+				if (child == qualifiedName.getQualifier() && occurrences.contains(qualifiedName.getName()))
+					return true;
+			} else if (occurrences.contains(qualifiedName)) {
+				return true;
+			}
+			child= parent;
+			parent= parent.getParent();
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the method declarations of the AST. Asking for them does not index the names.
+	 *
+	 * @return the method declarations of the AST
+	 */
+	public List<MethodDeclaration> getMethodDeclarations() {
+		if (!fMethodsBuilt)
+			buildMethodDeclarations();
+		return Collections.unmodifiableList(fMethodDeclarations);
+	}
+
+	/**
+	 * Returns the method that a method declaration overrides or implements, see
+	 * {@link Bindings#findOverriddenMethod(IMethodBinding, boolean)}. The result is computed once.
+	 *
+	 * @param declaration the method declaration
+	 * @return the overridden method, or <code>null</code>
+	 */
+	public IMethodBinding getOverriddenMethod(MethodDeclaration declaration) {
+		synchronized (fOverriddenMethods) {
+			if (fOverriddenMethods.containsKey(declaration))
+				return fOverriddenMethods.get(declaration);
+		}
+		IMethodBinding binding= declaration.resolveBinding();
+		IMethodBinding overridden= binding == null ? null : Bindings.findOverriddenMethod(binding, true);
+		synchronized (fOverriddenMethods) {
+			fOverriddenMethods.put(declaration, overridden);
+		}
+		return overridden;
+	}
+
+	static IBinding getBindingDeclaration(IBinding binding) {
+		switch (binding.getKind()) {
+			case IBinding.TYPE :
+				return ((ITypeBinding)binding).getTypeDeclaration();
+			case IBinding.METHOD :
+				return ((IMethodBinding)binding).getMethodDeclaration();
+			case IBinding.VARIABLE :
+				return ((IVariableBinding)binding).getVariableDeclaration();
+			default:
+				return binding;
+		}
+	}
+
+	/**
+	 * Records the names like {@link OccurrencesFinder} visits them, for any target.
+	 */
+	private class Builder extends ASTVisitor {
+
+		Builder() {
+			super(true);
+		}
+
+		private void addOccurrence(Name name, IBinding binding) {
+			if (binding == null)
+				return;
+			IBinding declaration= getBindingDeclaration(binding);
+			String key= declaration.getKey();
+			if (key != null)
+				fOccurrences.computeIfAbsent(key, k -> new ArrayList<>()).add(new Occurrence(name, declaration));
+		}
+
+		private void addWrite(Name name) {
+			if (name != null)
+				fWrites.add(name);
+		}
+
+		@Override
+		public boolean visit(QualifiedName node) {
+			IBinding binding= node.resolveBinding();
+			if (binding instanceof IVariableBinding && ((IVariableBinding) binding).isField()) {
+				// the name is recorded when visited
+				fQualifiedFieldNames.add(node);
+			} else if (!(binding instanceof IMethodBinding && node.getParent() instanceof ImportDeclaration)) {
+				addOccurrence(node, binding);
+			}
+			return true;
+		}
+
+		@Override
+		public boolean visit(SimpleName node) {
+			addOccurrence(node, node.resolveBinding());
+			return true;
+		}
+
+		@Override
+		public boolean visit(ClassInstanceCreation node) {
+			Type type= node.getType();
+			if (type instanceof ParameterizedType) {
+				type= ((ParameterizedType) type).getType();
+			}
+			if (type instanceof SimpleType) {
+				Name name= ((SimpleType) type).getName();
+				if (name instanceof QualifiedName)
+					name= ((QualifiedName)name).getName();
+				addOccurrence(name, node.resolveConstructorBinding());
+			} else if (type instanceof NameQualifiedType) {
+				addOccurrence(((NameQualifiedType) type).getName(), node.resolveConstructorBinding());
+			}
+			return true;
+		}
+
+		@Override
+		public boolean visit(Assignment node) {
+			addWrite(getSimpleName(node.getLeftHandSide()));
+			return true;
+		}
+
+		@Override
+		public boolean visit(SingleVariableDeclaration node) {
+			addWrite(node.getName());
+			return true;
+		}
+
+		@Override
+		public boolean visit(VariableDeclarationFragment node) {
+			if (node.getParent() instanceof FieldDeclaration || node.getInitializer() != null)
+				addWrite(node.getName());
+			return true;
+		}
+
+		@Override
+		public boolean visit(PrefixExpression node) {
+			PrefixExpression.Operator operator= node.getOperator();
+			if (operator == PrefixExpression.Operator.INCREMENT || operator == PrefixExpression.Operator.DECREMENT)
+				addWrite(getSimpleName(node.getOperand()));
+			return true;
+		}
+
+		@Override
+		public boolean visit(PostfixExpression node) {
+			addWrite(getSimpleName(node.getOperand()));
+			return true;
+		}
+
+		@Override
+		public boolean visit(MethodDeclaration node) {
+			if (!fMethodsBuilt)
+				fMethodDeclarations.add(node);
+			return true;
+		}
+
+		private SimpleName getSimpleName(Expression expression) {
+			if (expression instanceof SimpleName)
+				return ((SimpleName)expression);
+			else if (expression instanceof QualifiedName)
+				return (((QualifiedName) expression).getName());
+			else if (expression instanceof FieldAccess)
+				return ((FieldAccess)expression).getName();
+			return null;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -49,6 +49,7 @@ import org.eclipse.jdt.core.dom.Type;
 import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 
 import org.eclipse.jdt.internal.core.manipulation.Messages;
+import org.eclipse.jdt.internal.core.manipulation.search.ASTOccurrenceIndex.Occurrence;
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.dom.ASTNodes;
 import org.eclipse.jdt.internal.corext.dom.Bindings;
@@ -102,10 +103,50 @@ public class OccurrencesFinder extends ASTVisitor implements IOccurrencesFinder
 		if (fResult == null) {
 			fResult= new ArrayList<>();
 			fWriteUsages= new HashSet<>();
-			fRoot.accept(this);
+			if (!performIndexedSearch())
+				fRoot.accept(this);
 		}
 	}
 
+	/**
+	 * Looks up the occurrences in the {@link ASTOccurrenceIndex} of the AST. Static methods are
+	 * not indexed since static imports refer to all methods of the same name. The first query on an
+	 * AST is not indexed either, see {@link ASTOccurrenceIndex#getForQuery(CompilationUnit)}.
+	 *
+	 * @return <code>false</code> if the target cannot be looked up
+	 */
+	private boolean performIndexedSearch() {
+		if (fTargetIsStaticMethodImport || (fTarget instanceof IMethodBinding && Modifier.isStatic(fTarget.getModifiers())))
+			return false;
+		String key= fTarget.getKey();
+		if (key == null)
+			return false;
+		ASTOccurrenceIndex index= ASTOccurrenceIndex.getForQuery(fRoot);
+		if (index == null)
+			return false;
+		List<Occurrence> occurrences= index.getOccurrences(key);
+		Set<Name> names= new HashSet<>();
+		for (Occurrence occurrence : occurrences) {
+			if (Bindings.equals(occurrence.getBinding(), fTarget))
+				names.add(occurrence.getName());
+		}
+		for (Occurrence occurrence : occurrences) {
+			Name name= occurrence.getName();
+			if (!names.contains(name) || index.isHidden(name, names))
+				continue;
+			int flag= 0;
+			String description= fReadDescription;
+			if (fTarget instanceof IVariableBinding) {
+				boolean isWrite= index.isWrite(name);
+				flag= isWrite ? F_WRITE_OCCURRENCE : F_READ_OCCURRENCE;
+				if (isWrite)
+					description= fWriteDescription;
+			}
+			fResult.add(new OccurrenceLocation(name.getStartPosition(), name.getLength(), flag, description));
+		}
+		return true;
+	}
+
 	@Override
 	public OccurrenceLocation[] getOccurrences() {
 		performSearch();
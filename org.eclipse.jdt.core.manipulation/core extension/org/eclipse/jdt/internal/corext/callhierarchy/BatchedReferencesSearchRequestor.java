@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+/**
+ * Collects the callers of several members that are searched with one OR pattern. A match is
+ * attributed to the searched member whose name occurs in the matched source range, so the names
+ * of the searched members must be distinct.
+ *
+ * @since 1.18
+ */
+class BatchedReferencesSearchRequestor extends SearchRequestor {
+
+	private final Map<String, IMember> fMembers= new HashMap<>();
+	private final Map<String, MethodReferencesSearchRequestor> fRequestors= new HashMap<>();
+	private boolean fHasUnattributedMatches;
+
+	/**
+	 * Adds a member to the batch.
+	 *
+	 * @param member the searched member, must not have the name of another member in the batch
+	 */
+	void addMember(IMember member) {
+		String name= member.getElementName();
+		IMember previous= fMembers.put(name, member);
+		if (previous != null) {
+			throw new IllegalArgumentException("duplicate name: " + name); //$NON-NLS-1$
+		}
+		fRequestors.put(name, new MethodReferencesSearchRequestor());
+	}
+
+	boolean containsName(String name) {
+		return fMembers.containsKey(name);
+	}
+
+	int size() {
+		return fMembers.size();
+	}
+
+	Iterable<IMember> getMembers() {
+		return fMembers.values();
+	}
+
+	/**
+	 * Returns the callers of a member in the batch.
+	 *
+	 * @param member the searched member
+	 * @return a map from handle identifier ({@link String}) to {@link MethodCall}
+	 */
+	Map<String, MethodCall> getCallers(IMember member) {
+		return fRequestors.get(member.getElementName()).getCallers();
+	}
+
+	/**
+	 * Returns whether a match could not be attributed to a searched member, e.g. because the
+	 * source of the match is not available. The batch has to be searched member by member in this
+	 * case.
+	 *
+	 * @return <code>true</code> if the collected callers are incomplete
+	 */
+	boolean hasUnattributedMatches() {
+		return fHasUnattributedMatches;
+	}
+
+	@Override
+	public void acceptSearchMatch(SearchMatch match) {
+		if (fHasUnattributedMatches) {
+			return;
+		}
+		String name= findSearchedName(match);
+		if (name == null) {
+			fHasUnattributedMatches= true;
+			return;
+		}
+		fRequestors.get(name).acceptSearchMatch(match);
+	}
+
+	private String findSearchedName(SearchMatch match) {
+		if (fMembers.size() == 1) {
+			return fMembers.keySet().iterator().next();
+		}
+		if (!(match.getElement() instanceof IJavaElement) || match.getOffset() < 0) {
+			return null;
+		}
+		IOpenable openable= ((IJavaElement) match.getElement()).getOpenable();
+		try {
+			IBuffer buffer= openable != null ? openable.getBuffer() : null;
+			if (buffer == null || match.getOffset() + match.getLength() > buffer.getLength()) {
+				return null;
+			}
+			String text= buffer.getText(match.getOffset(), match.getLength());
+			String found= null;
+			int i= 0;
+			while (i < text.length()) {
+				if (Character.isJavaIdentifierStart(text.charAt(i))) {
+					int start= i;
+					while (i < text.length() && Character.isJavaIdentifierPart(text.charAt(i))) {
+						i++;
+					}
+					String identifier= text.substring(start, i);
+					if (fMembers.containsKey(identifier)) {
+						if (found != null && !found.equals(identifier)) {
+							return null;
+						}
+						found= identifier;
+					}
+				} else {
+					i++;
+				}
+			}
+			return found;
+		} catch (JavaModelException e) {
+			return null;
+		}
+	}
+}
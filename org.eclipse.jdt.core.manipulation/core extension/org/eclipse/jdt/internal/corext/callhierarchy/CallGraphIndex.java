@@ -0,0 +1,891 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.ExpressionMethodReference;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.SuperMethodInvocation;
+import org.eclipse.jdt.core.dom.SuperMethodReference;
+import org.eclipse.jdt.core.dom.TypeMethodReference;
+import org.eclipse.jdt.core.manipulation.JavaManipulation;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+
+/**
+ * An index of the method calls in the source compilation units of the workspace. For every
+ * compilation unit, the index stores the calls made by its members (their callees) with their
+ * source locations; the callers of a method are derived from that. The index is stored in the
+ * state location of the plug-in and updated in the background when compilation units change.
+ * <p>
+ * The index is only used if the preference {@link CallHierarchyCore#PREF_USE_CALL_GRAPH_INDEX}
+ * is set. Calls are attributed to the method the compiler binds them to. Constructor calls and
+ * calls from binaries are not indexed, and neither are the callees of a member: they are found by
+ * parsing the member, which is fast.
+ * </p>
+ * <p>
+ * The caller of a call is the innermost member of the Java model that encloses it. Unlike the
+ * search engine, which reports a call inside a lambda expression as a call of the lambda method,
+ * the index attributes it to the member that declares the lambda expression. Calls in anonymous
+ * and local types are attributed to their methods, like the search does.
+ * </p>
+ * <p>
+ * When the members of a compilation unit change, the units that call into it are indexed again.
+ * When types are added or removed, or their super types change, the units that reference these
+ * types by name are indexed again, as their calls may bind to other methods now. The index does
+ * not answer queries until that is done.
+ * </p>
+ *
+ * @since 1.18
+ */
+public final class CallGraphIndex implements IElementChangedListener {
+
+	/**
+	 * A call of a method.
+	 */
+	private static final class Call {
+		final String fCaller;
+		final String fCallee;
+		final int fStart;
+		final int fEnd;
+		final int fLine;
+		/** The accuracy of the call, see {@link SearchMatch#getAccuracy()}. */
+		final int fAccuracy;
+
+		/*
+		 * The handles are interned, as the same members call and are called many times.
+		 */
+		Call(String caller, String callee, int start, int end, int line, int accuracy) {
+			fCaller= caller.intern();
+			fCallee= callee.intern();
+			fStart= start;
+			fEnd= end;
+			fLine= line;
+			fAccuracy= accuracy;
+		}
+	}
+
+	/**
+	 * The calls made in one compilation unit.
+	 */
+	private static final class UnitEntry {
+		final long fModificationStamp;
+		final Call[] fCalls;
+		/** The types declared in the unit, see {@link CallCollector#describe(AbstractTypeDeclaration)}. */
+		final String[] fTypes;
+
+		UnitEntry(long modificationStamp, Call[] calls, String[] types) {
+			fModificationStamp= modificationStamp;
+			fCalls= calls;
+			fTypes= types;
+		}
+	}
+
+	/**
+	 * Collects the method calls of a compilation unit.
+	 */
+	private static final class CallCollector extends ASTVisitor {
+		private final ICompilationUnit fUnit;
+		private final CompilationUnit fAST;
+		private final List<Call> fCalls= new ArrayList<>();
+		private final List<String> fTypes= new ArrayList<>();
+
+		CallCollector(ICompilationUnit unit, CompilationUnit ast) {
+			fUnit= unit;
+			fAST= ast;
+		}
+
+		Call[] getCalls() {
+			return fCalls.toArray(new Call[fCalls.size()]);
+		}
+
+		String[] getTypes() {
+			return fTypes.toArray(new String[fTypes.size()]);
+		}
+
+		@Override
+		public void preVisit(ASTNode node) {
+			if (node instanceof AbstractTypeDeclaration) {
+				fTypes.add(describe((AbstractTypeDeclaration) node));
+			}
+		}
+
+		/**
+		 * Describes a type by its simple name followed by the qualified names of its super types.
+		 *
+		 * @param declaration the type declaration
+		 * @return the description
+		 */
+		static String describe(AbstractTypeDeclaration declaration) {
+			StringBuilder buf= new StringBuilder(declaration.getName().getIdentifier());
+			ITypeBinding binding= declaration.resolveBinding();
+			if (binding != null) {
+				ITypeBinding superclass= binding.getSuperclass();
+				if (superclass != null) {
+					buf.append(' ').append(superclass.getErasure().getQualifiedName());
+				}
+				for (ITypeBinding superInterface : binding.getInterfaces()) {
+					buf.append(' ').append(superInterface.getErasure().getQualifiedName());
+				}
+			}
+			return buf.toString();
+		}
+
+		/**
+		 * Returns the simple name of a type described by {@link #describe(AbstractTypeDeclaration)}.
+		 *
+		 * @param description the description
+		 * @return the simple name of the type
+		 */
+		static String getTypeName(String description) {
+			int end= description.indexOf(' ');
+			return end == -1 ? description : description.substring(0, end);
+		}
+
+		@Override
+		public boolean visit(MethodInvocation node) {
+			addCall(node.resolveMethodBinding(), node.getName(), node);
+			return true;
+		}
+
+		@Override
+		public boolean visit(SuperMethodInvocation node) {
+			addCall(node.resolveMethodBinding(), node.getName(), node);
+			return true;
+		}
+
+		@Override
+		public boolean visit(ExpressionMethodReference node) {
+			addCall(node.resolveMethodBinding(), null, node);
+			return true;
+		}
+
+		@Override
+		public boolean visit(SuperMethodReference node) {
+			addCall(node.resolveMethodBinding(), null, node);
+			return true;
+		}
+
+		@Override
+		public boolean visit(TypeMethodReference node) {
+			addCall(node.resolveMethodBinding(), null, node);
+			return true;
+		}
+
+		private void addCall(IMethodBinding binding, SimpleName name, ASTNode node) {
+			if (binding == null) {
+				return;
+			}
+			IJavaElement callee= binding.getMethodDeclaration().getJavaElement();
+			if (!(callee instanceof IMethod)) {
+				return;
+			}
+			int start= name != null ? name.getStartPosition() : node.getStartPosition();
+			int end= node.getStartPosition() + node.getLength();
+			// like the search engine, report calls that could only be bound by recovery as inaccurate
+			boolean recovered= binding.isRecovered() || (node.getFlags() & (ASTNode.MALFORMED | ASTNode.RECOVERED)) != 0;
+			int accuracy= recovered ? SearchMatch.A_INACCURATE : SearchMatch.A_ACCURATE;
+			try {
+				IJavaElement caller= fUnit.getElementAt(start);
+				if (caller instanceof IMember) {
+					fCalls.add(new Call(caller.getHandleIdentifier(), callee.getHandleIdentifier(), start, end, fAST.getLineNumber(start), accuracy));
+				}
+			} catch (JavaModelException e) {
+				// ignore the call
+			}
+		}
+	}
+
+	private static final String FILE_NAME= "callGraph.index"; //$NON-NLS-1$
+	private static final int FORMAT_VERSION= 2;
+	/**
+	 * Number of compilation units parsed together.
+	 */
+	private static final int PARSE_BATCH_SIZE= 50;
+
+	private static CallGraphIndex fgInstance;
+
+	private final File fFile;
+	private final Job fUpdateJob;
+
+	/* all fields below are guarded by 'this' */
+	private final Map<String, UnitEntry> fUnits= new HashMap<>();
+	/** The calls by callee handle. */
+	private final Map<String, List<Call>> fCallers= new HashMap<>();
+	/** The handles of the units calling into a unit, by handle of the called unit. */
+	private final Map<String, Set<String>> fDependents= new HashMap<>();
+	private final Set<ICompilationUnit> fPending= new LinkedHashSet<>();
+	private final Set<ICompilationUnit> fInProgress= new HashSet<>();
+	/** Units that have been added since the index was built and are not indexed yet. */
+	private final Set<ICompilationUnit> fNewUnits= new HashSet<>();
+	/** Simple names of the types that have been added or removed or whose super types changed. */
+	private final Set<String> fChangedTypeNames= new HashSet<>();
+	private boolean fLoaded;
+	private boolean fFullScanPending= true;
+	private boolean fDirty;
+	private int fAnsweredQueries;
+
+	private CallGraphIndex(File file) {
+		fFile= file;
+		fUpdateJob= new Job(CallHierarchyMessages.CallGraphIndex_jobname) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					update(monitor);
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		fUpdateJob.setSystem(true);
+		fUpdateJob.setPriority(Job.DECORATE);
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+	}
+
+	/**
+	 * Returns the index of the workspace, creating it if needed. A new index is loaded and brought
+	 * up to date in the background.
+	 *
+	 * @return the index
+	 */
+	public static synchronized CallGraphIndex getDefault() {
+		if (fgInstance == null) {
+			File file= JavaManipulationPlugin.getDefault().getStateLocation().append(FILE_NAME).toFile();
+			fgInstance= new CallGraphIndex(file);
+			fgInstance.scheduleUpdate();
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * Stores the index, if it has been created, and stops updating it.
+	 */
+	public static synchronized void shutdown() {
+		if (fgInstance != null) {
+			JavaCore.removeElementChangedListener(fgInstance);
+			fgInstance.fUpdateJob.cancel();
+			try {
+				fgInstance.fUpdateJob.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			fgInstance.save();
+			fgInstance= null;
+		}
+	}
+
+	/**
+	 * Returns whether the index is enabled by the preferences.
+	 *
+	 * @return <code>true</code> if the call hierarchy may use the index
+	 */
+	public static boolean isEnabled() {
+		return Boolean.parseBoolean(JavaManipulation.getPreference(CallHierarchyCore.PREF_USE_CALL_GRAPH_INDEX, null));
+	}
+
+	/**
+	 * Returns the callers of a method, if the index is up to date.
+	 *
+	 * @param member the called member
+	 * @param scope the scope to which the callers are restricted
+	 * @return a map from handle identifier ({@link String}) to {@link MethodCall}, or
+	 *         <code>null</code> if the index cannot answer the query because it is not up to date
+	 *         or does not cover the member
+	 */
+	public Map<String, MethodCall> getCallers(IMember member, IJavaSearchScope scope) {
+		if (!(member instanceof IMethod) || member.getCompilationUnit() == null) {
+			return null;
+		}
+		try {
+			if (((IMethod) member).isConstructor()) {
+				return null;
+			}
+		} catch (JavaModelException e) {
+			return null;
+		}
+		List<Call> calls;
+		synchronized (this) {
+			if (!isFresh()) {
+				scheduleUpdate();
+				return null;
+			}
+			List<Call> indexed= fCallers.get(member.getHandleIdentifier());
+			calls= indexed != null ? new ArrayList<>(indexed) : Collections.<Call>emptyList();
+			fAnsweredQueries++;
+		}
+		CallSearchResultCollector collector= new CallSearchResultCollector();
+		for (Call call : calls) {
+			if (!MethodReferencesSearchRequestor.isAccepted(call.fAccuracy, false)) {
+				continue;
+			}
+			IJavaElement caller= JavaCore.create(call.fCaller);
+			if (caller instanceof IMember && scope.encloses(caller)) {
+				collector.addMember((IMember) caller, (IMember) caller, call.fStart, call.fEnd, call.fLine, false);
+			}
+		}
+		return collector.getCallers();
+	}
+
+	/**
+	 * Returns the number of queries the index has answered. Used for testing.
+	 *
+	 * @return the number of answered queries
+	 */
+	public synchronized int getAnsweredQueries() {
+		return fAnsweredQueries;
+	}
+
+	/**
+	 * Returns whether the index describes the current state of the workspace: it has been
+	 * brought up to date after all changes, including the units that reference added or removed
+	 * types, and no compilation unit has unsaved changes.
+	 *
+	 * @return <code>true</code> if the index is up to date
+	 */
+	public synchronized boolean isFresh() {
+		if (!fLoaded || fFullScanPending || !fPending.isEmpty() || !fInProgress.isEmpty() || !fChangedTypeNames.isEmpty()) {
+			return false;
+		}
+		for (ICompilationUnit workingCopy : JavaCore.getWorkingCopies(null)) {
+			try {
+				if (workingCopy.hasUnsavedChanges()) {
+					return false;
+				}
+			} catch (JavaModelException e) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Schedules the background update of the index.
+	 */
+	public void scheduleUpdate() {
+		fUpdateJob.schedule();
+	}
+
+	/**
+	 * Waits until the running or scheduled update has finished.
+	 *
+	 * @throws InterruptedException if the thread is interrupted while waiting
+	 */
+	public void join() throws InterruptedException {
+		fUpdateJob.join();
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		boolean changed;
+		synchronized (this) {
+			changed= processDelta(event.getDelta());
+		}
+		if (changed) {
+			scheduleUpdate();
+		}
+	}
+
+	private boolean processDelta(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				break;
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+				int flags= IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED | IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED
+						| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH;
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & flags) != 0) {
+					fFullScanPending= true;
+					return true;
+				}
+				break;
+			case IJavaElement.COMPILATION_UNIT:
+				ICompilationUnit unit= (ICompilationUnit) element;
+				if (unit.getOwner() != null) {
+					return false; // not a primary compilation unit
+				}
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_PRIMARY_RESOURCE)) != 0) {
+					fPending.add(unit.getPrimary());
+					if (delta.getKind() == IJavaElementDelta.ADDED) {
+						fNewUnits.add(unit.getPrimary());
+					}
+					if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & IJavaElementDelta.F_CHILDREN) != 0) {
+						addDependents(unit.getPrimary());
+					}
+					return true;
+				}
+				return false;
+			default:
+				return false;
+		}
+		boolean changed= false;
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			changed|= processDelta(child);
+		}
+		return changed;
+	}
+
+	/**
+	 * Marks the compilation units that call methods of the given unit for update, their calls may
+	 * bind to other methods after the members of the unit have changed.
+	 *
+	 * @param unit the changed unit
+	 */
+	private void addDependents(ICompilationUnit unit) {
+		Set<String> dependents= fDependents.get(unit.getHandleIdentifier());
+		if (dependents == null) {
+			return;
+		}
+		for (String handle : dependents) {
+			IJavaElement dependent= JavaCore.create(handle);
+			if (dependent instanceof ICompilationUnit) {
+				fPending.add((ICompilationUnit) dependent);
+			}
+		}
+	}
+
+	/**
+	 * Marks the compilation units that reference the changed types by name for update, their
+	 * calls may bind to other methods now.
+	 *
+	 * @param monitor the progress monitor
+	 */
+	private void addTypeDependents(IProgressMonitor monitor) {
+		Set<String> names;
+		synchronized (this) {
+			names= new HashSet<>(fChangedTypeNames);
+		}
+		SearchPattern pattern= null;
+		for (String name : names) {
+			SearchPattern typePattern= SearchPattern.createPattern(name, IJavaSearchConstants.TYPE, IJavaSearchConstants.REFERENCES,
+					SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE);
+			pattern= pattern == null ? typePattern : SearchPattern.createOrPattern(pattern, typePattern);
+		}
+		Set<ICompilationUnit> dependents= new HashSet<>();
+		boolean searched= false;
+		if (pattern != null) {
+			try {
+				new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, SearchEngine.createWorkspaceScope(), new SearchRequestor() {
+					@Override
+					public void acceptSearchMatch(SearchMatch match) {
+						if (match.getElement() instanceof IJavaElement) {
+							ICompilationUnit unit= (ICompilationUnit) ((IJavaElement) match.getElement()).getAncestor(IJavaElement.COMPILATION_UNIT);
+							if (unit != null) {
+								dependents.add(unit.getPrimary());
+							}
+						}
+					}
+				}, monitor);
+				searched= true;
+			} catch (CoreException e) {
+				JavaManipulationPlugin.log(e);
+			}
+		}
+		synchronized (this) {
+			fChangedTypeNames.removeAll(names);
+			if (searched) {
+				fPending.addAll(dependents);
+			} else {
+				// the references are unknown, index all units again
+				fFullScanPending= true;
+				fUnits.clear();
+				fCallers.clear();
+				fDependents.clear();
+			}
+		}
+	}
+
+	/**
+	 * Returns the handle of the compilation unit that declares a member.
+	 *
+	 * @param memberHandle the handle identifier of the member
+	 * @return the handle identifier of the unit, or <code>null</code> if the member is not
+	 *         declared in a compilation unit
+	 */
+	private static String getUnitHandle(String memberHandle) {
+		int unit= memberHandle.indexOf('{');
+		int type= unit != -1 ? memberHandle.indexOf('[', unit) : -1;
+		return type != -1 ? memberHandle.substring(0, type) : null;
+	}
+
+	/**
+	 * Records the names of the types whose description differs between two versions of a unit.
+	 *
+	 * @param oldTypes the type descriptions of the indexed unit
+	 * @param newTypes the type descriptions of the current unit
+	 */
+	private void addChangedTypes(String[] oldTypes, String[] newTypes) {
+		Set<String> removed= new HashSet<>(Arrays.asList(oldTypes));
+		Set<String> added= new HashSet<>(Arrays.asList(newTypes));
+		for (String type : oldTypes) {
+			if (!added.contains(type)) {
+				fChangedTypeNames.add(CallCollector.getTypeName(type));
+			}
+		}
+		for (String type : newTypes) {
+			if (!removed.contains(type)) {
+				fChangedTypeNames.add(CallCollector.getTypeName(type));
+			}
+		}
+	}
+
+	private void update(IProgressMonitor progressMonitor) {
+		SubMonitor monitor= SubMonitor.convert(progressMonitor, 100);
+		synchronized (this) {
+			if (!fLoaded) {
+				load();
+				fLoaded= true;
+			}
+		}
+		monitor.worked(5);
+		boolean fullScan;
+		synchronized (this) {
+			fullScan= fFullScanPending;
+			fFullScanPending= false;
+		}
+		if (fullScan) {
+			try {
+				scanWorkspace(monitor.split(15));
+			} catch (OperationCanceledException e) {
+				synchronized (this) {
+					fFullScanPending= true;
+				}
+				throw e;
+			}
+		}
+		monitor.setWorkRemaining(100);
+		while (true) {
+			Map<IJavaProject, List<ICompilationUnit>> batch= new LinkedHashMap<>();
+			int remaining;
+			synchronized (this) {
+				remaining= fPending.size();
+				Iterator<ICompilationUnit> iter= fPending.iterator();
+				for (int i= 0; i < PARSE_BATCH_SIZE && iter.hasNext(); i++) {
+					ICompilationUnit unit= iter.next();
+					iter.remove();
+					fInProgress.add(unit);
+					batch.computeIfAbsent(unit.getJavaProject(), p -> new ArrayList<>()).add(unit);
+				}
+			}
+			if (batch.isEmpty()) {
+				synchronized (this) {
+					if (fChangedTypeNames.isEmpty()) {
+						break;
+					}
+				}
+				monitor.setWorkRemaining(2);
+				addTypeDependents(monitor.split(1));
+				synchronized (this) {
+					fullScan= fFullScanPending;
+					fFullScanPending= false;
+				}
+				if (fullScan) {
+					scanWorkspace(monitor.split(1));
+				}
+				continue;
+			}
+			monitor.setWorkRemaining(remaining + 1);
+			try {
+				for (Map.Entry<IJavaProject, List<ICompilationUnit>> entry : batch.entrySet()) {
+					indexUnits(entry.getKey(), entry.getValue(), monitor.split(entry.getValue().size()));
+				}
+			} finally {
+				synchronized (this) {
+					// units that have not been indexed are still pending
+					fPending.addAll(fInProgress);
+					fInProgress.clear();
+				}
+			}
+		}
+		save();
+	}
+
+	/**
+	 * Compares the indexed compilation units with the source compilation units of the workspace
+	 * and marks new and changed ones for update.
+	 *
+	 * @param monitor the progress monitor
+	 */
+	private void scanWorkspace(SubMonitor monitor) {
+		Map<String, ICompilationUnit> units= new HashMap<>();
+		try {
+			IJavaProject[] projects= JavaCore.create(ResourcesPlugin.getWorkspace().getRoot()).getJavaProjects();
+			monitor.setWorkRemaining(projects.length);
+			for (IJavaProject project : projects) {
+				SubMonitor projectMonitor= monitor.split(1);
+				for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+					if (root.getKind() != IPackageFragmentRoot.K_SOURCE || !project.equals(root.getJavaProject())) {
+						continue;
+					}
+					for (IJavaElement child : root.getChildren()) {
+						projectMonitor.checkCanceled();
+						for (ICompilationUnit unit : ((IPackageFragment) child).getCompilationUnits()) {
+							units.put(unit.getHandleIdentifier(), unit);
+						}
+					}
+				}
+			}
+		} catch (JavaModelException e) {
+			JavaManipulationPlugin.log(e);
+		}
+		synchronized (this) {
+			for (Iterator<String> iter= new ArrayList<>(fUnits.keySet()).iterator(); iter.hasNext();) {
+				String handle= iter.next();
+				if (!units.containsKey(handle)) {
+					addChangedTypes(fUnits.get(handle).fTypes, new String[0]);
+					removeUnit(handle);
+				}
+			}
+			boolean built= !fUnits.isEmpty();
+			for (ICompilationUnit unit : units.values()) {
+				UnitEntry entry= fUnits.get(unit.getHandleIdentifier());
+				if (entry == null || entry.fModificationStamp != getModificationStamp(unit)) {
+					fPending.add(unit);
+					if (entry == null && built) {
+						fNewUnits.add(unit);
+					}
+				}
+			}
+		}
+	}
+
+	private void indexUnits(IJavaProject project, List<ICompilationUnit> units, SubMonitor monitor) {
+		Map<ICompilationUnit, CallCollector> collectors= new HashMap<>();
+		Map<ICompilationUnit, Long> stamps= new HashMap<>();
+		List<ICompilationUnit> existing= new ArrayList<>();
+		for (ICompilationUnit unit : units) {
+			stamps.put(unit, Long.valueOf(getModificationStamp(unit)));
+			if (unit.exists()) {
+				existing.add(unit);
+			}
+		}
+		if (!existing.isEmpty() && project.exists()) {
+			ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
+			parser.setProject(project);
+			parser.setResolveBindings(true);
+			parser.createASTs(existing.toArray(new ICompilationUnit[existing.size()]), new String[0], new ASTRequestor() {
+				@Override
+				public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+					CallCollector collector= new CallCollector(source, ast);
+					ast.accept(collector);
+					collectors.put(source, collector);
+				}
+			}, monitor);
+		}
+		synchronized (this) {
+			for (ICompilationUnit unit : units) {
+				fInProgress.remove(unit);
+				if (fPending.contains(unit)) {
+					continue; // changed while it was parsed
+				}
+				String handle= unit.getHandleIdentifier();
+				UnitEntry old= fUnits.get(handle);
+				removeUnit(handle);
+				CallCollector collector= collectors.get(unit);
+				String[] types= new String[0];
+				if (collector != null) {
+					types= collector.getTypes();
+					putUnit(handle, new UnitEntry(stamps.get(unit).longValue(), collector.getCalls(), types));
+				} else if (unit.exists()) {
+					// could not be parsed, try again after the next change
+					types= old != null ? old.fTypes : types;
+					putUnit(handle, new UnitEntry(IResource.NULL_STAMP, new Call[0], types));
+				}
+				if (fNewUnits.remove(unit) || old != null) {
+					addChangedTypes(old != null ? old.fTypes : new String[0], types);
+				}
+			}
+		}
+	}
+
+	private static long getModificationStamp(ICompilationUnit unit) {
+		IResource resource= unit.getResource();
+		return resource != null ? resource.getModificationStamp() : IResource.NULL_STAMP;
+	}
+
+	private void putUnit(String handle, UnitEntry entry) {
+		fUnits.put(handle, entry);
+		for (Call call : entry.fCalls) {
+			fCallers.computeIfAbsent(call.fCallee, c -> new ArrayList<>()).add(call);
+			String calleeUnit= getUnitHandle(call.fCallee);
+			if (calleeUnit != null && !calleeUnit.equals(handle)) {
+				fDependents.computeIfAbsent(calleeUnit, u -> new HashSet<>()).add(handle);
+			}
+		}
+		fDirty= true;
+	}
+
+	private void removeUnit(String handle) {
+		UnitEntry entry= fUnits.remove(handle);
+		if (entry == null) {
+			return;
+		}
+		Set<Call> removed= Collections.newSetFromMap(new IdentityHashMap<>());
+		Collections.addAll(removed, entry.fCalls);
+		Set<String> callees= new HashSet<>();
+		for (Call call : entry.fCalls) {
+			callees.add(call.fCallee);
+		}
+		for (String callee : callees) {
+			List<Call> calls= fCallers.get(callee);
+			if (calls != null) {
+				calls.removeIf(removed::contains);
+				if (calls.isEmpty()) {
+					fCallers.remove(callee);
+				}
+			}
+			String calleeUnit= getUnitHandle(callee);
+			Set<String> dependents= calleeUnit != null ? fDependents.get(calleeUnit) : null;
+			if (dependents != null) {
+				dependents.remove(handle);
+				if (dependents.isEmpty()) {
+					fDependents.remove(calleeUnit);
+				}
+			}
+		}
+		fDirty= true;
+	}
+
+	private void load() {
+		if (!fFile.isFile()) {
+			return;
+		}
+		try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(fFile)))) {
+			if (in.readInt() != FORMAT_VERSION) {
+				return;
+			}
+			int unitCount= in.readInt();
+			for (int i= 0; i < unitCount; i++) {
+				String handle= in.readUTF();
+				long stamp= in.readLong();
+				Call[] calls= new Call[in.readInt()];
+				for (int k= 0; k < calls.length; k++) {
+					calls[k]= new Call(in.readUTF(), in.readUTF(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+				}
+				String[] types= new String[in.readInt()];
+				for (int k= 0; k < types.length; k++) {
+					types[k]= in.readUTF();
+				}
+				putUnit(handle, new UnitEntry(stamp, calls, types));
+			}
+			fDirty= false;
+		} catch (IOException e) {
+			JavaManipulationPlugin.log(e);
+			fUnits.clear();
+			fCallers.clear();
+			fDependents.clear();
+		}
+	}
+
+	private synchronized void save() {
+		if (!fDirty) {
+			return;
+		}
+		File temp= new File(fFile.getPath() + ".tmp"); //$NON-NLS-1$
+		try {
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+				out.writeInt(FORMAT_VERSION);
+				out.writeInt(fUnits.size());
+				for (Map.Entry<String, UnitEntry> entry : fUnits.entrySet()) {
+					out.writeUTF(entry.getKey());
+					out.writeLong(entry.getValue().fModificationStamp);
+					Call[] calls= entry.getValue().fCalls;
+					out.writeInt(calls.length);
+					for (Call call : calls) {
+						out.writeUTF(call.fCaller);
+						out.writeUTF(call.fCallee);
+						out.writeInt(call.fStart);
+						out.writeInt(call.fEnd);
+						out.writeInt(call.fLine);
+						out.writeInt(call.fAccuracy);
+					}
+					String[] types= entry.getValue().fTypes;
+					out.writeInt(types.length);
+					for (String type : types) {
+						out.writeUTF(type);
+					}
+				}
+			}
+			Files.move(temp.toPath(), fFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			fDirty= false;
+		} catch (IOException e) {
+			JavaManipulationPlugin.log(e);
+			temp.delete();
+		}
+	}
+}
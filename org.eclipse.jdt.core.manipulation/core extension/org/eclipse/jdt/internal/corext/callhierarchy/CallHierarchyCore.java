@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 IBM Corporation and others.
+ * Copyright (c) 2019, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.StringTokenizer;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -50,6 +51,12 @@ public class CallHierarchyCore {
     private static final String PREF_USE_FILTERS= "PREF_USE_FILTERS"; //$NON-NLS-1$
     private static final String PREF_FILTERS_LIST= "PREF_FILTERS_LIST"; //$NON-NLS-1$
     private static final String PREF_FILTER_TESTCODE= "PREF_FILTER_TESTCODE"; //$NON-NLS-1$
+    /**
+     * Preference that enables the {@link CallGraphIndex}. Value is of type <code>Boolean</code>.
+     *
+     * @since 1.18
+     */
+    public static final String PREF_USE_CALL_GRAPH_INDEX= "PREF_USE_CALL_GRAPH_INDEX"; //$NON-NLS-1$
 
     private String defaultIgnoreFilters= "java.*,javax.*"; //$NON-NLS-1$
 
@@ -73,6 +80,23 @@ public class CallHierarchyCore {
         return Boolean.parseBoolean(JavaManipulation.getPreference(PREF_FILTER_TESTCODE, null));
     }
 
+    /**
+     * Returns the callers of a member from the {@link CallGraphIndex}, if it is enabled and up to
+     * date.
+     *
+     * @param member the called member
+     * @param scope the scope to which the callers are restricted
+     * @return a map from handle identifier ({@link String}) to {@link MethodCall}, or
+     *         <code>null</code> if the callers have to be searched
+     * @since 1.18
+     */
+    public Map<String, MethodCall> getIndexedCallers(IMember member, IJavaSearchScope scope) {
+        if (!CallGraphIndex.isEnabled()) {
+            return null;
+        }
+        return CallGraphIndex.getDefault().getCallers(member, scope);
+    }
+
     public Collection<IJavaElement> getImplementingMethods(IMethod method) {
         if (isSearchUsingImplementorsEnabled()) {
             IJavaElement[] result= Implementors.getInstance().searchForImplementors(new IJavaElement[] {
@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.corext.util.SearchUtils;
+
+/**
+ * Expands caller hierarchies breadth first. The callers of all members on one level of the
+ * hierarchy are searched before the next level is expanded:
+ * <ul>
+ * <li>methods with distinct names are searched together with one OR pattern,</li>
+ * <li>the searches of one level run concurrently,</li>
+ * <li>the results are stored in the {@link CallerSearchCache}, from where
+ * {@link MethodWrapper#getCalls(IProgressMonitor)} takes them without searching again.</li>
+ * </ul>
+ *
+ * @since 1.18
+ */
+public final class CallerHierarchyExpander {
+
+	/**
+	 * Maximal number of members searched with one pattern.
+	 */
+	private static final int BATCH_SIZE= 64;
+
+	private static final int PARALLELISM= Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	private static ExecutorService fgExecutor;
+
+	private final int fMaxDepth;
+
+	/**
+	 * Creates an expander.
+	 *
+	 * @param maxDepth the number of levels to expand below the roots, must be positive
+	 */
+	public CallerHierarchyExpander(int maxDepth) {
+		if (maxDepth < 1) {
+			throw new IllegalArgumentException("depth must be positive: " + maxDepth); //$NON-NLS-1$
+		}
+		fMaxDepth= maxDepth;
+	}
+
+	/**
+	 * Searches the callers of the given roots and of their callers, up to the maximal depth.
+	 * Recursive calls are not expanded. Wrappers that are not {@link CallerMethodWrapper}s are
+	 * ignored.
+	 *
+	 * @param roots the wrappers to expand
+	 * @param progressMonitor the progress monitor, can be <code>null</code>
+	 * @return the number of levels that have been expanded
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	public int expand(MethodWrapper[] roots, IProgressMonitor progressMonitor) {
+		SubMonitor monitor= SubMonitor.convert(progressMonitor, CallHierarchyMessages.CallerMethodWrapper_taskname, fMaxDepth);
+		List<CallerMethodWrapper> level= new ArrayList<>();
+		for (MethodWrapper root : roots) {
+			addExpandable(root, level);
+		}
+		int depth= 0;
+		while (depth < fMaxDepth && !level.isEmpty()) {
+			SubMonitor levelMonitor= monitor.split(1).setWorkRemaining(2);
+			searchLevel(level, levelMonitor.split(1));
+			SubMonitor collectMonitor= levelMonitor.split(1).setWorkRemaining(level.size());
+			List<CallerMethodWrapper> next= new ArrayList<>();
+			for (CallerMethodWrapper wrapper : level) {
+				for (MethodWrapper child : wrapper.getCalls(collectMonitor.split(1))) {
+					addExpandable(child, next);
+				}
+			}
+			level= next;
+			depth++;
+		}
+		return depth;
+	}
+
+	/**
+	 * Returns whether the callers of the given wrapper have been searched already, so that
+	 * {@link MethodWrapper#getCalls(IProgressMonitor)} answers them without searching.
+	 *
+	 * @param wrapper the wrapper
+	 * @return <code>true</code> if the callers of the wrapper's member are cached
+	 */
+	public static boolean hasCachedCallers(MethodWrapper wrapper) {
+		if (!(wrapper instanceof CallerMethodWrapper) || wrapper.getMember() == null) {
+			return false;
+		}
+		CallerMethodWrapper caller= (CallerMethodWrapper) wrapper;
+		return CallerSearchCache.getDefault().contains(caller.getMember(), caller.getCacheMode(), caller.getSearchScope());
+	}
+
+	private static void addExpandable(MethodWrapper wrapper, List<CallerMethodWrapper> level) {
+		if (wrapper instanceof CallerMethodWrapper && wrapper.canHaveChildren() && !wrapper.isRecursive()) {
+			level.add((CallerMethodWrapper) wrapper);
+		}
+	}
+
+	/**
+	 * Searches the callers of the members on one level that are not cached yet.
+	 *
+	 * @param level the wrappers of the level
+	 * @param monitor the progress monitor
+	 */
+	private static void searchLevel(List<CallerMethodWrapper> level, SubMonitor monitor) {
+		CallerSearchCache cache= CallerSearchCache.getDefault();
+		Map<String, CallerMethodWrapper> uncached= new LinkedHashMap<>();
+		for (CallerMethodWrapper wrapper : level) {
+			IMember member= wrapper.getMember();
+			int mode= wrapper.getCacheMode();
+			if (!cache.contains(member, mode, wrapper.getSearchScope())) {
+				uncached.putIfAbsent(member.getHandleIdentifier() + '#' + mode, wrapper);
+			}
+		}
+
+		List<BatchedReferencesSearchRequestor> batches= new ArrayList<>();
+		List<CallerMethodWrapper> singles= new ArrayList<>();
+		Map<IMember, CallerMethodWrapper> batchedWrappers= new LinkedHashMap<>();
+		for (CallerMethodWrapper wrapper : uncached.values()) {
+			if (isBatchable(wrapper)) {
+				addToBatch(wrapper.getMember(), batches);
+				batchedWrappers.put(wrapper.getMember(), wrapper);
+			} else {
+				singles.add(wrapper);
+			}
+		}
+
+		monitor.setWorkRemaining(batches.size() + singles.size());
+		IProgressMonitor cancelMonitor= new CancelPropagatingMonitor(monitor);
+		List<Future<?>> futures= new ArrayList<>();
+		for (BatchedReferencesSearchRequestor batch : batches) {
+			List<CallerMethodWrapper> wrappers= new ArrayList<>();
+			for (IMember member : batch.getMembers()) {
+				wrappers.add(batchedWrappers.get(member));
+			}
+			futures.add(getExecutor().submit(() -> {
+				searchBatch(batch, wrappers, cancelMonitor);
+				return null;
+			}));
+		}
+		for (CallerMethodWrapper wrapper : singles) {
+			futures.add(getExecutor().submit(() -> wrapper.findChildren(cancelMonitor)));
+		}
+		try {
+			for (Future<?> future : futures) {
+				future.get();
+				monitor.worked(1);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof OperationCanceledException) {
+				throw (OperationCanceledException) cause;
+			}
+			JavaManipulationPlugin.log(cause);
+		} finally {
+			for (Future<?> future : futures) {
+				future.cancel(false);
+			}
+		}
+	}
+
+	private static boolean isBatchable(CallerMethodWrapper wrapper) {
+		try {
+			return wrapper.isBatchable();
+		} catch (JavaModelException e) {
+			return false;
+		}
+	}
+
+	private static void addToBatch(IMember member, List<BatchedReferencesSearchRequestor> batches) {
+		String name= member.getElementName();
+		for (BatchedReferencesSearchRequestor batch : batches) {
+			if (batch.size() < BATCH_SIZE && !batch.containsName(name)) {
+				batch.addMember(member);
+				return;
+			}
+		}
+		BatchedReferencesSearchRequestor batch= new BatchedReferencesSearchRequestor();
+		batch.addMember(member);
+		batches.add(batch);
+	}
+
+	private static void searchBatch(BatchedReferencesSearchRequestor batch, List<CallerMethodWrapper> wrappers, IProgressMonitor monitor) throws CoreException {
+		SearchPattern pattern= null;
+		for (CallerMethodWrapper wrapper : wrappers) {
+			SearchPattern memberPattern= SearchPattern.createPattern(wrapper.getMember(), IJavaSearchConstants.REFERENCES, SearchUtils.GENERICS_AGNOSTIC_MATCH_RULE);
+			if (memberPattern == null) {
+				return; // let the wrappers search on their own
+			}
+			pattern= pattern == null ? memberPattern : SearchPattern.createOrPattern(pattern, memberPattern);
+		}
+		if (pattern == null) {
+			return;
+		}
+		IJavaSearchScope scope= wrappers.get(0).getSearchScope();
+		new SearchEngine().search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, scope, batch, monitor);
+		if (batch.hasUnattributedMatches()) {
+			for (CallerMethodWrapper wrapper : wrappers) {
+				wrapper.findChildren(monitor);
+			}
+			return;
+		}
+		CallerSearchCache cache= CallerSearchCache.getDefault();
+		for (CallerMethodWrapper wrapper : wrappers) {
+			cache.put(wrapper.getMember(), IJavaSearchConstants.REFERENCES, scope, batch.getCallers(wrapper.getMember()));
+		}
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (fgExecutor == null) {
+			fgExecutor= Executors.newFixedThreadPool(PARALLELISM, runnable -> {
+				Thread thread= new Thread(runnable, "Call Hierarchy Search"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return fgExecutor;
+	}
+
+	/**
+	 * A monitor for the search threads that only forwards the cancellation state of the monitor of
+	 * the expanding thread.
+	 */
+	private static final class CancelPropagatingMonitor extends NullProgressMonitor {
+		private final IProgressMonitor fMonitor;
+
+		CancelPropagatingMonitor(IProgressMonitor monitor) {
+			fMonitor= monitor;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return super.isCanceled() || fMonitor.isCanceled();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -147,14 +147,25 @@ public class CallerMethodWrapper extends MethodWrapper {
 				return new HashMap<>(0);
 			}
 
+			IJavaSearchScope defaultSearchScope= getSearchScope();
+			int limitTo= getCacheMode();
+			Map<String, MethodCall> callers= CallerSearchCache.getDefault().get(member, limitTo, defaultSearchScope);
+			if (callers != null) {
+				return callers;
+			}
+			callers= CallHierarchyCore.getDefault().getIndexedCallers(member, defaultSearchScope);
+			if (callers != null) {
+				return callers;
+			}
+
 			SearchEngine searchEngine= new SearchEngine();
 			MethodReferencesSearchRequestor searchRequestor= new MethodReferencesSearchRequestor();
-			IJavaSearchScope defaultSearchScope= getSearchScope();
-			boolean isWorkspaceScope= SearchEngine.createWorkspaceScope().equals(defaultSearchScope);
-			IJavaSearchScope searchScope= isWorkspaceScope ? getAccurateSearchScope(defaultSearchScope, member) : defaultSearchScope;
+			IJavaSearchScope searchScope= getAccurateSearchScope(defaultSearchScope, member);
 			searchEngine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, searchScope, searchRequestor,
 					monitor);
-			return searchRequestor.getCallers();
+			callers= searchRequestor.getCallers();
+			CallerSearchCache.getDefault().put(member, limitTo, defaultSearchScope, callers);
+			return callers;
 
 		} catch (CoreException e) {
 			JavaManipulationPlugin.log(e);
@@ -162,8 +173,31 @@ public class CallerMethodWrapper extends MethodWrapper {
 		}
 	}
 
-	private IJavaSearchScope getAccurateSearchScope(IJavaSearchScope defaultSearchScope, IMember member) throws JavaModelException {
-		if (! JdtFlags.isPrivate(member))
+	/**
+	 * Returns the search mode under which the callers of this wrapper's member are cached in the
+	 * {@link CallerSearchCache}.
+	 *
+	 * @return the search mode
+	 */
+	int getCacheMode() {
+		return getMember().getElementType() == IJavaElement.FIELD ? getFieldSearchMode() : IJavaSearchConstants.REFERENCES;
+	}
+
+	/**
+	 * Returns whether the callers of this wrapper's member can be searched together with the callers
+	 * of other members by a {@link CallerHierarchyExpander}, i.e. whether the member is a method
+	 * that is not a constructor and that is searched in the default scope.
+	 *
+	 * @return <code>true</code> if the member can be part of a batched search
+	 * @throws JavaModelException if the member does not exist
+	 */
+	boolean isBatchable() throws JavaModelException {
+		IMember member= getMember();
+		return member instanceof IMethod && !((IMethod) member).isConstructor() && !JdtFlags.isPrivate(member);
+	}
+
+	static IJavaSearchScope getAccurateSearchScope(IJavaSearchScope defaultSearchScope, IMember member) throws JavaModelException {
+		if (! JdtFlags.isPrivate(member) || ! SearchEngine.createWorkspaceScope().equals(defaultSearchScope))
 			return defaultSearchScope;
 
 		if (member.getCompilationUnit() != null) {
@@ -177,6 +211,12 @@ public class CallerMethodWrapper extends MethodWrapper {
 		}
 	}
 
+	@Override
+	public void removeFromCache() {
+		super.removeFromCache();
+		CallerSearchCache.getDefault().remove(getMember(), getCacheMode());
+	}
+
 	/**
 	 * Returns the value of expand with constructors mode.
 	 *
@@ -0,0 +1,280 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.callhierarchy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+
+import org.eclipse.jdt.internal.corext.util.LRUMap;
+
+/**
+ * Remembers the callers found by {@link CallerMethodWrapper}s across call hierarchy sessions.
+ * Opening the call hierarchy again, or expanding a member that has already been expanded in
+ * another branch, does not search again.
+ * <p>
+ * The cache is bounded. It is cleared when Java elements are added or removed, when their
+ * signatures, modifiers or super types change, and when the search scope or the filters of the
+ * {@link CallHierarchyCore call hierarchy} change. A change inside the bodies of a compilation
+ * unit only removes the members whose callers are in that unit, or whose name occurs in it and
+ * that may therefore have new callers there.
+ * </p>
+ *
+ * @since 1.18
+ */
+final class CallerSearchCache implements IElementChangedListener {
+
+	private static final int CACHE_SIZE= 512;
+
+	/**
+	 * Delta flags of a compilation unit or a member that do not change the declared structure.
+	 */
+	private static final int BODY_FLAGS= IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_CHILDREN
+			| IJavaElementDelta.F_PRIMARY_WORKING_COPY | IJavaElementDelta.F_PRIMARY_RESOURCE | IJavaElementDelta.F_AST_AFFECTED
+			| IJavaElementDelta.F_REORDER | IJavaElementDelta.F_CATEGORIES;
+
+	/**
+	 * The callers of one member.
+	 */
+	private static final class Entry {
+		private final String fName;
+		private final Map<String, MethodCall> fCallers;
+		/** Handle identifiers of the compilation units and class files that contain the callers. */
+		private final Set<String> fUnits= new HashSet<>();
+
+		Entry(IMember member, Map<String, MethodCall> callers) {
+			fName= member.getElementName();
+			fCallers= new HashMap<>(callers);
+			for (MethodCall call : callers.values()) {
+				ITypeRoot unit= call.getMember().getTypeRoot();
+				if (unit != null) {
+					fUnits.add(unit.getHandleIdentifier());
+				}
+			}
+		}
+
+		boolean isAffected(Set<String> units, Set<String> identifiers) {
+			if (identifiers.contains(fName)) {
+				return true;
+			}
+			for (String unit : units) {
+				if (fUnits.contains(unit)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private static CallerSearchCache fgInstance;
+
+	private final Map<String, Entry> fCallers= new LRUMap<>(CACHE_SIZE);
+	private IJavaSearchScope fScope;
+	private String fConfiguration;
+
+	private CallerSearchCache() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+	}
+
+	static synchronized CallerSearchCache getDefault() {
+		if (fgInstance == null) {
+			fgInstance= new CallerSearchCache();
+		}
+		return fgInstance;
+	}
+
+	/**
+	 * Returns the cached callers of a member.
+	 *
+	 * @param member the called member
+	 * @param limitTo the search mode, see {@link org.eclipse.jdt.core.search.IJavaSearchConstants}
+	 * @param scope the scope the callers were searched in
+	 * @return a copy of the cached map from handle identifier to {@link MethodCall}, or
+	 *         <code>null</code> if the callers are not known
+	 */
+	synchronized Map<String, MethodCall> get(IMember member, int limitTo, IJavaSearchScope scope) {
+		validate(scope);
+		Entry entry= fCallers.get(getKey(member, limitTo));
+		return entry != null ? new HashMap<>(entry.fCallers) : null;
+	}
+
+	/**
+	 * Remembers the callers of a member.
+	 *
+	 * @param member the called member
+	 * @param limitTo the search mode, see {@link org.eclipse.jdt.core.search.IJavaSearchConstants}
+	 * @param scope the scope the callers were searched in
+	 * @param callers the map from handle identifier to {@link MethodCall}
+	 */
+	synchronized void put(IMember member, int limitTo, IJavaSearchScope scope, Map<String, MethodCall> callers) {
+		validate(scope);
+		fCallers.put(getKey(member, limitTo), new Entry(member, callers));
+	}
+	synchronized boolean contains(IMember member, int limitTo, IJavaSearchScope scope) {
+		validate(scope);
+		return fCallers.containsKey(getKey(member, limitTo));
+	}
+
+	synchronized void remove(IMember member, int limitTo) {
+		fCallers.remove(getKey(member, limitTo));
+	}
+
+	synchronized void clear() {
+		fCallers.clear();
+	}
+
+	private void validate(IJavaSearchScope scope) {
+		CallHierarchyCore core= CallHierarchyCore.getDefault();
+		String configuration= core.isFilterEnabled() + core.getFilters() + core.isFilterTestCode();
+		if (fScope != scope || !configuration.equals(fConfiguration)) {
+			fCallers.clear();
+			fScope= scope;
+			fConfiguration= configuration;
+		}
+	}
+
+	private static String getKey(IMember member, int limitTo) {
+		return member.getHandleIdentifier() + '#' + limitTo;
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		synchronized (this) {
+			if (fCallers.isEmpty()) {
+				return;
+			}
+		}
+		List<ICompilationUnit> changedBodies= new ArrayList<>();
+		if (isStructuralChange(event.getDelta(), changedBodies)) {
+			clear();
+		} else if (!changedBodies.isEmpty()) {
+			removeAffected(changedBodies);
+		}
+	}
+
+	/**
+	 * Removes the members that may have new or removed callers after a change in the bodies of the
+	 * given compilation units.
+	 *
+	 * @param units the changed compilation units
+	 */
+	private void removeAffected(List<ICompilationUnit> units) {
+		Set<String> handles= new HashSet<>();
+		Set<String> identifiers= new HashSet<>();
+		for (ICompilationUnit unit : units) {
+			handles.add(unit.getHandleIdentifier());
+			try {
+				String source= unit.getSource();
+				if (source == null) {
+					clear();
+					return;
+				}
+				collectIdentifiers(source, identifiers);
+			} catch (JavaModelException e) {
+				clear();
+				return;
+			}
+		}
+		synchronized (this) {
+			fCallers.values().removeIf(entry -> entry.isAffected(handles, identifiers));
+		}
+	}
+
+	private static void collectIdentifiers(String source, Set<String> identifiers) {
+		int length= source.length();
+		int i= 0;
+		while (i < length) {
+			if (Character.isJavaIdentifierStart(source.charAt(i))) {
+				int start= i++;
+				while (i < length && Character.isJavaIdentifierPart(source.charAt(i))) {
+					i++;
+				}
+				identifiers.add(source.substring(start, i));
+			} else {
+				i++;
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the delta adds or removes Java elements or changes their declarations.
+	 * Compilation units whose bodies changed are collected.
+	 *
+	 * @param delta the delta
+	 * @param changedBodies receives the compilation units with changed bodies
+	 * @return <code>true</code> if all cached callers have to be discarded
+	 */
+	private static boolean isStructuralChange(IJavaElementDelta delta, List<ICompilationUnit> changedBodies) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED) {
+			return true;
+		}
+		int flags= delta.getFlags();
+		IJavaElement element= delta.getElement();
+		if (element.getElementType() == IJavaElement.COMPILATION_UNIT) {
+			if ((flags & ~BODY_FLAGS) != 0 || hasDeclarationChange(delta)) {
+				return true;
+			}
+			if ((flags & IJavaElementDelta.F_CONTENT) != 0) {
+				if ((flags & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+					return true; // the unit has been replaced, what changed is unknown
+				}
+				changedBodies.add((ICompilationUnit) element);
+			}
+			return false;
+		}
+		if (delta.getResourceDeltas() != null) {
+			flags&= ~IJavaElementDelta.F_CONTENT; // only non-Java resources changed
+		}
+		if ((flags & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_AST_AFFECTED)) != 0) {
+			return true;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isStructuralChange(child, changedBodies)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether a member or import of a compilation unit has been added or removed, or
+	 * whether the modifiers, annotations or super types of a member changed. A changed signature
+	 * is reported as a removed and an added member.
+	 *
+	 * @param delta the delta of a compilation unit or one of its children
+	 * @return <code>true</code> if a declaration changed
+	 */
+	private static boolean hasDeclarationChange(IJavaElementDelta delta) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (child.getKind() != IJavaElementDelta.CHANGED || (child.getFlags() & ~BODY_FLAGS) != 0 || hasDeclarationChange(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
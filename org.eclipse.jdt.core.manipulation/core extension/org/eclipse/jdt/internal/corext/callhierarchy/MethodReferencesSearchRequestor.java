@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,8 +22,9 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchRequestor;
 
 class MethodReferencesSearchRequestor extends SearchRequestor {
+    private static final boolean REQUIRE_EXACT_MATCH = true;
+
     private CallSearchResultCollector fSearchResults;
-    private boolean fRequireExactMatch = true;
 
     MethodReferencesSearchRequestor() {
         fSearchResults = new CallSearchResultCollector();
@@ -33,13 +34,25 @@ class MethodReferencesSearchRequestor extends SearchRequestor {
         return fSearchResults.getCallers();
     }
 
-    @Override
-	public void acceptSearchMatch(SearchMatch match) {
-        if (fRequireExactMatch && (match.getAccuracy() != SearchMatch.A_ACCURATE)) {
-            return;
+    /**
+     * Returns whether a reference is reported as a call. The {@link CallGraphIndex} applies the
+     * same filter to the calls it answers.
+     *
+     * @param accuracy the accuracy of the reference, see {@link SearchMatch#getAccuracy()}
+     * @param insideDocComment whether the reference is inside a doc comment
+     * @return <code>true</code> if the reference is a call
+     * @since 1.18
+     */
+    static boolean isAccepted(int accuracy, boolean insideDocComment) {
+        if (REQUIRE_EXACT_MATCH && accuracy != SearchMatch.A_ACCURATE) {
+            return false;
         }
+        return !insideDocComment;
+    }
 
-        if (match.isInsideDocComment()) {
+    @Override
+	public void acceptSearchMatch(SearchMatch match) {
+        if (!isAccepted(match.getAccuracy(), match.isInsideDocComment())) {
             return;
         }
 
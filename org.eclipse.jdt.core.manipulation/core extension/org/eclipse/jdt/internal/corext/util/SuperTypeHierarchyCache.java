@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,10 +14,19 @@
 package org.eclipse.jdt.internal.corext.util;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
@@ -26,23 +35,37 @@ import org.eclipse.jdt.core.JavaModelException;
 
 /**
  * A thread-safe cache for super type hierarchies.
+ * <p>
+ * Hierarchies are indexed by every type they contain, so a lookup is a single map access and does
+ * not block. Builds of the same hierarchy that are requested concurrently are performed only once.
+ * The number of cached hierarchies is bounded, see {@link #getCacheSize()}; the least recently
+ * used hierarchy is evicted first.
+ * </p>
+ * <p>
+ * A hierarchy is only cached if no cached hierarchy has been invalidated while it was built.
+ * Otherwise, it might have missed the change that caused the invalidation.
+ * </p>
  */
 // @see JDTUIHelperClasses
 public class SuperTypeHierarchyCache {
 
 	private static class HierarchyCacheEntry implements ITypeHierarchyChangedListener {
 
-		private ITypeHierarchy fTypeHierarchy;
-		private long fLastAccess;
+		private volatile ITypeHierarchy fTypeHierarchy;
+		private final IType[] fTypes;
+		private final Map<IType, MethodOverrideTester> fMethodOverrideTesters= new ConcurrentHashMap<>();
+		private volatile long fLastAccess;
 
 		public HierarchyCacheEntry(ITypeHierarchy hierarchy) {
 			fTypeHierarchy= hierarchy;
+			fTypes= hierarchy.getAllTypes();
 			fTypeHierarchy.addTypeHierarchyChangedListener(this);
 			markAsAccessed();
 		}
 
 		@Override
 		public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
+			fgInvalidationStamp.incrementAndGet();
 			removeHierarchyEntryFromCache(this);
 		}
 
@@ -50,8 +73,20 @@ public class SuperTypeHierarchyCache {
 			return fTypeHierarchy;
 		}
 
+		public IType[] getTypes() {
+			return fTypes;
+		}
+
+		public MethodOverrideTester getMethodOverrideTester(IType type) {
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			if (hierarchy == null) {
+				return null;
+			}
+			return fMethodOverrideTesters.computeIfAbsent(type, t -> new MethodOverrideTester(t, hierarchy));
+		}
+
 		public void markAsAccessed() {
-			fLastAccess= System.currentTimeMillis();
+			fLastAccess= System.nanoTime();
 		}
 
 		public long getLastAccess() {
@@ -59,27 +94,62 @@ public class SuperTypeHierarchyCache {
 		}
 
 		public void dispose() {
-			if (fTypeHierarchy != null) {
-				fTypeHierarchy.removeTypeHierarchyChangedListener(this);
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			if (hierarchy != null) {
+				hierarchy.removeTypeHierarchyChangedListener(this);
 				fTypeHierarchy= null;
 			}
+			fMethodOverrideTesters.clear();
 		}
 
 		@Override
 		public String toString() {
-			return "Super hierarchy of: " + fTypeHierarchy.getType().getElementName(); //$NON-NLS-1$
+			ITypeHierarchy hierarchy= fTypeHierarchy;
+			return "Super hierarchy of: " + (hierarchy != null ? hierarchy.getType().getElementName() : "<disposed>"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 
 	}
 
 
-	private static final int CACHE_SIZE= 8;
+	/**
+	 * System property to override the number of cached hierarchies.
+	 */
+	private static final String CACHE_SIZE_PROPERTY= "jdt.superTypeHierarchyCacheSize"; //$NON-NLS-1$
+
+	private static final int MIN_CACHE_SIZE= 8;
+	private static final int MAX_CACHE_SIZE= 64;
+	/**
+	 * The default cache size grows by one hierarchy for this many bytes of maximal heap size.
+	 */
+	private static final long BYTES_PER_HIERARCHY= 32L * 1024 * 1024;
+
+	private static volatile int fgCacheSize= computeDefaultCacheSize();
+
+	/** Cached hierarchies by every type they contain. */
+	private static final Map<IType, HierarchyCacheEntry> fgHierarchyCache= new ConcurrentHashMap<>();
+	/** All cached hierarchies. Insertions and evictions are guarded by this set. */
+	private static final Set<HierarchyCacheEntry> fgEntries= ConcurrentHashMap.newKeySet();
+	/** Hierarchies that are currently built, by focus type. */
+	private static final Map<IType, CompletableFuture<ITypeHierarchy>> fgPendingBuilds= new ConcurrentHashMap<>();
+
+	/** Incremented whenever a cached hierarchy is invalidated. */
+	private static final AtomicLong fgInvalidationStamp= new AtomicLong();
 
-	private static ArrayList<HierarchyCacheEntry> fgHierarchyCache= new ArrayList<>(CACHE_SIZE);
-	private static Map<IType, MethodOverrideTester> fgMethodOverrideTesterCache= new LRUMap<>(CACHE_SIZE);
+	private static final AtomicLong fgCacheHits= new AtomicLong();
+	private static final AtomicLong fgCacheMisses= new AtomicLong();
+	private static final AtomicLong fgCacheEvictions= new AtomicLong();
 
-	private static int fgCacheHits= 0;
-	private static int fgCacheMisses= 0;
+	private static int computeDefaultCacheSize() {
+		Integer configured= Integer.getInteger(CACHE_SIZE_PROPERTY);
+		if (configured != null && configured.intValue() > 0) {
+			return configured.intValue();
+		}
+		long maxMemory= Runtime.getRuntime().maxMemory();
+		if (maxMemory == Long.MAX_VALUE) {
+			return MIN_CACHE_SIZE;
+		}
+		return (int) Math.max(MIN_CACHE_SIZE, Math.min(MAX_CACHE_SIZE, maxMemory / BYTES_PER_HIERARCHY));
+	}
 
 	/**
 	 * Returns a super type hierarchy that contains the given type.
@@ -97,34 +167,20 @@ public class SuperTypeHierarchyCache {
 	}
 
 	public static MethodOverrideTester getMethodOverrideTester(IType type) throws JavaModelException {
-		MethodOverrideTester test= null;
-		synchronized (fgMethodOverrideTesterCache) {
-			test= fgMethodOverrideTesterCache.get(type);
-		}
+		HierarchyCacheEntry entry= findEntryInCache(type);
+		MethodOverrideTester test= entry != null ? entry.getMethodOverrideTester(type) : null;
 		if (test == null) {
-			ITypeHierarchy hierarchy= getTypeHierarchy(type); // don't nest the locks
-			synchronized (fgMethodOverrideTesterCache) {
-				test= fgMethodOverrideTesterCache.get(type); // test again after waiting a long time for 'getTypeHierarchy'
-				if (test == null) {
-					test= new MethodOverrideTester(type, hierarchy);
-					fgMethodOverrideTesterCache.put(type, test);
-				}
+			ITypeHierarchy hierarchy= getTypeHierarchy(type);
+			entry= findEntryInCache(type);
+			test= entry != null && entry.getTypeHierarchy() == hierarchy ? entry.getMethodOverrideTester(type) : null;
+			if (test == null) {
+				// the hierarchy could not be cached, don't cache the tester either
+				test= new MethodOverrideTester(type, hierarchy);
 			}
 		}
 		return test;
 	}
 
-	private static void removeMethodOverrideTester(ITypeHierarchy hierarchy) {
-		synchronized (fgMethodOverrideTesterCache) {
-			for (Iterator<MethodOverrideTester> iter= fgMethodOverrideTesterCache.values().iterator(); iter.hasNext();) {
-				MethodOverrideTester curr= iter.next();
-				if (curr.getTypeHierarchy().equals(hierarchy)) {
-					iter.remove();
-				}
-			}
-		}
-	}
-
 	/**
 	 * Returns a super type hierarchy that contains the given type.
 	 * The returned hierarchy may actually be based on a subtype of the
@@ -138,44 +194,132 @@ public class SuperTypeHierarchyCache {
 	 * @throws JavaModelException if a problem occurs
 	 */
 	public static ITypeHierarchy getTypeHierarchy(IType type, IProgressMonitor progressMonitor) throws JavaModelException {
-		ITypeHierarchy hierarchy= findTypeHierarchyInCache(type);
-		if (hierarchy == null) {
-			fgCacheMisses++;
-			hierarchy= type.newSupertypeHierarchy(progressMonitor);
-			addTypeHierarchyToCache(hierarchy);
-		} else {
-			fgCacheHits++;
+		while (true) {
+			HierarchyCacheEntry entry= findEntryInCache(type);
+			if (entry != null) {
+				ITypeHierarchy hierarchy= entry.getTypeHierarchy();
+				if (hierarchy != null) {
+					fgCacheHits.incrementAndGet();
+					return hierarchy;
+				}
+				continue; // removed concurrently
+			}
+
+			CompletableFuture<ITypeHierarchy> build= new CompletableFuture<>();
+			CompletableFuture<ITypeHierarchy> pending= fgPendingBuilds.putIfAbsent(type, build);
+			if (pending == null) {
+				fgCacheMisses.incrementAndGet();
+				return buildTypeHierarchy(type, build, progressMonitor);
+			}
+			ITypeHierarchy hierarchy= awaitTypeHierarchy(pending, progressMonitor);
+			if (hierarchy != null) {
+				fgCacheHits.incrementAndGet();
+				return hierarchy;
+			}
+			// the other build has been canceled, try again
 		}
-		return hierarchy;
 	}
 
-	private static void addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
-		synchronized (fgHierarchyCache) {
-			int nEntries= fgHierarchyCache.size();
-			if (nEntries >= CACHE_SIZE) {
-				// find obsolete entries or remove entry that was least recently accessed
-				HierarchyCacheEntry oldest= null;
-				ArrayList<HierarchyCacheEntry> obsoleteHierarchies= new ArrayList<>(CACHE_SIZE);
-				for (HierarchyCacheEntry entry : fgHierarchyCache) {
-					ITypeHierarchy curr= entry.getTypeHierarchy();
-					if (!curr.exists() || hierarchy.contains(curr.getType())) {
-						obsoleteHierarchies.add(entry);
-					} else {
-						if (oldest == null || entry.getLastAccess() < oldest.getLastAccess()) {
-							oldest= entry;
-						}
-					}
-				}
-				if (!obsoleteHierarchies.isEmpty()) {
-					for (HierarchyCacheEntry obsoleteHierarchie : obsoleteHierarchies) {
-						removeHierarchyEntryFromCache(obsoleteHierarchie);
+	private static ITypeHierarchy buildTypeHierarchy(IType type, CompletableFuture<ITypeHierarchy> build, IProgressMonitor progressMonitor) throws JavaModelException {
+		try {
+			long stamp= fgInvalidationStamp.get();
+			ITypeHierarchy hierarchy= type.newSupertypeHierarchy(progressMonitor);
+			if (stamp == fgInvalidationStamp.get()) {
+				addTypeHierarchyToCache(hierarchy);
+			}
+			build.complete(hierarchy);
+			return hierarchy;
+		} catch (JavaModelException | RuntimeException e) {
+			build.completeExceptionally(e);
+			throw e;
+		} finally {
+			fgPendingBuilds.remove(type, build);
+		}
+	}
+
+	/**
+	 * Waits for a hierarchy that is built by another thread.
+	 *
+	 * @param pending the pending build
+	 * @param progressMonitor the progress monitor of this thread, used to check for cancellation
+	 * @return the hierarchy or <code>null</code> if the other thread has canceled its build
+	 * @throws JavaModelException if the other build failed
+	 */
+	private static ITypeHierarchy awaitTypeHierarchy(CompletableFuture<ITypeHierarchy> pending, IProgressMonitor progressMonitor) throws JavaModelException {
+		try {
+			if (progressMonitor == null) {
+				return pending.get();
+			}
+			while (true) {
+				try {
+					return pending.get(100, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					if (progressMonitor.isCanceled()) {
+						throw new OperationCanceledException();
 					}
-				} else if (oldest != null) {
-					removeHierarchyEntryFromCache(oldest);
 				}
 			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (CancellationException e) {
+			return null;
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof OperationCanceledException) {
+				return null;
+			} else if (cause instanceof JavaModelException) {
+				throw (JavaModelException) cause;
+			} else if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	private static void addTypeHierarchyToCache(ITypeHierarchy hierarchy) {
+		synchronized (fgEntries) {
 			HierarchyCacheEntry newEntry= new HierarchyCacheEntry(hierarchy);
-			fgHierarchyCache.add(newEntry);
+			fgEntries.add(newEntry);
+			// the new hierarchy is the most recent one for all its types
+			List<HierarchyCacheEntry> replaced= new ArrayList<>();
+			for (IType type : newEntry.getTypes()) {
+				HierarchyCacheEntry previous= fgHierarchyCache.put(type, newEntry);
+				if (previous != null && previous != newEntry) {
+					replaced.add(previous);
+				}
+			}
+			// remove hierarchies that are no longer reachable through their focus type
+			for (HierarchyCacheEntry entry : replaced) {
+				ITypeHierarchy curr= entry.getTypeHierarchy();
+				if (curr == null || fgHierarchyCache.get(curr.getType()) != entry) {
+					removeHierarchyEntryFromCache(entry);
+				}
+			}
+			evictLeastRecentlyUsed(fgCacheSize, newEntry);
+		}
+	}
+
+	/**
+	 * Removes the least recently used hierarchies until the cache holds no more than the given
+	 * number of hierarchies. Must be called while holding the lock on {@link #fgEntries}.
+	 *
+	 * @param cacheSize the maximal number of hierarchies to keep
+	 * @param keep an entry that must not be evicted, or <code>null</code>
+	 */
+	private static void evictLeastRecentlyUsed(int cacheSize, HierarchyCacheEntry keep) {
+		while (fgEntries.size() > cacheSize) {
+			HierarchyCacheEntry oldest= null;
+			for (HierarchyCacheEntry entry : fgEntries) {
+				if (entry != keep && (oldest == null || entry.getLastAccess() < oldest.getLastAccess())) {
+					oldest= entry;
+				}
+			}
+			if (oldest == null) {
+				return;
+			}
+			removeHierarchyEntryFromCache(oldest);
+			fgCacheEvictions.incrementAndGet();
 		}
 	}
 
@@ -186,43 +330,68 @@ public class SuperTypeHierarchyCache {
 	 * @return <code>true</code> if a hierarchy for the given type is cached
 	 */
 	public static boolean hasInCache(IType type) {
-		return findTypeHierarchyInCache(type) != null;
+		return findEntryInCache(type) != null;
 	}
 
 
-	private static ITypeHierarchy findTypeHierarchyInCache(IType type) {
-		synchronized (fgHierarchyCache) {
-			for (int i= fgHierarchyCache.size() - 1; i>= 0; i--) {
-				HierarchyCacheEntry curr= fgHierarchyCache.get(i);
-				ITypeHierarchy hierarchy= curr.getTypeHierarchy();
-				if (!hierarchy.exists()) {
-					removeHierarchyEntryFromCache(curr);
-				} else {
-					if (hierarchy.contains(type)) {
-						curr.markAsAccessed();
-						return hierarchy;
-					}
-				}
-			}
+	private static HierarchyCacheEntry findEntryInCache(IType type) {
+		HierarchyCacheEntry entry= fgHierarchyCache.get(type);
+		if (entry == null) {
+			return null;
+		}
+		ITypeHierarchy hierarchy= entry.getTypeHierarchy();
+		if (hierarchy == null || !hierarchy.exists()) {
+			removeHierarchyEntryFromCache(entry);
+			return null;
 		}
-		return null;
+		entry.markAsAccessed();
+		return entry;
 	}
 
 	private static void removeHierarchyEntryFromCache(HierarchyCacheEntry entry) {
-		synchronized (fgHierarchyCache) {
-			removeMethodOverrideTester(entry.getTypeHierarchy());
+		synchronized (fgEntries) {
+			if (!fgEntries.remove(entry)) {
+				return;
+			}
+			for (IType type : entry.getTypes()) {
+				fgHierarchyCache.remove(type, entry);
+			}
 			entry.dispose();
-			fgHierarchyCache.remove(entry);
 		}
 	}
 
+	/**
+	 * Returns the maximal number of cached hierarchies. Unless configured with the system property
+	 * <code>jdt.superTypeHierarchyCacheSize</code>, the size depends on the maximal heap size.
+	 *
+	 * @return the maximal number of cached hierarchies
+	 */
+	public static int getCacheSize() {
+		return fgCacheSize;
+	}
+
+	/**
+	 * Sets the maximal number of cached hierarchies. Evicts hierarchies if the cache is
+	 * larger than the new size.
+	 *
+	 * @param cacheSize the maximal number of cached hierarchies, must be positive
+	 */
+	public static void setCacheSize(int cacheSize) {
+		if (cacheSize < 1) {
+			throw new IllegalArgumentException("cache size must be positive: " + cacheSize); //$NON-NLS-1$
+		}
+		synchronized (fgEntries) {
+			fgCacheSize= cacheSize;
+			evictLeastRecentlyUsed(cacheSize, null);
+		}
+	}
 
 	/**
 	 * Gets the number of times the hierarchy could be taken from the hierarchy.
 	 * @return Returns a int
 	 */
 	public static int getCacheHits() {
-		return fgCacheHits;
+		return (int) fgCacheHits.get();
 	}
 
 	/**
@@ -230,7 +399,15 @@ public class SuperTypeHierarchyCache {
 	 * @return Returns a int
 	 */
 	public static int getCacheMisses() {
-		return fgCacheMisses;
+		return (int) fgCacheMisses.get();
+	}
+
+	/**
+	 * Gets the number of hierarchies that have been removed to make room for others. Used for testing.
+	 * @return the number of evicted hierarchies
+	 */
+	public static int getCacheEvictions() {
+		return (int) fgCacheEvictions.get();
 	}
 
 	private SuperTypeHierarchyCache() {
@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+
+import org.eclipse.jdt.internal.core.manipulation.search.ASTOccurrenceIndex;
+import org.eclipse.jdt.internal.core.manipulation.search.IOccurrencesFinder.OccurrenceLocation;
+import org.eclipse.jdt.internal.core.manipulation.search.OccurrencesFinder;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+/**
+ * Tests the index that answers occurrence queries on shared ASTs.
+ *
+ * @since 3.28
+ */
+public class ASTOccurrenceIndexTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private static final String SOURCE= "" +
+			"package test1;\n" +
+			"public class E extends Base {\n" +
+			"	int count;\n" +
+			"	static int total;\n" +
+			"	E next;\n" +
+			"	@Override\n" +
+			"	public void run(int step) {\n" +
+			"		count += step;\n" +
+			"		next.count++;\n" +
+			"		E.total= count;\n" +
+			"		this.count= next.next.count;\n" +
+			"		run(count);\n" +
+			"	}\n" +
+			"}\n" +
+			"class Base {\n" +
+			"	public void run(int step) {\n" +
+			"	}\n" +
+			"}\n";
+
+	private IJavaProject fJProject;
+	private ICompilationUnit fCompilationUnit;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject= pts.getProject();
+		IPackageFragment pack= JavaProjectHelper.addSourceContainer(fJProject, "src").createPackageFragment("test1", false, null);
+		fCompilationUnit= pack.createCompilationUnit("E.java", SOURCE, true, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.clear(fJProject, pts.getDefaultClasspath());
+	}
+
+	private CompilationUnit createAST() {
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		parser.setSource(fCompilationUnit);
+		parser.setResolveBindings(true);
+		return (CompilationUnit) parser.createAST(null);
+	}
+
+	private static OccurrenceLocation[] findOccurrences(CompilationUnit root, String name, int ithOccurrence) {
+		int offset= -1;
+		for (int i= 0; i < ithOccurrence; i++) {
+			offset= SOURCE.indexOf(name, offset + 1);
+		}
+		OccurrencesFinder finder= new OccurrencesFinder();
+		assertNull(finder.initialize(root, offset, name.length()));
+		return finder.getOccurrences();
+	}
+
+	private static void assertSameOccurrences(OccurrenceLocation[] expected, OccurrenceLocation[] actual) {
+		assertEquals(expected.length, actual.length);
+		for (int i= 0; i < expected.length; i++) {
+			assertEquals(expected[i].getOffset(), actual[i].getOffset());
+			assertEquals(expected[i].getLength(), actual[i].getLength());
+			assertEquals(expected[i].getFlags(), actual[i].getFlags());
+		}
+	}
+
+	@Test
+	public void testIndexIsStoredWithAST() {
+		CompilationUnit root= createAST();
+		ASTOccurrenceIndex index= ASTOccurrenceIndex.get(root);
+		assertSame(index, ASTOccurrenceIndex.get(root));
+		assertNotSame(index, ASTOccurrenceIndex.get(createAST()));
+	}
+
+	@Test
+	public void testSingleQueryDoesNotBuildIndex() {
+		CompilationUnit root= createAST();
+		assertNull(ASTOccurrenceIndex.getForQuery(root));
+		ASTOccurrenceIndex index= ASTOccurrenceIndex.getForQuery(root);
+		assertNotNull(index);
+		assertSame(index, ASTOccurrenceIndex.get(root));
+
+		CompilationUnit shared= createAST();
+		ASTOccurrenceIndex built= ASTOccurrenceIndex.get(shared);
+		built.getOccurrences("");
+		assertSame(built, ASTOccurrenceIndex.getForQuery(shared));
+	}
+
+	@Test
+	public void testMethodDeclarationsDoNotIndexNames() {
+		CompilationUnit root= createAST();
+		ASTOccurrenceIndex index= ASTOccurrenceIndex.get(root);
+		assertEquals(2, index.getMethodDeclarations().size());
+		// the first query still traverses the AST
+		assertNull(ASTOccurrenceIndex.getForQuery(root));
+		assertSame(index, ASTOccurrenceIndex.getForQuery(root));
+		assertEquals(2, index.getMethodDeclarations().size());
+	}
+
+	@Test
+	public void testIndexedQueriesMatchTraversal() {
+		String[][] queries= { { "count", "1" }, { "count", "3" }, { "total", "2" }, { "next", "2" }, { "run", "1" }, { "step", "2" }, { "E", "3" } };
+		for (String[] query : queries) {
+			CompilationUnit traversed= createAST();
+			OccurrenceLocation[] expected= findOccurrences(traversed, query[0], Integer.parseInt(query[1]));
+
+			CompilationUnit indexed= createAST();
+			// the second query uses the index
+			ASTOccurrenceIndex.getForQuery(indexed);
+			OccurrenceLocation[] actual= findOccurrences(indexed, query[0], Integer.parseInt(query[1]));
+			assertNotNull(query[0], expected);
+			assertSameOccurrences(expected, actual);
+		}
+	}
+
+	@Test
+	public void testOverriddenMethods() {
+		CompilationUnit root= createAST();
+		ASTOccurrenceIndex index= ASTOccurrenceIndex.get(root);
+		List<MethodDeclaration> declarations= index.getMethodDeclarations();
+		assertEquals(2, declarations.size());
+		IMethodBinding overridden= index.getOverriddenMethod(declarations.get(0));
+		assertNotNull(overridden);
+		assertEquals("Base", overridden.getDeclaringClass().getName());
+		assertSame(overridden, index.getOverriddenMethod(declarations.get(0)));
+		assertNull(index.getOverriddenMethod(declarations.get(1)));
+	}
+}
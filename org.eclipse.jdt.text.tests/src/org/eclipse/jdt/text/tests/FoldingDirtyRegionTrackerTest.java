@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+
+import org.eclipse.jdt.internal.ui.text.folding.FoldingDirtyRegionTracker;
+
+/**
+ * Tests the modified range that incremental folding updates look at.
+ *
+ * @since 3.28
+ */
+public class FoldingDirtyRegionTrackerTest {
+
+	private IDocument fDocument;
+	private FoldingDirtyRegionTracker fTracker;
+
+	@Before
+	public void setUp() {
+		fDocument= new Document("0123456789012345678901234567890123456789"); //$NON-NLS-1$
+		fTracker= new FoldingDirtyRegionTracker();
+		fTracker.install(fDocument);
+	}
+
+	@After
+	public void tearDown() {
+		fTracker.uninstall();
+	}
+
+	@Test
+	public void testNoModification() {
+		fTracker.aboutToBeReconciled();
+		assertNull(fTracker.consume());
+	}
+
+	@Test
+	public void testModificationsAreMerged() throws BadLocationException {
+		fDocument.replace(10, 0, "ab"); //$NON-NLS-1$
+		fDocument.replace(20, 2, ""); //$NON-NLS-1$
+		fTracker.aboutToBeReconciled();
+		assertEquals(new Region(10, 10), fTracker.consume());
+		assertNull(fTracker.consume());
+	}
+
+	@Test
+	public void testOnlySnapshotIsConsumed() throws BadLocationException {
+		fDocument.replace(10, 0, "ab"); //$NON-NLS-1$
+		assertNull(fTracker.consume());
+		fTracker.aboutToBeReconciled();
+		assertEquals(new Region(10, 2), fTracker.consume());
+	}
+
+	@Test
+	public void testModificationDuringReconcileIsRequeued() throws BadLocationException {
+		fDocument.replace(20, 0, "ab"); //$NON-NLS-1$
+		fTracker.aboutToBeReconciled();
+		// typed while the reconcile is running, not part of its delta
+		fDocument.replace(30, 0, "cd"); //$NON-NLS-1$
+		assertEquals(new Region(20, 2), fTracker.consume());
+
+		fTracker.aboutToBeReconciled();
+		assertEquals(new Region(30, 2), fTracker.consume());
+		assertNull(fTracker.consume());
+	}
+
+	@Test
+	public void testSnapshotShiftsWithLaterModifications() throws BadLocationException {
+		fDocument.replace(20, 0, "ab"); //$NON-NLS-1$
+		fTracker.aboutToBeReconciled();
+		fDocument.replace(5, 3, "x"); //$NON-NLS-1$
+		IRegion snapshot= fTracker.consume();
+		assertEquals(new Region(18, 2), snapshot);
+		assertEquals("ab", fDocument.get(snapshot.getOffset(), snapshot.getLength())); //$NON-NLS-1$
+
+		fTracker.aboutToBeReconciled();
+		assertEquals(new Region(5, 1), fTracker.consume());
+	}
+
+	@Test
+	public void testReconcileWithoutDeltaKeepsSnapshot() throws BadLocationException {
+		fDocument.replace(10, 0, "ab"); //$NON-NLS-1$
+		fTracker.aboutToBeReconciled();
+		fDocument.replace(30, 0, "cd"); //$NON-NLS-1$
+		// the first reconcile did not produce a delta, the next one covers both modifications
+		fTracker.aboutToBeReconciled();
+		assertEquals(new Region(10, 22), fTracker.consume());
+	}
+
+	@Test
+	public void testInstallResets() throws BadLocationException {
+		fDocument.replace(10, 0, "ab"); //$NON-NLS-1$
+		fTracker.aboutToBeReconciled();
+		fDocument.replace(30, 0, "cd"); //$NON-NLS-1$
+		fTracker.install(fDocument);
+		fTracker.aboutToBeReconciled();
+		assertNull(fTracker.consume());
+	}
+}
@@ -24,8 +24,12 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TextUtilities;
 import org.eclipse.jface.text.rules.FastPartitioner;
 
 import org.eclipse.jdt.core.JavaCore;
@@ -36,6 +40,7 @@ import org.eclipse.jdt.ui.text.IJavaPartitions;
 import org.eclipse.jdt.internal.ui.text.FastJavaPartitionScanner;
 import org.eclipse.jdt.internal.ui.text.JavaHeuristicScanner;
 import org.eclipse.jdt.internal.ui.text.JavaIndenter;
+import org.eclipse.jdt.internal.ui.text.ScannerSnapshot;
 
 /**
  * SmartSemicolonAutoEditStrategyTest
@@ -1235,4 +1240,93 @@ public class JavaHeuristicScannerTest {
 		String indent= fScanner.computeIndentation(offset).toString();
 		assertEquals("\t", indent);
 	}
+
+	@Test
+	public void testSnapshotFollowsIndentation() throws Exception {
+		fDocument.set("class A {\n" +
+				"/**\n" +
+				" * doc { \"\n" +
+				" */\n" +
+				"void m() {\n" +
+				"String s= \"}\"; // }\n" +
+				"/* { */ int i;\n" +
+				"}\n" +
+				"}\n");
+		ScannerSnapshot snapshot= ScannerSnapshot.create(fDocument, IJavaPartitions.JAVA_PARTITIONING);
+		try {
+			for (int line= 1; line < fDocument.getNumberOfLines() - 1; line++) {
+				IRegion region= fDocument.getLineInformation(line);
+				fDocument.replace(region.getOffset(), 0, line % 2 == 0 ? "\t\t" : "    ");
+				assertTrue(snapshot.isValid());
+				assertSamePartitions(snapshot);
+			}
+			IRegion region= fDocument.getLineInformation(2);
+			fDocument.replace(region.getOffset(), 4, "");
+			assertTrue(snapshot.isValid());
+			assertSamePartitions(snapshot);
+		} finally {
+			snapshot.dispose();
+		}
+	}
+
+	private void assertSamePartitions(ScannerSnapshot snapshot) throws BadLocationException {
+		for (int offset= 0; offset < fDocument.getLength(); offset++) {
+			if (Character.isWhitespace(fDocument.getChar(offset)))
+				continue;
+			ITypedRegion expected= TextUtilities.getPartition(fDocument, IJavaPartitions.JAVA_PARTITIONING, offset, false);
+			ITypedRegion actual= snapshot.getPartition(offset);
+			assertEquals("partition at " + offset, expected.getType(), actual.getType());
+			assertTrue("partition at " + offset, actual.getOffset() <= offset && offset < actual.getOffset() + actual.getLength());
+		}
+	}
+
+	@Test
+	public void testSnapshotInvalidatedByModification() throws Exception {
+		fDocument.set("class A {\n" +
+				"int i;\n" +
+				"}\n");
+		ScannerSnapshot snapshot= ScannerSnapshot.create(fDocument, IJavaPartitions.JAVA_PARTITIONING);
+		try {
+			fDocument.replace(fDocument.getLineOffset(1), 0, "\t");
+			assertTrue(snapshot.isValid());
+			fDocument.replace(fDocument.getLineOffset(1) + 2, 0, " ");
+			assertFalse("blanks inside code must invalidate the snapshot", snapshot.isValid());
+		} finally {
+			snapshot.dispose();
+		}
+
+		snapshot= ScannerSnapshot.create(fDocument, IJavaPartitions.JAVA_PARTITIONING);
+		try {
+			fDocument.replace(fDocument.getLineOffset(1), 0, "/*");
+			assertFalse("text must invalidate the snapshot", snapshot.isValid());
+		} finally {
+			snapshot.dispose();
+		}
+	}
+
+	@Test
+	public void testFindOpeningPeerWithSnapshot() throws Exception {
+		fDocument.set("class A {\n" +
+				"void m() {\n" +
+				"if (true) {\n" +
+				"}\n" +
+				"}\n" +
+				"}\n");
+		ScannerSnapshot snapshot= ScannerSnapshot.create(fDocument, IJavaPartitions.JAVA_PARTITIONING);
+		try {
+			fHeuristicScanner.setSnapshot(snapshot);
+			int close= fDocument.get().lastIndexOf('}') - 1;
+			assertEquals(8, fHeuristicScanner.findOpeningPeer(close, '{', '}'));
+
+			fDocument.replace(fDocument.getLineOffset(1), 0, "\t");
+			fDocument.replace(fDocument.getLineOffset(2), 0, "\t\t");
+			close= fDocument.get().lastIndexOf('}') - 1;
+			assertEquals(8, fHeuristicScanner.findOpeningPeer(close, '{', '}'));
+			int inner= fDocument.get().indexOf('}') - 1;
+			assertEquals(fDocument.get().indexOf("{\n", fDocument.getLineOffset(2)), fHeuristicScanner.findOpeningPeer(inner, '{', '}'));
+		} finally {
+			fHeuristicScanner.setSnapshot(null);
+			snapshot.dispose();
+		}
+	}
 }
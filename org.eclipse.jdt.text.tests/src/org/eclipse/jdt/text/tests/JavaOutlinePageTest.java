@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.text.tests.performance.EditorTestHelper;
+
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Tree;
+import org.eclipse.swt.widgets.TreeItem;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+import org.eclipse.ui.views.contentoutline.IContentOutlinePage;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+
+import org.eclipse.jdt.ui.JavaUI;
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+
+/**
+ * Tests that the Java outline applies the reconcile deltas of the edited compilation unit.
+ *
+ * @since 3.28
+ */
+public class JavaOutlinePageTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private static final String TOP_LEVEL_TYPE_ONLY= "GoIntoTopLevelTypeAction.isChecked";
+	private static final String LEXICAL_SORTING= "LexicalSortingAction.isChecked";
+
+	private static final String SOURCE= "" +
+			"package pack;\n" +
+			"public class A {\n" +
+			"	int f;\n" +
+			"	void foo() {\n" +
+			"	}\n" +
+			"	class Inner {\n" +
+			"		void bar() {\n" +
+			"		}\n" +
+			"	}\n" +
+			"}\n";
+
+	private IJavaProject fJProject;
+	private ICompilationUnit fUnit;
+	private boolean fOutlineShown;
+	private JavaEditor fEditor;
+	private ICompilationUnit fWorkingCopy;
+	private IDocument fDocument;
+	private Tree fTree;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject= pts.getProject();
+		IPackageFragment pack= JavaProjectHelper.addSourceContainer(fJProject, "src").createPackageFragment("pack", true, null);
+		fUnit= pack.createCompilationUnit("A.java", SOURCE, true, null);
+		IPreferenceStore store= JavaPlugin.getDefault().getPreferenceStore();
+		store.setValue(LEXICAL_SORTING, false);
+		fOutlineShown= EditorTestHelper.showView(EditorTestHelper.OUTLINE_VIEW_ID, true);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		EditorTestHelper.closeAllEditors();
+		if (!fOutlineShown)
+			EditorTestHelper.showView(EditorTestHelper.OUTLINE_VIEW_ID, false);
+		IPreferenceStore store= JavaPlugin.getDefault().getPreferenceStore();
+		store.setToDefault(LEXICAL_SORTING);
+		store.setToDefault(TOP_LEVEL_TYPE_ONLY);
+		JavaProjectHelper.clear(fJProject, pts.getDefaultClasspath());
+	}
+
+	private void openEditor() throws Exception {
+		fEditor= (JavaEditor) JavaUI.openInEditor(fUnit);
+		fWorkingCopy= JavaUI.getWorkingCopyManager().getWorkingCopy(fEditor.getEditorInput());
+		fDocument= fEditor.getDocumentProvider().getDocument(fEditor.getEditorInput());
+		IContentOutlinePage page= fEditor.getAdapter(IContentOutlinePage.class);
+		assertNotNull(page);
+		Display display= fEditor.getSite().getShell().getDisplay();
+		assertTrue("outline not shown", new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return page.getControl() instanceof Tree && ((Tree) page.getControl()).getItemCount() > 0;
+			}
+		}.waitForCondition(display, 5000));
+		fTree= (Tree) page.getControl();
+	}
+
+	private void replace(String text, String replacement) throws Exception {
+		String contents= fDocument.get();
+		int offset= contents.indexOf(text);
+		assertTrue(text, offset >= 0);
+		fDocument.replace(offset, text.length(), replacement);
+		fWorkingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+	}
+
+	private void waitForOutline(String expected) {
+		new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return expected.equals(describe());
+			}
+		}.waitForCondition(fTree.getDisplay(), 5000);
+		assertEquals(expected, describe());
+	}
+
+	private String describe() {
+		StringBuilder buf= new StringBuilder();
+		describe(fTree.getItems(), "", buf);
+		return buf.toString();
+	}
+
+	private static void describe(TreeItem[] items, String indent, StringBuilder buf) {
+		for (TreeItem item : items) {
+			Object data= item.getData();
+			if (data instanceof IJavaElement) {
+				buf.append(indent).append(((IJavaElement) data).getElementName()).append('\n');
+				describe(item.getItems(), indent + "\t", buf);
+			}
+		}
+	}
+
+	private TreeItem findItem(String name) {
+		return findItem(fTree.getItems(), name);
+	}
+
+	private static TreeItem findItem(TreeItem[] items, String name) {
+		for (TreeItem item : items) {
+			Object data= item.getData();
+			if (data instanceof IJavaElement) {
+				if (name.equals(((IJavaElement) data).getElementName()))
+					return item;
+				TreeItem found= findItem(item.getItems(), name);
+				if (found != null)
+					return found;
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void membersAreAddedAndRemovedInPlace() throws Exception {
+		openEditor();
+		waitForOutline("pack\nA\n\tf\n\tfoo\n\tInner\n");
+		TreeItem f= findItem("f");
+		f.setText("marker");
+
+		replace("void foo()", "void baz()");
+		waitForOutline("pack\nA\n\tf\n\tbaz\n\tInner\n");
+		// the unchanged elements are neither recreated nor relabelled
+		assertSame(f, findItem("f"));
+		assertEquals("marker", f.getText());
+
+		replace("\tint f;\n", "");
+		waitForOutline("pack\nA\n\tbaz\n\tInner\n");
+	}
+
+	@Test
+	public void changedMembersAreRelabelled() throws Exception {
+		openEditor();
+		TreeItem foo= findItem("foo");
+		foo.setText("marker");
+
+		replace("int f;", "long f;");
+		new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return findItem("f").getText().contains("long");
+			}
+		}.waitForCondition(fTree.getDisplay(), 5000);
+		assertTrue(findItem("f").getText(), findItem("f").getText().contains("long"));
+		assertEquals("marker", foo.getText());
+	}
+
+	@Test
+	public void superTypeChangeRelabelsMembers() throws Exception {
+		openEditor();
+		TreeItem foo= findItem("foo");
+		foo.setText("marker");
+
+		replace("public class A {", "public class A extends Object {");
+		new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return !"marker".equals(foo.getText());
+			}
+		}.waitForCondition(fTree.getDisplay(), 5000);
+		assertFalse("marker".equals(foo.getText()));
+		assertEquals("pack\nA\n\tf\n\tfoo\n\tInner\n", describe());
+	}
+
+	@Test
+	public void topLevelTypeOnly() throws Exception {
+		JavaPlugin.getDefault().getPreferenceStore().setValue(TOP_LEVEL_TYPE_ONLY, true);
+		openEditor();
+		waitForOutline("f\nfoo\nInner\n");
+
+		replace("void foo()", "void baz()");
+		waitForOutline("f\nbaz\nInner\n");
+
+		replace("\tint f;\n", "");
+		waitForOutline("baz\nInner\n");
+	}
+}
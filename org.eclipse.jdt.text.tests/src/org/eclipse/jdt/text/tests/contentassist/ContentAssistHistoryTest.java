@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,10 +14,14 @@
 package org.eclipse.jdt.text.tests.contentassist;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +38,7 @@ import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
 import org.eclipse.jdt.internal.ui.text.java.ContentAssistHistory;
 import org.eclipse.jdt.internal.ui.text.java.ContentAssistHistory.RHSHistory;
+import org.eclipse.jdt.internal.ui.text.java.ContentAssistHistoryJournal;
 
 /**
  * @since 3.2
@@ -243,6 +248,142 @@ public class ContentAssistHistoryTest {
 		assertEqualMap(map(LIST, list(ARRAY_LIST), COLLECTION, list(ARRAY_LIST), ITERABLE, list(ARRAY_LIST), CHAR_SEQUENCE, list(STRING)), loaded.getEntireHistory());
 	}
 
+	@Test
+	public void testGetHistoriesWithPrefix() {
+		ContentAssistHistory history= new ContentAssistHistory();
+
+		history.remember(fgListT, fgArrayListT);
+		history.remember(fgCharSequenceT, fgStringT);
+
+		assertEqualMap(map(LIST, list(ARRAY_LIST), COLLECTION, list(ARRAY_LIST)), history.getHistoriesWithPrefix("java.util."));
+		assertEqualMap(map(ITERABLE, list(ARRAY_LIST), CHAR_SEQUENCE, list(STRING)), history.getHistoriesWithPrefix("java.lang."));
+		assertTrue(history.getHistoriesWithPrefix("java.io.").isEmpty());
+	}
+
+	@Test
+	public void testJournal() throws Exception {
+		File directory= Files.createTempDirectory("history").toFile();
+		try {
+			ContentAssistHistoryJournal journal= new ContentAssistHistoryJournal(directory);
+			assertFalse(journal.hasWorkspaceHistory());
+			journal.getProjectHistory("p1").remember(fgListT, fgArrayListT);
+			journal.getProjectHistory("p2").remember(fgCharSequenceT, fgStringT);
+			journal.getProjectHistory("p2").remember(fgCharSequenceT, fgStringBufferT);
+			journal.close();
+
+			ContentAssistHistoryJournal loaded= new ContentAssistHistoryJournal(directory);
+			assertTrue(loaded.hasWorkspaceHistory());
+			assertEqualMap(map(LIST, list(ARRAY_LIST), COLLECTION, list(ARRAY_LIST), ITERABLE, list(ARRAY_LIST)), loaded.getProjectHistory("p1").getEntireHistory());
+			assertEqualMap(map(CHAR_SEQUENCE, list(STRING, STRING_BUFFER)), loaded.getProjectHistory("p2").getEntireHistory());
+			assertEqualMap(map(LIST, list(ARRAY_LIST), COLLECTION, list(ARRAY_LIST), ITERABLE, list(ARRAY_LIST), CHAR_SEQUENCE, list(STRING, STRING_BUFFER)), loaded.getWorkspaceHistory().getEntireHistory());
+			assertEquals("project history must fall back to the workspace history", list(STRING, STRING_BUFFER), loaded.getProjectHistory("p1").getHistory(CHAR_SEQUENCE).getTypes());
+			loaded.close();
+		} finally {
+			for (File file : directory.listFiles())
+				file.delete();
+			directory.delete();
+		}
+	}
+
+	@Test
+	public void testJournalCompaction() throws Exception {
+		File directory= Files.createTempDirectory("history").toFile();
+		try {
+			ContentAssistHistoryJournal journal= new ContentAssistHistoryJournal(directory);
+			ContentAssistHistory history= journal.getWorkspaceHistory();
+			for (int i= 0; i < 20; i++) {
+				history.remember(fgCharSequenceT, fgStringT);
+				history.remember(fgCharSequenceT, fgStringBufferT);
+			}
+			journal.close();
+			File file= new File(directory, ".workspace.history");
+			assertEquals(40, Files.readAllLines(file.toPath()).size());
+
+			ContentAssistHistoryJournal loaded= new ContentAssistHistoryJournal(directory);
+			assertEqualMap(map(CHAR_SEQUENCE, list(STRING, STRING_BUFFER)), loaded.getWorkspaceHistory().getEntireHistory());
+			loaded.close();
+			assertEquals("journal must be compacted when loaded", 2, Files.readAllLines(file.toPath()).size());
+		} finally {
+			for (File file : directory.listFiles())
+				file.delete();
+			directory.delete();
+		}
+	}
+
+	@Test
+	public void testJournalProjectNamedLikeWorkspaceSegment() throws Exception {
+		File directory= Files.createTempDirectory("history").toFile();
+		try {
+			ContentAssistHistoryJournal journal= new ContentAssistHistoryJournal(directory);
+			journal.getProjectHistory(".workspace").remember(fgListT, fgArrayListT);
+			journal.getWorkspaceHistory().remember(fgCharSequenceT, fgStringT);
+			journal.close();
+
+			ContentAssistHistoryJournal loaded= new ContentAssistHistoryJournal(directory);
+			assertEqualMap(map(LIST, list(ARRAY_LIST), COLLECTION, list(ARRAY_LIST), ITERABLE, list(ARRAY_LIST)), loaded.getProjectHistory(".workspace").getEntireHistory());
+			assertEqualMap(map(LIST, list(ARRAY_LIST), COLLECTION, list(ARRAY_LIST), ITERABLE, list(ARRAY_LIST), CHAR_SEQUENCE, list(STRING)), loaded.getWorkspaceHistory().getEntireHistory());
+			loaded.close();
+		} finally {
+			delete(directory);
+		}
+	}
+
+	@Test
+	public void testJournalRemoveAndMoveProjects() throws Exception {
+		File directory= Files.createTempDirectory("history").toFile();
+		try {
+			ContentAssistHistoryJournal journal= new ContentAssistHistoryJournal(directory);
+			journal.getProjectHistory("deleted").remember(fgListT, fgArrayListT);
+			journal.getProjectHistory("renamed").remember(fgCharSequenceT, fgStringT);
+			journal.getProjectHistory("stale").remember(fgCollectionT, fgLinkedListT);
+			journal.getProjectHistory("kept").remember(fgCharSequenceT, fgStringBufferT);
+			journal.close();
+
+			journal.removeProjectHistory("deleted");
+			journal.moveProjectHistory("renamed", "newName");
+			journal.retainProjectHistories(Arrays.asList("newName", "kept"));
+			journal.getProjectHistory("deleted").remember(fgCharSequenceT, fgStringT);
+			journal.close();
+			assertEquals(4, directory.listFiles().length);
+
+			ContentAssistHistoryJournal loaded= new ContentAssistHistoryJournal(directory);
+			assertEqualMap(map(CHAR_SEQUENCE, list(STRING)), loaded.getProjectHistory("deleted").getEntireHistory());
+			assertEqualMap(map(CHAR_SEQUENCE, list(STRING)), loaded.getProjectHistory("newName").getEntireHistory());
+			assertEqualMap(map(CHAR_SEQUENCE, list(STRING_BUFFER)), loaded.getProjectHistory("kept").getEntireHistory());
+			assertTrue(loaded.getProjectHistory("renamed").getEntireHistory().isEmpty());
+			assertTrue(loaded.getProjectHistory("stale").getEntireHistory().isEmpty());
+			loaded.close();
+		} finally {
+			delete(directory);
+		}
+	}
+
+	@Test
+	public void testJournalKeepsLargeHistory() throws Exception {
+		File directory= Files.createTempDirectory("history").toFile();
+		try {
+			List<String> lines= new ArrayList<>();
+			for (int i= 0; i < 1000; i++) {
+				lines.add("p.Type" + i + "\tp.Impl" + i);
+			}
+			Files.write(new File(directory, ".workspace.history").toPath(), lines);
+
+			ContentAssistHistoryJournal journal= new ContentAssistHistoryJournal(directory);
+			Map<String, RHSHistory> history= journal.getWorkspaceHistory().getEntireHistory();
+			assertEquals(1000, history.size());
+			assertEquals(list("p.Impl0"), history.get("p.Type0").getTypes());
+			journal.close();
+		} finally {
+			delete(directory);
+		}
+	}
+
+	private static void delete(File directory) {
+		for (File file : directory.listFiles())
+			file.delete();
+		directory.delete();
+	}
+
 	private static void assertEqualMap(Map<String, List<String>> expected, Map<String, RHSHistory> actual) {
 		assertEqualMap("", expected, actual);
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,12 +28,14 @@ import org.junit.runners.Suite;
 			CamelCaseCompletionTest.class,
 			JavadocCompletionTest.class,
 			ContentAssistHistoryTest.class,
+			LatencyHistogramTest.class,
 			MethodInsertCompletionTest.class,
 			MethodInsertionFormattedCompletionTest.class,
 			MethodOverwriteCompletionTest.class,
 			MethodParamsCompletionTest.class,
 			MethodParameterGuessingCompletionTest.class,
 			MissingTypeCompletionTest.class,
+			ProposalMatchingTest.class,
 			TypeCompletionTest.class,
 			TypeCompletionTest1d7.class,
 			SpecialMethodsCompletionTest.class,
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.contentassist;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.eclipse.jdt.internal.ui.text.java.LatencyHistogram;
+
+/**
+ * @since 3.28
+ */
+public class LatencyHistogramTest {
+
+	private static long millis(long millis) {
+		return TimeUnit.MILLISECONDS.toNanos(millis);
+	}
+
+	@Test
+	public void testEmpty() {
+		LatencyHistogram histogram= new LatencyHistogram("empty");
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMeanMillis(), 0);
+		assertEquals(0, histogram.getPercentileMillis(0.5));
+		assertEquals(0, histogram.getMaxMillis());
+	}
+
+	@Test
+	public void testPercentiles() {
+		LatencyHistogram histogram= new LatencyHistogram("test");
+		for (int i= 0; i < 90; i++)
+			histogram.record(millis(3));
+		for (int i= 0; i < 10; i++)
+			histogram.record(millis(100));
+
+		assertEquals(100, histogram.getCount());
+		assertEquals(12.7, histogram.getMeanMillis(), 0.001);
+		assertEquals(4, histogram.getPercentileMillis(0.5));
+		assertEquals(4, histogram.getPercentileMillis(0.9));
+		assertEquals(128, histogram.getPercentileMillis(0.99));
+		assertEquals(100, histogram.getMaxMillis());
+	}
+
+	@Test
+	public void testOverflowBucket() {
+		LatencyHistogram histogram= new LatencyHistogram("slow");
+		histogram.record(millis(60000));
+		assertEquals(60000, histogram.getPercentileMillis(0.5));
+		assertEquals(60000, histogram.getMaxMillis());
+
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMaxMillis());
+	}
+}
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.contentassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Hashtable;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.ui.text.java.JavaCompletionProposal;
+
+/**
+ * Tests that a proposal that is validated repeatedly gives the same results as a fresh proposal
+ * while the typed prefix grows, shrinks and changes, and after the match preferences change.
+ *
+ * @since 3.28
+ */
+public class ProposalMatchingTest {
+
+	private static final String[] TYPED= { "", "g", "ge", "get", "getV", "getVa", "getVal", "getVx", "getV", "GETVALUE", "getValue", "getValue(", "gV", "Value", "getValueX", "getVa" };
+
+	private static JavaCompletionProposal createProposal() {
+		return new JavaCompletionProposal("getValue", 0, 0, null, "getValue() : int", 0);
+	}
+
+	private static boolean validate(JavaCompletionProposal proposal, String typed) {
+		return proposal.validate(new Document(typed), typed.length(), null);
+	}
+
+	@Test
+	public void testSameAsFreshMatch() {
+		JavaCompletionProposal proposal= createProposal();
+		for (String typed : TYPED) {
+			assertEquals(typed, validate(createProposal(), typed), validate(proposal, typed));
+		}
+	}
+
+	@Test
+	public void testNarrowing() {
+		JavaCompletionProposal proposal= createProposal();
+		assertTrue(validate(proposal, "get"));
+		assertTrue(validate(proposal, "getVa"));
+		assertTrue(validate(proposal, "getVAL"));
+		assertFalse(validate(proposal, "getVALx"));
+		assertTrue(validate(proposal, "getVAL"));
+	}
+
+	@Test
+	public void testMatchPreferenceChange() {
+		Hashtable<String, String> options= JavaCore.getOptions();
+		try {
+			Hashtable<String, String> changed= new Hashtable<>(options);
+			changed.put(JavaCore.CODEASSIST_SUBSTRING_MATCH, JavaCore.DISABLED);
+			changed.put(JavaCore.CODEASSIST_SUBWORD_MATCH, JavaCore.DISABLED);
+			changed.put(JavaCore.CODEASSIST_CAMEL_CASE_MATCH, JavaCore.ENABLED);
+			JavaCore.setOptions(changed);
+			JavaCompletionProposal proposal= createProposal();
+			assertTrue(validate(proposal, "gV"));
+
+			changed.put(JavaCore.CODEASSIST_CAMEL_CASE_MATCH, JavaCore.DISABLED);
+			JavaCore.setOptions(changed);
+			assertFalse(validate(proposal, "gV"));
+		} finally {
+			JavaCore.setOptions(options);
+		}
+	}
+}
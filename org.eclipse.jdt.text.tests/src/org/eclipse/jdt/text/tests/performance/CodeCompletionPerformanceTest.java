@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,10 @@
 package org.eclipse.jdt.text.tests.performance;
 
 import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Hashtable;
+import java.util.List;
 
 import junit.framework.Test;
 import junit.framework.TestSuite;
@@ -30,6 +32,9 @@ import org.eclipse.core.resources.IFolder;
 
 import org.eclipse.jface.preference.IPreferenceStore;
 
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.contentassist.ICompletionProposalExtension2;
 import org.eclipse.jface.text.source.ISourceViewer;
 
@@ -52,6 +57,7 @@ import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.javaeditor.CompilationUnitEditor;
 import org.eclipse.jdt.internal.ui.text.java.FillArgumentNamesCompletionProposalCollector;
+import org.eclipse.jdt.internal.ui.text.java.JavaCompletionProposal;
 
 public class CodeCompletionPerformanceTest extends TextPerformanceTestCase {
 
@@ -79,6 +85,9 @@ public class CodeCompletionPerformanceTest extends TextPerformanceTestCase {
 	private static final int ACC_COMPLETION= 150;
 	private static final int ACC_APPLICATION= 20;
 	private static final int ACC_PARAMETER_APPLICATION= 20;
+	private static final int ACC_FILTERING= 500;
+	private static final int ACC_FILTERING_MANY= 5;
+	private static final int MANY_PROPOSALS= 20000;
 
 	private ICompilationUnit fCU;
 	private String fContents;
@@ -212,6 +221,81 @@ public class CodeCompletionPerformanceTest extends TextPerformanceTestCase {
 		}
 	}
 
+	public void testFilteringWhileTyping() throws Exception {
+		measureFilteringWhileTyping(getNullPerformanceMeter(), getWarmUpRuns());
+		PerformanceMeter performanceMeter= createPerformanceMeterForSummary("Java Editor: proposal filtering while typing", Dimension.ELAPSED_PROCESS);
+		measureFilteringWhileTyping(performanceMeter, getMeasuredRuns());
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	/*
+	 * Simulates the proposal popup while the user types a method name: each keystroke validates
+	 * the proposals that survived the previous keystroke.
+	 */
+	private void measureFilteringWhileTyping(PerformanceMeter meter, final int runs) throws Exception {
+		final String typed= "hashCode";
+		for (int run= 0; run < runs; run++) {
+			CompletionProposalCollector collector= createCollector();
+			collector.setIgnored(CompletionProposal.METHOD_REF, false);
+			IJavaCompletionProposal[] proposals= codeComplete(collector);
+			IDocument document= new Document();
+
+			meter.start();
+			for (int accumulated= 0; accumulated < ACC_FILTERING; accumulated++) {
+				document.set(fContents);
+				List<IJavaCompletionProposal> filtered= new ArrayList<>(Arrays.asList(proposals));
+				for (int i= 0; i < typed.length(); i++) {
+					int offset= fCodeAssistOffset + i;
+					DocumentEvent event= new DocumentEvent(document, offset, 0, typed.substring(i, i + 1));
+					document.replace(offset, 0, event.getText());
+					filtered.removeIf(p -> !((ICompletionProposalExtension2) p).validate(document, offset + 1, event));
+				}
+				assertEquals(1, filtered.size());
+			}
+			meter.stop();
+		}
+	}
+
+	public void testFilteringManyProposalsWhileTyping() throws Exception {
+		measureFilteringManyProposalsWhileTyping(getNullPerformanceMeter(), getWarmUpRuns());
+		PerformanceMeter performanceMeter= createPerformanceMeterForSummary("Java Editor: filtering 20000 proposals while typing", Dimension.ELAPSED_PROCESS);
+		measureFilteringManyProposalsWhileTyping(performanceMeter, getMeasuredRuns());
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	/*
+	 * Like measureFilteringWhileTyping, for a popup with 20000 proposals that share their leading
+	 * characters, so that most proposals survive the first keystrokes. The proposals match against
+	 * a string they compute on each validation, as JavaCompletionProposal does.
+	 */
+	private void measureFilteringManyProposalsWhileTyping(PerformanceMeter meter, final int runs) throws Exception {
+		final String typed= "getValue12345";
+		for (int run= 0; run < runs; run++) {
+			List<IJavaCompletionProposal> proposals= new ArrayList<>(MANY_PROPOSALS);
+			for (int i= 0; i < MANY_PROPOSALS; i++) {
+				String name= "getValue" + i;
+				proposals.add(new JavaCompletionProposal(name, fCodeAssistOffset, 0, null, name + "() : int", 0));
+			}
+			IDocument document= new Document();
+
+			meter.start();
+			for (int accumulated= 0; accumulated < ACC_FILTERING_MANY; accumulated++) {
+				document.set(fContents);
+				List<IJavaCompletionProposal> filtered= new ArrayList<>(proposals);
+				for (int i= 0; i < typed.length(); i++) {
+					int offset= fCodeAssistOffset + i;
+					DocumentEvent event= new DocumentEvent(document, offset, 0, typed.substring(i, i + 1));
+					document.replace(offset, 0, event.getText());
+					filtered.removeIf(p -> !((ICompletionProposalExtension2) p).validate(document, offset + 1, event));
+				}
+				assertTrue(filtered.stream().anyMatch(p -> p.getDisplayString().startsWith(typed + "(")));
+			}
+			meter.stop();
+		}
+	}
+
 	private CompletionProposalCollector createCollector() {
 		CompletionProposalCollector collector= new CompletionProposalCollector(fCU);
 		collector.setInvocationContext(createContext());
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.performance;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.actions.IndentAction;
+
+/**
+ * Measures the time to correct the indentation of a large compilation unit.
+ *
+ * @since 3.28
+ */
+public class CorrectIndentationTest extends TextPerformanceTestCase {
+
+	private static final Class<CorrectIndentationTest> THIS= CorrectIndentationTest.class;
+
+	private static final String FILE= PerformanceTestSetup.STYLED_TEXT;
+
+	private static final int WARM_UP_RUNS= 3;
+
+	private static final int MEASURED_RUNS= 5;
+
+	private String fIndented;
+
+	private String fUnindented;
+
+	public static Test suite() {
+		return new PerformanceTestSetup(new TestSuite(THIS));
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fIndented= ResourceTestHelper.read(FILE).toString();
+		fUnindented= fIndented.replaceAll("(?m)^[ \\t]+", ""); //$NON-NLS-1$ //$NON-NLS-2$
+		setWarmUpRuns(WARM_UP_RUNS);
+		setMeasuredRuns(MEASURED_RUNS);
+	}
+
+	/**
+	 * Measures the time to indent a compilation unit that has no indentation at all, i.e. every
+	 * line is changed.
+	 *
+	 * @throws Exception if the indentation fails
+	 */
+	public void testCorrectIndentation() throws Exception {
+		measure(fUnindented, getNullPerformanceMeter(), getWarmUpRuns());
+		measure(fUnindented, createPerformanceMeter(), getMeasuredRuns());
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	/**
+	 * Measures the time to indent a compilation unit that is already indented, i.e. only the
+	 * scanning is measured.
+	 *
+	 * @throws Exception if the indentation fails
+	 */
+	public void testCorrectIndentationUnchanged() throws Exception {
+		measure(fIndented, getNullPerformanceMeter(), getWarmUpRuns());
+		measure(fIndented, createPerformanceMeter(), getMeasuredRuns());
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	private void measure(String contents, PerformanceMeter performanceMeter, int runs) throws BadLocationException {
+		for (int i= 0; i < runs; i++) {
+			IDocument document= new Document(contents);
+			JavaPlugin.getDefault().getJavaTextTools().setupJavaDocumentPartitioner(document, IJavaPartitions.JAVA_PARTITIONING);
+			performanceMeter.start();
+			IndentAction.indent(document, null);
+			performanceMeter.stop();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -29,13 +30,18 @@ import org.junit.Before;
 import org.junit.Test;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IMember;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 
+import org.eclipse.jdt.internal.corext.callhierarchy.CallGraphIndex;
 import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchy;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallHierarchyCore;
+import org.eclipse.jdt.internal.corext.callhierarchy.CallerHierarchyExpander;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 
 import org.eclipse.jdt.ui.tests.callhierarchy.CallHierarchyTestHelper;
@@ -96,6 +102,130 @@ public class CallHierarchyTest {
         helper.assertCalls(expectedSecondLevelMethods, wrapper2.getCalls(new NullProgressMonitor()));
     }
 
+	@Test
+	public void callersExpandedBreadthFirst() throws Exception {
+        helper.createSimpleClasses();
+
+        IMethod method= helper.getMethod1();
+        IMethod secondLevelMethod= helper.getMethod3();
+
+        MethodWrapper wrapper= getSingleCallerRoot(method);
+        assertEquals(2, new CallerHierarchyExpander(2).expand(new MethodWrapper[] { wrapper }, new NullProgressMonitor()));
+
+        Collection<IMember> expectedMethods= new ArrayList<>();
+        expectedMethods.add(helper.getMethod2());
+        expectedMethods.add(secondLevelMethod);
+        MethodWrapper[] calls= wrapper.getCalls(new NullProgressMonitor());
+        helper.assertCalls(expectedMethods, calls);
+
+        Collection<IMember> expectedSecondLevelMethods= new ArrayList<>();
+        expectedSecondLevelMethods.add(helper.getMethod4());
+        helper.assertCalls(expectedSecondLevelMethods, helper.findMethodWrapper(secondLevelMethod, calls).getCalls(new NullProgressMonitor()));
+
+        // a new session finds the same callers
+        helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+    }
+
+	@Test
+	public void callersExpansionCanceled() throws Exception {
+        helper.createSimpleClasses();
+
+        MethodWrapper wrapper= getSingleCallerRoot(helper.getMethod1());
+        NullProgressMonitor monitor= new NullProgressMonitor();
+        monitor.setCanceled(true);
+        try {
+        	new CallerHierarchyExpander(3).expand(new MethodWrapper[] { wrapper }, monitor);
+        	fail("expansion not canceled");
+        } catch (OperationCanceledException e) {
+        	// expected
+        }
+    }
+
+	@Test
+	public void cachedCallersSurviveUnrelatedBodyChanges() throws Exception {
+        helper.createSimpleClasses();
+
+        getSingleCallerRoot(helper.getMethod1()).getCalls(new NullProgressMonitor());
+        getSingleCallerRoot(helper.getMethod4()).getCalls(new NullProgressMonitor());
+        assertTrue(CallerHierarchyExpander.hasCachedCallers(getSingleCallerRoot(helper.getMethod1())));
+        assertTrue(CallerHierarchyExpander.hasCachedCallers(getSingleCallerRoot(helper.getMethod4())));
+
+        ICompilationUnit workingCopy= helper.getType1().getCompilationUnit().getWorkingCopy(null);
+        try {
+        	// a body change in A.java affects method1, which is called there, but not method4
+        	String source= workingCopy.getSource();
+        	int offset= source.indexOf("  method1();");
+        	workingCopy.getBuffer().replace(offset, 0, "  method1();\n");
+        	workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+        	assertFalse(CallerHierarchyExpander.hasCachedCallers(getSingleCallerRoot(helper.getMethod1())));
+        	assertTrue(CallerHierarchyExpander.hasCachedCallers(getSingleCallerRoot(helper.getMethod4())));
+
+        	// a new member changes the structure
+        	offset= workingCopy.getSource().lastIndexOf('}');
+        	workingCopy.getBuffer().replace(offset, 0, "public void method5() { }\n");
+        	workingCopy.reconcile(ICompilationUnit.NO_AST, false, null, null);
+        	assertFalse(CallerHierarchyExpander.hasCachedCallers(getSingleCallerRoot(helper.getMethod4())));
+        } finally {
+        	workingCopy.discardWorkingCopy();
+        }
+    }
+
+	@Test
+	public void callersFromIndex() throws Exception {
+        helper.createSimpleClasses();
+
+        JavaPlugin.getDefault().getPreferenceStore().setValue(CallHierarchyCore.PREF_USE_CALL_GRAPH_INDEX, true);
+        try {
+        	CallGraphIndex index= CallGraphIndex.getDefault();
+        	index.scheduleUpdate();
+        	index.join();
+        	assertTrue(index.isFresh());
+
+        	IMethod method= helper.getMethod1();
+        	int answered= index.getAnsweredQueries();
+        	assertNotNull(index.getCallers(method, CallHierarchyCore.getDefault().getSearchScope()));
+        	assertEquals(answered + 1, index.getAnsweredQueries());
+
+        	Collection<IMember> expectedMethods= new ArrayList<>();
+        	expectedMethods.add(helper.getMethod2());
+        	expectedMethods.add(helper.getMethod3());
+        	helper.assertCalls(expectedMethods, getSingleCallerRoot(method).getCalls(new NullProgressMonitor()));
+        	// the call hierarchy has been answered by the index, not by a search
+        	assertEquals(answered + 2, index.getAnsweredQueries());
+        } finally {
+        	JavaPlugin.getDefault().getPreferenceStore().setToDefault(CallHierarchyCore.PREF_USE_CALL_GRAPH_INDEX);
+        }
+    }
+
+	@Test
+	public void indexUpdatesReferencesOfChangedTypes() throws Exception {
+        helper.createSimpleClasses();
+        IType c= helper.getPackage2().getCompilationUnit("C.java").createType("public class C extends pack1.A {\n public void method1() { }\n}\n", null, true, null);
+        IType d= helper.getPackage2().getCompilationUnit("D.java").createType("public class D {\n public void call(B b) { b.method1(); }\n}\n", null, true, null);
+        IMethod call= d.getMethod("call", new String[] { "QB;" });
+
+        JavaPlugin.getDefault().getPreferenceStore().setValue(CallHierarchyCore.PREF_USE_CALL_GRAPH_INDEX, true);
+        try {
+        	CallGraphIndex index= CallGraphIndex.getDefault();
+        	index.scheduleUpdate();
+        	index.join();
+        	assertTrue(index.isFresh());
+        	assertTrue(index.getCallers(helper.getMethod1(), CallHierarchyCore.getDefault().getSearchScope()).containsKey(call.getHandleIdentifier()));
+
+        	// D is not modified, but its call binds to C.method1 once B extends C
+        	ICompilationUnit cu= helper.getType2().getCompilationUnit();
+        	cu.getBuffer().setContents(cu.getBuffer().getContents().replace("extends pack1.A", "extends C"));
+        	cu.save(null, true);
+        	index.scheduleUpdate();
+        	index.join();
+        	assertTrue(index.isFresh());
+        	assertFalse(index.getCallers(helper.getMethod1(), CallHierarchyCore.getDefault().getSearchScope()).containsKey(call.getHandleIdentifier()));
+        	assertTrue(index.getCallers(c.getMethod("method1", EMPTY), CallHierarchyCore.getDefault().getSearchScope()).containsKey(call.getHandleIdentifier()));
+        } finally {
+        	JavaPlugin.getDefault().getPreferenceStore().setToDefault(CallHierarchyCore.PREF_USE_CALL_GRAPH_INDEX);
+        }
+    }
+
 	@Test
 	public void callersNoResults() throws Exception {
         helper.createSimpleClasses();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 IBM Corporation and others.
+ * Copyright (c) 2020, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,6 +36,11 @@ ImportOrganizeTest.class,
 ImportOrganizeTest1d8.class,
 JavaElementLabelsTest.class,
 JavaElementLabelsTest1d8.class,
+JavaElementLabelCacheTest.class,
+JavaStructureCacheTest.class,
+JavaHistoryIndexTest.class,
+JavaElementComparatorTest.class,
+JavaEditorBreadcrumbModelTest.class,
 BindingLabelsTest.class,
 BindingLabels18Test.class,
 JavaElementPropertyTesterTest.class,
@@ -49,6 +54,10 @@ ScopeAnalyzerTest.class,
 TemplateStoreTest.class,
 TypeHierarchyTest.class,
 TypeHierarchyViewPartTest.class,
+SuperTypeHierarchyCacheTest.class,
+TypeHierarchyStructureCheckerTest.class,
+OpenTypeHistoryTest.class,
+ProblemMarkerManagerTest.class,
 TypeRulesTest.class,
 TypeInfoTest.class,
 StringsTest.class,
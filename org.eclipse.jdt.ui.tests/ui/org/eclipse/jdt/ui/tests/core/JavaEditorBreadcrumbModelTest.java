@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.TextSelection;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.ISourceReference;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.SourceRange;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.javaeditor.JavaEditorBreadcrumbModel;
+
+/**
+ * Tests the source ranges used by the breadcrumb to find the element at the caret.
+ *
+ * @since 3.28
+ */
+public class JavaEditorBreadcrumbModelTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private static final String SOURCE= "" +
+			"package pack;\n" +
+			"\n" +
+			"import java.util.ArrayList;\n" +
+			"import java.util.List;\n" +
+			"\n" +
+			"/**\n" +
+			" * Doc.\n" +
+			" */\n" +
+			"public class A {\n" +
+			"	int f= 1;\n" +
+			"	/** field */\n" +
+			"	String s;\n" +
+			"	static {\n" +
+			"		System.out.println();\n" +
+			"	}\n" +
+			"	void foo(List<String> l) {\n" +
+			"		Runnable r= new Runnable() {\n" +
+			"			@Override\n" +
+			"			public void run() {\n" +
+			"			}\n" +
+			"		};\n" +
+			"	}\n" +
+			"	void a() {}void b() {}\n" +
+			"	class Inner {\n" +
+			"		void bar() {\n" +
+			"		}\n" +
+			"	}\n" +
+			"	enum E { X, Y }\n" +
+			"}\n" +
+			"class B {}\n";
+
+	private IJavaProject fJProject;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject= pts.getProject();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.clear(fJProject, pts.getDefaultClasspath());
+	}
+
+	/**
+	 * Creates an element with a source range and children.
+	 *
+	 * @param name the name of the element
+	 * @param offset the offset of the source range
+	 * @param length the length of the source range
+	 * @param children the children
+	 * @return the element
+	 */
+	private static IJavaElement element(String name, int offset, int length, IJavaElement... children) {
+		return (IJavaElement) Proxy.newProxyInstance(JavaEditorBreadcrumbModelTest.class.getClassLoader(),
+				new Class<?>[] { IJavaElement.class, ISourceReference.class, IParent.class },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "getSourceRange":
+							return new SourceRange(offset, length);
+						case "getChildren":
+							return children;
+						case "getElementName":
+						case "toString":
+							return name;
+						case "equals":
+							return proxy == args[0];
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						default:
+							throw new UnsupportedOperationException(method.getName());
+					}
+				});
+	}
+
+	private static ITypeRoot typeRoot(IJavaElement... children) {
+		return (ITypeRoot) Proxy.newProxyInstance(JavaEditorBreadcrumbModelTest.class.getClassLoader(),
+				new Class<?>[] { ITypeRoot.class },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "getChildren":
+							return children;
+						case "toString":
+							return "root";
+						case "equals":
+							return proxy == args[0];
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						default:
+							throw new UnsupportedOperationException(method.getName());
+					}
+				});
+	}
+
+	@Test
+	public void elementAtEveryOffsetMatchesTypeRoot() throws Exception {
+		IPackageFragment pack= JavaProjectHelper.addSourceContainer(fJProject, "src").createPackageFragment("pack", true, null);
+		ICompilationUnit cu= pack.createCompilationUnit("A.java", SOURCE, true, null);
+		JavaEditorBreadcrumbModel model= JavaEditorBreadcrumbModel.create(cu);
+		assertNotNull(model);
+		assertEquals("A", model.getFirstType().getElementName());
+		for (int offset= 0; offset <= SOURCE.length() + 1; offset++) {
+			assertEquals("offset " + offset, cu.getElementAt(offset), model.getElementAt(offset));
+		}
+	}
+
+	@Test
+	public void nestedElementsAndBoundaries() throws Exception {
+		IJavaElement m1= element("m1", 10, 10);
+		IJavaElement m2= element("m2", 20, 10);
+		IJavaElement x= element("x", 42, 3);
+		IJavaElement m3= element("m3", 40, 10, x);
+		IJavaElement a= element("A", 5, 95, m1, m2, m3);
+		IJavaElement b= element("B", 100, 20);
+		JavaEditorBreadcrumbModel model= JavaEditorBreadcrumbModel.create(typeRoot(a, b));
+		assertNotNull(model);
+
+		assertNull(model.getElementAt(-1));
+		assertNull(model.getElementAt(4));
+		assertSame(a, model.getElementAt(5));
+		assertSame(m1, model.getElementAt(10));
+		assertSame(m1, model.getElementAt(19));
+		// the end offsets are inclusive, the later of two adjacent elements is chosen
+		assertSame(m2, model.getElementAt(20));
+		assertSame(m2, model.getElementAt(30));
+		assertSame(a, model.getElementAt(31));
+		assertSame(m3, model.getElementAt(41));
+		assertSame(x, model.getElementAt(42));
+		assertSame(x, model.getElementAt(45));
+		assertSame(m3, model.getElementAt(46));
+		assertSame(m3, model.getElementAt(50));
+		assertSame(a, model.getElementAt(51));
+		assertSame(b, model.getElementAt(100));
+		assertSame(b, model.getElementAt(120));
+		assertNull(model.getElementAt(121));
+	}
+
+	@Test
+	public void elementAtSelection() throws Exception {
+		IJavaElement x= element("x", 42, 3);
+		IJavaElement m3= element("m3", 40, 10, x);
+		IJavaElement a= element("A", 5, 95, m3);
+		ITypeRoot root= typeRoot(a);
+		JavaEditorBreadcrumbModel model= JavaEditorBreadcrumbModel.create(root);
+		assertNotNull(model);
+
+		Document document= new Document(" ".repeat(42) + "xyz" + " ".repeat(155));
+		// leading white space of the selected text is skipped
+		assertSame(x, model.getElementAt(new TextSelection(document, 40, 3)));
+		// unless the selected text is white space only
+		assertSame(a, model.getElementAt(new TextSelection(document, 38, 2)));
+		assertSame(m3, model.getElementAt(new TextSelection(document, 41, 1)));
+		assertSame(root, model.getElementAt(new TextSelection(document, 150, 0)));
+	}
+
+	@Test
+	public void modelIsStaleAfterModification() throws Exception {
+		Document document= new Document(" ".repeat(100));
+		ITypeRoot root= typeRoot(element("A", 5, 95));
+		JavaEditorBreadcrumbModel model= JavaEditorBreadcrumbModel.create(root, document.getModificationStamp());
+		assertNotNull(model);
+		assertTrue(model.isCurrent(document.getModificationStamp()));
+
+		document.replace(0, 0, "x");
+		assertFalse(model.isCurrent(document.getModificationStamp()));
+
+		// a model without a document stamp is never used
+		model= JavaEditorBreadcrumbModel.create(root);
+		assertFalse(model.isCurrent(IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP));
+	}
+
+	@Test
+	public void unorderedRangesHaveNoModel() throws Exception {
+		assertNull(JavaEditorBreadcrumbModel.create(typeRoot(element("A", 50, 10), element("B", 10, 10))));
+		assertNull(JavaEditorBreadcrumbModel.create(typeRoot(element("A", 20, 20, element("m", 10, 5)))));
+		assertNull(JavaEditorBreadcrumbModel.create(typeRoot(element("A", 0, 20, element("m", 10, 5)), element("B", 5, 5))));
+		assertNotNull(JavaEditorBreadcrumbModel.create(typeRoot(element("A", 0, 20, element("m", 10, 5)), element("B", 20, 5))));
+	}
+}
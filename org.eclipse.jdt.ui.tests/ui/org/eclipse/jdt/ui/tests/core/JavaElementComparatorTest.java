@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+
+import org.eclipse.jface.viewers.Viewer;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.ui.JavaElementComparator;
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+/**
+ * Tests that sorting large arrays with precomputed keys gives the order of
+ * {@link JavaElementComparator#compare(Viewer, Object, Object)}.
+ *
+ * @since 3.28
+ */
+public class JavaElementComparatorTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private static final String[] NAMES= { "a", "A", "b", "B", "\u00e4", "\u00c4", "a1", "a10", "a2", "a_b", "a-b", "ab", "Ab", "z" };
+
+	private IJavaProject fJProject;
+	private IPackageFragmentRoot fRoot;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject= pts.getProject();
+		fRoot= JavaProjectHelper.addSourceContainer(fJProject, "src");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.clear(fJProject, pts.getDefaultClasspath());
+	}
+
+	/**
+	 * Returns the children of a package and of a source folder, where the elements of different
+	 * categories and the elements of the same category have equal names.
+	 *
+	 * @return the elements in a random order
+	 */
+	private Object[] getElements() {
+		IFolder folder= (IFolder) fRoot.getResource();
+		List<Object> elements= new ArrayList<>();
+		for (int i= 0; i < 20; i++) {
+			for (String name : NAMES) {
+				String unique= name + (i % 10);
+				IPackageFragment pack= fRoot.getPackageFragment(unique);
+				elements.add(pack);
+				elements.add(pack.getCompilationUnit(unique + ".java"));
+				elements.add(pack.getClassFile(unique + ".class"));
+				elements.add(folder.getFile(unique + ".java"));
+				elements.add(folder.getFolder(unique));
+			}
+		}
+		Collections.shuffle(elements, new Random(42));
+		return elements.toArray();
+	}
+
+	private static void assertSortedByCompare(JavaElementComparator comparator, Object[] elements) {
+		Object[] expected= elements.clone();
+		Arrays.sort(expected, (e1, e2) -> comparator.compare(null, e1, e2));
+		comparator.sort(null, elements);
+		assertArrayEquals(expected, elements);
+		for (int i= 1; i < elements.length; i++) {
+			assertTrue(elements[i - 1] + " > " + elements[i], comparator.compare(null, elements[i - 1], elements[i]) <= 0);
+		}
+	}
+
+	@Test
+	public void keyOrderIsCompareOrder() throws Exception {
+		Object[] elements= getElements();
+		assertTrue(elements.length >= 1000);
+		assertSortedByCompare(new JavaElementComparator(), elements);
+		// sorted again
+		assertSortedByCompare(new JavaElementComparator(), elements);
+	}
+
+	@Test
+	public void elementsComparedByClasspath() throws Exception {
+		IProject project= fJProject.getProject();
+		IPackageFragmentRoot projectRoot= fJProject.getPackageFragmentRoot(project);
+		List<Object> elements= new ArrayList<>(Arrays.asList(getElements()));
+		elements.add(fRoot);
+		elements.add(projectRoot.getPackageFragment("a0"));
+		elements.add(projectRoot.getPackageFragment("z0"));
+		elements.add(project.getFile("a0.java"));
+		elements.add(project.getFolder("a0"));
+		Collections.shuffle(elements, new Random(7));
+		assertSortedByCompare(new JavaElementComparator(), elements.toArray());
+	}
+
+	@Test
+	public void smallArrays() throws Exception {
+		Object[] elements= Arrays.copyOf(getElements(), 50);
+		assertSortedByCompare(new JavaElementComparator(), elements);
+	}
+
+	@Test
+	public void overriddenCompareIsUsed() throws Exception {
+		JavaElementComparator reversed= new JavaElementComparator() {
+			@Override
+			public int compare(Viewer viewer, Object e1, Object e2) {
+				return super.compare(viewer, e2, e1);
+			}
+		};
+		assertSortedByCompare(reversed, getElements());
+	}
+}
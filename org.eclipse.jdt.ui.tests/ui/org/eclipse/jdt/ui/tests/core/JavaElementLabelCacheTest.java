@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.viewers.StyledString;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.ui.JavaElementLabels;
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.viewsupport.JavaElementImageProvider;
+import org.eclipse.jdt.internal.ui.viewsupport.JavaElementLabelCache;
+
+public class JavaElementLabelCacheTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private static final long FLAGS= JavaElementLabels.M_PARAMETER_TYPES | JavaElementLabels.M_APP_RETURNTYPE;
+
+	private IJavaProject fJProject;
+	private ICompilationUnit fUnitA;
+	private ICompilationUnit fUnitB;
+	private JavaElementLabelCache fCache;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject= pts.getProject();
+		IPackageFragment pack= JavaProjectHelper.addSourceContainer(fJProject, "src").createPackageFragment("pack", true, null);
+		fUnitA= pack.createCompilationUnit("A.java", "package pack;\npublic class A {\n\tvoid foo(int i) {\n\t}\n}\n", true, null);
+		fUnitB= pack.createCompilationUnit("B.java", "package pack;\npublic class B {\n\tvoid bar() {\n\t}\n}\n", true, null);
+		fCache= new JavaElementLabelCache();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fCache.dispose();
+		JavaProjectHelper.clear(fJProject, pts.getDefaultClasspath());
+	}
+
+	private void assertCounts(long hits, long misses) {
+		assertEquals("hits", hits, fCache.getHitCount());
+		assertEquals("misses", misses, fCache.getMissCount());
+	}
+
+	private void setContents(ICompilationUnit unit, String contents) throws Exception {
+		unit.getBuffer().setContents(contents);
+		unit.save(null, true);
+	}
+
+	@Test
+	public void labelsAreCachedByFlags() throws Exception {
+		IMethod foo= fUnitA.getType("A").getMethod("foo", new String[] { "I" });
+		assertEquals("foo(int) : void", fCache.getTextLabel(foo, FLAGS));
+		assertEquals("foo(int) : void", fCache.getTextLabel(foo, FLAGS));
+		assertCounts(1, 1);
+		assertEquals("foo(int)", fCache.getTextLabel(foo, JavaElementLabels.M_PARAMETER_TYPES));
+		assertCounts(1, 2);
+
+		StyledString styled= fCache.getStyledTextLabel(foo, FLAGS | JavaElementLabels.COLORIZE);
+		styled.append("x");
+		// the cached label is not modified by the caller
+		assertEquals("foo(int) : void", fCache.getStyledTextLabel(foo, FLAGS | JavaElementLabels.COLORIZE).getString());
+		assertCounts(2, 3);
+	}
+
+	@Test
+	public void changedElementIsInvalidated() throws Exception {
+		IType a= fUnitA.getType("A");
+		IMethod foo= a.getMethod("foo", new String[] { "I" });
+		IMethod bar= fUnitB.getType("B").getMethod("bar", new String[0]);
+		fCache.getTextLabel(foo, FLAGS);
+		fCache.getTextLabel(bar, FLAGS);
+		assertCounts(0, 2);
+
+		setContents(fUnitA, "package pack;\npublic class A {\n\tint foo(int i) {\n\t\treturn i;\n\t}\n}\n");
+		assertEquals("foo(int) : int", fCache.getTextLabel(foo, FLAGS));
+		// other compilation units keep their labels
+		assertEquals("bar() : void", fCache.getTextLabel(bar, FLAGS));
+		assertCounts(1, 3);
+	}
+
+	@Test
+	public void parentsOfChangedElementAreInvalidated() throws Exception {
+		IPackageFragment pack= (IPackageFragment) fUnitA.getParent();
+		fCache.getTextLabel(pack, 0);
+		fCache.getTextLabel(fUnitB, 0);
+
+		setContents(fUnitA, "package pack;\npublic class A {\n}\n");
+		fCache.getTextLabel(pack, 0);
+		fCache.getTextLabel(fUnitB, 0);
+		assertCounts(1, 3);
+	}
+
+	@Test
+	public void classpathChangeInvalidatesProject() throws Exception {
+		IType b= fUnitB.getType("B");
+		fCache.getTextLabel(b, JavaElementLabels.T_FULLY_QUALIFIED);
+		JavaProjectHelper.addSourceContainer(fJProject, "other");
+		assertEquals("pack.B", fCache.getTextLabel(b, JavaElementLabels.T_FULLY_QUALIFIED));
+		assertCounts(0, 2);
+	}
+
+	@Test
+	public void preferenceChangeClearsCache() throws Exception {
+		IType b= fUnitB.getType("B");
+		fCache.getTextLabel(b, 0);
+		IPreferenceStore store= JavaPlugin.getDefault().getPreferenceStore();
+		String key= "JavaElementLabelCacheTest.dummy";
+		try {
+			store.setValue(key, true);
+			fCache.getTextLabel(b, 0);
+			assertCounts(0, 2);
+		} finally {
+			store.setToDefault(key);
+		}
+	}
+
+	@Test
+	public void valueComputedDuringChangeIsNotStored() throws Exception {
+		IType b= fUnitB.getType("B");
+		JavaElementImageProvider provider= new JavaElementImageProvider() {
+			@Override
+			public ImageDescriptor getJavaImageDescriptor(IJavaElement element, int flags) {
+				// as if the element changed while the descriptor is computed
+				fCache.clear();
+				return super.getJavaImageDescriptor(element, flags);
+			}
+		};
+		fCache.getImageDescriptor(b, 0, provider);
+		ImageDescriptor second= fCache.getImageDescriptor(b, 0, new JavaElementImageProvider());
+		assertCounts(0, 2);
+
+		assertSame(second, fCache.getImageDescriptor(b, 0, provider));
+		assertCounts(1, 2);
+	}
+}
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFileState;
+
+import org.eclipse.compare.IStreamContentAccessor;
+import org.eclipse.compare.ITypedElement;
+import org.eclipse.compare.ResourceNode;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragment;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.compare.JavaHistoryIndex;
+
+/**
+ * Tests the index of the members of the local history editions of Java files.
+ *
+ * @since 3.28
+ */
+public class JavaHistoryIndexTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	/**
+	 * An edition with a given content and modification time.
+	 */
+	private static class FileState implements IFileState {
+		private final IFile fFile;
+		private final String fContents;
+		private final long fModificationTime;
+
+		FileState(IFile file, String contents, long modificationTime) {
+			fFile= file;
+			fContents= contents;
+			fModificationTime= modificationTime;
+		}
+
+		@Override
+		public InputStream getContents() {
+			return new ByteArrayInputStream(fContents.getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public String getCharset() {
+			return StandardCharsets.UTF_8.name();
+		}
+
+		@Override
+		public IPath getFullPath() {
+			return fFile.getFullPath();
+		}
+
+		@Override
+		public long getModificationTime() {
+			return fModificationTime;
+		}
+
+		@Override
+		public String getName() {
+			return fFile.getName();
+		}
+
+		@Override
+		public boolean exists() {
+			return true;
+		}
+
+		@Override
+		public boolean isReadOnly() {
+			return true;
+		}
+
+		@Override
+		public <T> T getAdapter(Class<T> adapter) {
+			return null;
+		}
+	}
+
+	private IJavaProject fJProject;
+	private IFile fFile;
+	private IMethod fFoo;
+	private ITypedElement fCurrent;
+	/** Modification times that are not in the index of another test. */
+	private long fTime;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject= pts.getProject();
+		IPackageFragment pack= JavaProjectHelper.addSourceContainer(fJProject, "src").createPackageFragment("pack", true, null);
+		ICompilationUnit cu= pack.createCompilationUnit("A.java", getSource("a();", ""), true, null);
+		fFile= (IFile) cu.getResource();
+		fFoo= cu.getType("A").getMethod("foo", new String[0]);
+		fCurrent= new ResourceNode(fFile);
+		fTime= System.currentTimeMillis() * 16;
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.clear(fJProject, pts.getDefaultClasspath());
+	}
+
+	private static String getSource(String fooBody, String barBody) {
+		return "package pack;\npublic class A {\n\tvoid foo() {\n\t\t" + fooBody + "\n\t}\n\tvoid bar() {\n\t\t" + barBody + "\n\t}\n}\n";
+	}
+
+	private IFileState createState(String fooBody, String barBody, long time) {
+		return new FileState(fFile, getSource(fooBody, barBody), time);
+	}
+
+	private static String read(ITypedElement element) throws Exception {
+		try (InputStream stream= ((IStreamContentAccessor) element).getContents()) {
+			return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	@Test
+	public void editionsThatChangeTheMember() throws Exception {
+		IFileState s3= createState("a();", "x();", fTime + 3);
+		IFileState s2= createState("b();", "", fTime + 2);
+		IFileState s1= createState("b();", "y();", fTime + 1);
+		IFileState s0= createState("c();", "", fTime);
+		IFileState[] states= { s3, s2, s1, s0 };
+		String path= JavaHistoryIndex.getPath(fFoo);
+		assertNotNull(path);
+
+		IFileState[] expected= { s2, s0 };
+		assertArrayEquals(expected, JavaHistoryIndex.getChangedEditions(fFile, states, path, fCurrent, new NullProgressMonitor()));
+		// answered from the index
+		assertArrayEquals(expected, JavaHistoryIndex.getChangedEditions(fFile, states, path, fCurrent, new NullProgressMonitor()));
+		assertSame(s2, JavaHistoryIndex.getPreviousEdition(fFile, states, path, fCurrent, new NullProgressMonitor()));
+
+		String bar= JavaHistoryIndex.getPath(fFoo.getDeclaringType().getMethod("bar", new String[0]));
+		assertArrayEquals(states, JavaHistoryIndex.getChangedEditions(fFile, states, bar, fCurrent, new NullProgressMonitor()));
+	}
+
+	@Test
+	public void editionsWithEqualModificationTimes() throws Exception {
+		IFileState s2= createState("b();", "", fTime);
+		IFileState s1= createState("c();", "", fTime);
+		IFileState s0= createState("c();", "", fTime - 1);
+		IFileState[] states= { s2, s1, s0 };
+		String path= JavaHistoryIndex.getPath(fFoo);
+
+		IFileState[] expected= { s2, s1 };
+		assertArrayEquals(expected, JavaHistoryIndex.getChangedEditions(fFile, states, path, fCurrent, new NullProgressMonitor()));
+		assertArrayEquals(expected, JavaHistoryIndex.getChangedEditions(fFile, states, path, fCurrent, new NullProgressMonitor()));
+
+		// the digests recorded for a time that identified one edition do not answer for others
+		IFileState[] single= { s1, s0 };
+		assertArrayEquals(new IFileState[] { s1 }, JavaHistoryIndex.getChangedEditions(fFile, single, path, fCurrent, new NullProgressMonitor()));
+		assertArrayEquals(expected, JavaHistoryIndex.getChangedEditions(fFile, states, path, fCurrent, new NullProgressMonitor()));
+	}
+
+	@Test
+	public void unchangedMemberHasNoPreviousEdition() throws Exception {
+		IFileState[] states= { createState("a();", "x();", fTime + 1), createState("a();", "", fTime) };
+		String path= JavaHistoryIndex.getPath(fFoo);
+		assertNull(JavaHistoryIndex.getPreviousEdition(fFile, states, path, fCurrent, new NullProgressMonitor()));
+		assertArrayEquals(new IFileState[0], JavaHistoryIndex.getChangedEditions(fFile, states, path, fCurrent, new NullProgressMonitor()));
+	}
+
+	@Test
+	public void memberOfEdition() throws Exception {
+		IFileState state= createState("b();", "y();", fTime);
+		ITypedElement member= JavaHistoryIndex.getMember(fFile, state, JavaHistoryIndex.getPath(fFoo));
+		assertNotNull(member);
+		String contents= read(member);
+		assertTrue(contents, contents.contains("void foo()"));
+		assertTrue(contents, contents.contains("b();"));
+		assertFalse(contents, contents.contains("bar"));
+
+		IFileState without= new FileState(fFile, "package pack;\npublic class A {\n}\n", fTime);
+		assertNull(JavaHistoryIndex.getMember(fFile, without, JavaHistoryIndex.getPath(fFoo)));
+	}
+}
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.eclipse.swt.graphics.Image;
+
+import org.eclipse.compare.IStreamContentAccessor;
+import org.eclipse.compare.ITypedElement;
+import org.eclipse.compare.structuremergeviewer.DocumentRangeNode;
+import org.eclipse.compare.structuremergeviewer.IStructureComparator;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.ui.compare.JavaStructureCache;
+import org.eclipse.jdt.internal.ui.compare.JavaStructureCreator;
+
+/**
+ * Tests the cache of the structures of compared Java sources.
+ *
+ * @since 3.28
+ */
+public class JavaStructureCacheTest {
+
+	private static final String SOURCE= "" +
+			"package p;\n" +
+			"import java.util.List;\n" +
+			"public class A {\n" +
+			"	int f;\n" +
+			"	A() {\n" +
+			"	}\n" +
+			"	void foo(List<String> l) {\n" +
+			"		l.clear();\n" +
+			"	}\n" +
+			"	class Inner {\n" +
+			"		void bar() {\n" +
+			"		}\n" +
+			"	}\n" +
+			"	enum E { X, Y }\n" +
+			"}\n";
+
+	private static class Input implements ITypedElement, IStreamContentAccessor {
+		private final String fContents;
+
+		Input(String contents) {
+			fContents= contents;
+		}
+
+		@Override
+		public InputStream getContents() {
+			return new ByteArrayInputStream(fContents.getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public String getName() {
+			return "A.java";
+		}
+
+		@Override
+		public Image getImage() {
+			return null;
+		}
+
+		@Override
+		public String getType() {
+			return "java";
+		}
+	}
+
+	private static Map<String, String> getOptions(String source) {
+		Map<String, String> options= new HashMap<>(JavaCore.getOptions());
+		JavaCore.setComplianceOptions(source, options);
+		return options;
+	}
+
+	private static String describe(IStructureComparator node) {
+		StringBuilder buf= new StringBuilder();
+		describe(node, "", buf);
+		return buf.toString();
+	}
+
+	private static void describe(IStructureComparator node, String indent, StringBuilder buf) {
+		DocumentRangeNode rangeNode= (DocumentRangeNode) node;
+		Position range= rangeNode.getRange();
+		buf.append(indent).append(rangeNode.getTypeCode()).append(' ').append(rangeNode.getId());
+		buf.append(" [").append(range.getOffset()).append(", ").append(range.getLength()).append("] ");
+		buf.append(rangeNode.getAppendPosition().getOffset()).append('\n');
+		Object[] children= node.getChildren();
+		if (children != null) {
+			for (Object child : children) {
+				assertSame(rangeNode.getDocument(), ((DocumentRangeNode) child).getDocument());
+				describe((IStructureComparator) child, indent + "\t", buf);
+			}
+		}
+	}
+
+	@Test
+	public void keyDependsOnContent() throws Exception {
+		Map<String, String> options= getOptions(JavaCore.VERSION_11);
+		String key= JavaStructureCache.getKey(SOURCE.toCharArray(), options);
+		assertNotNull(key);
+		assertEquals(key, JavaStructureCache.getKey(SOURCE.toCharArray(), options));
+		assertEquals(key, JavaStructureCache.getKey(new String(SOURCE).toCharArray(), new HashMap<>(options)));
+		assertNotEquals(key, JavaStructureCache.getKey(SOURCE.replace("int f;", "int g;").toCharArray(), options));
+		// the same structure at other positions
+		assertNotEquals(key, JavaStructureCache.getKey((" " + SOURCE).toCharArray(), options));
+		assertNotEquals(key, JavaStructureCache.getKey((SOURCE + "\n").toCharArray(), options));
+		// the characters are hashed, not only their low bytes
+		assertNotEquals(JavaStructureCache.getKey("\u0141".toCharArray(), options), JavaStructureCache.getKey("A".toCharArray(), options));
+	}
+
+	@Test
+	public void keyDependsOnParserOptions() throws Exception {
+		Map<String, String> options= getOptions(JavaCore.VERSION_11);
+		String key= JavaStructureCache.getKey(SOURCE.toCharArray(), options);
+		assertNotEquals(key, JavaStructureCache.getKey(SOURCE.toCharArray(), getOptions(JavaCore.VERSION_1_8)));
+		assertNotEquals(key, JavaStructureCache.getKey(SOURCE.toCharArray(), null));
+
+		Map<String, String> preview= new HashMap<>(options);
+		preview.put(JavaCore.COMPILER_PB_ENABLE_PREVIEW_FEATURES, JavaCore.ENABLED.equals(options.get(JavaCore.COMPILER_PB_ENABLE_PREVIEW_FEATURES)) ? JavaCore.DISABLED : JavaCore.ENABLED);
+		assertNotEquals(key, JavaStructureCache.getKey(SOURCE.toCharArray(), preview));
+
+		// options that do not affect parsing
+		Map<String, String> other= new HashMap<>(options);
+		other.put(JavaCore.COMPILER_PB_UNUSED_IMPORT, JavaCore.IGNORE.equals(options.get(JavaCore.COMPILER_PB_UNUSED_IMPORT)) ? JavaCore.ERROR : JavaCore.IGNORE);
+		assertEquals(key, JavaStructureCache.getKey(SOURCE.toCharArray(), other));
+	}
+
+	@Test
+	public void cachedStructureMatchesParsedStructure() throws Exception {
+		// not in the cache yet
+		String contents= SOURCE + "// " + System.nanoTime() + "\n";
+		JavaStructureCreator creator= new JavaStructureCreator();
+		IStructureComparator parsed= creator.getStructure(new Input(contents));
+		IStructureComparator restored= creator.getStructure(new Input(contents));
+		assertNotNull(parsed);
+		assertNotNull(restored);
+
+		IDocument document= ((DocumentRangeNode) restored).getDocument();
+		assertEquals(contents, document.get());
+		assertEquals(describe(parsed), describe(restored));
+	}
+}
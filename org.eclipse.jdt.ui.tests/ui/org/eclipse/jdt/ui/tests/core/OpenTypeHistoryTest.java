@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+
+import org.eclipse.jdt.internal.corext.util.OpenTypeHistory;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+public class OpenTypeHistoryTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJavaProject;
+	private IPackageFragment fPackage;
+	private OpenTypeHistory fHistory;
+
+	@Before
+	public void setUp() throws Exception {
+		fJavaProject= pts.getProject();
+		fPackage= JavaProjectHelper.addSourceContainer(fJavaProject, "src").createPackageFragment("pack", true, null);
+		fHistory= OpenTypeHistory.getInstance();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		for (TypeNameMatch match : fHistory.getTypeInfos()) {
+			if (fJavaProject.equals(match.getType().getJavaProject())) {
+				fHistory.remove(match);
+			}
+		}
+		JavaProjectHelper.clear(fJavaProject, pts.getDefaultClasspath());
+	}
+
+	private TypeNameMatch access(IPackageFragment pack, String name, String declaration) throws Exception {
+		IType type= pack.getCompilationUnit(name + ".java").createType(declaration, null, true, null);
+		TypeNameMatch match= SearchEngine.createTypeNameMatch(type, type.getFlags());
+		fHistory.accessed(match);
+		return match;
+	}
+
+	private void checkConsistency() {
+		fHistory.markAsInconsistent();
+		fHistory.checkConsistency(new NullProgressMonitor());
+	}
+
+	private TypeNameMatch find(IType type) {
+		for (TypeNameMatch match : fHistory.getTypeInfos()) {
+			if (type.equals(match.getType())) {
+				return match;
+			}
+		}
+		return null;
+	}
+
+	@Test
+	public void unchangedTypesAreKept() throws Exception {
+		TypeNameMatch a= access(fPackage, "A", "public class A {\n}\n");
+		TypeNameMatch b= access(fPackage, "B", "public class B {\n}\n");
+		checkConsistency();
+		assertTrue(fHistory.contains(a));
+		assertTrue(fHistory.contains(b));
+	}
+
+	@Test
+	public void removedTypeIsDropped() throws Exception {
+		TypeNameMatch a= access(fPackage, "A", "public class A {\n}\n");
+		TypeNameMatch b= access(fPackage, "B", "public class B {\n}\n");
+		b.getType().getCompilationUnit().delete(true, null);
+		checkConsistency();
+		assertTrue(fHistory.contains(a));
+		assertFalse(fHistory.contains(b));
+	}
+
+	@Test
+	public void changedModifiersAreUpdated() throws Exception {
+		TypeNameMatch a= access(fPackage, "A", "public class A {\n}\n");
+		TypeNameMatch b= access(fPackage, "B", "public class B {\n}\n");
+		ICompilationUnit cu= a.getType().getCompilationUnit();
+		cu.getBuffer().setContents("package pack;\npublic final class A {\n}\n");
+		cu.save(null, true);
+		checkConsistency();
+
+		TypeNameMatch updated= find(a.getType());
+		assertNotNull(updated);
+		assertTrue(Flags.isFinal(updated.getModifiers()));
+		assertEquals(b.getModifiers(), find(b.getType()).getModifiers());
+	}
+
+	@Test
+	public void removedRootDropsAllEntries() throws Exception {
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJavaProject, "other");
+		IPackageFragment pack= root.createPackageFragment("other", true, null);
+		TypeNameMatch a= access(fPackage, "A", "public class A {\n}\n");
+		TypeNameMatch x= access(pack, "X", "public class X {\n}\n");
+		TypeNameMatch y= access(pack, "Y", "public class Y {\n}\n");
+		JavaProjectHelper.removeFromClasspath(fJavaProject, root.getPath());
+		checkConsistency();
+		assertTrue(fHistory.contains(a));
+		assertFalse(fHistory.contains(x));
+		assertFalse(fHistory.contains(y));
+	}
+}
@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.util.DisplayHelper;
+
+import org.eclipse.swt.widgets.Display;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaModelMarker;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.ISourceReference;
+import org.eclipse.jdt.core.IType;
+
+import org.eclipse.jdt.ui.ProblemsLabelDecorator;
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.viewsupport.IProblemChangedListener;
+import org.eclipse.jdt.internal.ui.viewsupport.ProblemMarkerManager;
+
+public class ProblemMarkerManagerTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private static final String SOURCE= "" +
+			"package pack;\n" +
+			"public class A {\n" +
+			"	int a;\n" +
+			"	int b;\n" +
+			"	void foo() {\n" +
+			"		a++;\n" +
+			"	}\n" +
+			"	class Inner {\n" +
+			"		void bar() {\n" +
+			"		}\n" +
+			"	}\n" +
+			"}\n";
+
+	/** Uses the sorted marker ranges of the problem marker manager. */
+	private static class RangesDecorator extends ProblemsLabelDecorator {
+		int getFlags(Object element) {
+			return computeAdornmentFlags(element);
+		}
+	}
+
+	/** Tests every marker with {@link #isInside(int, ISourceReference)}. */
+	private static class LinearDecorator extends RangesDecorator {
+		@Override
+		protected boolean isInside(int pos, ISourceReference sourceElement) throws CoreException {
+			return super.isInside(pos, sourceElement);
+		}
+	}
+
+	private IJavaProject fJavaProject;
+	private ICompilationUnit fUnit;
+	private IResource fFile;
+	private ProblemMarkerManager fManager;
+	private IProblemChangedListener fListener;
+	private Set<IResource> fChangedResources;
+
+	@Before
+	public void setUp() throws Exception {
+		fJavaProject= pts.getProject();
+		IPackageFragment pack= JavaProjectHelper.addSourceContainer(fJavaProject, "src").createPackageFragment("pack", true, null);
+		fUnit= pack.createCompilationUnit("A.java", SOURCE, true, null);
+		fFile= fUnit.getResource();
+		// markers are added by the test only
+		Job.getJobManager().join(ResourcesPlugin.FAMILY_AUTO_BUILD, null);
+		fManager= new ProblemMarkerManager();
+		fChangedResources= ConcurrentHashMap.newKeySet();
+		fListener= (changedResources, isMarkerChange) -> {
+			if (isMarkerChange) {
+				fChangedResources.addAll(List.of(changedResources));
+			}
+		};
+		fManager.addListener(fListener);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		fManager.removeListener(fListener);
+		JavaProjectHelper.clear(fJavaProject, pts.getDefaultClasspath());
+	}
+
+	/**
+	 * Adds a marker and waits until the listeners have been notified about the change of the file
+	 * and about all the containers that were reported with it.
+	 */
+	private void addMarkerAndWait(int start, int severity) throws CoreException {
+		fChangedResources.clear();
+		ResourcesPlugin.getWorkspace().run(monitor -> addMarker(start, severity), null);
+		Display display= Display.getDefault();
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return fChangedResources.contains(fFile);
+			}
+		}.waitForCondition(display, 10000));
+		// the containers are reported in the same batch, give a late one a chance to arrive
+		DisplayHelper.sleep(display, 1000);
+	}
+
+	private IMarker addMarker(int start, int severity) throws CoreException {
+		IMarker marker= fFile.createMarker(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER);
+		marker.setAttribute(IMarker.CHAR_START, start);
+		marker.setAttribute(IMarker.CHAR_END, start + 1);
+		marker.setAttribute(IMarker.SEVERITY, severity);
+		return marker;
+	}
+
+	/**
+	 * Computes the maximal severity of the markers in a range like the decorator did before the
+	 * ranges were introduced.
+	 */
+	private int findMaxSeverityLinear(int offset, int length) throws CoreException {
+		int severity= -1;
+		for (IMarker marker : fFile.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_ZERO)) {
+			int pos= marker.getAttribute(IMarker.CHAR_START, -1);
+			if (marker.isSubtypeOf(IMarker.TEXT) && offset <= pos && offset + length > pos) {
+				int val= marker.getAttribute(IMarker.SEVERITY, -1);
+				if (val == IMarker.SEVERITY_INFO || val == IMarker.SEVERITY_WARNING || val == IMarker.SEVERITY_ERROR) {
+					severity= Math.max(severity, val);
+				}
+			}
+		}
+		return severity;
+	}
+
+	private List<IJavaElement> getMembers() throws CoreException {
+		List<IJavaElement> members= new ArrayList<>();
+		IType type= fUnit.getType("A");
+		members.add(type);
+		members.addAll(List.of(type.getChildren()));
+		members.addAll(List.of(type.getType("Inner").getChildren()));
+		return members;
+	}
+
+	@Test
+	public void severityInRange() throws Exception {
+		int foo= SOURCE.indexOf("void foo");
+		int bar= SOURCE.indexOf("void bar");
+		addMarker(foo, IMarker.SEVERITY_WARNING);
+		addMarker(foo + 10, IMarker.SEVERITY_INFO);
+		addMarker(bar, IMarker.SEVERITY_ERROR);
+
+		assertEquals(-1, fManager.findMaxProblemSeverity(fFile, 0, foo));
+		assertEquals(IMarker.SEVERITY_WARNING, fManager.findMaxProblemSeverity(fFile, foo, 1));
+		assertEquals(IMarker.SEVERITY_INFO, fManager.findMaxProblemSeverity(fFile, foo + 1, 10));
+		assertEquals(IMarker.SEVERITY_WARNING, fManager.findMaxProblemSeverity(fFile, foo, bar - foo));
+		assertEquals(IMarker.SEVERITY_ERROR, fManager.findMaxProblemSeverity(fFile, foo, bar - foo + 1));
+		assertEquals(IMarker.SEVERITY_ERROR, fManager.findMaxProblemSeverity(fFile, 0, SOURCE.length()));
+		// the end of a range is exclusive
+		assertEquals(-1, fManager.findMaxProblemSeverity(fFile, bar + 1, SOURCE.length()));
+		assertEquals(-1, fManager.findMaxProblemSeverity(fFile, bar, 0));
+	}
+
+	@Test
+	public void markersWithoutPositionOrSeverityAreIgnored() throws Exception {
+		int foo= SOURCE.indexOf("void foo");
+		IMarker noPosition= fFile.createMarker(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER);
+		noPosition.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+		fFile.createMarker(IJavaModelMarker.JAVA_MODEL_PROBLEM_MARKER).setAttribute(IMarker.CHAR_START, foo);
+		IMarker notText= fFile.createMarker(IMarker.PROBLEM);
+		notText.setAttribute(IMarker.CHAR_START, foo);
+		notText.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+
+		assertEquals(-1, fManager.findMaxProblemSeverity(fFile, 0, SOURCE.length()));
+	}
+
+	@Test
+	public void changedMarkersAreReadAgain() throws Exception {
+		int foo= SOURCE.indexOf("void foo");
+		IMarker marker= addMarker(foo, IMarker.SEVERITY_WARNING);
+		assertEquals(IMarker.SEVERITY_WARNING, fManager.findMaxProblemSeverity(fFile, foo, 1));
+
+		marker.setAttribute(IMarker.SEVERITY, IMarker.SEVERITY_ERROR);
+		assertEquals(IMarker.SEVERITY_ERROR, fManager.findMaxProblemSeverity(fFile, foo, 1));
+
+		marker.setAttribute(IMarker.CHAR_START, foo + 1);
+		assertEquals(-1, fManager.findMaxProblemSeverity(fFile, foo, 1));
+
+		marker.delete();
+		assertEquals(-1, fManager.findMaxProblemSeverity(fFile, 0, SOURCE.length()));
+	}
+
+	@Test
+	public void rangesMatchLinearScan() throws Exception {
+		int[] severities= { IMarker.SEVERITY_INFO, IMarker.SEVERITY_WARNING, IMarker.SEVERITY_ERROR };
+		Random random= new Random(42);
+		for (int i= 0; i < 40; i++) {
+			// several markers at the same position
+			addMarker(random.nextInt(SOURCE.length()) / 3 * 3, severities[random.nextInt(severities.length)]);
+		}
+		for (int i= 0; i < 200; i++) {
+			int offset= random.nextInt(SOURCE.length());
+			int length= random.nextInt(SOURCE.length() - offset + 1);
+			assertEquals(offset + ", " + length, findMaxSeverityLinear(offset, length), fManager.findMaxProblemSeverity(fFile, offset, length));
+		}
+		for (IJavaElement member : getMembers()) {
+			ISourceRange range= ((ISourceReference) member).getSourceRange();
+			assertEquals(member.getElementName(), findMaxSeverityLinear(range.getOffset(), range.getLength()),
+					fManager.findMaxProblemSeverity(fFile, range.getOffset(), range.getLength()));
+		}
+	}
+
+	@Test
+	public void decoratorMatchesIsInside() throws Exception {
+		addMarker(SOURCE.indexOf("a++"), IMarker.SEVERITY_WARNING);
+		addMarker(SOURCE.indexOf("void bar"), IMarker.SEVERITY_ERROR);
+		addMarker(SOURCE.indexOf("int b"), IMarker.SEVERITY_INFO);
+
+		RangesDecorator ranges= new RangesDecorator();
+		LinearDecorator linear= new LinearDecorator();
+		try {
+			for (IJavaElement member : getMembers()) {
+				assertEquals(member.getElementName(), linear.getFlags(member), ranges.getFlags(member));
+			}
+			assertEquals(linear.getFlags(fUnit), ranges.getFlags(fUnit));
+		} finally {
+			ranges.dispose();
+			linear.dispose();
+		}
+	}
+
+	@Test
+	public void unchangedContainersAreFiltered() throws Exception {
+		IResource folder= fFile.getParent();
+		IResource root= folder.getParent();
+		IResource project= fJavaProject.getProject();
+
+		addMarkerAndWait(SOURCE.indexOf("int a"), IMarker.SEVERITY_WARNING);
+		assertTrue(fChangedResources.contains(folder));
+		assertTrue(fChangedResources.contains(root));
+		assertTrue(fChangedResources.contains(project));
+
+		// the severities of the containers stay the same
+		addMarkerAndWait(SOURCE.indexOf("int b"), IMarker.SEVERITY_WARNING);
+		assertFalse(fChangedResources.contains(folder));
+		assertFalse(fChangedResources.contains(root));
+		assertFalse(fChangedResources.contains(project));
+
+		addMarkerAndWait(SOURCE.indexOf("void foo"), IMarker.SEVERITY_ERROR);
+		assertTrue(fChangedResources.contains(folder));
+		assertTrue(fChangedResources.contains(root));
+		assertTrue(fChangedResources.contains(project));
+	}
+
+	@Test
+	public void removedFileIsReported() throws Exception {
+		addMarkerAndWait(SOURCE.indexOf("int a"), IMarker.SEVERITY_WARNING);
+		fChangedResources.clear();
+		fFile.delete(true, null);
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return fChangedResources.contains(fFile) && fChangedResources.contains(fFile.getParent());
+			}
+		}.waitForCondition(Display.getDefault(), 10000));
+	}
+}
@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+
+import org.eclipse.jdt.internal.corext.util.MethodOverrideTester;
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+public class SuperTypeHierarchyCacheTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJavaProject;
+	private IPackageFragment fPackage;
+	private int fCacheSize;
+
+	@Before
+	public void setUp() throws Exception {
+		fJavaProject= pts.getProject();
+		fPackage= JavaProjectHelper.addSourceContainer(fJavaProject, "src").createPackageFragment("pack", true, null);
+		fCacheSize= SuperTypeHierarchyCache.getCacheSize();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SuperTypeHierarchyCache.setCacheSize(fCacheSize);
+		JavaProjectHelper.clear(fJavaProject, pts.getDefaultClasspath());
+	}
+
+	private IType createType(String name, String declaration) throws Exception {
+		ICompilationUnit cu= fPackage.getCompilationUnit(name + ".java");
+		return cu.createType(declaration, null, true, null);
+	}
+
+	@Test
+	public void hierarchyOfSubtypeAnswersSupertype() throws Exception {
+		IType a= createType("A", "public class A {\n}\n");
+		IType b= createType("B", "public class B extends A {\n}\n");
+		IType c= createType("C", "public class C extends B {\n}\n");
+
+		int misses= SuperTypeHierarchyCache.getCacheMisses();
+		int hits= SuperTypeHierarchyCache.getCacheHits();
+
+		ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(c);
+		assertEquals(misses + 1, SuperTypeHierarchyCache.getCacheMisses());
+		assertTrue(SuperTypeHierarchyCache.hasInCache(a));
+		assertTrue(SuperTypeHierarchyCache.hasInCache(b));
+
+		assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(b));
+		assertSame(hierarchy, SuperTypeHierarchyCache.getTypeHierarchy(c));
+		assertEquals(misses + 1, SuperTypeHierarchyCache.getCacheMisses());
+		assertEquals(hits + 2, SuperTypeHierarchyCache.getCacheHits());
+	}
+
+	@Test
+	public void concurrentRequestsBuildOnce() throws Exception {
+		createType("A", "public class A {\n}\n");
+		IType b= createType("B", "public class B extends A implements Runnable {\n\tpublic void run() {\n\t}\n}\n");
+
+		int threads= 8;
+		int misses= SuperTypeHierarchyCache.getCacheMisses();
+		CountDownLatch start= new CountDownLatch(1);
+		ExecutorService executor= Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<ITypeHierarchy>> results= new ArrayList<>();
+			for (int i= 0; i < threads; i++) {
+				Callable<ITypeHierarchy> request= () -> {
+					start.await();
+					return SuperTypeHierarchyCache.getTypeHierarchy(b);
+				};
+				results.add(executor.submit(request));
+			}
+			start.countDown();
+
+			ITypeHierarchy first= results.get(0).get(30, TimeUnit.SECONDS);
+			for (Future<ITypeHierarchy> result : results) {
+				assertSame(first, result.get(30, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(misses + 1, SuperTypeHierarchyCache.getCacheMisses());
+	}
+
+	@Test
+	public void leastRecentlyUsedIsEvicted() throws Exception {
+		IType x= createType("X", "public class X {\n}\n");
+		IType y= createType("Y", "public class Y {\n}\n");
+		IType z= createType("Z", "public class Z {\n}\n");
+
+		SuperTypeHierarchyCache.setCacheSize(2);
+		SuperTypeHierarchyCache.getTypeHierarchy(x);
+		SuperTypeHierarchyCache.getTypeHierarchy(y);
+		// touch x, so y is the least recently used hierarchy
+		SuperTypeHierarchyCache.getTypeHierarchy(x);
+
+		int evictions= SuperTypeHierarchyCache.getCacheEvictions();
+		SuperTypeHierarchyCache.getTypeHierarchy(z);
+		assertEquals(evictions + 1, SuperTypeHierarchyCache.getCacheEvictions());
+
+		assertTrue(SuperTypeHierarchyCache.hasInCache(x));
+		assertFalse(SuperTypeHierarchyCache.hasInCache(y));
+		assertTrue(SuperTypeHierarchyCache.hasInCache(z));
+
+		SuperTypeHierarchyCache.setCacheSize(1);
+		assertEquals(evictions + 2, SuperTypeHierarchyCache.getCacheEvictions());
+		assertTrue(SuperTypeHierarchyCache.hasInCache(z));
+		assertFalse(SuperTypeHierarchyCache.hasInCache(x));
+	}
+
+	@Test
+	public void methodOverrideTesterIsCachedWithHierarchy() throws Exception {
+		createType("A", "public class A {\n\tpublic void foo() {\n\t}\n}\n");
+		IType b= createType("B", "public class B extends A {\n\tpublic void foo() {\n\t}\n}\n");
+
+		MethodOverrideTester tester= SuperTypeHierarchyCache.getMethodOverrideTester(b);
+		assertSame(tester, SuperTypeHierarchyCache.getMethodOverrideTester(b));
+		assertSame(SuperTypeHierarchyCache.getTypeHierarchy(b), tester.getTypeHierarchy());
+	}
+
+	@Test
+	public void changedHierarchyIsRemoved() throws Exception {
+		createType("A", "public class A {\n}\n");
+		IType b= createType("B", "public class B extends A {\n}\n");
+
+		ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(b);
+		assertTrue(SuperTypeHierarchyCache.hasInCache(b));
+
+		ICompilationUnit cu= b.getCompilationUnit();
+		cu.getBuffer().setContents("package pack;\npublic class B {\n}\n");
+		cu.save(null, true);
+
+		assertFalse(SuperTypeHierarchyCache.hasInCache(b));
+		ITypeHierarchy rebuilt= SuperTypeHierarchyCache.getTypeHierarchy(b);
+		assertTrue(rebuilt != hierarchy);
+		assertEquals(2, rebuilt.getAllTypes().length);
+	}
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+import org.eclipse.jdt.internal.ui.typehierarchy.TypeHierarchyStructureChecker;
+
+public class TypeHierarchyStructureCheckerTest {
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJavaProject;
+	private IPackageFragment fPackage;
+	private IPackageFragment fOtherPackage;
+	private TypeHierarchyStructureChecker fChecker;
+
+	@Before
+	public void setUp() throws Exception {
+		fJavaProject= pts.getProject();
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJavaProject, "src");
+		fPackage= root.createPackageFragment("pack", true, null);
+		fOtherPackage= root.createPackageFragment("other", true, null);
+
+		IType a= createType(fPackage, "A", "public class A {\n}\n");
+		createType(fPackage, "B", "public class B extends A {\n\tvoid foo() {\n\t}\n}\n");
+		createType(fPackage, "C", "public class C extends A {\n}\n");
+		createType(fPackage, "D", "public class D {\n}\n");
+		createType(fOtherPackage, "A", "public class A {\n}\n");
+		fChecker= new TypeHierarchyStructureChecker(a.newTypeHierarchy(null));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		for (ICompilationUnit workingCopy : JavaCore.getWorkingCopies(null)) {
+			workingCopy.discardWorkingCopy();
+		}
+		JavaProjectHelper.clear(fJavaProject, pts.getDefaultClasspath());
+	}
+
+	private static IType createType(IPackageFragment pack, String name, String declaration) throws Exception {
+		return pack.getCompilationUnit(name + ".java").createType(declaration, null, true, null);
+	}
+
+	private IJavaElementDelta reconcile(String name, String contents) throws Exception {
+		ICompilationUnit cu= fPackage.getCompilationUnit(name + ".java");
+		cu.becomeWorkingCopy(null);
+		IJavaElementDelta[] delta= new IJavaElementDelta[1];
+		IElementChangedListener listener= event -> delta[0]= event.getDelta();
+		JavaCore.addElementChangedListener(listener, ElementChangedEvent.POST_RECONCILE);
+		try {
+			cu.getBuffer().setContents(contents);
+			cu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+		} finally {
+			JavaCore.removeElementChangedListener(listener);
+		}
+		assertNotNull(delta[0]);
+		return delta[0];
+	}
+
+	@Test
+	public void bodyChangeIsSkipped() throws Exception {
+		IJavaElementDelta delta= reconcile("B", "package pack;\npublic class B extends A {\n\tvoid foo() {\n\t\tfoo();\n\t}\n\tvoid bar() {\n\t}\n}\n");
+		assertFalse(fChecker.isStructuralChange(delta));
+	}
+
+	@Test
+	public void changedSuperclassRefreshes() throws Exception {
+		IJavaElementDelta delta= reconcile("B", "package pack;\npublic class B extends C {\n\tvoid foo() {\n\t}\n}\n");
+		assertTrue(fChecker.isStructuralChange(delta));
+	}
+
+	@Test
+	public void superclassWithSameSimpleNameRefreshes() throws Exception {
+		IJavaElementDelta delta= reconcile("B", "package pack;\npublic class B extends other.A {\n\tvoid foo() {\n\t}\n}\n");
+		assertTrue(fChecker.isStructuralChange(delta));
+	}
+
+	@Test
+	public void importChangeRefreshes() throws Exception {
+		IJavaElementDelta delta= reconcile("B", "package pack;\nimport java.util.List;\npublic class B extends A {\n\tvoid foo() {\n\t}\n}\n");
+		assertTrue(fChecker.isStructuralChange(delta));
+	}
+
+	@Test
+	public void newSubtypeRefreshes() throws Exception {
+		IJavaElementDelta delta= reconcile("D", "package pack;\npublic class D extends A {\n}\n");
+		assertTrue(fChecker.isStructuralChange(delta));
+	}
+
+	@Test
+	public void subtypeOfTypeWithSameSimpleNameIsSkipped() throws Exception {
+		IJavaElementDelta delta= reconcile("D", "package pack;\npublic class D extends other.A {\n}\n");
+		assertFalse(fChecker.isStructuralChange(delta));
+	}
+
+	@Test
+	public void newSubtypeOfSubtypeRefreshes() throws Exception {
+		IJavaElementDelta delta= reconcile("D", "package pack;\npublic class D extends B {\n}\n");
+		assertTrue(fChecker.isStructuralChange(delta));
+	}
+
+	@Test
+	public void typesWithoutExtendsAreSkipped() throws Exception {
+		// java.lang.Object is a supertype in the hierarchy, but not the focus type
+		IJavaElementDelta delta= reconcile("D", "package pack;\npublic class D {\n\tint x;\n\tclass Inner {\n\t}\n\tinterface I {\n\t}\n\tenum E { X }\n\tvoid foo() {\n\t\tclass Local {\n\t\t}\n\t}\n}\n");
+		assertFalse(fChecker.isStructuralChange(delta));
+		// the same change after an absorbed change
+		delta= reconcile("D", "package pack;\npublic class D {\n\tint y;\n\tclass Inner {\n\t}\n}\n");
+		assertFalse(fChecker.isStructuralChange(delta));
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,6 +21,8 @@ import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.After;
@@ -32,7 +34,9 @@ import org.eclipse.jdt.testplugin.JavaProjectHelper;
 import org.eclipse.jdt.testplugin.JavaTestPlugin;
 import org.eclipse.jdt.testplugin.StringAsserts;
 
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
@@ -49,6 +53,7 @@ import org.eclipse.jdt.core.search.TypeNameMatch;
 import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
 
 import org.eclipse.jdt.internal.corext.util.TypeInfoFilter;
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
 
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
@@ -132,6 +137,90 @@ public class TypeInfoTest {
 
 	}
 
+	@Test
+	public void typeNameIndex() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("com.oti", true, null);
+		pack1.getCompilationUnit("NullPointerHandler.java").createType("public class NullPointerHandler {\n}\n", null, true, null);
+		pack1.getCompilationUnit("NumberParser.java").createType("public class NumberParser {\n}\n", null, true, null);
+
+		TypeNameIndex index= TypeNameIndex.getInstance();
+		if (!index.isReady()) {
+			Job.getJobManager().join(TypeNameIndex.FAMILY, null);
+		}
+		assertTrue("index not built", index.isReady());
+
+		IJavaSearchScope scope= SearchEngine.createJavaSearchScope(new IJavaElement[] { root1 });
+		assertEquals(Arrays.asList("com.oti.NullPointerHandler", "com.oti.NumberParser"), searchIndex("Nu", scope));
+		assertEquals(Arrays.asList("com.oti.NullPointerHandler"), searchIndex("NPH", scope));
+		assertEquals(Arrays.asList("com.oti.NumberParser"), searchIndex("N*Parser", scope));
+		assertEquals(Arrays.asList("com.oti.NumberParser"), searchIndex("numberparser", scope));
+
+		// changes after the index has been built
+		pack1.getCompilationUnit("NullPointerHandler.java").delete(true, null);
+		pack1.getCompilationUnit("NumberParserFactory.java").createType("public class NumberParserFactory {\n}\n", null, true, null);
+		assertEquals(Arrays.asList("com.oti.NumberParser", "com.oti.NumberParserFactory"), searchIndex("Nu", scope));
+		assertEquals(Arrays.asList("com.oti.NumberParserFactory"), searchIndex("NPF", scope));
+	}
+
+	@Test
+	public void typeNameIndexMatches() throws Exception {
+		IPackageFragmentRoot root1= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack1= root1.createPackageFragment("com.oti", true, null);
+		pack1.createCompilationUnit("Outer.java", "package com.oti;\npublic class Outer {\n\tpublic class NumberInner {\n\t\tclass NumberDeep {}\n\t}\n}\nclass NumberSecondary {}\n", true, null);
+
+		TypeNameIndex index= TypeNameIndex.getInstance();
+		if (!index.isReady()) {
+			Job.getJobManager().join(TypeNameIndex.FAMILY, null);
+		}
+		assertTrue("index not built", index.isReady());
+
+		IJavaSearchScope scope= SearchEngine.createJavaSearchScope(new IJavaElement[] { root1 });
+		List<TypeNameMatch> matches= Collections.synchronizedList(new ArrayList<>());
+		TypeInfoFilter filter= new TypeInfoFilter("Number", scope, IJavaSearchConstants.TYPE, null);
+		assertTrue(index.search(filter, matches::add, new NullProgressMonitor()));
+		assertEquals(3, matches.size());
+		for (TypeNameMatch match : matches) {
+			assertResolve(match);
+		}
+		assertEquals(Arrays.asList("com.oti.Outer.NumberInner", "com.oti.Outer.NumberInner.NumberDeep", "com.oti.NumberSecondary"),
+				Arrays.asList(findIndexed(matches, "NumberInner").getFullyQualifiedName(), findIndexed(matches, "NumberDeep").getFullyQualifiedName(),
+						findIndexed(matches, "NumberSecondary").getFullyQualifiedName()));
+
+		// binary types
+		matches.clear();
+		filter= new TypeInfoFilter("java.util.Map.Entry", SearchEngine.createJavaSearchScope(new IJavaElement[] { fJProject1 }), IJavaSearchConstants.TYPE, null);
+		assertTrue(index.search(filter, matches::add, new NullProgressMonitor()));
+		assertResolve(findIndexed(matches, "Entry"));
+
+		// a new package discards the index
+		IPackageFragment pack2= root1.createPackageFragment("com.oti.other", true, null);
+		pack2.createCompilationUnit("NumberOther.java", "package com.oti.other;\npublic class NumberOther {}\n", true, null);
+		if (!index.isReady()) {
+			Job.getJobManager().join(TypeNameIndex.FAMILY, null);
+		}
+		assertEquals(Arrays.asList("com.oti.NumberSecondary", "com.oti.Outer.NumberInner", "com.oti.Outer.NumberInner.NumberDeep", "com.oti.other.NumberOther"),
+				searchIndex("Number", scope));
+	}
+
+	private static TypeNameMatch findIndexed(List<TypeNameMatch> matches, String simpleName) {
+		for (TypeNameMatch match : matches) {
+			if (simpleName.equals(match.getSimpleTypeName())) {
+				return match;
+			}
+		}
+		fail("Type not found: " + simpleName);
+		return null;
+	}
+
+	private static List<String> searchIndex(String pattern, IJavaSearchScope scope) {
+		List<String> result= Collections.synchronizedList(new ArrayList<>());
+		TypeInfoFilter filter= new TypeInfoFilter(pattern, scope, IJavaSearchConstants.TYPE, null);
+		assertTrue(TypeNameIndex.getInstance().search(filter, match -> result.add(match.getFullyQualifiedName()), new NullProgressMonitor()));
+		Collections.sort(result);
+		return result;
+	}
+
 	private void assertResolve(TypeNameMatch ref) {
 		IType resolvedType= ref.getType();
 		assertNotNull("Could not be resolved: " + ref.toString(), resolvedType);
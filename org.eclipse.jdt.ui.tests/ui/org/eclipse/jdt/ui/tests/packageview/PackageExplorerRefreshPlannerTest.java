@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.packageview;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.internal.ui.packageview.PackageExplorerRefreshPlanner;
+
+/**
+ * Tests the reduction of the Package Explorer updates computed from Java element deltas.
+ *
+ * @since 3.28
+ */
+public class PackageExplorerRefreshPlannerTest {
+
+	private class TestRefresh extends PackageExplorerRefreshPlanner.Refresh {
+		TestRefresh(boolean updateLabels, Object... elements) {
+			super(Arrays.asList(elements), updateLabels);
+		}
+
+		@Override
+		public void run() {
+			List<String> names= new ArrayList<>();
+			for (Object element : fElements) {
+				names.add(getName(element));
+			}
+			fLog.add((fUpdateLabels ? "update " : "refresh ") + String.join(" ", names));
+		}
+	}
+
+	private class TestAdd extends PackageExplorerRefreshPlanner.Add {
+		TestAdd(Object parent, Object element) {
+			super(parent, element);
+		}
+
+		@Override
+		public void run() {
+			fLog.add("add " + getName(fElement) + " to " + getName(fParent));
+		}
+	}
+
+	private class TestRemove extends PackageExplorerRefreshPlanner.Remove {
+		TestRemove(Object element) {
+			super(element);
+		}
+
+		@Override
+		public void run() {
+			fLog.add("remove " + getName(fElement));
+		}
+	}
+
+	private IJavaProject fJProject;
+	private IPackageFragmentRoot fRoot;
+	private IPackageFragment fPack;
+	private ICompilationUnit fUnit;
+	private List<String> fLog;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject= JavaProjectHelper.createJavaProject("TestProject", "bin");
+		fRoot= JavaProjectHelper.addSourceContainer(fJProject, "src");
+		fPack= fRoot.createPackageFragment("p", true, null);
+		fUnit= fPack.createCompilationUnit("A.java", "package p;\npublic class A {\n}\n", true, null);
+		fLog= new ArrayList<>();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.delete(fJProject);
+	}
+
+	private static String getName(Object element) {
+		if (element instanceof IJavaElement)
+			return ((IJavaElement) element).getElementName();
+		if (element instanceof IResource)
+			return ((IResource) element).getName();
+		return String.valueOf(element);
+	}
+
+	private List<String> plan(Runnable... updates) {
+		for (Runnable update : PackageExplorerRefreshPlanner.plan(Arrays.asList(updates))) {
+			update.run();
+		}
+		return fLog;
+	}
+
+	@Test
+	public void refreshesBelowRefreshedElementAreDropped() throws Exception {
+		List<String> log= plan(new TestRefresh(false, fUnit), new TestRefresh(false, fPack, fJProject), new TestRefresh(false, fRoot));
+		assertEquals(Arrays.asList("refresh TestProject"), log);
+	}
+
+	@Test
+	public void repeatedRefreshIsDropped() throws Exception {
+		List<String> log= plan(new TestRefresh(false, fPack), new TestRefresh(false, fUnit, fPack), new TestRefresh(false, fPack));
+		assertEquals(Arrays.asList("refresh p"), log);
+	}
+
+	@Test
+	public void labelUpdatesAreKept() throws Exception {
+		List<String> log= plan(new TestRefresh(false, fPack), new TestRefresh(true, fUnit), new TestRefresh(true, fPack));
+		assertEquals(Arrays.asList("refresh p", "update p"), log);
+
+		fLog.clear();
+		log= plan(new TestRefresh(true, fPack), new TestRefresh(false, fUnit), new TestRefresh(false, fPack));
+		assertEquals(Arrays.asList("update p"), log);
+
+		fLog.clear();
+		log= plan(new TestRefresh(false, fPack), new TestRefresh(true, fUnit));
+		assertEquals(Arrays.asList("refresh p", "update A.java"), log);
+	}
+
+	@Test
+	public void addsAndRemovesBelowRefreshedElementAreDropped() throws Exception {
+		ICompilationUnit other= fPack.getCompilationUnit("B.java");
+		List<String> log= plan(new TestAdd(fPack, other), new TestRemove(fUnit), new TestRefresh(false, fPack), new TestRemove(fPack));
+		assertEquals(Arrays.asList("refresh p", "remove p"), log);
+
+		fLog.clear();
+		log= plan(new TestAdd(fPack, other), new TestRemove(fUnit), new TestRefresh(false, fRoot));
+		assertEquals(Arrays.asList("refresh src"), log);
+	}
+
+	@Test
+	public void addOfElementRemovedLaterIsDropped() throws Exception {
+		ICompilationUnit other= fPack.getCompilationUnit("B.java");
+		List<String> log= plan(new TestAdd(fPack, other), new TestRemove(fUnit), new TestRemove(other));
+		assertEquals(Arrays.asList("remove A.java", "remove B.java"), log);
+
+		fLog.clear();
+		log= plan(new TestRemove(other), new TestAdd(fPack, other));
+		assertEquals(Arrays.asList("remove B.java", "add B.java to p"), log);
+	}
+
+	@Test
+	public void otherUpdatesKeepTheirOrder() throws Exception {
+		List<String> log= plan(() -> fLog.add("first"), new TestRefresh(false, fUnit), () -> fLog.add("second"), new TestRemove(fPack), () -> fLog.add("third"));
+		assertEquals(Arrays.asList("first", "refresh A.java", "second", "remove p", "third"), log);
+	}
+
+	@Test
+	public void resourcesBelowRefreshedJavaElement() throws Exception {
+		IFile file= ((IFolder) fPack.getResource()).getFile("readme.txt");
+		List<String> log= plan(new TestRefresh(false, file), new TestAdd(fPack, file), new TestRefresh(false, fPack));
+		assertEquals(Arrays.asList("refresh p"), log);
+	}
+
+	@Test
+	public void projectSourceFolderDoesNotCoverItsChildren() throws Exception {
+		JavaProjectHelper.removeSourceContainer(fJProject, "src");
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fJProject, "");
+		IPackageFragment pack= root.createPackageFragment("q", true, null);
+		List<String> log= plan(new TestRefresh(false, root), new TestRefresh(false, pack));
+		assertEquals(2, log.size());
+		assertEquals("refresh q", log.get(1));
+
+		fLog.clear();
+		log= plan(new TestRefresh(false, pack), new TestRefresh(false, fJProject));
+		assertEquals(Arrays.asList("refresh TestProject"), log);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,9 +14,11 @@
 package org.eclipse.jdt.ui.tests.packageview;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.After;
@@ -28,8 +30,12 @@ import org.eclipse.jdt.testplugin.JavaProjectHelper;
 import org.eclipse.swt.dnd.DND;
 
 import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.Path;
 
 import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.text.tests.Accessor;
 
@@ -43,8 +49,11 @@ import org.eclipse.ui.IWorkingSet;
 import org.eclipse.ui.IWorkingSetManager;
 import org.eclipse.ui.PlatformUI;
 
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
 
 import org.eclipse.jdt.ui.JavaUI;
 
@@ -214,6 +223,92 @@ public class WorkingSetDropAdapterTest {
 		assertEquals(workingSets[0], actual[2]);
 	}
 
+	@Test
+	public void testJavaWorkingSetElementsAreUpdated() throws Exception {
+		IPackageFragmentRoot root= JavaProjectHelper.addSourceContainer(fProject, "src");
+		IPackageFragment pack= root.createPackageFragment("pack", true, null);
+		ICompilationUnit cu1= pack.createCompilationUnit("A.java", "package pack;\npublic class A {}\n", true, null);
+		ICompilationUnit cu2= pack.createCompilationUnit("B.java", "package pack;\npublic class B {}\n", true, null);
+		IWorkingSet workingSet= createJavaWorkingSets(new String[] { "ws1" })[0];
+		try {
+			workingSet.setElements(new IAdaptable[] { cu1, pack, cu2 });
+
+			cu1.delete(true, null);
+			assertEquals(Arrays.asList(pack, cu2), Arrays.asList(workingSet.getElements()));
+
+			// the positions of the remaining elements are updated
+			cu2.rename("C.java", true, null);
+			assertEquals(Arrays.asList(pack, pack.getCompilationUnit("C.java")), Arrays.asList(workingSet.getElements()));
+
+			// elements outside of the working set projects are not affected
+			IJavaProject other= JavaProjectHelper.createJavaProject("Other", "bin");
+			try {
+				JavaProjectHelper.addSourceContainer(other, "src").createPackageFragment("pack", true, null).delete(true, null);
+				assertEquals(Arrays.asList(pack, pack.getCompilationUnit("C.java")), Arrays.asList(workingSet.getElements()));
+			} finally {
+				JavaProjectHelper.delete(other);
+			}
+		} finally {
+			PlatformUI.getWorkbench().getWorkingSetManager().removeWorkingSet(workingSet);
+		}
+	}
+
+	@Test
+	public void testProjectRename() throws Exception {
+		IWorkingSet workingSet= createJavaWorkingSets(new String[] { "ws1" })[0];
+		try {
+			workingSet.setElements(new IAdaptable[] { fProject });
+			IProject renamed= ResourcesPlugin.getWorkspace().getRoot().getProject("Renamed");
+			fProject.getProject().move(new Path("Renamed"), true, null);
+			fProject= JavaCore.create(renamed);
+
+			IAdaptable[] elements= workingSet.getElements();
+			assertEquals(1, elements.length);
+			assertEquals(renamed, elements[0].getAdapter(IResource.class));
+		} finally {
+			PlatformUI.getWorkbench().getWorkingSetManager().removeWorkingSet(workingSet);
+		}
+	}
+
+	@Test
+	public void testOtherProjectsUpdates() throws Exception {
+		IWorkingSet workingSet= createJavaWorkingSets(new String[] { "ws1" })[0];
+		WorkingSetModel model= new WorkingSetModel(null);
+		try {
+			IWorkingSet others= model.getActiveWorkingSets()[0];
+			assertEquals(IWorkingSetIDs.OTHERS, others.getId());
+			assertTrue(Arrays.asList(others.getElements()).contains(fProject));
+
+			workingSet.setElements(new IAdaptable[] { fProject });
+			model.setActiveWorkingSets(new IWorkingSet[] { workingSet, others });
+			assertFalse(Arrays.asList(others.getElements()).contains(fProject));
+
+			// closing and opening the project keeps it in the working set
+			fProject.getProject().close(null);
+			assertFalse(Arrays.asList(others.getElements()).contains(fProject.getProject()));
+			fProject.getProject().open(null);
+			assertFalse(Arrays.asList(others.getElements()).contains(fProject));
+
+			// a project removed from another working set is added to the other projects
+			workingSet.setElements(new IAdaptable[0]);
+			assertTrue(Arrays.asList(others.getElements()).contains(fProject));
+			workingSet.setElements(new IAdaptable[] { fProject });
+			assertFalse(Arrays.asList(others.getElements()).contains(fProject));
+
+			// new and removed projects
+			IJavaProject other= JavaProjectHelper.createJavaProject("Other", "bin");
+			try {
+				assertTrue(Arrays.asList(others.getElements()).contains(other));
+			} finally {
+				JavaProjectHelper.delete(other);
+			}
+			assertFalse(Arrays.asList(others.getElements()).contains(other));
+		} finally {
+			model.dispose();
+			PlatformUI.getWorkbench().getWorkingSetManager().removeWorkingSet(workingSet);
+		}
+	}
+
 	private void setWorkingSets(IWorkingSet[] workingSets) {
 		WorkingSetModel model= fPackageExplorer.getWorkingSetModel();
 		if (model == null) {
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.search.ui.text.Match;
+import org.eclipse.search.ui.text.MatchEvent;
+
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.FieldReferenceMatch;
+import org.eclipse.jdt.core.search.MethodReferenceMatch;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+
+import org.eclipse.jdt.ui.tests.core.rules.JUnitSourceSetup;
+
+import org.eclipse.jdt.internal.ui.search.JavaElementMatch;
+import org.eclipse.jdt.internal.ui.search.JavaSearchResult;
+import org.eclipse.jdt.internal.ui.search.NewSearchResultCollector;
+
+public class SearchResultCollectorTest {
+
+	@Rule
+	public JUnitSourceSetup projectSetup = new JUnitSourceSetup();
+
+	private JavaSearchResult fResult;
+	private List<MatchEvent> fEvents;
+	private IType fType;
+
+	@Before
+	public void setUp() throws Exception {
+		fResult= new JavaSearchResult(null);
+		fEvents= new ArrayList<>();
+		fResult.addListener(event -> {
+			if (event instanceof MatchEvent)
+				fEvents.add((MatchEvent) event);
+		});
+		fType= SearchTestHelper.getType("junit.framework.TestCase");
+	}
+
+	private SearchMatch createMatch(int offset, int accuracy) {
+		return new SearchMatch(fType, accuracy, offset, 1, SearchEngine.getDefaultSearchParticipant(), fType.getResource());
+	}
+
+	@Test
+	public void testMatchesAreAddedInBatches() throws Exception {
+		NewSearchResultCollector collector= new NewSearchResultCollector(fResult, false);
+		for (int i= 0; i < 512; i++) {
+			collector.acceptSearchMatch(createMatch(i, SearchMatch.A_ACCURATE));
+		}
+		// a full batch is added at once
+		assertEquals(512, fResult.getMatchCount());
+		for (int i= 512; i < 1200; i++) {
+			collector.acceptSearchMatch(createMatch(i, SearchMatch.A_ACCURATE));
+		}
+		collector.endReporting();
+		assertEquals(1200, fResult.getMatchCount());
+		assertTrue(String.valueOf(fEvents.size()), fEvents.size() < 10);
+	}
+
+	@Test
+	public void testFlushAddsPendingMatches() throws Exception {
+		NewSearchResultCollector collector= new NewSearchResultCollector(fResult, false);
+		for (int i= 0; i < 10; i++) {
+			collector.acceptSearchMatch(createMatch(i, SearchMatch.A_ACCURATE));
+		}
+		// as if the search was canceled before it ended reporting
+		collector.flush();
+		assertEquals(10, fResult.getMatchCount());
+		collector.flush();
+		assertEquals(10, fResult.getMatchCount());
+	}
+
+	@Test
+	public void testPendingMatchesAreAddedAfterInterval() throws Exception {
+		NewSearchResultCollector collector= new NewSearchResultCollector(fResult, false);
+		for (int i= 0; i < 10; i++) {
+			collector.acceptSearchMatch(createMatch(i, SearchMatch.A_ACCURATE));
+		}
+		// no further matches arrive, the batch is added by the flush job
+		long end= System.currentTimeMillis() + 5000;
+		while (fResult.getMatchCount() < 10 && System.currentTimeMillis() < end) {
+			Thread.sleep(20);
+		}
+		assertEquals(10, fResult.getMatchCount());
+	}
+
+	@Test
+	public void testPotentialMatchesAreIgnored() throws Exception {
+		NewSearchResultCollector collector= new NewSearchResultCollector(fResult, true);
+		collector.acceptSearchMatch(createMatch(0, SearchMatch.A_ACCURATE));
+		collector.acceptSearchMatch(createMatch(1, SearchMatch.A_INACCURATE));
+		collector.endReporting();
+		assertEquals(1, fResult.getMatchCount());
+	}
+
+	@Test
+	public void testAccessKinds() throws Exception {
+		IMethod method= SearchTestHelper.getMethod("junit.framework.TestCase", "getName", new String[0]);
+		NewSearchResultCollector collector= new NewSearchResultCollector(fResult, false);
+		collector.acceptSearchMatch(new FieldReferenceMatch(fType, SearchMatch.A_ACCURATE, 0, 1, true, false, false, SearchEngine.getDefaultSearchParticipant(), fType.getResource()));
+		collector.acceptSearchMatch(new FieldReferenceMatch(fType, SearchMatch.A_ACCURATE, 1, 1, false, true, true, SearchEngine.getDefaultSearchParticipant(), fType.getResource()));
+		collector.acceptSearchMatch(new MethodReferenceMatch(method, SearchMatch.A_ACCURATE, 2, 1, false, false, true, false, SearchEngine.getDefaultSearchParticipant(), fType.getResource()));
+		collector.endReporting();
+
+		Match[] matches= fResult.getMatches(fType);
+		assertEquals(2, matches.length);
+		JavaElementMatch read= (JavaElementMatch) (matches[0].getOffset() == 0 ? matches[0] : matches[1]);
+		JavaElementMatch write= (JavaElementMatch) (matches[0].getOffset() == 0 ? matches[1] : matches[0]);
+		assertTrue(read.isReadAccess());
+		assertFalse(read.isWriteAccess());
+		assertFalse(read.isJavadoc());
+		assertFalse(write.isReadAccess());
+		assertTrue(write.isWriteAccess());
+		assertTrue(write.isJavadoc());
+
+		JavaElementMatch invocation= (JavaElementMatch) fResult.getMatches(method)[0];
+		assertTrue(invocation.isSuperInvocation());
+		assertFalse(invocation.isReadAccess());
+		assertFalse(invocation.isWriteAccess());
+	}
+}
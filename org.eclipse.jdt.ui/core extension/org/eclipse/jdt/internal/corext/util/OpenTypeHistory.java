@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -31,6 +32,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.core.resources.IResource;
@@ -49,13 +51,23 @@ import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.SearchEngine;
 import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
 
 import org.eclipse.jdt.internal.corext.CorextMessages;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
 /**
  * History for the open type dialog. Object and keys are both {@link TypeNameMatch}s.
+ * <p>
+ * The consistency check validates the history container by container: all types of an archive
+ * share its time stamp, the types of a source folder are validated per file. The types of changed
+ * containers are looked up with a single type name search. Validated time stamps are saved with
+ * the history, so that a restart does not validate unchanged containers again.
+ * </p>
  */
 public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 
@@ -172,6 +184,8 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 
 	private final IElementChangedListener fDeltaListener;
 	private final UpdateJob fUpdateJob;
+	// Serializes consistency checks, which do not hold the history lock while searching
+	private final Object fConsistencyCheckLock= new Object();
 
 	private static final String FILENAME= "OpenTypeHistory.xml"; //$NON-NLS-1$
 	private static final String NODE_ROOT= "typeInfoHistroy"; //$NON-NLS-1$
@@ -293,40 +307,140 @@ public class OpenTypeHistory extends History<TypeNameMatch, TypeNameMatch> {
 		return object;
 	}
 
-	private synchronized void internalCheckConsistency(IProgressMonitor monitor) throws OperationCanceledException {
-		// Setting fNeedsConsistencyCheck is necessary here since
-		// markAsInconsistent isn't synchronized.
-		fNeedsConsistencyCheck= true;
-		List<TypeNameMatch> typesToCheck= new ArrayList<>(getKeys());
-		monitor.beginTask(CorextMessages.TypeInfoHistory_consistency_check, typesToCheck.size());
-		monitor.setTaskName(CorextMessages.TypeInfoHistory_consistency_check);
-		for (TypeNameMatch type : typesToCheck) {
-			long currentTimestamp= getContainerTimestamp(type);
-			Long lastTested= fTimestampMapping.get(type);
-			if (lastTested != null && currentTimestamp != IResource.NULL_STAMP && currentTimestamp == lastTested.longValue() && !isContainerDirty(type))
-				continue;
-			try {
-				IType jType= type.getType();
-				if (jType == null || !jType.exists()) {
-					remove(type);
+	private void internalCheckConsistency(IProgressMonitor monitor) throws OperationCanceledException {
+		synchronized (fConsistencyCheckLock) {
+			// Setting fNeedsConsistencyCheck is necessary here since
+			// markAsInconsistent isn't synchronized.
+			fNeedsConsistencyCheck= true;
+			List<TypeNameMatch> typesToCheck;
+			Map<TypeNameMatch, Long> lastTested;
+			synchronized (this) {
+				typesToCheck= new ArrayList<>(getKeys());
+				lastTested= new HashMap<>(fTimestampMapping);
+			}
+			SubMonitor subMonitor= SubMonitor.convert(monitor, CorextMessages.TypeInfoHistory_consistency_check, 10);
+			subMonitor.setTaskName(CorextMessages.TypeInfoHistory_consistency_check);
+
+			// validate the time stamps container by container
+			Map<IPackageFragmentRoot, List<TypeNameMatch>> typesByRoot= new LinkedHashMap<>();
+			for (TypeNameMatch type : typesToCheck) {
+				typesByRoot.computeIfAbsent(type.getPackageFragmentRoot(), root -> new ArrayList<>()).add(type);
+			}
+			List<TypeNameMatch> removed= new ArrayList<>();
+			Map<TypeNameMatch, Long> changed= new LinkedHashMap<>();
+			SubMonitor validateMonitor= subMonitor.split(2).setWorkRemaining(typesByRoot.size());
+			for (Map.Entry<IPackageFragmentRoot, List<TypeNameMatch>> entry : typesByRoot.entrySet()) {
+				IPackageFragmentRoot root= entry.getKey();
+				if (root == null || !root.exists()) {
+					removed.addAll(entry.getValue());
+				} else if (root.isArchive()) {
+					// all types of an archive share its time stamp
+					long timestamp= getContainerTimestamp(entry.getValue().get(0));
+					for (TypeNameMatch type : entry.getValue()) {
+						if (!isValid(timestamp, lastTested.get(type)))
+							changed.put(type, Long.valueOf(timestamp));
+					}
 				} else {
-					// copy over the modifiers since they may have changed
-					int modifiers= jType.getFlags();
-					if (modifiers != type.getModifiers()) {
-						replace(type, SearchEngine.createTypeNameMatch(jType, modifiers));
-					} else {
-						fTimestampMapping.put(type, currentTimestamp);
+					Map<IResource, Long> fileTimestamps= new HashMap<>();
+					for (TypeNameMatch type : entry.getValue()) {
+						IResource resource= type.getType().getResource();
+						Long timestamp= resource == null ? null : fileTimestamps.get(resource);
+						if (timestamp == null) {
+							timestamp= Long.valueOf(getContainerTimestamp(type));
+							if (resource != null)
+								fileTimestamps.put(resource, timestamp);
+						}
+						if (!isValid(timestamp.longValue(), lastTested.get(type)) || isContainerDirty(type))
+							changed.put(type, timestamp);
 					}
 				}
-			} catch (JavaModelException e) {
-				remove(type);
+				validateMonitor.worked(1);
 			}
-			if (monitor.isCanceled())
+			if (subMonitor.isCanceled())
+				throw new OperationCanceledException();
+
+			// look up the types of all changed containers at once
+			Map<IType, TypeNameMatch> found= searchTypes(changed.keySet(), subMonitor.split(7));
+			if (subMonitor.isCanceled())
 				throw new OperationCanceledException();
-			monitor.worked(1);
+
+			boolean modified= !removed.isEmpty();
+			synchronized (this) {
+				for (TypeNameMatch type : removed) {
+					remove(type);
+				}
+				for (Map.Entry<TypeNameMatch, Long> entry : changed.entrySet()) {
+					TypeNameMatch type= entry.getKey();
+					if (found == null || !contains(type))
+						continue;
+					TypeNameMatch current= found.get(type.getType());
+					if (current == null) {
+						remove(type);
+					} else if (current.getModifiers() != type.getModifiers()) {
+						// copy over the modifiers since they may have changed
+						TypeNameMatch newMatch= SearchEngine.createTypeNameMatch(type.getType(), current.getModifiers());
+						fTimestampMapping.remove(type);
+						fTimestampMapping.put(newMatch, entry.getValue());
+						super.remove(type);
+						super.accessed(newMatch);
+					} else {
+						fTimestampMapping.put(type, entry.getValue());
+					}
+					modified= true;
+				}
+			}
+			if (modified) {
+				// keep the validated time stamps even if the workbench is not shut down properly
+				save();
+			}
+			subMonitor.done();
+			fNeedsConsistencyCheck= false;
+		}
+	}
+
+	private static boolean isValid(long timestamp, Long lastTested) {
+		return lastTested != null && timestamp != IResource.NULL_STAMP && timestamp == lastTested.longValue();
+	}
+
+	/**
+	 * Searches the types with a single type name search in the package fragment roots of the
+	 * given types.
+	 *
+	 * @param types the types to search
+	 * @param monitor the progress monitor
+	 * @return the found types with their current modifiers, or <code>null</code> if the search
+	 *         failed
+	 */
+	private Map<IType, TypeNameMatch> searchTypes(Collection<TypeNameMatch> types, IProgressMonitor monitor) {
+		Map<IType, TypeNameMatch> result= new HashMap<>();
+		if (types.isEmpty())
+			return result;
+		List<IJavaElement> roots= new ArrayList<>();
+		char[][] qualifications= new char[types.size()][];
+		char[][] typeNames= new char[types.size()][];
+		int i= 0;
+		for (TypeNameMatch type : types) {
+			IPackageFragmentRoot root= type.getPackageFragmentRoot();
+			if (!roots.contains(root))
+				roots.add(root);
+			qualifications[i]= type.getTypeContainerName().toCharArray();
+			typeNames[i]= type.getSimpleTypeName().toCharArray();
+			i++;
 		}
-		monitor.done();
-		fNeedsConsistencyCheck= false;
+		try {
+			new SearchEngine().searchAllTypeNames(qualifications, typeNames,
+					SearchEngine.createJavaSearchScope(roots.toArray(new IJavaElement[roots.size()])),
+					new TypeNameMatchRequestor() {
+						@Override
+						public void acceptTypeNameMatch(TypeNameMatch match) {
+							result.put(match.getType(), match);
+						}
+					}, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+		} catch (JavaModelException e) {
+			JavaPlugin.log(e);
+			return null;
+		}
+		return result;
 	}
 
 	private long getContainerTimestamp(TypeNameMatch match) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,7 +38,8 @@ public class TypeInfoFilter {
 
 	private final ITypeInfoFilterExtension fFilterExtension;
 
-	private final TypeInfoRequestorAdapter fAdapter= new TypeInfoRequestorAdapter();
+	/* filters are used by the worker threads of the type name index, each gets its own adapter */
+	private final ThreadLocal<TypeInfoRequestorAdapter> fAdapter= ThreadLocal.withInitial(TypeInfoRequestorAdapter::new);
 
 	private final PatternMatcher fPackageMatcher;
 
@@ -267,8 +268,9 @@ public class TypeInfoFilter {
 	public boolean matchesFilterExtension(TypeNameMatch type) {
 		if (fFilterExtension == null)
 			return true;
-		fAdapter.setMatch(type);
-		return fFilterExtension.select(fAdapter);
+		TypeInfoRequestorAdapter adapter= fAdapter.get();
+		adapter.setMatch(type);
+		return fFilterExtension.select(adapter);
 	}
 
 	private boolean matchesName(TypeNameMatch type) {
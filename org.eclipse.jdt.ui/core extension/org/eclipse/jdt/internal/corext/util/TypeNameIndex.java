@@ -0,0 +1,841 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
+
+import org.eclipse.jdt.internal.corext.CorextMessages;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * An in-memory index of the names of all types in the workspace, used by the open type dialog
+ * instead of searching all type names whenever the pattern changes.
+ * <p>
+ * The index is built once by a background job. The types are sorted by their simple name, and the
+ * lower case names and the camel case initials are packed into character arrays, so that the
+ * types starting with a prefix or with the initials of a camel case pattern are found with a binary
+ * search. Instead of a {@link TypeNameMatch} per type, the index only keeps the names, the
+ * modifiers and indices into shared tables of package fragments, container names and compilation
+ * unit names. Compilation units that changed after the index has been built, and the primary
+ * working copies, are indexed from their current contents when queried; their types are cached
+ * until the next change of the unit. Changes to the class path, to archives or to the packages
+ * discard the index; it is then rebuilt on the next query.
+ * </p>
+ * <p>
+ * The candidates of a query are filtered in parallel and reported while filtering. The type
+ * handles and matches are only created for the candidates whose names pass the filter. Matching
+ * types from the {@link OpenTypeHistory} are reported first.
+ * </p>
+ * <p>
+ * The index can be disabled with the system property <code>jdt.openTypeIndex=false</code>.
+ * </p>
+ *
+ * @since 3.28
+ */
+public class TypeNameIndex {
+
+	/**
+	 * The indexed types, sorted by their simple name.
+	 */
+	private static final class Snapshot {
+
+		final int fCount;
+		/* packed simple names, name i is [fNameOffsets[i], fNameOffsets[i + 1]) */
+		final char[] fSimpleNames;
+		/* packed lower case simple names, same offsets as the simple names */
+		final char[] fNames;
+		final int[] fNameOffsets;
+		/* packed upper case letters of the simple names */
+		final char[] fInitials;
+		final int[] fInitialOffsets;
+		/* the indices of the types sorted by their initials */
+		final int[] fByInitials;
+		/* the package fragment of each type, an index into fPackageTable */
+		final IPackageFragment[] fPackageTable;
+		final int[] fPackages;
+		/* the type container name of each type, an index into fContainerTable */
+		final String[] fContainerTable;
+		final int[] fContainers;
+		/* the compilation unit name of each source type, an index into fUnitTable, -1 for binary types */
+		final String[] fUnitTable;
+		final int[] fUnits;
+		final int[] fModifiers;
+		final byte[] fAccessibilities;
+
+		Snapshot(SnapshotBuilder builder) {
+			List<SnapshotBuilder.Entry> types= builder.fEntries;
+			int count= types.size();
+			String[] lowerCaseNames= new String[count];
+			Integer[] order= new Integer[count];
+			for (int i= 0; i < count; i++) {
+				lowerCaseNames[i]= toLowerCase(types.get(i).fName);
+				order[i]= Integer.valueOf(i);
+			}
+			Arrays.sort(order, Comparator.comparing(i -> lowerCaseNames[i.intValue()]));
+			fCount= count;
+			fPackageTable= builder.fPackages.keySet().toArray(new IPackageFragment[builder.fPackages.size()]);
+			fContainerTable= builder.fContainers.keySet().toArray(new String[builder.fContainers.size()]);
+			fUnitTable= builder.fUnits.keySet().toArray(new String[builder.fUnits.size()]);
+			fPackages= new int[count];
+			fContainers= new int[count];
+			fUnits= new int[count];
+			fModifiers= new int[count];
+			fAccessibilities= new byte[count];
+			fNameOffsets= new int[count + 1];
+			fInitialOffsets= new int[count + 1];
+			StringBuilder simpleNames= new StringBuilder();
+			StringBuilder names= new StringBuilder();
+			StringBuilder initials= new StringBuilder();
+			for (int i= 0; i < count; i++) {
+				int index= order[i].intValue();
+				SnapshotBuilder.Entry entry= types.get(index);
+				fPackages[i]= entry.fPackage;
+				fContainers[i]= entry.fContainer;
+				fUnits[i]= entry.fUnit;
+				fModifiers[i]= entry.fModifiers;
+				fAccessibilities[i]= (byte) entry.fAccessibility;
+				fNameOffsets[i]= names.length();
+				fInitialOffsets[i]= initials.length();
+				simpleNames.append(entry.fName);
+				names.append(lowerCaseNames[index]);
+				appendInitials(entry.fName, initials);
+			}
+			fNameOffsets[count]= names.length();
+			fInitialOffsets[count]= initials.length();
+			fSimpleNames= simpleNames.toString().toCharArray();
+			fNames= names.toString().toCharArray();
+			fInitials= initials.toString().toCharArray();
+			Integer[] byInitials= new Integer[count];
+			for (int i= 0; i < count; i++) {
+				byInitials[i]= Integer.valueOf(i);
+			}
+			Arrays.sort(byInitials, (a, b) -> compare(fInitials, fInitialOffsets, a.intValue(), b.intValue()));
+			fByInitials= new int[count];
+			for (int i= 0; i < count; i++) {
+				fByInitials[i]= byInitials[i].intValue();
+			}
+		}
+
+		String getSimpleName(int index) {
+			return new String(fSimpleNames, fNameOffsets[index], fNameOffsets[index + 1] - fNameOffsets[index]);
+		}
+
+		/*
+		 * Returns the names of the enclosing types separated by dots, or null for a top level type.
+		 */
+		String getEnclosingTypeNames(int index) {
+			String container= fContainerTable[fContainers[index]];
+			String packageName= fPackageTable[fPackages[index]].getElementName();
+			if (container.length() <= packageName.length()) {
+				return null;
+			}
+			return packageName.isEmpty() ? container : container.substring(packageName.length() + 1);
+		}
+
+		/*
+		 * Returns the compilation unit of a source type, null for binary types.
+		 */
+		ICompilationUnit getCompilationUnit(int index) {
+			int unit= fUnits[index];
+			return unit < 0 ? null : fPackageTable[fPackages[index]].getCompilationUnit(fUnitTable[unit]);
+		}
+
+		IType createType(int index) {
+			IPackageFragment pack= fPackageTable[fPackages[index]];
+			String enclosing= getEnclosingTypeNames(index);
+			String name= getSimpleName(index);
+			ICompilationUnit unit= getCompilationUnit(index);
+			if (unit == null) {
+				String binaryName= enclosing == null ? name : enclosing.replace('.', '$') + '$' + name;
+				return pack.getOrdinaryClassFile(binaryName + ".class").getType(); //$NON-NLS-1$
+			}
+			IType type= null;
+			if (enclosing != null) {
+				int start= 0;
+				while (start <= enclosing.length()) {
+					int end= enclosing.indexOf('.', start);
+					if (end == -1) {
+						end= enclosing.length();
+					}
+					String segment= enclosing.substring(start, end);
+					type= type == null ? unit.getType(segment) : type.getType(segment);
+					start= end + 1;
+				}
+			}
+			return type == null ? unit.getType(name) : type.getType(name);
+		}
+
+		/**
+		 * Returns the range of types whose lower case name starts with the given prefix.
+		 *
+		 * @param prefix the lower case prefix
+		 * @return the start (inclusive) and end (exclusive) of the range of type indices
+		 */
+		int[] getNameRange(String prefix) {
+			return new int[] { search(fNames, fNameOffsets, null, prefix, false), search(fNames, fNameOffsets, null, prefix, true) };
+		}
+
+		/**
+		 * Returns the range of types whose initials start with the given prefix.
+		 *
+		 * @param prefix the upper case initials
+		 * @return the start (inclusive) and end (exclusive) of the range in {@link #fByInitials}
+		 */
+		int[] getInitialsRange(String prefix) {
+			return new int[] { search(fInitials, fInitialOffsets, fByInitials, prefix, false), search(fInitials, fInitialOffsets, fByInitials, prefix, true) };
+		}
+
+		boolean nameStartsWith(int index, String prefix) {
+			int start= fNameOffsets[index];
+			if (fNameOffsets[index + 1] - start < prefix.length()) {
+				return false;
+			}
+			for (int i= 0; i < prefix.length(); i++) {
+				if (fNames[start + i] != prefix.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/*
+		 * Binary search for the first entry that does not start with the prefix and is not smaller
+		 * than it (upper) or the first entry not smaller than the prefix (lower).
+		 */
+		private int search(char[] packed, int[] offsets, int[] order, String prefix, boolean upper) {
+			int low= 0;
+			int high= fCount;
+			while (low < high) {
+				int mid= (low + high) >>> 1;
+				int index= order == null ? mid : order[mid];
+				int cmp= comparePrefix(packed, offsets[index], offsets[index + 1], prefix);
+				if (cmp < 0 || (upper && cmp == 0)) {
+					low= mid + 1;
+				} else {
+					high= mid;
+				}
+			}
+			return low;
+		}
+
+		/*
+		 * Compares the packed entry with the prefix, 0 if the entry starts with the prefix.
+		 */
+		private static int comparePrefix(char[] packed, int start, int end, String prefix) {
+			int length= Math.min(end - start, prefix.length());
+			for (int i= 0; i < length; i++) {
+				int cmp= packed[start + i] - prefix.charAt(i);
+				if (cmp != 0) {
+					return cmp;
+				}
+			}
+			return end - start < prefix.length() ? -1 : 0;
+		}
+
+		private static int compare(char[] packed, int[] offsets, int a, int b) {
+			int startA= offsets[a], endA= offsets[a + 1];
+			int startB= offsets[b], endB= offsets[b + 1];
+			int length= Math.min(endA - startA, endB - startB);
+			for (int i= 0; i < length; i++) {
+				int cmp= packed[startA + i] - packed[startB + i];
+				if (cmp != 0) {
+					return cmp;
+				}
+			}
+			return (endA - startA) - (endB - startB);
+		}
+	}
+
+	/**
+	 * Collects the types found by the search for all type names without keeping their matches.
+	 */
+	private static final class SnapshotBuilder extends TypeNameMatchRequestor {
+
+		static final class Entry {
+			final String fName;
+			final int fPackage;
+			final int fContainer;
+			final int fUnit;
+			final int fModifiers;
+			final int fAccessibility;
+
+			Entry(String name, int pack, int container, int unit, int modifiers, int accessibility) {
+				fName= name;
+				fPackage= pack;
+				fContainer= container;
+				fUnit= unit;
+				fModifiers= modifiers;
+				fAccessibility= accessibility;
+			}
+		}
+
+		final List<Entry> fEntries= new ArrayList<>();
+		/* the shared tables, in the order of their indices */
+		final Map<IPackageFragment, Integer> fPackages= new LinkedHashMap<>();
+		final Map<String, Integer> fContainers= new LinkedHashMap<>();
+		final Map<String, Integer> fUnits= new LinkedHashMap<>();
+
+		@Override
+		public void acceptTypeNameMatch(TypeNameMatch match) {
+			IType type= match.getType();
+			ICompilationUnit unit= type.getCompilationUnit();
+			fEntries.add(new Entry(match.getSimpleTypeName(), indexOf(fPackages, type.getPackageFragment()), indexOf(fContainers, match.getTypeContainerName()),
+					unit == null ? -1 : indexOf(fUnits, unit.getElementName()), match.getModifiers(), match.getAccessibility()));
+		}
+
+		private static <T> int indexOf(Map<T, Integer> table, T value) {
+			return table.computeIfAbsent(value, v -> Integer.valueOf(table.size())).intValue();
+		}
+	}
+
+	/**
+	 * A view of an indexed type that is passed to the filter. The type handle is only created when
+	 * the filter asks for it. Instances are reused for the candidates of one task.
+	 */
+	private static final class Candidate extends TypeNameMatch {
+
+		private final Snapshot fSnapshot;
+		private int fIndex;
+		private String fName;
+		private IType fType;
+
+		Candidate(Snapshot snapshot) {
+			fSnapshot= snapshot;
+		}
+
+		void setIndex(int index) {
+			fIndex= index;
+			fName= null;
+			fType= null;
+		}
+
+		@Override
+		public int getAccessibility() {
+			return fSnapshot.fAccessibilities[fIndex];
+		}
+
+		@Override
+		public int getModifiers() {
+			return fSnapshot.fModifiers[fIndex];
+		}
+
+		@Override
+		public IType getType() {
+			if (fType == null) {
+				fType= fSnapshot.createType(fIndex);
+			}
+			return fType;
+		}
+
+		@Override
+		public IPackageFragmentRoot getPackageFragmentRoot() {
+			return (IPackageFragmentRoot) fSnapshot.fPackageTable[fSnapshot.fPackages[fIndex]].getParent();
+		}
+
+		@Override
+		public String getPackageName() {
+			return fSnapshot.fPackageTable[fSnapshot.fPackages[fIndex]].getElementName();
+		}
+
+		@Override
+		public String getSimpleTypeName() {
+			if (fName == null) {
+				fName= fSnapshot.getSimpleName(fIndex);
+			}
+			return fName;
+		}
+
+		@Override
+		public String getTypeContainerName() {
+			return fSnapshot.fContainerTable[fSnapshot.fContainers[fIndex]];
+		}
+
+		@Override
+		public String getFullyQualifiedName() {
+			String container= getTypeContainerName();
+			return container.isEmpty() ? getSimpleTypeName() : container + '.' + getSimpleTypeName();
+		}
+
+		@Override
+		public String getTypeQualifiedName() {
+			String enclosing= fSnapshot.getEnclosingTypeNames(fIndex);
+			return enclosing == null ? getSimpleTypeName() : enclosing + '.' + getSimpleTypeName();
+		}
+	}
+
+	private class DeltaListener implements IElementChangedListener {
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			if (event.getType() == ElementChangedEvent.POST_RECONCILE) {
+				IJavaElement element= event.getDelta().getElement();
+				if (element instanceof ICompilationUnit) {
+					workingCopyChanged(((ICompilationUnit) element).getPrimary());
+				}
+				return;
+			}
+			processDelta(event.getDelta());
+		}
+
+		private void processDelta(IJavaElementDelta delta) {
+			IJavaElement element= delta.getElement();
+			int flags= delta.getFlags();
+			switch (element.getElementType()) {
+				case IJavaElement.JAVA_MODEL:
+					processChildrenDelta(delta);
+					return;
+				case IJavaElement.JAVA_PROJECT:
+				case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+					if (delta.getKind() != IJavaElementDelta.CHANGED || (flags & CLASSPATH_FLAGS) != 0) {
+						invalidate();
+						return;
+					}
+					processChildrenDelta(delta);
+					return;
+				case IJavaElement.PACKAGE_FRAGMENT:
+					if (delta.getKind() != IJavaElementDelta.CHANGED) {
+						invalidate();
+						return;
+					}
+					processChildrenDelta(delta);
+					return;
+				case IJavaElement.COMPILATION_UNIT:
+					ICompilationUnit unit= (ICompilationUnit) element;
+					if (JavaModelUtil.isPrimary(unit) && (delta.getKind() != IJavaElementDelta.CHANGED || (flags & (IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_PRIMARY_WORKING_COPY)) != 0)) {
+						unitChanged(unit);
+					}
+					return;
+				case IJavaElement.CLASS_FILE:
+					invalidate();
+					return;
+				default:
+					return;
+			}
+		}
+
+		private void processChildrenDelta(IJavaElementDelta delta) {
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				processDelta(child);
+			}
+		}
+	}
+
+	private class BuildJob extends Job {
+		BuildJob() {
+			super(CorextMessages.TypeNameIndex_job_name);
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				build(monitor);
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			} catch (JavaModelException e) {
+				JavaPlugin.log(e);
+			}
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return FAMILY.equals(family);
+		}
+	}
+
+	/**
+	 * The job family of the job that builds the index.
+	 */
+	public static final String FAMILY= TypeNameIndex.class.getName();
+
+	private static final int CLASSPATH_FLAGS= IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_ADDED_TO_CLASSPATH | IJavaElementDelta.F_REMOVED_FROM_CLASSPATH | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+			| IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED;
+
+	/**
+	 * Number of changed compilation units after which the index is rebuilt instead of indexing
+	 * the changed units on every query.
+	 */
+	private static final int MAX_CHANGED_UNITS= 500;
+
+	/** Number of candidates filtered by one task. */
+	private static final int CHUNK_SIZE= 4096;
+
+	private static final int PARALLELISM= Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	private static final boolean ENABLED= !"false".equals(System.getProperty("jdt.openTypeIndex")); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private static TypeNameIndex fgInstance;
+
+	private static ExecutorService fgExecutor;
+
+	private final IElementChangedListener fDeltaListener;
+	private final BuildJob fBuildJob;
+
+	private volatile Snapshot fSnapshot;
+	/*
+	 * the compilation units changed since the snapshot has been built, with the change count at
+	 * the time of their last change, guarded by this
+	 */
+	private final Map<ICompilationUnit, Integer> fChangedUnits= new HashMap<>();
+	/* the current types of changed units and working copies, by primary unit, guarded by this */
+	private final Map<ICompilationUnit, List<TypeNameMatch>> fUnitTypes= new HashMap<>();
+	/* incremented on every change of a compilation unit or working copy, guarded by this */
+	private int fChangeCount;
+	/* incremented on every invalidation, a build is discarded if it changed meanwhile */
+	private volatile int fInvalidationCount;
+
+	public static synchronized TypeNameIndex getInstance() {
+		if (fgInstance == null)
+			fgInstance= new TypeNameIndex();
+		return fgInstance;
+	}
+
+	public static synchronized void shutdown() {
+		if (fgInstance != null) {
+			fgInstance.doShutdown();
+			fgInstance= null;
+		}
+		if (fgExecutor != null) {
+			fgExecutor.shutdownNow();
+			fgExecutor= null;
+		}
+	}
+
+	/**
+	 * Returns whether the index is used by the open type dialog.
+	 *
+	 * @return <code>true</code> if the index is enabled
+	 */
+	public static boolean isEnabled() {
+		return ENABLED;
+	}
+
+	private TypeNameIndex() {
+		fDeltaListener= new DeltaListener();
+		JavaCore.addElementChangedListener(fDeltaListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		fBuildJob= new BuildJob();
+	}
+
+	private void doShutdown() {
+		JavaCore.removeElementChangedListener(fDeltaListener);
+		fBuildJob.cancel();
+		fSnapshot= null;
+	}
+
+	/**
+	 * Returns whether the index has been built. If not, a build is scheduled and the caller should
+	 * search the type names itself.
+	 *
+	 * @return <code>true</code> if the index can answer queries
+	 */
+	public boolean isReady() {
+		if (fSnapshot != null) {
+			return true;
+		}
+		fBuildJob.schedule();
+		return false;
+	}
+
+	private void build(IProgressMonitor monitor) throws JavaModelException {
+		if (fSnapshot != null) {
+			return;
+		}
+		int invalidationCount;
+		int changeCount;
+		synchronized (this) {
+			invalidationCount= fInvalidationCount;
+			changeCount= fChangeCount;
+		}
+		SnapshotBuilder builder= new SnapshotBuilder();
+		new SearchEngine().searchAllTypeNames(null, SearchPattern.R_PATTERN_MATCH, null, SearchPattern.R_PATTERN_MATCH,
+				IJavaSearchConstants.TYPE, SearchEngine.createWorkspaceScope(), builder, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		Snapshot snapshot= new Snapshot(builder);
+		synchronized (this) {
+			if (invalidationCount == fInvalidationCount) {
+				fSnapshot= snapshot;
+				// units changed after the search started may or may not be seen by it
+				fChangedUnits.values().removeIf(count -> count.intValue() <= changeCount);
+			}
+		}
+	}
+
+	private synchronized void invalidate() {
+		fInvalidationCount++;
+		fSnapshot= null;
+		fChangedUnits.clear();
+		fUnitTypes.clear();
+	}
+
+	private synchronized void workingCopyChanged(ICompilationUnit unit) {
+		fChangeCount++;
+		fUnitTypes.remove(unit);
+	}
+
+	private void unitChanged(ICompilationUnit unit) {
+		boolean rebuild;
+		synchronized (this) {
+			fChangedUnits.put(unit, Integer.valueOf(++fChangeCount));
+			fUnitTypes.remove(unit);
+			rebuild= fSnapshot != null && fChangedUnits.size() > MAX_CHANGED_UNITS;
+		}
+		if (rebuild) {
+			invalidate();
+		}
+	}
+
+	/**
+	 * Reports all types matching a filter.
+	 *
+	 * @param filter the filter the types must match, see
+	 *            {@link TypeInfoFilter#matchesHistoryElement(TypeNameMatch)}
+	 * @param requestor receives the matching types, is called from several threads
+	 * @param monitor the progress monitor
+	 * @return <code>false</code> if the index is not {@link #isReady() ready} and nothing has been
+	 *         reported
+	 * @throws OperationCanceledException if the monitor has been canceled
+	 */
+	public boolean search(TypeInfoFilter filter, Consumer<TypeNameMatch> requestor, IProgressMonitor monitor) {
+		Snapshot snapshot= fSnapshot;
+		if (snapshot == null) {
+			return false;
+		}
+		Set<ICompilationUnit> changedUnits;
+		synchronized (this) {
+			changedUnits= new HashSet<>(fChangedUnits.keySet());
+		}
+		Map<ICompilationUnit, ICompilationUnit> workingCopies= new HashMap<>();
+		for (ICompilationUnit workingCopy : JavaCore.getWorkingCopies(null)) {
+			changedUnits.add(workingCopy.getPrimary());
+			workingCopies.put(workingCopy.getPrimary(), workingCopy);
+		}
+
+		Set<TypeNameMatch> reported= new HashSet<>();
+		for (TypeNameMatch type : OpenTypeHistory.getInstance().getFilteredTypeInfos(filter)) {
+			ICompilationUnit unit= type.getType().getCompilationUnit();
+			if (unit == null || !changedUnits.contains(unit.getPrimary())) {
+				reported.add(type);
+				requestor.accept(type);
+			}
+		}
+		for (ICompilationUnit unit : changedUnits) {
+			for (TypeNameMatch type : getTypes(unit, workingCopies)) {
+				if (accept(filter, type) && !reported.contains(type)) {
+					requestor.accept(type);
+				}
+			}
+		}
+
+		String pattern= filter.getNamePattern();
+		int matchKind= filter.getSearchFlags();
+		String lowerCasePrefix= toLowerCase(getPrefix(pattern, matchKind));
+		int[] nameRange= snapshot.getNameRange(lowerCasePrefix);
+		String initials= null;
+		if (filter.isCamelCasePattern() && !pattern.isEmpty()) {
+			StringBuilder buf= new StringBuilder();
+			appendInitials(pattern, buf);
+			initials= buf.toString();
+		}
+
+		List<Future<?>> futures= new ArrayList<>();
+		for (int start= nameRange[0]; start < nameRange[1]; start+= CHUNK_SIZE) {
+			int from= start;
+			int to= Math.min(start + CHUNK_SIZE, nameRange[1]);
+			futures.add(getExecutor().submit(() -> {
+				Candidate candidate= new Candidate(snapshot);
+				for (int i= from; i < to && !monitor.isCanceled(); i++) {
+					report(candidate, i, filter, changedUnits, reported, requestor);
+				}
+			}));
+		}
+		if (initials != null) {
+			// camel case matches that are not prefix matches
+			int[] initialsRange= snapshot.getInitialsRange(initials);
+			String prefix= lowerCasePrefix;
+			for (int start= initialsRange[0]; start < initialsRange[1]; start+= CHUNK_SIZE) {
+				int from= start;
+				int to= Math.min(start + CHUNK_SIZE, initialsRange[1]);
+				futures.add(getExecutor().submit(() -> {
+					Candidate candidate= new Candidate(snapshot);
+					for (int i= from; i < to && !monitor.isCanceled(); i++) {
+						int index= snapshot.fByInitials[i];
+						if (!snapshot.nameStartsWith(index, prefix)) {
+							report(candidate, index, filter, changedUnits, reported, requestor);
+						}
+					}
+				}));
+			}
+		}
+		try {
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			JavaPlugin.log(e.getCause());
+		} finally {
+			for (Future<?> future : futures) {
+				future.cancel(false);
+			}
+		}
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		return true;
+	}
+
+	private static void report(Candidate candidate, int index, TypeInfoFilter filter, Set<ICompilationUnit> changedUnits, Set<TypeNameMatch> reported, Consumer<TypeNameMatch> requestor) {
+		Snapshot snapshot= candidate.fSnapshot;
+		if (snapshot.fUnits[index] >= 0 && !changedUnits.isEmpty() && changedUnits.contains(snapshot.getCompilationUnit(index))) {
+			return;
+		}
+		candidate.setIndex(index);
+		if (accept(filter, candidate)) {
+			TypeNameMatch type= SearchEngine.createTypeNameMatch(candidate.getType(), candidate.getModifiers());
+			if (!reported.contains(type)) {
+				requestor.accept(type);
+			}
+		}
+	}
+
+	private static boolean accept(TypeInfoFilter filter, TypeNameMatch type) {
+		return filter.matchesHistoryElement(type) && !TypeFilter.isFiltered(type);
+	}
+
+	/*
+	 * Returns the current types of a changed unit, from its working copy if there is one. The types
+	 * are cached until the unit or its working copy changes.
+	 */
+	private List<TypeNameMatch> getTypes(ICompilationUnit unit, Map<ICompilationUnit, ICompilationUnit> workingCopies) {
+		List<TypeNameMatch> types;
+		int changeCount;
+		synchronized (this) {
+			types= fUnitTypes.get(unit);
+			changeCount= fChangeCount;
+		}
+		if (types == null) {
+			types= computeTypes(workingCopies.getOrDefault(unit, unit));
+			synchronized (this) {
+				if (changeCount == fChangeCount) {
+					fUnitTypes.put(unit, types);
+				}
+			}
+		}
+		return types;
+	}
+
+	private static List<TypeNameMatch> computeTypes(ICompilationUnit current) {
+		List<TypeNameMatch> result= new ArrayList<>();
+		try {
+			if (current.exists()) {
+				for (IType type : current.getAllTypes()) {
+					result.add(SearchEngine.createTypeNameMatch(type, type.getFlags()));
+				}
+			}
+		} catch (JavaModelException e) {
+			// the unit has been removed meanwhile
+		}
+		return result;
+	}
+
+	/*
+	 * Returns the part of the pattern that every matching name starts with, ignoring case. Camel
+	 * case matches that are not prefix matches are found by their initials.
+	 */
+	private static String getPrefix(String pattern, int matchKind) {
+		switch (matchKind) {
+			case SearchPattern.R_PATTERN_MATCH:
+				int wildcard= 0;
+				while (wildcard < pattern.length() && pattern.charAt(wildcard) != '*' && pattern.charAt(wildcard) != '?') {
+					wildcard++;
+				}
+				return pattern.substring(0, wildcard);
+			default:
+				return pattern;
+		}
+	}
+
+	/*
+	 * Converts character by character, so that the packed names and the prefixes agree.
+	 */
+	private static String toLowerCase(String name) {
+		char[] chars= name.toCharArray();
+		for (int i= 0; i < chars.length; i++) {
+			chars[i]= Character.toLowerCase(chars[i]);
+		}
+		return new String(chars);
+	}
+
+	private static void appendInitials(String name, StringBuilder buf) {
+		for (int i= 0; i < name.length(); i++) {
+			char ch= name.charAt(i);
+			if (Character.isUpperCase(ch)) {
+				buf.append(ch);
+			}
+		}
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (fgExecutor == null) {
+			fgExecutor= Executors.newFixedThreadPool(PARALLELISM, runnable -> {
+				Thread thread= new Thread(runnable, "Open Type Filter"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return fgExecutor;
+	}
+}
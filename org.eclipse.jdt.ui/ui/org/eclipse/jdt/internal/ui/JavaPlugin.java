@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -49,7 +49,9 @@ import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
 
@@ -89,6 +91,7 @@ import org.eclipse.ui.editors.text.templates.ContributionTemplateStore;
 
 import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.WorkingCopyOwner;
 import org.eclipse.jdt.core.manipulation.JavaManipulation;
@@ -104,6 +107,7 @@ import org.eclipse.jdt.internal.corext.template.java.SWTContextType;
 import org.eclipse.jdt.internal.corext.util.OpenTypeHistory;
 import org.eclipse.jdt.internal.corext.util.QualifiedTypeNameHistory;
 import org.eclipse.jdt.internal.corext.util.TypeFilter;
+import org.eclipse.jdt.internal.corext.util.TypeNameIndex;
 
 import org.eclipse.jdt.ui.IContextMenuConstants;
 import org.eclipse.jdt.ui.JavaUI;
@@ -123,10 +127,12 @@ import org.eclipse.jdt.internal.ui.propertiesfileeditor.PropertiesFileDocumentPr
 import org.eclipse.jdt.internal.ui.text.PreferencesAdapter;
 import org.eclipse.jdt.internal.ui.text.folding.JavaFoldingStructureProviderRegistry;
 import org.eclipse.jdt.internal.ui.text.java.ContentAssistHistory;
+import org.eclipse.jdt.internal.ui.text.java.ContentAssistHistoryJournal;
 import org.eclipse.jdt.internal.ui.text.java.hover.JavaEditorTextHoverDescriptor;
 import org.eclipse.jdt.internal.ui.text.spelling.SpellCheckEngine;
 import org.eclipse.jdt.internal.ui.viewsupport.ImageDescriptorRegistry;
 import org.eclipse.jdt.internal.ui.viewsupport.ImagesOnFileSystemRegistry;
+import org.eclipse.jdt.internal.ui.viewsupport.JavaElementLabelCache;
 import org.eclipse.jdt.internal.ui.viewsupport.ProblemMarkerManager;
 import org.eclipse.jdt.internal.ui.wizards.buildpaths.ClasspathAttributeConfigurationDescriptors;
 import org.eclipse.jdt.internal.ui.workingsets.DynamicSourcesWorkingSetUpdater;
@@ -165,6 +171,8 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 
 	public static boolean DEBUG_RESULT_COLLECTOR;
 
+	public static boolean DEBUG_LABEL_CACHE;
+
 	private static JavaPlugin fgJavaPlugin;
 
 	private static LinkedHashMap<String, Long> fgRepeatedMessages= new LinkedHashMap<String, Long>(20, 0.75f, true) {
@@ -210,6 +218,12 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 
 	private static final String TYPEFILTER_MIGRATED= "typefilter_migrated_2"; //$NON-NLS-1$
 
+	/**
+	 * The directory in the state location that holds the content assist history journal.
+	 * @since 3.28
+	 */
+	private static final String CONTENT_ASSIST_HISTORY_DIR= "contentAssistHistory"; //$NON-NLS-1$
+
 	/**
 	 * @deprecated to avoid deprecation warning
 	 */
@@ -220,6 +234,7 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 	private volatile JavaTextTools fJavaTextTools;
 	private volatile ProblemMarkerManager fProblemMarkerManager;
 	private volatile ImageDescriptorRegistry fImageDescriptorRegistry;
+	private volatile JavaElementLabelCache fJavaElementLabelCache;
 
 	private volatile MembersOrderPreferenceCache fMembersOrderPreferenceCache;
 
@@ -255,7 +270,7 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 	 * Content assist history.
 	 * @since 3.2
 	 */
-	private ContentAssistHistory fContentAssistHistory;
+	private ContentAssistHistoryJournal fContentAssistHistoryJournal;
 
 	/**
 	 * The save participant registry.
@@ -369,6 +384,16 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 		return getDefault().internalGetImageDescriptorRegistry();
 	}
 
+	/**
+	 * Returns the cache of Java element labels and image descriptors shared by the Java viewers.
+	 *
+	 * @return the label cache
+	 * @since 3.28
+	 */
+	public static JavaElementLabelCache getJavaElementLabelCache() {
+		return getDefault().internalGetJavaElementLabelCache();
+	}
+
 	public JavaPlugin() {
 		super();
 		fgJavaPlugin = this;
@@ -486,6 +511,11 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 			if (fImageDescriptorRegistry != null)
 				fImageDescriptorRegistry.dispose();
 
+			if (fJavaElementLabelCache != null) {
+				fJavaElementLabelCache.dispose();
+				fJavaElementLabelCache= null;
+			}
+
 			if (fASTProvider != null) {
 				fASTProvider.dispose();
 				fASTProvider= null;
@@ -511,9 +541,10 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 				fTypeFilter= null;
 			}
 
-			if (fContentAssistHistory != null) {
-				ContentAssistHistory.store(fContentAssistHistory, getPluginPreferences(), PreferenceConstants.CODEASSIST_LRU_HISTORY);
-				fContentAssistHistory= null;
+			if (fContentAssistHistoryJournal != null) {
+				ResourcesPlugin.getWorkspace().removeResourceChangeListener(fContentAssistHistoryJournal);
+				fContentAssistHistoryJournal.close();
+				fContentAssistHistoryJournal= null;
 			}
 
 			if (fTemplateStore != null) {
@@ -558,6 +589,7 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 			// must add here to guarantee that it is the first in the listener list
 
 			OpenTypeHistory.shutdown();
+			TypeNameIndex.shutdown();
 
 			JavaManipulation.setPreferenceNodeId(null);
 		} finally {
@@ -934,6 +966,19 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 		}
 	}
 
+	JavaElementLabelCache internalGetJavaElementLabelCache() {
+		JavaElementLabelCache result= fJavaElementLabelCache;
+		if (result != null) { // First check (no locking)
+			return result;
+		}
+		synchronized(this) {
+			if (fJavaElementLabelCache == null) { // Second check (with locking)
+				fJavaElementLabelCache= new JavaElementLabelCache();
+			}
+			return fJavaElementLabelCache;
+		}
+	}
+
 	/**
 	 * Returns a combined preference store, this store is read-only.
 	 *
@@ -1021,17 +1066,49 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 	 * @since 3.2
 	 */
 	public ContentAssistHistory getContentAssistHistory() {
-		if (fContentAssistHistory == null) {
-			try {
-				fContentAssistHistory= ContentAssistHistory.load(getPluginPreferences(), PreferenceConstants.CODEASSIST_LRU_HISTORY);
-			} catch (CoreException x) {
-				log(x);
+		return getContentAssistHistoryJournal().getWorkspaceHistory();
+	}
+
+	/**
+	 * Returns the Java content assist history of the given project. Selections remembered in a
+	 * project history are also remembered in the {@linkplain #getContentAssistHistory() workspace
+	 * history}, which answers lookups that the project history cannot answer.
+	 *
+	 * @param project the project, or <code>null</code> for the workspace history
+	 * @return the content assist history of the project
+	 * @since 3.28
+	 */
+	public ContentAssistHistory getContentAssistHistory(IJavaProject project) {
+		if (project == null)
+			return getContentAssistHistory();
+		return getContentAssistHistoryJournal().getProjectHistory(project.getElementName());
+	}
+
+	private synchronized ContentAssistHistoryJournal getContentAssistHistoryJournal() {
+		if (fContentAssistHistoryJournal == null) {
+			ContentAssistHistoryJournal journal= new ContentAssistHistoryJournal(getStateLocation().append(CONTENT_ASSIST_HISTORY_DIR).toFile());
+			if (!journal.hasWorkspaceHistory()) {
+				// migrate the history that was stored in the preferences up to 3.27
+				try {
+					ContentAssistHistory legacy= ContentAssistHistory.load(getPluginPreferences(), PreferenceConstants.CODEASSIST_LRU_HISTORY);
+					if (legacy != null) {
+						journal.getWorkspaceHistory().importHistory(legacy);
+						getPreferenceStore().setToDefault(PreferenceConstants.CODEASSIST_LRU_HISTORY);
+					}
+				} catch (CoreException x) {
+					log(x);
+				}
+			}
+			IWorkspace workspace= ResourcesPlugin.getWorkspace();
+			workspace.addResourceChangeListener(journal, IResourceChangeEvent.POST_CHANGE);
+			Set<String> projectNames= new HashSet<>();
+			for (IProject project : workspace.getRoot().getProjects()) {
+				projectNames.add(project.getName());
 			}
-			if (fContentAssistHistory == null)
-				fContentAssistHistory= new ContentAssistHistory();
+			journal.retainProjectHistories(projectNames);
+			fContentAssistHistoryJournal= journal;
 		}
-
-		return fContentAssistHistory;
+		return fContentAssistHistoryJournal;
 	}
 
 	/**
@@ -1132,6 +1209,7 @@ public class JavaPlugin extends AbstractUIPlugin implements DebugOptionsListener
 		DEBUG_AST_PROVIDER= options.getBooleanOption("org.eclipse.jdt.ui/debug/ASTProvider", false); //$NON-NLS-1$
 		DEBUG_BREADCRUMB_ITEM_DROP_DOWN= options.getBooleanOption("org.eclipse.jdt.ui/debug/BreadcrumbItemDropDown", false); //$NON-NLS-1$
 		DEBUG_RESULT_COLLECTOR= options.getBooleanOption("org.eclipse.jdt.ui/debug/ResultCollector", false); //$NON-NLS-1$
+		DEBUG_LABEL_CACHE= options.getBooleanOption("org.eclipse.jdt.ui/debug/LabelCache", false); //$NON-NLS-1$
 	}
 
 	/**
@@ -27,6 +27,8 @@ import org.eclipse.ui.editors.text.EditorsUI;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
 
+import org.eclipse.jdt.internal.ui.text.java.ContentAssistProcessor;
+
 public class JavaUIPreferenceInitializer extends AbstractPreferenceInitializer {
 
 	@Override
@@ -36,6 +38,9 @@ public class JavaUIPreferenceInitializer extends AbstractPreferenceInitializer {
 		EditorsUI.useAnnotationsPreferencePage(store);
 		EditorsUI.useQuickDiffPreferencePage(store);
 		PreferenceConstants.initializeDefaultValues(store);
+
+		store.setDefault(ContentAssistProcessor.PREF_PARALLEL_COMPUTATION, true);
+		store.setDefault(ContentAssistProcessor.PREF_COMPUTATION_BUDGET, 0);
 	}
 
 	public static void setThemeBasedPreferences(IPreferenceStore store, boolean fireEvent) {
@@ -64,13 +64,14 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
 import org.eclipse.jdt.internal.ui.text.JavaHeuristicScanner;
 import org.eclipse.jdt.internal.ui.text.JavaIndenter;
+import org.eclipse.jdt.internal.ui.text.ScannerSnapshot;
 
 
 /**
  * Indents a line or range of lines in a Java document to its correct position. No complete
- * AST must be present, the indentation is computed using heuristics. The algorithm used is fast for
- * single lines, but does not store any information and therefore not so efficient for large line
- * ranges.
+ * AST must be present, the indentation is computed using heuristics. When several lines are
+ * indented, a {@link org.eclipse.jdt.internal.ui.text.ScannerSnapshot ScannerSnapshot} of the
+ * partitioning is shared by all lines.
  *
  * @see org.eclipse.jdt.internal.ui.text.JavaHeuristicScanner
  * @see org.eclipse.jdt.internal.ui.text.JavaIndenter
@@ -175,10 +176,15 @@ public class IndentAction extends TextEditorAction {
 				if (target != null)
 					target.beginCompoundChange();
 
+				ScannerSnapshot snapshot= null;
 				try {
 					JavaHeuristicScanner scanner= new JavaHeuristicScanner(document);
 					JavaIndenter indenter= new JavaIndenter(document, scanner, getJavaProject());
 					final boolean multiLine= nLines > 1;
+					if (multiLine) {
+						snapshot= ScannerSnapshot.create(document, IJavaPartitions.JAVA_PARTITIONING);
+						scanner.setSnapshot(snapshot);
+					}
 					boolean hasChanged= false;
 					TextBlockInfo textBlockInfo= new TextBlockInfo(-1, -1);
 					for (int i= 0; i < nLines; i++) {
@@ -207,6 +213,8 @@ public class IndentAction extends TextEditorAction {
 					JavaPlugin.log(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), IStatus.OK, "ConcurrentModification in IndentAction", e)); //$NON-NLS-1$
 
 				} finally {
+					if (snapshot != null)
+						snapshot.dispose();
 					if (target != null)
 						target.endCompoundChange();
 				}
@@ -291,6 +299,8 @@ public class IndentAction extends TextEditorAction {
 
 		JavaHeuristicScanner scanner= new JavaHeuristicScanner(document);
 		JavaIndenter indenter= new JavaIndenter(document, scanner, project);
+		ScannerSnapshot snapshot= ScannerSnapshot.create(document, IJavaPartitions.JAVA_PARTITIONING);
+		scanner.setSnapshot(snapshot);
 
 		ArrayList<ReplaceEdit> edits= new ArrayList<>();
 
@@ -302,19 +312,23 @@ public class IndentAction extends TextEditorAction {
 		TextBlockInfo textBlockInfo= new TextBlockInfo(-1, -1);
 
 		int shift= 0;
-		for (int i= 0; i < numberOfLines; i++) {
-			ReplaceData data= computeReplaceData(document, firstLine + i, indenter, scanner, numberOfLines > 1, false, textBlockInfo, project);
-
-			int replaceLength= data.end - data.offset;
-			String currentIndent= document.get(data.offset, replaceLength);
-
-			// only change the document if it is a real change
-			if (!data.indent.equals(currentIndent)) {
-				edits.add(new ReplaceEdit(data.offset + shift, replaceLength, data.indent));
-				//We need to change the document, the indenter depends on it.
-				document.replace(data.offset, replaceLength, data.indent);
-				shift-= data.indent.length() - replaceLength;
+		try {
+			for (int i= 0; i < numberOfLines; i++) {
+				ReplaceData data= computeReplaceData(document, firstLine + i, indenter, scanner, numberOfLines > 1, false, textBlockInfo, project);
+
+				int replaceLength= data.end - data.offset;
+				String currentIndent= document.get(data.offset, replaceLength);
+
+				// only change the document if it is a real change
+				if (!data.indent.equals(currentIndent)) {
+					edits.add(new ReplaceEdit(data.offset + shift, replaceLength, data.indent));
+					//We need to change the document, the indenter depends on it.
+					document.replace(data.offset, replaceLength, data.indent);
+					shift-= data.indent.length() - replaceLength;
+				}
 			}
+		} finally {
+			snapshot.dispose();
 		}
 
 		if (edits.isEmpty())
@@ -353,9 +367,9 @@ public class IndentAction extends TextEditorAction {
 
 		String indent= null;
 		if (offset < document.getLength()) {
-			ITypedRegion partition= TextUtilities.getPartition(document, IJavaPartitions.JAVA_PARTITIONING, offset, true);
+			ITypedRegion partition= getPartition(document, scanner, offset, true);
 			String type= partition.getType();
-			ITypedRegion startingPartition= TextUtilities.getPartition(document, IJavaPartitions.JAVA_PARTITIONING, offset, false);
+			ITypedRegion startingPartition= getPartition(document, scanner, offset, false);
 			String startingType= startingPartition.getType();
 			boolean isCommentStart= startingPartition.getOffset() == offset;
 			if (isDontIndentMultiLineCommentOnFirstColumn(project) && isCommentStart && IJavaPartitions.JAVA_MULTI_LINE_COMMENT.equals(startingType)) {
@@ -412,6 +426,25 @@ public class IndentAction extends TextEditorAction {
 		return new ReplaceData(offset, end, indent);
 	}
 
+	/**
+	 * Returns the Java partition at <code>offset</code>, using the snapshot of the scanner if it
+	 * has a valid one.
+	 *
+	 * @param document the document
+	 * @param scanner the heuristic scanner
+	 * @param offset the offset
+	 * @param preferOpenPartitions see {@link TextUtilities#getPartition(IDocument, String, int, boolean)}
+	 * @return the partition at <code>offset</code>
+	 * @throws BadLocationException if the offset is invalid
+	 * @since 3.28
+	 */
+	private static ITypedRegion getPartition(IDocument document, JavaHeuristicScanner scanner, int offset, boolean preferOpenPartitions) throws BadLocationException {
+		ScannerSnapshot snapshot= scanner.getSnapshot();
+		if (snapshot != null && snapshot.isValid())
+			return snapshot.getPartition(offset, preferOpenPartitions);
+		return TextUtilities.getPartition(document, IJavaPartitions.JAVA_PARTITIONING, offset, preferOpenPartitions);
+	}
+
 	private static String getLineIndentation(IDocument document, int offset) throws BadLocationException {
 		// find start of line
 		int adjustedOffset= (offset == document.getLength() ? offset - 1 : offset);
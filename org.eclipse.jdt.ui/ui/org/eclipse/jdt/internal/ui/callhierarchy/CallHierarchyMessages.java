@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -165,6 +165,10 @@ public final class CallHierarchyMessages extends NLS {
 	public static String ExpandWithConstructorsDialog_title;
 	public static String PinCallHierarchyViewAction_label;
 	public static String PinCallHierarchyViewAction_tooltip;
+	public static String ExpandAllAction_text;
+	public static String ExpandAllAction_tooltip;
+	public static String ExpandAllAction_description;
+	public static String CallHierarchyViewer_expand_job;
 	static {
 		NLS.initializeMessages(BUNDLE_NAME, CallHierarchyMessages.class);
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,14 +14,24 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.callhierarchy;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.KeyListener;
 import org.eclipse.swt.events.TreeEvent;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.Tree;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
 import org.eclipse.jface.action.IMenuListener;
 import org.eclipse.jface.action.MenuManager;
 import org.eclipse.jface.viewers.ISelectionProvider;
@@ -30,6 +40,7 @@ import org.eclipse.jface.viewers.TreeViewer;
 
 import org.eclipse.ui.IWorkbenchPartSite;
 
+import org.eclipse.jdt.internal.corext.callhierarchy.CallerHierarchyExpander;
 import org.eclipse.jdt.internal.corext.callhierarchy.CallerMethodWrapper;
 import org.eclipse.jdt.internal.corext.callhierarchy.MethodWrapper;
 
@@ -38,6 +49,13 @@ import org.eclipse.jdt.internal.ui.viewsupport.ColoringLabelProvider;
 
 class CallHierarchyViewer extends TreeViewer {
 
+	/**
+	 * Number of caller levels that are searched and expanded by {@link #expandAll()} and by deep
+	 * {@link #expandToLevel(Object, int) expansions}. Call hierarchies are unbounded, so deeper
+	 * levels are expanded on demand.
+	 */
+	static final int EXPAND_ALL_DEPTH= 3;
+
 	private final CallHierarchyViewPart fPart;
 	private final CallHierarchyContentProvider fContentProvider;
 
@@ -178,6 +196,94 @@ class CallHierarchyViewer extends TreeViewer {
 		expandConstructorNode();
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Expands the callers of the roots {@link #EXPAND_ALL_DEPTH} levels deep, see
+	 * {@link #expandCallers(Object[], int)}.
+	 * </p>
+	 */
+	@Override
+	public void expandAll() {
+		Object input= getInput();
+		if (input instanceof TreeRoot) {
+			expandCallers(((TreeRoot) input).getRoots(), EXPAND_ALL_DEPTH);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Expanding a caller more than one level deep searches the callers of all levels first, see
+	 * {@link #expandCallers(Object[], int)}.
+	 * </p>
+	 */
+	@Override
+	public void expandToLevel(Object elementOrTreePath, int level) {
+		if (level != 1 && elementOrTreePath instanceof CallerMethodWrapper) {
+			int depth= level == ALL_LEVELS ? EXPAND_ALL_DEPTH : Math.min(level, EXPAND_ALL_DEPTH);
+			expandCallers(new Object[] { elementOrTreePath }, depth);
+		} else {
+			super.expandToLevel(elementOrTreePath, level);
+		}
+	}
+
+	/**
+	 * Expands the given elements the given number of levels deep. The callers of all these levels
+	 * are searched first in a job by a {@link CallerHierarchyExpander}, which searches one level
+	 * at a time with few, concurrent searches instead of one search per tree node. The elements are
+	 * expanded when the search is done, taking the callers from the search cache. The expander
+	 * searches the callers of the levels that are expanded, so that the expansion does not search.
+	 *
+	 * @param elements the elements to expand
+	 * @param depth the number of levels below the elements to show, must be positive
+	 * @since 3.28
+	 */
+	void expandCallers(Object[] elements, int depth) {
+		List<MethodWrapper> callers= new ArrayList<>();
+		for (Object element : elements) {
+			if (element instanceof CallerMethodWrapper) {
+				callers.add((MethodWrapper) element);
+			} else {
+				super.expandToLevel(element, depth);
+			}
+		}
+		if (callers.isEmpty()) {
+			return;
+		}
+
+		MethodWrapper[] roots= callers.toArray(new MethodWrapper[callers.size()]);
+		Display display= getControl().getDisplay();
+		Job job= new Job(CallHierarchyMessages.CallHierarchyViewer_expand_job) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				try {
+					new CallerHierarchyExpander(depth).expand(roots, monitor);
+				} catch (OperationCanceledException e) {
+					return Status.CANCEL_STATUS;
+				}
+				if (display.isDisposed()) {
+					return Status.CANCEL_STATUS;
+				}
+				display.asyncExec(() -> {
+					if (getControl().isDisposed()) {
+						return;
+					}
+					for (MethodWrapper root : roots) {
+						expandSearchedCallers(root, depth);
+					}
+				});
+				return Status.OK_STATUS;
+			}
+		};
+		job.setUser(true);
+		job.schedule();
+	}
+
+	private void expandSearchedCallers(Object element, int level) {
+		super.expandToLevel(element, level);
+	}
+
 	/**
 	 * Sets the constructor node.
 	 *
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.callhierarchy;
+
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.viewers.IStructuredSelection;
+
+import org.eclipse.jdt.internal.corext.callhierarchy.CallerMethodWrapper;
+
+/**
+ * Expands the callers of the selected members several levels deep.
+ *
+ * @since 3.28
+ */
+class ExpandAllAction extends Action {
+
+	/**
+	 * The call hierarchy viewer.
+	 */
+	private final CallHierarchyViewer fViewer;
+
+	/**
+	 * Creates the action to expand the callers of the selected members.
+	 *
+	 * @param viewer the call hierarchy viewer
+	 */
+	public ExpandAllAction(CallHierarchyViewer viewer) {
+		fViewer= viewer;
+		setText(CallHierarchyMessages.ExpandAllAction_text);
+		setToolTipText(CallHierarchyMessages.ExpandAllAction_tooltip);
+		setDescription(CallHierarchyMessages.ExpandAllAction_description);
+	}
+
+	@Override
+	public void run() {
+		fViewer.expandCallers(fViewer.getStructuredSelection().toArray(), CallHierarchyViewer.EXPAND_ALL_DEPTH);
+	}
+
+	/**
+	 * Checks whether this action can be added for the selected elements in the call hierarchy.
+	 *
+	 * @return <code>true</code> if the action can be added, <code>false</code> otherwise
+	 */
+	boolean canActionBeAdded() {
+		IStructuredSelection selection= fViewer.getStructuredSelection();
+		if (selection.isEmpty())
+			return false;
+		for (Object element : selection) {
+			if (!(element instanceof CallerMethodWrapper))
+				return false;
+		}
+		return true;
+	}
+}
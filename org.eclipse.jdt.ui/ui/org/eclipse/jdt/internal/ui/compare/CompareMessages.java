@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -42,6 +42,7 @@ public final class CompareMessages extends NLS {
 	public static String ReplaceFromHistory_internalErrorMessage;
 	public static String ReplaceFromHistory_invalidSelectionMessage;
 	public static String ReplaceFromHistory_parsingErrorMessage;
+	public static String JavaHistoryIndex_indexing;
 	public static String AddFromHistory_title;
 	public static String AddFromHistory_internalErrorMessage;
 	public static String AddFromHistory_invalidSelectionMessage;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import org.eclipse.swt.widgets.Shell;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFileState;
@@ -97,16 +98,52 @@ abstract class JavaHistoryActionImpl /* extends Action implements IActionDelegat
 	}
 
 	final ITypedElement[] buildEditions(ITypedElement target, IFile file) {
+		return buildEditions(target, file, getHistory(file));
+	}
 
-		// setup array of editions
-		IFileState[] states= null;
-		// add available editions
+	/**
+	 * Returns the current content and the editions of a file in which an element differs from
+	 * the next newer edition.
+	 *
+	 * @param target the current content of the file
+	 * @param file the file
+	 * @param element the element, a member or the compilation unit
+	 * @return the editions
+	 */
+	final ITypedElement[] buildEditions(ITypedElement target, IFile file, IJavaElement element) {
+		final IFileState[] states= getHistory(file);
+		final String path= JavaHistoryIndex.getPath(element);
+		if (states == null || states.length == 0 || path == null)
+			return buildEditions(target, file, states);
+
+		final IFileState[][] changed= new IFileState[1][];
 		try {
-			states= file.getHistory(null);
+			PlatformUI.getWorkbench().getProgressService().busyCursorWhile(monitor -> {
+				try {
+					changed[0]= JavaHistoryIndex.getChangedEditions(file, states, path, target, monitor);
+				} catch (OperationCanceledException e) {
+					throw new InterruptedException();
+				}
+			});
+		} catch (InvocationTargetException e) {
+			JavaPlugin.log(e);
+		} catch (InterruptedException e) {
+			// canceled, show all editions
+		}
+		return buildEditions(target, file, changed[0] != null ? changed[0] : states);
+	}
+
+	final IFileState[] getHistory(IFile file) {
+		try {
+			return file.getHistory(null);
 		} catch (CoreException ex) {
 			JavaPlugin.log(ex);
+			return null;
 		}
+	}
 
+	private ITypedElement[] buildEditions(ITypedElement target, IFile file, IFileState[] states) {
+		// setup array of editions
 		int count= 1;
 		if (states != null)
 			count+= states.length;
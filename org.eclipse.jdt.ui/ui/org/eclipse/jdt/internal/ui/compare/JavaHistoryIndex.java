@@ -0,0 +1,326 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.compare;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFileState;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.Position;
+
+import org.eclipse.ui.services.IDisposable;
+
+import org.eclipse.compare.HistoryItem;
+import org.eclipse.compare.ITypedElement;
+import org.eclipse.compare.ResourceNode;
+import org.eclipse.compare.structuremergeviewer.IStructureComparator;
+
+import org.eclipse.jdt.core.IJavaElement;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * The digests of the members of the local history editions of Java files. The editions of a file
+ * are parsed in parallel when they are first requested. Each edition is parsed once, since file
+ * states do not change, and the structures are shared with the compare editors through the
+ * {@link JavaStructureCache}.
+ * <p>
+ * A member is identified by the path of the {@link JavaNode} ids from the compilation unit, see
+ * {@link JavaStructureCreator#getPath(Object, Object)}. Editions are identified by their
+ * modification time, editions that share their modification time with another edition of the file
+ * are parsed on each request.
+ * </p>
+ *
+ * @since 3.28
+ */
+public final class JavaHistoryIndex {
+
+	private static final int MAX_FILES= 8;
+
+	private static final int PARALLELISM= Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	private static final char PATH_SEPARATOR= '\0';
+
+	/**
+	 * The member digests by member path, for the file states of the recently used files, by the
+	 * modification time of the state. Only modification times that identify a single state are
+	 * recorded.
+	 */
+	private static final Map<IFile, Map<Long, Map<String, String>>> fgIndices= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IFile, Map<Long, Map<String, String>>> eldest) {
+			return size() > MAX_FILES;
+		}
+	};
+
+	private static ExecutorService fgExecutor;
+
+	private JavaHistoryIndex() {
+	}
+
+	/**
+	 * Returns the path of a member.
+	 *
+	 * @param element the member, or the compilation unit
+	 * @return the path, or <code>null</code> if the element is not represented in the structure
+	 */
+	public static String getPath(IJavaElement element) {
+		String[] path= new JavaStructureCreator().getPath(element, null);
+		if (path == null)
+			return null;
+		return String.join(String.valueOf(PATH_SEPARATOR), path);
+	}
+
+	/**
+	 * Returns the editions in which a member differs from the next newer edition. The newest
+	 * edition is compared with the given current content.
+	 *
+	 * @param file the file
+	 * @param states the editions, newest first
+	 * @param path the path of the member
+	 * @param current the current content of the file
+	 * @param monitor the progress monitor
+	 * @return the editions that change the member, newest first
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	public static IFileState[] getChangedEditions(IFile file, IFileState[] states, String path, ITypedElement current, IProgressMonitor monitor) {
+		Map<IFileState, Map<String, String>> index= getDigests(file, states, monitor);
+		List<IFileState> result= new ArrayList<>(states.length);
+		String newer= computeDigests(current).get(path);
+		for (IFileState state : states) {
+			Map<String, String> digests= index.get(state);
+			// editions that could not be indexed are kept
+			String digest= digests != null ? digests.get(path) : null;
+			if (digests == null || digest != null && !digest.equals(newer))
+				result.add(state);
+			if (digests != null)
+				newer= digest;
+		}
+		return result.toArray(new IFileState[result.size()]);
+	}
+
+	/**
+	 * Returns the newest edition in which a member exists with a different content than in the
+	 * given current content.
+	 *
+	 * @param file the file
+	 * @param states the editions, newest first
+	 * @param path the path of the member
+	 * @param current the current content of the file
+	 * @param monitor the progress monitor
+	 * @return the edition, or <code>null</code> if there is none
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	public static IFileState getPreviousEdition(IFile file, IFileState[] states, String path, ITypedElement current, IProgressMonitor monitor) {
+		Map<IFileState, Map<String, String>> index= getDigests(file, states, monitor);
+		String currentDigest= computeDigests(current).get(path);
+		for (IFileState state : states) {
+			Map<String, String> digests= index.get(state);
+			String digest= digests != null ? digests.get(path) : null;
+			if (digest != null && !digest.equals(currentDigest))
+				return state;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the node of a member in an edition. The structure of the edition is disposed, the
+	 * node keeps the document of the edition.
+	 *
+	 * @param file the file
+	 * @param state the edition
+	 * @param path the path of the member
+	 * @return the node of the member, or <code>null</code> if it does not exist in the edition
+	 */
+	public static ITypedElement getMember(IFile file, IFileState state, String path) {
+		IStructureComparator structure= new JavaStructureCreator().getStructure(new HistoryItem(new ResourceNode(file), state));
+		if (structure == null)
+			return null;
+		try {
+			String[] ids= path.split(String.valueOf(PATH_SEPARATOR));
+			IStructureComparator node= structure;
+			for (String id : ids) {
+				IStructureComparator child= null;
+				for (Object candidate : node.getChildren()) {
+					if (candidate instanceof JavaNode && id.equals(((JavaNode) candidate).getId())) {
+						child= (JavaNode) candidate;
+						break;
+					}
+				}
+				if (child == null)
+					return null;
+				node= child;
+			}
+			return (ITypedElement) node;
+		} finally {
+			if (structure instanceof IDisposable)
+				((IDisposable) structure).dispose();
+		}
+	}
+
+	/**
+	 * Returns the member digests of editions. The digests of editions whose modification time
+	 * identifies them are taken from the index of the file, or computed in parallel and added to
+	 * it.
+	 *
+	 * @param file the file
+	 * @param states the editions
+	 * @param monitor the progress monitor
+	 * @return the digests by edition, editions that could not be indexed are missing
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	private static Map<IFileState, Map<String, String>> getDigests(IFile file, IFileState[] states, IProgressMonitor monitor) {
+		Map<Long, Map<String, String>> index;
+		synchronized (fgIndices) {
+			index= fgIndices.computeIfAbsent(file, f -> new HashMap<>());
+		}
+		// editions saved within the resolution of the file system time stamps share their time
+		Map<Long, Integer> timeCounts= new HashMap<>();
+		for (IFileState state : states) {
+			timeCounts.merge(Long.valueOf(state.getModificationTime()), Integer.valueOf(1), Integer::sum);
+		}
+		Map<IFileState, Map<String, String>> result= new IdentityHashMap<>();
+		List<IFileState> missing= new ArrayList<>();
+		synchronized (index) {
+			for (IFileState state : states) {
+				Long time= Long.valueOf(state.getModificationTime());
+				Map<String, String> digests= timeCounts.get(time).intValue() == 1 ? index.get(time) : null;
+				if (digests != null)
+					result.put(state, digests);
+				else
+					missing.add(state);
+			}
+		}
+		if (missing.isEmpty())
+			return result;
+
+		SubMonitor subMonitor= SubMonitor.convert(monitor, CompareMessages.JavaHistoryIndex_indexing, missing.size());
+		ResourceNode base= new ResourceNode(file);
+		List<Future<Map<String, String>>> futures= new ArrayList<>(missing.size());
+		ExecutorService executor= getExecutor();
+		for (IFileState state : missing) {
+			Long time= Long.valueOf(state.getModificationTime());
+			boolean unique= timeCounts.get(time).intValue() == 1;
+			futures.add(executor.submit(() -> {
+				Map<String, String> digests= computeDigests(new HistoryItem(base, state));
+				if (unique) {
+					synchronized (index) {
+						index.put(time, digests);
+					}
+				}
+				return digests;
+			}));
+		}
+		try {
+			for (int i= 0; i < futures.size(); i++) {
+				while (true) {
+					if (subMonitor.isCanceled())
+						throw new OperationCanceledException();
+					try {
+						result.put(missing.get(i), futures.get(i).get(100, TimeUnit.MILLISECONDS));
+						break;
+					} catch (TimeoutException e) {
+						// check for cancellation
+					} catch (ExecutionException e) {
+						JavaPlugin.log(e.getCause());
+						break;
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new OperationCanceledException();
+					}
+				}
+				subMonitor.worked(1);
+			}
+		} finally {
+			for (Future<?> future : futures) {
+				future.cancel(false);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the digests of the members of a content.
+	 *
+	 * @param input the content
+	 * @return the digests by member path, empty if the content cannot be read
+	 */
+	private static Map<String, String> computeDigests(ITypedElement input) {
+		Map<String, String> digests= new HashMap<>();
+		IStructureComparator structure;
+		try {
+			structure= new JavaStructureCreator().getStructure(input);
+		} catch (RuntimeException e) {
+			// e.g. a file state that has been deleted meanwhile
+			JavaPlugin.log(e);
+			return digests;
+		}
+		if (structure instanceof JavaNode) {
+			try {
+				for (Object child : structure.getChildren()) {
+					addDigests((JavaNode) child, "", digests); //$NON-NLS-1$
+				}
+			} finally {
+				if (structure instanceof IDisposable)
+					((IDisposable) structure).dispose();
+			}
+		}
+		return digests;
+	}
+
+	private static void addDigests(JavaNode node, String parentPath, Map<String, String> digests) {
+		String path= parentPath.isEmpty() ? node.getId() : parentPath + PATH_SEPARATOR + node.getId();
+		IDocument document= node.getDocument();
+		Position range= node.getRange();
+		try {
+			digests.put(path, JavaStructureCache.getKey(document.get(range.getOffset(), range.getLength()).toCharArray(), null));
+		} catch (BadLocationException e) {
+			// the member is not recorded
+		}
+		for (Object child : node.getChildren()) {
+			addDigests((JavaNode) child, path, digests);
+		}
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (fgExecutor == null) {
+			fgExecutor= Executors.newFixedThreadPool(PARALLELISM, runnable -> {
+				Thread thread= new Thread(runnable, "Java Local History Indexer"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return fgExecutor;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -60,6 +60,24 @@ class JavaNode extends DocumentRangeNode implements ITypedElement {
 		parent.addChild(this);
 	}
 
+	/**
+	 * Creates a JavaNode with a given id under the given parent, e.g. for a node of a cached
+	 * structure.
+	 * @param parent the parent node
+	 * @param type the Java elements type. Legal values are from the range CU to METHOD of this class.
+	 * @param id the id of the node, see {@link JavaCompareUtilities#buildID(int, String)}
+	 * @param start the starting position of the java element in the underlying document
+	 * @param length the number of characters of the java element in the underlying document
+	 * @param appendPosition the append position, or <code>-1</code> to use the default
+	 * @since 3.28
+	 */
+	JavaNode(JavaNode parent, int type, String id, int start, int length, int appendPosition) {
+		super(parent, type, id, parent.getDocument(), start, length);
+		parent.addChild(this);
+		if (appendPosition >= 0)
+			setAppendPosition(appendPosition);
+	}
+
 	/**
 	 * Creates a JavaNode for a CU. It represents the root of a
 	 * JavaNode tree, so its parent is null.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,8 +16,6 @@ package org.eclipse.jdt.internal.ui.compare;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Map;
 
-import org.eclipse.team.core.TeamException;
-import org.eclipse.team.ui.history.ElementLocalHistoryPageSource;
 import org.eclipse.team.ui.history.HistoryPageCompareEditorInput;
 
 import org.eclipse.swt.widgets.Shell;
@@ -26,8 +24,10 @@ import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFileState;
 
 import org.eclipse.core.filebuffers.FileBuffers;
 import org.eclipse.core.filebuffers.ITextFileBuffer;
@@ -40,10 +40,13 @@ import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.TextUtilities;
 
+import org.eclipse.ui.PlatformUI;
+
 import org.eclipse.compare.CompareConfiguration;
 import org.eclipse.compare.CompareUI;
 import org.eclipse.compare.IStreamContentAccessor;
 import org.eclipse.compare.ITypedElement;
+import org.eclipse.compare.ResourceNode;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
@@ -106,14 +109,16 @@ class JavaReplaceWithEditionActionImpl extends JavaHistoryActionImpl {
 			String errorTitle= CompareMessages.ReplaceFromHistory_title;
 			String errorMessage= CompareMessages.ReplaceFromHistory_internalErrorMessage;
 			try {
-				ITypedElement ti = ElementLocalHistoryPageSource.getPreviousEdition(file, input);
+				ITypedElement ti= getPreviousEdition(input, file);
 				if (ti == null) {
 					MessageDialog.openInformation(shell, errorTitle, CompareMessages.ReplaceFromHistory_parsingErrorMessage);
 					return;
 				}
 				replace(input, file, ti);
-			} catch (TeamException e) {
+			} catch (InvocationTargetException e) {
 				ExceptionHandler.handle(e, shell, errorTitle, errorMessage);
+			} catch (InterruptedException e) {
+				// canceled
 			}
 		} else {
 			JavaElementHistoryPageSource pageSource = JavaElementHistoryPageSource.getInstance();
@@ -135,6 +140,38 @@ class JavaReplaceWithEditionActionImpl extends JavaHistoryActionImpl {
 		}
 	}
 
+	/**
+	 * Returns the member in the newest edition in which it differs from the current content.
+	 * The editions are compared using the {@link JavaHistoryIndex}.
+	 *
+	 * @param input the member
+	 * @param file the file of the member
+	 * @return the member in the edition, or <code>null</code> if there is none
+	 * @throws InvocationTargetException if the editions cannot be read
+	 * @throws InterruptedException if the operation is canceled
+	 */
+	private ITypedElement getPreviousEdition(IMember input, IFile file) throws InvocationTargetException, InterruptedException {
+		final IFileState[] states= getHistory(file);
+		final String path= JavaHistoryIndex.getPath(input);
+		if (states == null || path == null)
+			return null;
+
+		// compare with the editor content if the file is open
+		ITextFileBuffer buffer= FileBuffers.getTextFileBufferManager().getTextFileBuffer(file.getFullPath(), LocationKind.IFILE);
+		final ITypedElement current= buffer != null ? new JavaTextBufferNode(file, buffer.getDocument(), true) : new ResourceNode(file);
+		final ITypedElement[] result= new ITypedElement[1];
+		PlatformUI.getWorkbench().getProgressService().busyCursorWhile(monitor -> {
+			try {
+				IFileState state= JavaHistoryIndex.getPreviousEdition(file, states, path, current, monitor);
+				if (state != null)
+					result[0]= JavaHistoryIndex.getMember(file, state, path);
+			} catch (OperationCanceledException e) {
+				throw new InterruptedException();
+			}
+		});
+		return result[0];
+	}
+
 	public void replace(IMember input, IFile file, ITypedElement element) {
 
 		Shell shell= getShell();
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.compare;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jface.text.Position;
+
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * The structures of the Java sources compared recently, shared by all compare inputs. Comparing
+ * many editions of the same file, e.g. when stepping through the local history, or the same large
+ * file in several compare editors parses each content once.
+ * <p>
+ * A structure is stored as a skeleton of node types, ids and ranges, keyed by a digest of the
+ * content and the compiler options that affect parsing. The {@link JavaNode}s are created from the
+ * skeleton for each document, since they track positions in it.
+ * </p>
+ *
+ * @since 3.28
+ */
+public final class JavaStructureCache {
+
+	private static final int MAX_ENTRIES= 64;
+
+	private static final String[] PARSER_OPTIONS= { JavaCore.COMPILER_SOURCE, JavaCore.COMPILER_COMPLIANCE, JavaCore.COMPILER_PB_ENABLE_PREVIEW_FEATURES };
+
+	/**
+	 * A node of a structure.
+	 */
+	private static final class Skeleton {
+		final int fType;
+		final String fId;
+		final int fStart;
+		final int fLength;
+		/** The append position, or <code>-1</code> if it is not set explicitly. */
+		final int fAppendPosition;
+		final Skeleton[] fChildren;
+
+		Skeleton(JavaNode node) {
+			fType= node.getTypeCode();
+			fId= node.getId();
+			Position range= node.getRange();
+			fStart= range.getOffset();
+			fLength= range.getLength();
+			fAppendPosition= fType == JavaNode.PACKAGE || fType == JavaNode.IMPORT ? -1 : node.getAppendPosition().getOffset();
+			fChildren= createSkeletons(node.getChildren());
+		}
+
+		void restore(JavaNode parent) {
+			JavaNode node= new JavaNode(parent, fType, fId, fStart, fLength, fAppendPosition);
+			for (Skeleton child : fChildren) {
+				child.restore(node);
+			}
+		}
+	}
+
+	private static final Map<String, Skeleton[]> fgStructures= new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Skeleton[]> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private JavaStructureCache() {
+	}
+
+	private static Skeleton[] createSkeletons(Object[] nodes) {
+		Skeleton[] skeletons= new Skeleton[nodes != null ? nodes.length : 0];
+		for (int i= 0; i < skeletons.length; i++) {
+			skeletons[i]= new Skeleton((JavaNode) nodes[i]);
+		}
+		return skeletons;
+	}
+
+	/**
+	 * Returns the key of a content.
+	 *
+	 * @param buffer the content
+	 * @param compilerOptions the compiler options used for parsing, or <code>null</code>
+	 * @return the key, or <code>null</code> if the content cannot be cached
+	 */
+	public static String getKey(char[] buffer, Map<String, String> compilerOptions) {
+		MessageDigest digest;
+		try {
+			digest= MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+		ByteBuffer bytes= ByteBuffer.allocate(buffer.length * 2);
+		bytes.asCharBuffer().put(buffer);
+		digest.update(bytes);
+		if (compilerOptions != null) {
+			for (String option : PARSER_OPTIONS) {
+				String value= compilerOptions.get(option);
+				if (value != null)
+					digest.update(value.getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) 0);
+			}
+		}
+		StringBuilder key= new StringBuilder();
+		for (byte b : digest.digest()) {
+			key.append(Character.forDigit((b >> 4) & 0xF, 16));
+			key.append(Character.forDigit(b & 0xF, 16));
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Adds the cached structure of a content to a root node.
+	 *
+	 * @param key the key of the content
+	 * @param root the root node, without children
+	 * @return <code>true</code> if the structure was cached and has been added
+	 */
+	static boolean restore(String key, JavaNode root) {
+		Skeleton[] children;
+		synchronized (fgStructures) {
+			children= fgStructures.get(key);
+		}
+		if (children == null)
+			return false;
+		for (Skeleton child : children) {
+			child.restore(root);
+		}
+		return true;
+	}
+
+	/**
+	 * Caches the structure below a root node.
+	 *
+	 * @param key the key of the content
+	 * @param root the root node
+	 */
+	static void store(String key, JavaNode root) {
+		Skeleton[] skeletons= createSkeletons(root.getChildren());
+		synchronized (fgStructures) {
+			fgStructures.put(key, skeletons);
+		}
+	}
+}
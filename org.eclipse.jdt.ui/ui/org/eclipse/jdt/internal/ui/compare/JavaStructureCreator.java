@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -279,13 +279,21 @@ public class JavaStructureCreator extends StructureCreator {
 				contents.getChars(0, n, buffer, 0);
 			}
 
+			String key= JavaStructureCache.getKey(buffer, compilerOptions);
+			if (key != null && JavaStructureCache.restore(key, root))
+				return root;
+
 			ASTParser parser= ASTParser.newParser(IASTSharedValues.SHARED_AST_LEVEL);
 			if (compilerOptions != null)
 				parser.setCompilerOptions(compilerOptions);
 			parser.setSource(buffer);
 			parser.setFocalPosition(0);
+			// the structure does not contain anything below members
+			parser.setIgnoreMethodBodies(true);
 			CompilationUnit cu= (CompilationUnit) parser.createAST(monitor);
 			cu.accept(new JavaParseTreeBuilder(root, buffer, true));
+			if (key != null)
+				JavaStructureCache.store(key, root);
 
 			return root;
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.compare;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.compare.contentmergeviewer.ITokenComparator;
@@ -34,6 +39,26 @@ public class JavaTokenComparator implements ITokenComparator {
 
 	private static final boolean DEBUG= false;
 
+	/**
+	 * Texts shorter than this are scanned each time, longer ones are cached.
+	 * @since 3.28
+	 */
+	private static final int CACHE_MIN_LENGTH= 10000;
+
+	/**
+	 * The maximal number of characters of all cached texts.
+	 * @since 3.28
+	 */
+	private static final int CACHE_MAX_CHARS= 4 * 1024 * 1024;
+
+	/**
+	 * The token starts and lengths of recently compared long texts, shared by all comparators.
+	 * @since 3.28
+	 */
+	private static final Map<String, int[][]> fgTokenCache= new LinkedHashMap<>(16, 0.75f, true);
+
+	private static int fgCachedChars;
+
 	private final String fText;
 	private int fCount;
 	private int[] fStarts;
@@ -50,10 +75,44 @@ public class JavaTokenComparator implements ITokenComparator {
 		fText= text;
 
 		int length= fText.length();
+		if (length >= CACHE_MIN_LENGTH) {
+			int[][] tokens;
+			synchronized (fgTokenCache) {
+				tokens= fgTokenCache.get(text);
+			}
+			if (tokens != null) {
+				fStarts= tokens[0];
+				fLengths= tokens[1];
+				fCount= fStarts.length;
+				return;
+			}
+		}
+
 		fStarts= new int[length];
 		fLengths= new int[length];
 		fCount= 0;
+		scan(text);
+
+		// there are far less tokens than characters
+		fStarts= Arrays.copyOf(fStarts, fCount);
+		fLengths= Arrays.copyOf(fLengths, fCount);
+		if (length >= CACHE_MIN_LENGTH && length <= CACHE_MAX_CHARS)
+			cache(text, new int[][] { fStarts, fLengths });
+	}
+
+	private static void cache(String text, int[][] tokens) {
+		synchronized (fgTokenCache) {
+			if (fgTokenCache.put(text, tokens) == null)
+				fgCachedChars+= text.length();
+			for (Iterator<String> iter= fgTokenCache.keySet().iterator(); fgCachedChars > CACHE_MAX_CHARS && iter.hasNext();) {
+				fgCachedChars-= iter.next().length();
+				iter.remove();
+			}
+		}
+	}
 
+	private void scan(String text) {
+		int length= text.length();
 		IScanner scanner= ToolFactory.createScanner(true, true, false, false); // returns comments & whitespace
 		scanner.setSource(fText.toCharArray());
 		int endPos= 0;
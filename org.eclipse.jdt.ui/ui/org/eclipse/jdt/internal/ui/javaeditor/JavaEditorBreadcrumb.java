@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,9 @@ package org.eclipse.jdt.internal.ui.javaeditor;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.widgets.Composite;
@@ -24,6 +26,10 @@ import org.eclipse.swt.widgets.Widget;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IAdaptable;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -40,6 +46,8 @@ import org.eclipse.jface.viewers.TreeViewer;
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.viewers.ViewerFilter;
 
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.ITextSelection;
 
 import org.eclipse.ui.IEditorPart;
@@ -48,6 +56,8 @@ import org.eclipse.ui.PartInitException;
 import org.eclipse.ui.actions.ActionContext;
 import org.eclipse.ui.actions.ActionGroup;
 
+import org.eclipse.ui.texteditor.IDocumentProvider;
+
 import org.eclipse.jdt.core.ElementChangedEvent;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.ICompilationUnit;
@@ -231,16 +241,49 @@ public class JavaEditorBreadcrumb extends EditorBreadcrumb {
 		}
 	}
 
+	/**
+	 * The content provider of the breadcrumb and of its drop-downs. The children, parents and
+	 * whether elements have children are cached until the next Java element change, so that moving
+	 * the caret does not query the Java model for the path elements and their siblings again. The
+	 * drop-downs get a new content provider each time they are opened.
+	 */
 	private static final class JavaEditorBreadcrumbContentProvider implements ITreeContentProvider {
 
+		private static final int MAX_ENTRIES= 500;
+
 		private final StandardJavaElementContentProvider fParent;
-		private Object[] fElements;
-		private Object fLastInputElement;
+		private final Map<Object, Object[]> fChildren= new HashMap<>();
+		private final Map<Object, Object> fParents= new HashMap<>();
+		private final Map<Object, Boolean> fHasChildren= new HashMap<>();
+		/** Set when the Java model changes, the caches are cleared on the next access. */
+		private volatile boolean fStale;
 
 		public JavaEditorBreadcrumbContentProvider(StandardJavaElementContentProvider parent) {
 			fParent= parent;
 		}
 
+		/**
+		 * Invalidates the cached content. Can be called from any thread.
+		 */
+		public void invalidate() {
+			fStale= true;
+		}
+
+		private void validate() {
+			if (fStale) {
+				fStale= false;
+				fChildren.clear();
+				fParents.clear();
+				fHasChildren.clear();
+			}
+		}
+
+		private static <V> void cache(Map<Object, V> cache, Object element, V value) {
+			if (cache.size() >= MAX_ENTRIES)
+				cache.clear();
+			cache.put(element, value);
+		}
+
 		/*
 		 * @see org.eclipse.jface.viewers.IStructuredContentProvider#getElements(java.lang.Object)
 		 */
@@ -254,23 +297,28 @@ public class JavaEditorBreadcrumb extends EditorBreadcrumb {
 		 */
 		@Override
 		public Object[] getChildren(Object inputElement) {
-			if (inputElement == fLastInputElement)
-				return fElements;
+			validate();
+			Object[] elements= fChildren.get(inputElement);
+			if (elements == null) {
+				elements= computeChildren(inputElement);
+				cache(fChildren, inputElement, elements);
+			}
+			return elements;
+		}
 
-			fLastInputElement= inputElement;
+		private Object[] computeChildren(Object inputElement) {
 			if (inputElement instanceof IPackageFragment) {
-				fElements= getPackageContent((IPackageFragment) inputElement);
+				return getPackageContent((IPackageFragment) inputElement);
 			} else if (inputElement instanceof IProject) {
 				IProject project= (IProject) inputElement;
 				if (project.isAccessible()) {
 					try {
-						fElements= ((IProject) inputElement).members();
+						return ((IProject) inputElement).members();
 					} catch (CoreException e) {
 						JavaPlugin.log(e);
 					}
-				} else {
-					fElements= new Object[0];
 				}
+				return new Object[0];
 			} else if (inputElement instanceof IPackageFragmentRoot) {
 
 				ArrayList<Object> packages= new ArrayList<>();
@@ -294,14 +342,12 @@ public class JavaEditorBreadcrumb extends EditorBreadcrumb {
 						packages.add(object);
 					}
 				}
-				fElements= packages.toArray();
+				return packages.toArray();
 			} else if (inputElement instanceof IJavaModel) {
-				fElements= getAccessibleProjects((IJavaModel)inputElement);
+				return getAccessibleProjects((IJavaModel)inputElement);
 			} else {
-				fElements= fParent.getChildren(inputElement);
+				return fParent.getChildren(inputElement);
 			}
-
-			return fElements;
 		}
 
 		/**
@@ -337,6 +383,15 @@ public class JavaEditorBreadcrumb extends EditorBreadcrumb {
 		 */
 		@Override
 		public Object getParent(Object element) {
+			validate();
+			if (fParents.containsKey(element))
+				return fParents.get(element);
+			Object parent= computeParent(element);
+			cache(fParents, element, parent);
+			return parent;
+		}
+
+		private Object computeParent(Object element) {
 			if (element instanceof IType && ((IType) element).isBinary()) {
 				IType declaringType= ((IType) element).getDeclaringType();
 				if (declaringType != null)
@@ -368,6 +423,16 @@ public class JavaEditorBreadcrumb extends EditorBreadcrumb {
 		 */
 		@Override
 		public boolean hasChildren(Object element) {
+			validate();
+			Boolean hasChildren= fHasChildren.get(element);
+			if (hasChildren == null) {
+				hasChildren= Boolean.valueOf(computeHasChildren(element));
+				cache(fHasChildren, element, hasChildren);
+			}
+			return hasChildren.booleanValue();
+		}
+
+		private boolean computeHasChildren(Object element) {
 			if (element instanceof IProject) {
 				IProject project= (IProject) element;
 				if (!project.isAccessible()) {
@@ -438,8 +503,6 @@ public class JavaEditorBreadcrumb extends EditorBreadcrumb {
 		 */
 		@Override
 		public void inputChanged(Viewer viewer, Object oldInput, Object newInput) {
-			fElements= null;
-			fLastInputElement= null;
 			fParent.inputChanged(viewer, oldInput, newInput);
 		}
 	}
@@ -457,6 +520,19 @@ public class JavaEditorBreadcrumb extends EditorBreadcrumb {
 			if (fViewer == null)
 				return;
 
+			fContentProvider.invalidate();
+
+			ITypeRoot modelInput= fModelInput;
+			if (modelInput != null && affects(modelInput, event.getDelta())) {
+				if (event.getType() == ElementChangedEvent.POST_RECONCILE) {
+					// reconcile deltas are sent in the reconciler thread
+					updateModel(modelInput);
+				} else {
+					fModel= null;
+					scheduleModelUpdate(modelInput);
+				}
+			}
+
 			Object input= fViewer.getInput();
 			if (!(input instanceof IJavaElement))
 				return;
@@ -517,6 +593,28 @@ public class JavaEditorBreadcrumb extends EditorBreadcrumb {
 			return null;
 		}
 
+		/**
+		 * Tells whether a delta describes a change of a type root.
+		 *
+		 * @param typeRoot the type root
+		 * @param delta the delta describing the model change
+		 * @return <code>true</code> if the type root or one of its ancestors has changed
+		 */
+		private boolean affects(ITypeRoot typeRoot, IJavaElementDelta delta) {
+			IJavaElement element= delta.getElement();
+			if (element.equals(typeRoot))
+				return true;
+			if (!isAncestor(element, typeRoot))
+				return false;
+			if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~IJavaElementDelta.F_CHILDREN) != 0)
+				return true;
+			for (IJavaElementDelta affectedChild : delta.getAffectedChildren()) {
+				if (affects(typeRoot, affectedChild))
+					return true;
+			}
+			return false;
+		}
+
 		/**
 		 * Tells whether the given element is an ancestor of the given input.
 		 *
@@ -552,6 +650,17 @@ public class JavaEditorBreadcrumb extends EditorBreadcrumb {
 	private BreadcrumbViewer fViewer;
 	private ISelection fEditorSelection;
 	private ElementChangeListener fElementChangeListener;
+	private JavaEditorBreadcrumbContentProvider fContentProvider;
+
+	/**
+	 * The element ranges of the editor input, used to find the element at the caret. Computed when
+	 * the input has been reconciled, or by {@link #fModelJob} when it is first needed.
+	 */
+	private volatile JavaEditorBreadcrumbModel fModel;
+	/** The type root for which the model has been requested last. */
+	private volatile ITypeRoot fModelInput;
+	private Job fModelJob;
+	private final Object fModelLock= new Object();
 
 
 	public JavaEditorBreadcrumb(JavaEditor javaEditor) {
@@ -593,7 +702,8 @@ public class JavaEditorBreadcrumb extends EditorBreadcrumb {
 		fViewer.setLabelProvider(createLabelProvider());
 		fViewer.setToolTipLabelProvider(createToolTipLabelProvider());
 
-		fViewer.setContentProvider(createContentProvider());
+		fContentProvider= createContentProvider();
+		fViewer.setContentProvider(fContentProvider);
 		fViewer.addSelectionChangedListener(event -> fBreadcrumbActionGroup.setContext(new ActionContext(fViewer.getSelection())));
 
 		fBreadcrumbActionGroup= new JavaEditorBreadcrumbActionGroup(getJavaEditor(), fViewer);
@@ -766,6 +876,78 @@ public class JavaEditorBreadcrumb extends EditorBreadcrumb {
 			JavaCore.removeElementChangedListener(fElementChangeListener);
 			fViewer= null;
 		}
+		synchronized (this) {
+			if (fModelJob != null) {
+				fModelJob.cancel();
+				fModelJob= null;
+			}
+		}
+		fModelInput= null;
+		fModel= null;
+	}
+
+	/**
+	 * Returns the model of a type root.
+	 *
+	 * @param input the type root
+	 * @return the model, or <code>null</code> if it is not available yet, in which case its
+	 *         computation is scheduled, or if it cannot be computed for the current content
+	 */
+	private JavaEditorBreadcrumbModel getModel(ITypeRoot input) {
+		JavaEditorBreadcrumbModel model= fModel;
+		if (model != null && model.isModelOf(input))
+			return model;
+		if (!input.equals(fModelInput))
+			scheduleModelUpdate(input);
+		return null;
+	}
+
+	private synchronized void scheduleModelUpdate(ITypeRoot input) {
+		fModelInput= input;
+		if (fModelJob == null) {
+			fModelJob= new Job(JavaEditorMessages.JavaEditorBreadcrumb_computeModel_job) {
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					ITypeRoot typeRoot= fModelInput;
+					if (typeRoot == null || monitor.isCanceled())
+						return Status.CANCEL_STATUS;
+					updateModel(typeRoot);
+					return Status.OK_STATUS;
+				}
+			};
+			fModelJob.setSystem(true);
+			fModelJob.setPriority(Job.DECORATE);
+		}
+		fModelJob.schedule();
+	}
+
+	private void updateModel(ITypeRoot input) {
+		synchronized (fModelLock) {
+			try {
+				// the stamp is read before the consistency check, edits after the check change the stamp
+				long modificationStamp= getModificationStamp();
+				if (input instanceof ICompilationUnit && !((ICompilationUnit) input).isConsistent())
+					modificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+				fModel= JavaEditorBreadcrumbModel.create(input, modificationStamp);
+			} catch (JavaModelException e) {
+				fModel= null;
+			}
+		}
+	}
+
+	/**
+	 * Returns the modification stamp of the document of the editor.
+	 *
+	 * @return the modification stamp, or {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP} if
+	 *         it is not available
+	 */
+	private long getModificationStamp() {
+		JavaEditor editor= getJavaEditor();
+		IDocumentProvider provider= editor.getDocumentProvider();
+		IDocument document= provider != null ? provider.getDocument(editor.getEditorInput()) : null;
+		if (document instanceof IDocumentExtension4)
+			return ((IDocumentExtension4) document).getModificationStamp();
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 	}
 
 	/*
@@ -811,6 +993,10 @@ public class JavaEditorBreadcrumb extends EditorBreadcrumb {
 			} else {
 				selection= (ITextSelection) getJavaEditor().getSelectionProvider().getSelection();
 			}
+			JavaEditorBreadcrumbModel model= getModel(input);
+			if (model != null && model.isCurrent(getModificationStamp()))
+				return getInput(model.getElementAt(selection));
+			// the document has been modified since the model has been computed, reconcile the input
 			return getInput(SelectionConverter.getElementAtOffset(input, selection));
 		} catch (JavaModelException e) {
 			return null;
@@ -842,9 +1028,16 @@ public class JavaEditorBreadcrumb extends EditorBreadcrumb {
 				element= element.getParent();
 
 			if (element instanceof ICompilationUnit) {
-				IType[] types= ((ICompilationUnit) element).getTypes();
-				if (types.length > 0)
-					element= types[0];
+				JavaEditorBreadcrumbModel model= fModel;
+				if (model != null && model.isModelOf((ICompilationUnit) element)) {
+					IType type= model.getFirstType();
+					if (type != null)
+						element= type;
+				} else {
+					IType[] types= ((ICompilationUnit) element).getTypes();
+					if (types.length > 0)
+						element= types[0];
+				}
 			}
 
 			if (element instanceof IOrdinaryClassFile)
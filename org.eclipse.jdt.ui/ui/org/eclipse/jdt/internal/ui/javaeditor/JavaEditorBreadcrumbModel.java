@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.javaeditor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.ITextSelection;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.ISourceReference;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.SourceRange;
+
+/**
+ * The source ranges of the elements of a type root, used by the {@link JavaEditorBreadcrumb} to
+ * find the element at the caret without accessing the Java model. The model is computed when the
+ * type root has been reconciled, outside of the display thread.
+ * <p>
+ * The elements are stored in pre-order, which orders them by their start offset. The element at an
+ * offset is found by a binary search for the last element starting before the offset, followed by
+ * a walk up its ancestors to the first one that contains the offset.
+ * </p>
+ * <p>
+ * The ranges are only valid for the content of the document they have been computed for, the
+ * model therefore records the modification stamp of that document. Once the document has been
+ * modified, the ranges are stale until the next reconcile and must not be used.
+ * </p>
+ *
+ * @since 3.28
+ */
+public final class JavaEditorBreadcrumbModel {
+
+	private final ITypeRoot fInput;
+	private final IJavaElement[] fElements;
+	private final int[] fStarts;
+	/** The inclusive end offsets, see {@link ITypeRoot#getElementAt(int)}. */
+	private final int[] fEnds;
+	/** The index of the parent of each element, or <code>-1</code> for children of the input. */
+	private final int[] fParents;
+	private final IType fFirstType;
+	/**
+	 * The modification stamp of the document the ranges are valid for, or
+	 * {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP}.
+	 */
+	private final long fModificationStamp;
+
+	private JavaEditorBreadcrumbModel(ITypeRoot input, List<IJavaElement> elements, List<int[]> ranges, IType firstType, long modificationStamp) {
+		fInput= input;
+		int count= elements.size();
+		fElements= elements.toArray(new IJavaElement[count]);
+		fStarts= new int[count];
+		fEnds= new int[count];
+		fParents= new int[count];
+		for (int i= 0; i < count; i++) {
+			int[] range= ranges.get(i);
+			fStarts[i]= range[0];
+			fEnds[i]= range[1];
+			fParents[i]= range[2];
+		}
+		fFirstType= firstType;
+		fModificationStamp= modificationStamp;
+	}
+
+	/**
+	 * Computes the model of a type root whose document is not known. The model is never
+	 * {@link #isCurrent(long) current}.
+	 *
+	 * @param input the type root
+	 * @return the model, or <code>null</code> if the source ranges of the elements are not ordered
+	 * @throws JavaModelException if the type root cannot be accessed
+	 */
+	public static JavaEditorBreadcrumbModel create(ITypeRoot input) throws JavaModelException {
+		return create(input, IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP);
+	}
+
+	/**
+	 * Computes the model of a type root.
+	 *
+	 * @param input the type root
+	 * @param modificationStamp the modification stamp of the document whose content the type root
+	 *            has been reconciled with, or {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP}
+	 * @return the model, or <code>null</code> if the source ranges of the elements are not ordered
+	 * @throws JavaModelException if the type root cannot be accessed
+	 */
+	public static JavaEditorBreadcrumbModel create(ITypeRoot input, long modificationStamp) throws JavaModelException {
+		List<IJavaElement> elements= new ArrayList<>();
+		List<int[]> ranges= new ArrayList<>();
+		if (!addChildren(input, -1, elements, ranges))
+			return null;
+		IType firstType= null;
+		if (input instanceof ICompilationUnit) {
+			IType[] types= ((ICompilationUnit) input).getTypes();
+			if (types.length > 0)
+				firstType= types[0];
+		}
+		return new JavaEditorBreadcrumbModel(input, elements, ranges, firstType, modificationStamp);
+	}
+
+	private static boolean addChildren(IParent parent, int parentIndex, List<IJavaElement> elements, List<int[]> ranges) throws JavaModelException {
+		for (IJavaElement child : parent.getChildren()) {
+			if (!(child instanceof ISourceReference))
+				continue;
+			ISourceRange range= ((ISourceReference) child).getSourceRange();
+			if (!SourceRange.isAvailable(range))
+				continue;
+			int start= range.getOffset();
+			if (!ranges.isEmpty() && start < ranges.get(ranges.size() - 1)[0])
+				return false;
+			int index= elements.size();
+			elements.add(child);
+			ranges.add(new int[] { start, start + range.getLength(), parentIndex });
+			if (child instanceof IParent && !addChildren((IParent) child, index, elements, ranges))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the type root of this model.
+	 *
+	 * @return the type root
+	 */
+	ITypeRoot getInput() {
+		return fInput;
+	}
+
+	/**
+	 * Tells whether this is the model of a type root.
+	 *
+	 * @param input the type root
+	 * @return <code>true</code> if this model has been computed for the type root
+	 */
+	boolean isModelOf(ITypeRoot input) {
+		return fInput.equals(input);
+	}
+
+	/**
+	 * Tells whether the ranges of this model are valid for the current content of the document.
+	 *
+	 * @param modificationStamp the current modification stamp of the document
+	 * @return <code>true</code> if the document has not been modified since this model has been
+	 *         computed
+	 */
+	public boolean isCurrent(long modificationStamp) {
+		return fModificationStamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP && fModificationStamp == modificationStamp;
+	}
+
+	/**
+	 * Returns the first type of the compilation unit.
+	 *
+	 * @return the first type, or <code>null</code> if the input is not a compilation unit or
+	 *         declares no type
+	 */
+	public IType getFirstType() {
+		return fFirstType;
+	}
+
+	/**
+	 * Returns the innermost element at the start of a selection, ignoring leading white space of
+	 * the selected text, see {@link org.eclipse.jdt.internal.ui.actions.SelectionConverter#getElementAtOffset(ITypeRoot, ITextSelection)}.
+	 *
+	 * @param selection the selection
+	 * @return the element, or the input if no element contains the selection
+	 */
+	public IJavaElement getElementAt(ITextSelection selection) {
+		int whiteSpaceOffset= 0;
+		String selectedString= selection.getText();
+		if (selectedString != null) {
+			while (whiteSpaceOffset < selectedString.length() && Character.isWhitespace(selectedString.charAt(whiteSpaceOffset))) {
+				whiteSpaceOffset++;
+			}
+			if (whiteSpaceOffset == selectedString.length())
+				whiteSpaceOffset= 0; // leave offset alone if selection is all white-space
+		}
+		IJavaElement element= getElementAt(selection.getOffset() + whiteSpaceOffset);
+		return element != null ? element : fInput;
+	}
+
+	/**
+	 * Returns the innermost element whose source range contains an offset.
+	 *
+	 * @param offset the offset
+	 * @return the element, or <code>null</code> if there is none
+	 */
+	public IJavaElement getElementAt(int offset) {
+		// the last element that starts at or before the offset
+		int low= 0;
+		int high= fStarts.length;
+		while (low < high) {
+			int mid= (low + high) >>> 1;
+			if (fStarts[mid] <= offset)
+				low= mid + 1;
+			else
+				high= mid;
+		}
+		int index= low - 1;
+		while (index >= 0 && fEnds[index] < offset) {
+			index= fParents[index];
+		}
+		return index >= 0 ? fElements[index] : null;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -149,6 +149,7 @@ final class JavaEditorMessages extends NLS {
 	public static String JavaEditor_FormatElementDialog_label;
 	public static String JavaEditor_markOccurrences_job_name;
 	public static String JavaEditorBreadcrumbActionGroup_go_to_editor_action_label;
+	public static String JavaEditorBreadcrumb_computeModel_job;
 	public static String JavaElementHyperlink_hyperlinkText;
 	public static String JavaElementHyperlink_hyperlinkText_qualified;
 	public static String Editor_OpenPropertiesFile_error_keyNotFound;
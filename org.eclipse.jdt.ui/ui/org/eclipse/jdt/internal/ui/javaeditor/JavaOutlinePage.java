@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -54,6 +54,7 @@ import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.jface.viewers.IBaseLabelProvider;
+import org.eclipse.jface.viewers.IContentProvider;
 import org.eclipse.jface.viewers.IPostSelectionProvider;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.ISelectionChangedListener;
@@ -384,6 +385,11 @@ public class JavaOutlinePage extends Page implements IContentOutlinePage, IAdapt
 			 */
 			protected class JavaOutlineViewer extends TreeViewer {
 
+				/**
+				 * Delta flags of changes that can move an element or change whether it is filtered.
+				 */
+				private static final int POSITION_FLAGS= IJavaElementDelta.F_MODIFIERS | IJavaElementDelta.F_REORDER | IJavaElementDelta.F_CATEGORIES;
+
 				public JavaOutlineViewer(Tree tree) {
 					super(tree);
 					setAutoExpandLevel(ALL_LEVELS);
@@ -397,7 +403,67 @@ public class JavaOutlinePage extends Page implements IContentOutlinePage, IAdapt
 				 * @param delta the Java element delta used to reconcile the Java outline
 				 */
 				public void reconcile(IJavaElementDelta delta) {
-					refresh(true);
+					int flags= delta.getFlags();
+					if (fTopLevelTypeOnly || delta.getKind() != IJavaElementDelta.CHANGED || (flags & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+						// the top level elements are the children of the primary type, or there are no details about the changed children
+						refresh(true);
+						return;
+					}
+					Control control= getControl();
+					control.setRedraw(false);
+					try {
+						updateChildren(getInput(), delta);
+					} finally {
+						control.setRedraw(true);
+					}
+				}
+
+				/**
+				 * Applies the changes of the children of an element in place. Only the labels of
+				 * changed elements are updated, and an element is only refreshed if the order or
+				 * the filtering of its children may have changed. The members of a type whose super
+				 * types changed are relabelled, since their labels may show what they override.
+				 *
+				 * @param parent the element in the viewer, the input for the top level elements
+				 * @param delta the delta of the element
+				 */
+				private void updateChildren(Object parent, IJavaElementDelta delta) {
+					List<IJavaElement> added= new ArrayList<>();
+					boolean refreshParent= false;
+					for (IJavaElementDelta child : delta.getAffectedChildren()) {
+						IJavaElement element= child.getElement();
+						switch (child.getKind()) {
+							case IJavaElementDelta.ADDED:
+								if (!isExcluded(element))
+									added.add(element);
+								break;
+							case IJavaElementDelta.REMOVED:
+								remove(element);
+								break;
+							default:
+								int flags= child.getFlags();
+								if ((flags & POSITION_FLAGS) != 0)
+									refreshParent= true;
+								if ((flags & IJavaElementDelta.F_SUPER_TYPES) != 0) {
+									refresh(element, true);
+									break;
+								}
+								if ((flags & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_FINE_GRAINED)) != 0)
+									update(element, null);
+								if (child.getAffectedChildren().length > 0)
+									updateChildren(element, child);
+								break;
+						}
+					}
+					if (!added.isEmpty())
+						add(parent, added.toArray());
+					if (refreshParent)
+						refresh(parent, false);
+				}
+
+				private boolean isExcluded(IJavaElement element) {
+					IContentProvider provider= getContentProvider();
+					return provider instanceof ChildrenProvider && ((ChildrenProvider) provider).matches(element);
 				}
 
 				/*
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -35,7 +35,6 @@ import org.eclipse.jface.text.source.IAnnotationModelExtension;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.IMethodBinding;
 import org.eclipse.jdt.core.dom.ITypeBinding;
@@ -43,6 +42,7 @@ import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
+import org.eclipse.jdt.internal.core.manipulation.search.ASTOccurrenceIndex;
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.dom.Bindings;
 import org.eclipse.jdt.internal.corext.util.JdtFlags;
@@ -176,39 +176,36 @@ class OverrideIndicatorManager implements IJavaReconcilingListener {
 
 		final Map<Annotation, Position> annotationMap= new HashMap<>(50);
 
-		ast.accept(new ASTVisitor(false) {
-			/*
-			 * @see org.eclipse.jdt.core.dom.ASTVisitor#visit(org.eclipse.jdt.core.dom.MethodDeclaration)
-			 */
-			@Override
-			public boolean visit(MethodDeclaration node) {
-				IMethodBinding binding= node.resolveBinding();
-				if (binding != null) {
-					IMethodBinding definingMethod= Bindings.findOverriddenMethod(binding, true);
-					if (definingMethod != null) {
-
-						ITypeBinding definingType= definingMethod.getDeclaringClass();
-						String qualifiedMethodName= definingType.getQualifiedName() + "." + binding.getName(); //$NON-NLS-1$
-
-						boolean isImplements= JdtFlags.isAbstract(definingMethod);
-						String text;
-						if (isImplements)
-							text= Messages.format(JavaEditorMessages.OverrideIndicatorManager_implements, BasicElementLabels.getJavaElementName(qualifiedMethodName));
-						else
-							text= Messages.format(JavaEditorMessages.OverrideIndicatorManager_overrides, BasicElementLabels.getJavaElementName(qualifiedMethodName));
-
-						SimpleName name= node.getName();
-						Position position= new Position(name.getStartPosition(), name.getLength());
-
-						annotationMap.put(
-								new OverrideIndicator(isImplements, text, binding.getKey()),
-								position);
+		// the overridden methods are shared with other clients of the AST, the names are not indexed
+		ASTOccurrenceIndex index= ASTOccurrenceIndex.get(ast);
+		for (MethodDeclaration node : index.getMethodDeclarations()) {
+			if (progressMonitor.isCanceled())
+				return;
+			IMethodBinding binding= node.resolveBinding();
+			if (binding != null) {
+				IMethodBinding definingMethod= index.getOverriddenMethod(node);
+				if (definingMethod != null) {
+
+					ITypeBinding definingType= definingMethod.getDeclaringClass();
+					String qualifiedMethodName= definingType.getQualifiedName() + "." + binding.getName(); //$NON-NLS-1$
+
+					boolean isImplements= JdtFlags.isAbstract(definingMethod);
+					String text;
+					if (isImplements)
+						text= Messages.format(JavaEditorMessages.OverrideIndicatorManager_implements, BasicElementLabels.getJavaElementName(qualifiedMethodName));
+					else
+						text= Messages.format(JavaEditorMessages.OverrideIndicatorManager_overrides, BasicElementLabels.getJavaElementName(qualifiedMethodName));
+
+					SimpleName name= node.getName();
+					Position position= new Position(name.getStartPosition(), name.getLength());
+
+					annotationMap.put(
+							new OverrideIndicator(isImplements, text, binding.getKey()),
+							position);
 
-					}
 				}
-				return true;
 			}
-		});
+		}
 
 		if (progressMonitor.isCanceled())
 			return;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2013 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,6 +27,7 @@ import org.eclipse.swt.widgets.Widget;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.core.runtime.Status;
 
 import org.eclipse.core.resources.IFolder;
@@ -89,6 +90,13 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	private boolean fShowLibrariesNode;
 	private boolean fFoldPackages;
 
+	private static final String PERF_RUN_UPDATES= "org.eclipse.jdt.ui/perf/explorer/runUpdates"; //$NON-NLS-1$
+
+	/**
+	 * The time in milliseconds the update job runs updates before it yields the display thread.
+	 */
+	private static final long UPDATE_TIME_SLICE= 50;
+
 	private Collection<Runnable> fPendingUpdates;
 
 	private UIJob fUpdateJob;
@@ -155,7 +163,7 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 			}
 			//Are we in the UIThread? If so spin it until we are done
 			if (!hasPendingUpdates && ctrl.getDisplay().getThread() == Thread.currentThread() && !fViewer.isBusy()) {
-				runUpdates(runnables);
+				runUpdates(PackageExplorerRefreshPlanner.plan(runnables), Long.MAX_VALUE);
 			} else {
 				synchronized (this) {
 					if (fPendingUpdates == null) {
@@ -163,6 +171,8 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 					} else {
 						fPendingUpdates.addAll(runnables);
 					}
+					// the updates have not run yet, merge them with the new ones
+					fPendingUpdates= PackageExplorerRefreshPlanner.plan(fPendingUpdates);
 				}
 				postAsyncUpdate(ctrl.getDisplay());
 			}
@@ -177,7 +187,7 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 					if (viewer != null && viewer.isBusy()) {
 						schedule(100); // reschedule when viewer is busy: bug 184991
 					} else {
-						runPendingUpdates();
+						runPendingUpdates(UPDATE_TIME_SLICE);
 					}
 					return Status.OK_STATUS;
 				}
@@ -191,6 +201,10 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	 * Run all of the runnables that are the widget updates. Must be called in the display thread.
 	 */
 	public void runPendingUpdates() {
+		runPendingUpdates(Long.MAX_VALUE);
+	}
+
+	private void runPendingUpdates(long timeSlice) {
 		Collection<Runnable> pendingUpdates;
 		synchronized (this) {
 			pendingUpdates= fPendingUpdates;
@@ -199,16 +213,40 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 		if (pendingUpdates != null && fViewer != null) {
 			Control control = fViewer.getControl();
 			if (control != null && !control.isDisposed()) {
-				runUpdates(pendingUpdates);
+				runUpdates(pendingUpdates, timeSlice);
 			}
 		}
 	}
 
-	private void runUpdates(Collection<Runnable> runnables) {
+	/**
+	 * Runs updates in the display thread. Updates that are left when the time slice is used up are
+	 * put back in front of the pending updates and run by the update job, so that large deltas do
+	 * not block the display thread.
+	 *
+	 * @param runnables the updates
+	 * @param timeSlice the time in milliseconds after which the remaining updates are deferred
+	 */
+	private void runUpdates(Collection<Runnable> runnables, long timeSlice) {
+		PerformanceStats stats= PerformanceStats.getStats(PERF_RUN_UPDATES, this);
+		stats.startRun(runnables.size() + " updates"); //$NON-NLS-1$
+		long start= System.currentTimeMillis();
 		Iterator<Runnable> runnableIterator = runnables.iterator();
 		while (runnableIterator.hasNext()){
 			runnableIterator.next().run();
+			if (runnableIterator.hasNext() && System.currentTimeMillis() - start >= timeSlice) {
+				List<Runnable> remaining= new ArrayList<>();
+				runnableIterator.forEachRemaining(remaining::add);
+				synchronized (this) {
+					if (fPendingUpdates != null) {
+						remaining.addAll(fPendingUpdates);
+					}
+					fPendingUpdates= remaining;
+				}
+				postAsyncUpdate(fViewer.getControl().getDisplay());
+				break;
+			}
 		}
+		stats.endRun();
 	}
 
 
@@ -949,33 +987,42 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	}
 
 	protected void postRefresh(final List<Object> toRefresh, final boolean updateLabels, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			for (Object element : toRefresh.toArray()) {
-				if (element == null || fViewer.testFindItems(element).length > 0) {
-					fViewer.refresh(element, updateLabels);
+		runnables.add(new PackageExplorerRefreshPlanner.Refresh(toRefresh, updateLabels) {
+			@Override
+			public void run() {
+				for (Object element : fElements) {
+					if (element == null || fViewer.testFindItems(element).length > 0) {
+						fViewer.refresh(element, fUpdateLabels);
+					}
 				}
 			}
 		});
 	}
 
 	protected void postAdd(final Object parent, final Object element, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			for (Widget item : fViewer.testFindItems(element)) {
-				if (item instanceof TreeItem && !item.isDisposed()) {
-					TreeItem parentItem= ((TreeItem) item).getParentItem();
-					if (parentItem != null && !parentItem.isDisposed() && parent.equals(parentItem.getData())) {
-						return; // no add, element already added (most likely by a refresh)
+		runnables.add(new PackageExplorerRefreshPlanner.Add(parent, element) {
+			@Override
+			public void run() {
+				for (Widget item : fViewer.testFindItems(element)) {
+					if (item instanceof TreeItem && !item.isDisposed()) {
+						TreeItem parentItem= ((TreeItem) item).getParentItem();
+						if (parentItem != null && !parentItem.isDisposed() && parent.equals(parentItem.getData())) {
+							return; // no add, element already added (most likely by a refresh)
+						}
 					}
 				}
+				fViewer.add(parent, element);
 			}
-			fViewer.add(parent, element);
 		});
 	}
 
 	protected void postRemove(final Object element, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			if (fViewer.testFindItems(element).length > 0) {
-				fViewer.remove(element);
+		runnables.add(new PackageExplorerRefreshPlanner.Remove(element) {
+			@Override
+			public void run() {
+				if (fViewer.testFindItems(element).length > 0) {
+					fViewer.remove(element);
+				}
 			}
 		});
 	}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.packageview;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Reduces the viewer updates computed from Java element deltas before they are run in the display
+ * thread. Large deltas, e.g. from switching branches, produce refreshes of many elements and of
+ * their parents, and adds and removes of elements that are refreshed anyway.
+ * <p>
+ * The planner drops
+ * </p>
+ * <ul>
+ * <li>refreshes of elements that are refreshed before, or whose ancestor is refreshed: refreshing
+ * an element refreshes all its items and their subtrees,</li>
+ * <li>adds of elements whose parent or an ancestor of it is refreshed,</li>
+ * <li>removes of elements below a refreshed element,</li>
+ * <li>adds of elements that are removed later on.</li>
+ * </ul>
+ * <p>
+ * Ancestors are Java model and resource parents, which are ancestors in the Package Explorer in all
+ * layouts. Only updates of the kinds above are dropped, the order of the remaining updates is not
+ * changed.
+ * </p>
+ *
+ * @since 3.28
+ */
+public final class PackageExplorerRefreshPlanner {
+
+	/**
+	 * A refresh of elements, see {@link org.eclipse.jface.viewers.StructuredViewer#refresh(Object, boolean)}.
+	 */
+	public abstract static class Refresh implements Runnable {
+		protected final List<Object> fElements;
+		protected final boolean fUpdateLabels;
+
+		protected Refresh(List<Object> elements, boolean updateLabels) {
+			fElements= new ArrayList<>(elements);
+			fUpdateLabels= updateLabels;
+		}
+	}
+
+	/**
+	 * An add of an element to a parent.
+	 */
+	public abstract static class Add implements Runnable {
+		protected final Object fParent;
+		protected final Object fElement;
+
+		protected Add(Object parent, Object element) {
+			fParent= parent;
+			fElement= element;
+		}
+	}
+
+	/**
+	 * A remove of an element.
+	 */
+	public abstract static class Remove implements Runnable {
+		protected final Object fElement;
+
+		protected Remove(Object element) {
+			fElement= element;
+		}
+	}
+
+	private PackageExplorerRefreshPlanner() {
+	}
+
+	/**
+	 * Returns the updates that remain when redundant updates are dropped.
+	 *
+	 * @param updates the updates in the order they are to be run
+	 * @return the remaining updates, in the same order
+	 */
+	public static List<Runnable> plan(Collection<Runnable> updates) {
+		// the refreshed elements and whether their labels are updated
+		Map<Object, Boolean> refreshed= new HashMap<>();
+		for (Runnable update : updates) {
+			if (update instanceof Refresh) {
+				Refresh refresh= (Refresh) update;
+				for (Object element : refresh.fElements) {
+					if (element != null)
+						refreshed.merge(element, Boolean.valueOf(refresh.fUpdateLabels), PackageExplorerRefreshPlanner::or);
+				}
+			}
+		}
+
+		// elements that are removed after the given update index
+		Map<Object, Integer> lastRemoves= new HashMap<>();
+		int index= 0;
+		for (Runnable update : updates) {
+			if (update instanceof Remove)
+				lastRemoves.put(((Remove) update).fElement, Integer.valueOf(index));
+			index++;
+		}
+
+		List<Runnable> result= new ArrayList<>(updates.size());
+		// the elements refreshed by the updates so far
+		Map<Object, Boolean> done= new HashMap<>();
+		index= 0;
+		for (Runnable update : updates) {
+			if (update instanceof Refresh) {
+				Refresh refresh= (Refresh) update;
+				refresh.fElements.removeIf(element -> element != null && (isRefreshed(element, done, refresh.fUpdateLabels) || isBelowRefreshed(element, refreshed, refresh.fUpdateLabels)));
+				for (Object element : refresh.fElements)
+					done.merge(element, Boolean.valueOf(refresh.fUpdateLabels), PackageExplorerRefreshPlanner::or);
+				if (!refresh.fElements.isEmpty())
+					result.add(refresh);
+			} else if (update instanceof Add) {
+				Add add= (Add) update;
+				Integer lastRemove= lastRemoves.get(add.fElement);
+				boolean removedLater= lastRemove != null && lastRemove.intValue() > index;
+				boolean parentRefreshed= isShown(add.fParent) && refreshed.containsKey(add.fParent) || isBelowRefreshed(add.fParent, refreshed, false);
+				if (!removedLater && !parentRefreshed)
+					result.add(add);
+			} else if (update instanceof Remove) {
+				if (!isBelowRefreshed(((Remove) update).fElement, refreshed, false))
+					result.add(update);
+			} else {
+				result.add(update);
+			}
+			index++;
+		}
+		return result;
+	}
+
+	private static boolean isBelowRefreshed(Object element, Map<Object, Boolean> refreshed, boolean updateLabels) {
+		Object ancestor= getParent(element);
+		while (ancestor != null) {
+			Object shown= ancestor;
+			if (ancestor instanceof IResource) {
+				// resources of Java elements are shown as the Java elements
+				IJavaElement javaElement= JavaCore.create((IResource) ancestor);
+				if (javaElement != null)
+					shown= javaElement;
+			}
+			if (isShown(shown) && isRefreshed(shown, refreshed, updateLabels))
+				return true;
+			ancestor= getParent(ancestor);
+		}
+		return false;
+	}
+
+	/*
+	 * Source folders that are the project are not shown, refreshing them does not refresh their
+	 * children.
+	 */
+	private static boolean isShown(Object element) {
+		if (element instanceof IPackageFragmentRoot) {
+			IResource resource= ((IPackageFragmentRoot) element).getResource();
+			return resource == null || resource.getType() != IResource.PROJECT;
+		}
+		return true;
+	}
+
+	private static boolean isRefreshed(Object element, Map<Object, Boolean> refreshed, boolean updateLabels) {
+		Boolean labels= refreshed.get(element);
+		return labels != null && (labels.booleanValue() || !updateLabels);
+	}
+
+	private static Boolean or(Boolean a, Boolean b) {
+		return Boolean.valueOf(a.booleanValue() || b.booleanValue());
+	}
+
+	private static Object getParent(Object element) {
+		if (element instanceof IJavaElement)
+			return ((IJavaElement) element).getParent();
+		if (element instanceof IResource)
+			return ((IResource) element).getParent();
+		return null;
+	}
+}
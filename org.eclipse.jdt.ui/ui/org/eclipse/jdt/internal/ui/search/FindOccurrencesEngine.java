@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,18 +13,89 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.search;
 
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IResource;
+
 import org.eclipse.search.ui.NewSearchUI;
 
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
 
 import org.eclipse.jdt.internal.core.manipulation.search.IOccurrencesFinder;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
 
 
 public final class FindOccurrencesEngine {
 
+	/**
+	 * Caches the ASTs of the last files that were searched and are not open in the active editor,
+	 * so that searching the same file again does not parse it again. The occurrences of an AST
+	 * are indexed once, see
+	 * {@link org.eclipse.jdt.internal.core.manipulation.search.ASTOccurrenceIndex}. An AST is reused
+	 * as long as the modification stamp of its file is unchanged and no Java element has changed
+	 * since it was parsed. The cache listens to Java element changes only while it is not empty.
+	 */
+	private static final class ASTCache implements IElementChangedListener {
+		private static final int MAX_SIZE= 3;
+
+		private static final class Entry {
+			final long fStamp;
+			final SoftReference<CompilationUnit> fAST;
+
+			Entry(long stamp, CompilationUnit ast) {
+				fStamp= stamp;
+				fAST= new SoftReference<>(ast);
+			}
+		}
+
+		private final Map<String, Entry> fEntries= new LinkedHashMap<String, Entry>(MAX_SIZE, 0.75f, true) {
+			private static final long serialVersionUID= 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > MAX_SIZE;
+			}
+		};
+
+		synchronized CompilationUnit get(ITypeRoot input, long stamp) {
+			Entry entry= fEntries.get(input.getHandleIdentifier());
+			if (entry == null)
+				return null;
+			CompilationUnit ast= entry.fAST.get();
+			if (ast == null || entry.fStamp != stamp) {
+				fEntries.remove(input.getHandleIdentifier());
+				return null;
+			}
+			return ast;
+		}
+
+		synchronized void put(ITypeRoot input, long stamp, CompilationUnit ast) {
+			if (fEntries.isEmpty())
+				JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE);
+			fEntries.put(input.getHandleIdentifier(), new Entry(stamp, ast));
+		}
+
+		@Override
+		public synchronized void elementChanged(ElementChangedEvent event) {
+			// bindings of other files may have changed, too
+			fEntries.clear();
+			JavaCore.removeElementChangedListener(this);
+		}
+	}
+
+	private static final ASTCache fgASTCache= new ASTCache();
+
 	public static FindOccurrencesEngine create(IOccurrencesFinder finder) {
 		return new FindOccurrencesEngine(finder);
 	}
@@ -51,13 +122,49 @@ public final class FindOccurrencesEngine {
 			return SearchMessages.FindOccurrencesEngine_noSource_text;
 		}
 
-		final CompilationUnit root= SharedASTProviderCore.getAST(input, SharedASTProviderCore.WAIT_YES, null);
+		final CompilationUnit root= getAST(input);
 		if (root == null) {
 			return SearchMessages.FindOccurrencesEngine_cannotParse_text;
 		}
 		return run(root, offset, length);
 	}
 
+	private static CompilationUnit getAST(ITypeRoot input) throws JavaModelException {
+		CompilationUnit root= SharedASTProviderCore.getAST(input, SharedASTProviderCore.WAIT_ACTIVE_ONLY, null);
+		if (root != null)
+			return root;
+		long stamp= getModificationStamp(input);
+		if (stamp == IResource.NULL_STAMP)
+			return SharedASTProviderCore.getAST(input, SharedASTProviderCore.WAIT_YES, null);
+		root= fgASTCache.get(input, stamp);
+		if (root == null) {
+			root= new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parse(input, null, true, IASTSharedValues.SHARED_AST_STATEMENT_RECOVERY, IASTSharedValues.SHARED_BINDING_RECOVERY, null);
+			if (root != null)
+				fgASTCache.put(input, stamp, root);
+		}
+		return root;
+	}
+
+	/**
+	 * Returns the modification stamp of the file of a type root.
+	 *
+	 * @param input the type root
+	 * @return the stamp, or {@link IResource#NULL_STAMP} if the contents of the type root can
+	 *         change without changing the stamp, e.g. for working copies with unsaved changes
+	 * @throws JavaModelException if the type root does not exist
+	 */
+	private static long getModificationStamp(ITypeRoot input) throws JavaModelException {
+		if (input instanceof ICompilationUnit && ((ICompilationUnit) input).hasUnsavedChanges())
+			return IResource.NULL_STAMP;
+		IResource resource= input.getResource();
+		if (resource == null) {
+			// a class file, use its archive if that is in the workspace
+			IJavaElement root= input.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+			resource= root != null ? root.getResource() : null;
+		}
+		return resource != null ? resource.getModificationStamp() : IResource.NULL_STAMP;
+	}
+
 	private void performNewSearch(IOccurrencesFinder finder, ITypeRoot element) {
 		NewSearchUI.runQueryInBackground(new OccurrencesSearchQuery(finder, element));
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,21 +19,33 @@ import org.eclipse.search.ui.text.Match;
  * A search match with additional java-specific info.
  */
 public class JavaElementMatch extends Match {
+	/*
+	 * The access kinds are packed into a single field, since a search can report hundreds of
+	 * thousands of matches.
+	 */
+	private static final byte WRITE_ACCESS= 1;
+	private static final byte READ_ACCESS= 1 << 1;
+	private static final byte JAVADOC= 1 << 2;
+	private static final byte SUPER_INVOCATION= 1 << 3;
+
 	private final int fAccuracy;
 	private final int fMatchRule;
-	private final boolean fIsWriteAccess;
-	private final boolean fIsReadAccess;
-	private final boolean fIsJavadoc;
-	private final boolean fIsSuperInvocation;
+	private final byte fKind;
 
 	JavaElementMatch(Object element, int matchRule, int offset, int length, int accuracy, boolean isReadAccess, boolean isWriteAccess, boolean isJavadoc, boolean isSuperInvocation) {
 		super(element, offset, length);
 		fAccuracy= accuracy;
 		fMatchRule= matchRule;
-		fIsWriteAccess= isWriteAccess;
-		fIsReadAccess= isReadAccess;
-		fIsJavadoc= isJavadoc;
-		fIsSuperInvocation= isSuperInvocation;
+		int kind= 0;
+		if (isWriteAccess)
+			kind|= WRITE_ACCESS;
+		if (isReadAccess)
+			kind|= READ_ACCESS;
+		if (isJavadoc)
+			kind|= JAVADOC;
+		if (isSuperInvocation)
+			kind|= SUPER_INVOCATION;
+		fKind= (byte) kind;
 	}
 
 	public int getAccuracy() {
@@ -41,19 +53,19 @@ public class JavaElementMatch extends Match {
 	}
 
 	public boolean isWriteAccess() {
-		return fIsWriteAccess;
+		return (fKind & WRITE_ACCESS) != 0;
 	}
 
 	public boolean isReadAccess() {
-		return fIsReadAccess;
+		return (fKind & READ_ACCESS) != 0;
 	}
 
 	public boolean isJavadoc() {
-		return fIsJavadoc;
+		return (fKind & JAVADOC) != 0;
 	}
 
 	public boolean isSuperInvocation() {
-		return fIsSuperInvocation;
+		return (fKind & SUPER_INVOCATION) != 0;
 	}
 
 	public int getMatchRule() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -98,6 +99,69 @@ public class JavaSearchQuery implements ISearchQuery {
 		}
 	}
 
+	/**
+	 * Runs the search of one query participant. The job shows up in the progress view, where it
+	 * can be canceled without canceling the search of the other participants.
+	 */
+	private class ParticipantSearchJob extends Job {
+		private final SearchParticipantRecord fRecord;
+		private final JavaSearchResult fSearchResult;
+		private final int fTicks;
+
+		ParticipantSearchJob(SearchParticipantRecord record, JavaSearchResult result, int ticks) {
+			super(Messages.format(SearchMessages.JavaSearchQuery_participant_job_name, record.getDescriptor().getName()));
+			fRecord= record;
+			fSearchResult= result;
+			fTicks= ticks;
+			setPriority(LONG);
+		}
+
+		String getParticipantName() {
+			return fRecord.getDescriptor().getName();
+		}
+
+		int getTicks() {
+			return fTicks;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == JavaSearchQuery.this;
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			final ISearchRequestor requestor= new SearchRequestor(fRecord.getParticipant(), fSearchResult);
+			final SubMonitor participantPM= SubMonitor.convert(monitor, getName(), fTicks);
+			ISafeRunnable runnable= new ISafeRunnable() {
+				@Override
+				public void handleException(Throwable exception) {
+					fRecord.getDescriptor().disable();
+					String message= SearchMessages.JavaSearchQuery_error_participant_search;
+					JavaPlugin.log(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), 0, message, exception));
+				}
+
+				@Override
+				public void run() throws Exception {
+
+					final IQueryParticipant participant= fRecord.getParticipant();
+
+					final PerformanceStats stats= PerformanceStats.getStats(PERF_SEARCH_PARTICIPANT, participant);
+					stats.startRun();
+
+					for (QuerySpecification querySpecification : fPatternDataList) {
+						participant.search(requestor, querySpecification, participantPM);
+					}
+
+					stats.endRun();
+				}
+			};
+
+			SafeRunner.run(runnable);
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+	}
+
 	@Override
 	public IStatus run(IProgressMonitor monitor) {
 		final JavaSearchResult textResult= (JavaSearchResult) getSearchResult();
@@ -175,37 +239,30 @@ public class JavaSearchQuery implements ISearchQuery {
 			NewSearchResultCollector collector= new NewSearchResultCollector(textResult, ignorePotentials);
 
 
-			engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, getFirstSpecification().getScope(), collector, subMonitor.split(1000));
+			// the participants search concurrently with the Java search, each in its own job
+			List<ParticipantSearchJob> participantJobs= new ArrayList<>(participantDescriptors.length);
 			for (int i= 0; i < participantDescriptors.length; i++) {
-				final ISearchRequestor requestor= new SearchRequestor(participantDescriptors[i].getParticipant(), textResult);
-				final IProgressMonitor participantPM= subMonitor.split(ticks[i]);
-
-				final int iPrime= i;
-				ISafeRunnable runnable= new ISafeRunnable() {
-					@Override
-					public void handleException(Throwable exception) {
-						participantDescriptors[iPrime].getDescriptor().disable();
-						String message= SearchMessages.JavaSearchQuery_error_participant_search;
-						JavaPlugin.log(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), 0, message, exception));
-					}
-
-					@Override
-					public void run() throws Exception {
-
-						final IQueryParticipant participant= participantDescriptors[iPrime].getParticipant();
-
-						final PerformanceStats stats= PerformanceStats.getStats(PERF_SEARCH_PARTICIPANT, participant);
-						stats.startRun();
-
-						for (QuerySpecification querySpecification : fPatternDataList) {
-							participant.search(requestor, querySpecification, participantPM);
-						}
-
-						stats.endRun();
-					}
-				};
-
-				SafeRunner.run(runnable);
+				ParticipantSearchJob job= new ParticipantSearchJob(participantDescriptors[i], textResult, ticks[i]);
+				participantJobs.add(job);
+				job.schedule();
+			}
+			try {
+				try {
+					engine.search(pattern, new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() }, getFirstSpecification().getScope(), collector, subMonitor.split(1000));
+				} finally {
+					// matches collected before a cancellation are still shown
+					collector.flush();
+				}
+				for (ParticipantSearchJob job : participantJobs) {
+					subMonitor.subTask(Messages.format(SearchMessages.JavaSearchQuery_participant_wait, job.getParticipantName()));
+					job.join(0, subMonitor.split(job.getTicks()));
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				for (ParticipantSearchJob job : participantJobs) {
+					job.cancel();
+				}
 			}
 
 		} catch (CoreException e) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,12 @@ import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
 
 public class JavaSearchTableContentProvider extends JavaSearchContentProvider {
+	/**
+	 * The elements shown in the table. The table is virtual, so the viewer does not know the
+	 * elements of the items that have not been painted yet.
+	 */
+	private Set<Object> fShownElements= new HashSet<>();
+
 	public JavaSearchTableContentProvider(JavaSearchResultPage page) {
 		super(page);
 	}
@@ -39,8 +45,10 @@ public class JavaSearchTableContentProvider extends JavaSearchContentProvider {
 					}
 				}
 			}
+			fShownElements= filteredElements;
 			return filteredElements.toArray();
 		}
+		fShownElements= new HashSet<>();
 		return EMPTY_ARR;
 	}
 
@@ -57,7 +65,7 @@ public class JavaSearchTableContentProvider extends JavaSearchContentProvider {
 		Set<Object> removed= new HashSet<>();
 		for (Object updatedElement : updatedElements) {
 			if (getPage().getDisplayedMatchCount(updatedElement) > 0) {
-				if (viewer.testFindItem(updatedElement) != null) {
+				if (fShownElements.contains(updatedElement)) {
 					updated.add(updatedElement);
 				} else {
 					if (addLimit > 0) {
@@ -65,14 +73,19 @@ public class JavaSearchTableContentProvider extends JavaSearchContentProvider {
 						addLimit--;
 					}
 				}
-			} else {
+			} else if (fShownElements.contains(updatedElement)) {
 				removed.add(updatedElement);
 			}
 		}
 
-		viewer.add(added.toArray());
-		viewer.update(updated.toArray(), new String[] { SearchLabelProvider.PROPERTY_MATCH_COUNT });
-		viewer.remove(removed.toArray());
+		fShownElements.addAll(added);
+		fShownElements.removeAll(removed);
+		if (!added.isEmpty())
+			viewer.add(added.toArray());
+		if (!updated.isEmpty())
+			viewer.update(updated.toArray(), new String[] { SearchLabelProvider.PROPERTY_MATCH_COUNT });
+		if (!removed.isEmpty())
+			viewer.remove(removed.toArray());
 	}
 
 	private int getAddLimit() {
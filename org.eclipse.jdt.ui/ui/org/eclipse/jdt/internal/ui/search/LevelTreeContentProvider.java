@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -242,13 +242,17 @@ public class LevelTreeContentProvider extends JavaSearchContentProvider implemen
 		AbstractTreeViewer viewer= (AbstractTreeViewer) getPage().getViewer();
 
 		Set<Object> toRemove= new HashSet<>();
+		// elements that lost children have to be refreshed, for the others the labels are updated
+		Set<Object> toRefresh= new HashSet<>();
 		Set<Object> toUpdate= new HashSet<>();
 		Map<Object, Set<Object>> toAdd= new HashMap<>();
 		for (Object updatedElement : updatedElements) {
 			if (getPage().getDisplayedMatchCount(updatedElement) > 0) {
 				insert(toAdd, toUpdate, updatedElement);
+				// the match count in the label has changed
+				toUpdate.add(updatedElement);
 			} else {
-				remove(toRemove, toUpdate, updatedElement);
+				remove(toRemove, toRefresh, updatedElement);
 			}
 		}
 
@@ -258,9 +262,13 @@ public class LevelTreeContentProvider extends JavaSearchContentProvider implemen
 			HashSet<Object> children= (HashSet<Object>) entry.getValue();
 			viewer.add(parent, children.toArray());
 		}
-		for (Object object : toUpdate) {
+		for (Object object : toRefresh) {
 			viewer.refresh(object);
 		}
+		toUpdate.removeAll(toRefresh);
+		if (!toUpdate.isEmpty()) {
+			viewer.update(toUpdate.toArray(), null);
+		}
 
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,9 +13,14 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.search;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.search.ui.text.AbstractTextSearchResult;
+import org.eclipse.search.ui.text.Match;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.search.FieldDeclarationMatch;
@@ -27,14 +32,36 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchRequestor;
 
+/**
+ * Collects the matches of a search into a search result. The matches are added in batches, so that
+ * the result and its listeners are notified once per batch instead of once per match. A batch is
+ * added when it is full, when it has been collected for {@link #FLUSH_INTERVAL} milliseconds, and
+ * when the reporting ends. The interval is kept by a job, so that the batch is also added while
+ * the search does not find further matches.
+ */
 public class NewSearchResultCollector extends SearchRequestor {
+	/**
+	 * The maximal number of matches in a batch.
+	 */
+	private static final int BATCH_SIZE= 512;
+	/**
+	 * The maximal time in milliseconds that a match is held back, so that the results of a long
+	 * running search show up while it is still running.
+	 */
+	private static final long FLUSH_INTERVAL= 200;
+
 	private AbstractTextSearchResult fSearch;
 	private boolean fIgnorePotentials;
+	/* guarded by this */
+	private final List<Match> fBatch= new ArrayList<>(BATCH_SIZE);
+	private final Job fFlushJob;
 
 	public NewSearchResultCollector(AbstractTextSearchResult search, boolean ignorePotentials) {
 		super();
 		fSearch= search;
 		fIgnorePotentials= ignorePotentials;
+		fFlushJob= Job.create(SearchMessages.NewSearchResultCollector_flush_job_name, monitor -> flush());
+		fFlushJob.setSystem(true);
 	}
 
 	@Override
@@ -63,7 +90,25 @@ public class NewSearchResultCollector extends SearchRequestor {
 				MethodReferenceMatch methodRef= (MethodReferenceMatch) match;
 				isSuperInvocation= methodRef.isSuperInvocation();
 			}
-			fSearch.addMatch(new JavaElementMatch(enclosingElement, match.getRule(), match.getOffset(), match.getLength(), match.getAccuracy(), isReadAccess, isWriteAccess, match.isInsideDocComment(), isSuperInvocation));
+			add(new JavaElementMatch(enclosingElement, match.getRule(), match.getOffset(), match.getLength(), match.getAccuracy(), isReadAccess, isWriteAccess, match.isInsideDocComment(), isSuperInvocation));
+		}
+	}
+
+	private synchronized void add(Match match) {
+		if (fBatch.isEmpty())
+			fFlushJob.schedule(FLUSH_INTERVAL);
+		fBatch.add(match);
+		if (fBatch.size() >= BATCH_SIZE)
+			flush();
+	}
+
+	/**
+	 * Adds the collected matches to the search result.
+	 */
+	public synchronized void flush() {
+		if (!fBatch.isEmpty()) {
+			fSearch.addMatches(fBatch.toArray(new Match[fBatch.size()]));
+			fBatch.clear();
 		}
 	}
 
@@ -73,6 +118,7 @@ public class NewSearchResultCollector extends SearchRequestor {
 
 	@Override
 	public void endReporting() {
+		flush();
 	}
 
 	@Override
@@ -81,6 +127,7 @@ public class NewSearchResultCollector extends SearchRequestor {
 
 	@Override
 	public void exitParticipant(SearchParticipant participant) {
+		flush();
 	}
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,7 @@ public class SearchParticipantDescriptor {
 		private static final String CLASS= "class"; //$NON-NLS-1$
 		private static final String NATURE= "nature"; //$NON-NLS-1$
 		private static final String ID= "id"; //$NON-NLS-1$
+		private static final String NAME= "name"; //$NON-NLS-1$
 
 		private IConfigurationElement fConfigurationElement;
 		private boolean fEnabled; //
@@ -69,6 +70,14 @@ public class SearchParticipantDescriptor {
 		return fConfigurationElement.getAttribute(ID);
 	}
 
+	/**
+	 * @return the name of the participant, or its id if it has no name
+	 */
+	public String getName() {
+		String name= fConfigurationElement.getAttribute(NAME);
+		return name != null ? name : getID();
+	}
+
 	public void disable() {
 		fEnabled= false;
 	}
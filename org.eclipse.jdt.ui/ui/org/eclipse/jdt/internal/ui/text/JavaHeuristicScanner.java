@@ -264,6 +264,16 @@ public final class JavaHeuristicScanner implements Symbols {
 	 * @since 3.2
 	 */
 	private ITypedRegion fCachedPartition= new TypedRegion(-1, 0, "__no_partition_at_all"); //$NON-NLS-1$
+	/**
+	 * The partitioning snapshot to use instead of the document, or <code>null</code>.
+	 * @since 3.28
+	 */
+	private ScannerSnapshot fSnapshot;
+	/**
+	 * The modification count of {@link #fSnapshot} when {@link #fCachedPartition} was computed.
+	 * @since 3.28
+	 */
+	private int fCachedPartitionStamp;
 
 	/* preset stop conditions */
 	private final StopCondition fNonWSDefaultPart= new NonWhitespaceDefaultPartition();
@@ -295,6 +305,31 @@ public final class JavaHeuristicScanner implements Symbols {
 		this(document, IJavaPartitions.JAVA_PARTITIONING, IDocument.DEFAULT_CONTENT_TYPE);
 	}
 
+	/**
+	 * Sets a snapshot of the document partitioning that is used instead of the document
+	 * partitioner while it is {@link ScannerSnapshot#isValid() valid}. The snapshot also remembers
+	 * matching peers, so that repeated scans over the same scopes are answered from the snapshot.
+	 *
+	 * @param snapshot a snapshot of the partitioning of the scanned document, or
+	 *            <code>null</code> to always use the document
+	 * @since 3.28
+	 */
+	public void setSnapshot(ScannerSnapshot snapshot) {
+		Assert.isLegal(snapshot == null || snapshot.isSnapshotOf(fDocument, fPartitioning));
+		fSnapshot= snapshot;
+		fCachedPartition= new TypedRegion(-1, 0, "__no_partition_at_all"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the snapshot set with {@link #setSnapshot(ScannerSnapshot)}.
+	 *
+	 * @return the snapshot, or <code>null</code>
+	 * @since 3.28
+	 */
+	public ScannerSnapshot getSnapshot() {
+		return fSnapshot;
+	}
+
 	/**
 	 * Returns the most recent internal scan position.
 	 *
@@ -601,6 +636,16 @@ public final class JavaHeuristicScanner implements Symbols {
 	public int findOpeningPeer(int start, int bound, char openingPeer, char closingPeer) {
 		Assert.isLegal(start < fDocument.getLength());
 
+		ScannerSnapshot snapshot= fSnapshot != null && fSnapshot.isValid() ? fSnapshot : null;
+		final int searchStart= start;
+		if (snapshot != null) {
+			int peer= snapshot.getOpeningPeer(searchStart, openingPeer, closingPeer);
+			if (peer != NOT_FOUND && peer > (bound == UNBOUND ? -1 : bound)) {
+				fPos= peer;
+				return peer;
+			}
+		}
+
 		try {
 			final CharacterMatch match= new CharacterMatch(new char[] {openingPeer, closingPeer});
 			int depth= 1;
@@ -615,8 +660,11 @@ public final class JavaHeuristicScanner implements Symbols {
 				else
 					depth--;
 
-				if (depth == 0)
+				if (depth == 0) {
+					if (snapshot != null)
+						snapshot.setOpeningPeer(searchStart, openingPeer, closingPeer, start);
 					return start;
+				}
 			}
 
 		} catch (BadLocationException e) {
@@ -840,14 +888,24 @@ public final class JavaHeuristicScanner implements Symbols {
 	 *         partition if accessing the document fails
 	 */
 	private ITypedRegion getPartition(int position) {
+		ScannerSnapshot snapshot= fSnapshot != null && fSnapshot.isValid() ? fSnapshot : null;
+		if (snapshot != null && fCachedPartitionStamp != snapshot.getModificationCount()) {
+			// the document has been modified, cached offsets may have moved
+			fCachedPartitionStamp= snapshot.getModificationCount();
+			fCachedPartition= new TypedRegion(-1, 0, "__no_partition_at_all"); //$NON-NLS-1$
+		}
 		if (!contains(fCachedPartition, position)) {
 			Assert.isTrue(position >= 0);
 			Assert.isTrue(position <= fDocument.getLength());
 
-			try {
-				fCachedPartition= TextUtilities.getPartition(fDocument, fPartitioning, position, false);
-			} catch (BadLocationException e) {
-				fCachedPartition= new TypedRegion(position, 0, "__no_partition_at_all"); //$NON-NLS-1$
+			if (snapshot != null) {
+				fCachedPartition= snapshot.getPartition(position);
+			} else {
+				try {
+					fCachedPartition= TextUtilities.getPartition(fDocument, fPartitioning, position, false);
+				} catch (BadLocationException e) {
+					fCachedPartition= new TypedRegion(position, 0, "__no_partition_at_all"); //$NON-NLS-1$
+				}
 			}
 		}
 
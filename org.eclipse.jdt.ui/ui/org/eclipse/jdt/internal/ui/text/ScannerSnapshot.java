@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TextUtilities;
+import org.eclipse.jface.text.TypedRegion;
+
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+
+/**
+ * A snapshot of the partitioning of a document that a {@link JavaHeuristicScanner} can use
+ * instead of querying the document partitioner for every character it looks at. The partition
+ * boundaries are computed once and looked up with a binary search. The snapshot also remembers the
+ * opening peers found by the scanner.
+ * <p>
+ * The snapshot stays valid while the document is only changed by replacing blanks at the start of
+ * a line or inside a single line comment, in increasing document order. This is what
+ * {@link org.eclipse.jdt.internal.ui.actions.IndentAction IndentAction} does when it corrects the
+ * indentation line by line; such changes move but never create or end partitions. Any other
+ * change invalidates the snapshot and the scanner falls back to the document.
+ * </p>
+ * <p>
+ * A snapshot listens to its document from {@link #create(IDocument, String) creation} until it
+ * is {@link #dispose() disposed}.
+ * </p>
+ *
+ * @since 3.28
+ */
+public final class ScannerSnapshot implements IDocumentListener {
+
+	private static final int INITIAL_EDIT_CAPACITY= 64;
+
+	private final IDocument fDocument;
+	private final String fPartitioning;
+
+	/* the partitioning at creation time */
+	private final int[] fPartitionOffsets;
+	private final String[] fPartitionTypes;
+	private final int fLength;
+
+	/*
+	 * The edits applied since creation, in document order. For edit k, fEditOffsets[k] and
+	 * fEditEnds[k] describe the inserted text in current coordinates, fOriginalOffsets[k] and
+	 * fOriginalEnds[k] the replaced text in snapshot coordinates, and fShifts[k] the accumulated
+	 * length difference of the edits up to and including k.
+	 */
+	private int fEditCount;
+	private int[] fEditOffsets= new int[INITIAL_EDIT_CAPACITY];
+	private int[] fEditEnds= new int[INITIAL_EDIT_CAPACITY];
+	private int[] fOriginalOffsets= new int[INITIAL_EDIT_CAPACITY];
+	private int[] fOriginalEnds= new int[INITIAL_EDIT_CAPACITY];
+	private int[] fShifts= new int[INITIAL_EDIT_CAPACITY];
+
+	/** Opening peers by start position, opening and closing peer, in snapshot coordinates. */
+	private final Map<Long, Integer> fOpeningPeers= new HashMap<>();
+
+	private boolean fValid= true;
+
+	private ScannerSnapshot(IDocument document, String partitioning, ITypedRegion[] partitions) {
+		fDocument= document;
+		fPartitioning= partitioning;
+		fLength= document.getLength();
+		fPartitionOffsets= new int[partitions.length];
+		fPartitionTypes= new String[partitions.length];
+		for (int i= 0; i < partitions.length; i++) {
+			fPartitionOffsets[i]= partitions[i].getOffset();
+			fPartitionTypes[i]= partitions[i].getType();
+		}
+	}
+
+	/**
+	 * Creates a snapshot of the current partitioning of a document.
+	 *
+	 * @param document the document
+	 * @param partitioning the partitioning to take a snapshot of
+	 * @return the snapshot, which must be {@link #dispose() disposed} when no longer needed
+	 * @throws BadLocationException if the partitioning cannot be computed
+	 */
+	public static ScannerSnapshot create(IDocument document, String partitioning) throws BadLocationException {
+		ITypedRegion[] partitions= TextUtilities.computePartitioning(document, partitioning, 0, document.getLength(), false);
+		ScannerSnapshot snapshot= new ScannerSnapshot(document, partitioning, partitions);
+		document.addDocumentListener(snapshot);
+		return snapshot;
+	}
+
+	/**
+	 * Stops listening to the document. The snapshot is invalid afterwards.
+	 */
+	public void dispose() {
+		fDocument.removeDocumentListener(this);
+		fValid= false;
+	}
+
+	/**
+	 * Returns whether this snapshot still describes the partitioning of the document.
+	 *
+	 * @return <code>true</code> if the snapshot can be used
+	 */
+	public boolean isValid() {
+		return fValid;
+	}
+
+	/**
+	 * Returns the number of document changes this snapshot has followed, can be used to detect
+	 * that cached regions have been moved.
+	 *
+	 * @return the modification count
+	 */
+	int getModificationCount() {
+		return fEditCount;
+	}
+
+	/**
+	 * Returns whether this snapshot describes the given document and partitioning.
+	 *
+	 * @param document the document
+	 * @param partitioning the partitioning
+	 * @return <code>true</code> if the snapshot can be used for <code>document</code>
+	 */
+	boolean isSnapshotOf(IDocument document, String partitioning) {
+		return fDocument == document && fPartitioning.equals(partitioning);
+	}
+
+	/**
+	 * Returns the partition at the given position, see
+	 * {@link TextUtilities#getPartition(IDocument, String, int, boolean)}.
+	 *
+	 * @param position the position in the current document
+	 * @param preferOpenPartitions <code>true</code> if the default partition ending at
+	 *            <code>position</code> is preferred over a partition starting there
+	 * @return the partition
+	 */
+	public ITypedRegion getPartition(int position, boolean preferOpenPartitions) {
+		ITypedRegion region= getPartition(position);
+		if (preferOpenPartitions && region.getOffset() == position && !IDocument.DEFAULT_CONTENT_TYPE.equals(region.getType())) {
+			if (position > 0) {
+				region= getPartition(position - 1);
+				if (IDocument.DEFAULT_CONTENT_TYPE.equals(region.getType()))
+					return region;
+			}
+			return new TypedRegion(position, 0, IDocument.DEFAULT_CONTENT_TYPE);
+		}
+		return region;
+	}
+
+	/**
+	 * Returns the partition containing the given position.
+	 *
+	 * @param position the position in the current document
+	 * @return the partition
+	 */
+	public ITypedRegion getPartition(int position) {
+		if (fPartitionOffsets.length == 0)
+			return new TypedRegion(position, 0, IDocument.DEFAULT_CONTENT_TYPE);
+		int original= toSnapshot(position);
+		if (original == -1) {
+			// inside inserted blanks, use the replaced blanks or the character after them
+			int k= findEdit(fEditOffsets, position);
+			original= fOriginalOffsets[k] + Math.min(position - fEditOffsets[k], Math.max(fOriginalEnds[k] - fOriginalOffsets[k] - 1, 0));
+		}
+		int index= Arrays.binarySearch(fPartitionOffsets, original);
+		if (index < 0)
+			index= Math.max(-index - 2, 0);
+		int start= fPartitionOffsets[index];
+		int end= index + 1 < fPartitionOffsets.length ? fPartitionOffsets[index + 1] : fLength;
+		int offset= fromSnapshot(start);
+		return new TypedRegion(offset, fromSnapshot(end) - offset, fPartitionTypes[index]);
+	}
+
+	/**
+	 * Returns a remembered opening peer.
+	 *
+	 * @param start the start position of the backward search in the current document
+	 * @param openingPeer the opening peer character
+	 * @param closingPeer the closing peer character
+	 * @return the position of the opening peer in the current document, or
+	 *         {@link JavaHeuristicScanner#NOT_FOUND} if none is known
+	 */
+	int getOpeningPeer(int start, char openingPeer, char closingPeer) {
+		int original= toSnapshot(start);
+		if (original == -1)
+			return JavaHeuristicScanner.NOT_FOUND;
+		Integer peer= fOpeningPeers.get(Long.valueOf(key(original, openingPeer, closingPeer)));
+		if (peer == null)
+			return JavaHeuristicScanner.NOT_FOUND;
+		return fromSnapshot(peer.intValue());
+	}
+
+	/**
+	 * Remembers an opening peer.
+	 *
+	 * @param start the start position of the backward search in the current document
+	 * @param openingPeer the opening peer character
+	 * @param closingPeer the closing peer character
+	 * @param peer the position of the opening peer in the current document
+	 */
+	void setOpeningPeer(int start, char openingPeer, char closingPeer, int peer) {
+		int original= toSnapshot(start);
+		int originalPeer= toSnapshot(peer);
+		if (original != -1 && originalPeer != -1)
+			fOpeningPeers.put(Long.valueOf(key(original, openingPeer, closingPeer)), Integer.valueOf(originalPeer));
+	}
+
+	private static long key(int position, char openingPeer, char closingPeer) {
+		return ((long) position << 32) | ((long) openingPeer << 16) | closingPeer;
+	}
+
+	/**
+	 * Maps a position in the current document to the snapshot.
+	 *
+	 * @param position the position in the current document
+	 * @return the position in the snapshot, or <code>-1</code> if the position is inside inserted
+	 *         text
+	 */
+	private int toSnapshot(int position) {
+		int k= findEdit(fEditOffsets, position);
+		if (k == -1)
+			return position;
+		if (position < fEditEnds[k])
+			return -1;
+		return position - fShifts[k];
+	}
+
+	/**
+	 * Maps a position in the snapshot to the current document.
+	 *
+	 * @param original the position in the snapshot
+	 * @return the position in the current document
+	 */
+	private int fromSnapshot(int original) {
+		int k= findEdit(fOriginalOffsets, original);
+		if (k == -1)
+			return original;
+		if (original < fOriginalEnds[k])
+			return fEditOffsets[k] + Math.min(original - fOriginalOffsets[k], fEditEnds[k] - fEditOffsets[k]);
+		return original + fShifts[k];
+	}
+
+	/**
+	 * Returns the index of the last edit starting at or before the given position.
+	 *
+	 * @param offsets the sorted edit offsets to search
+	 * @param position the position
+	 * @return the index of the edit, or <code>-1</code> if there is none
+	 */
+	private int findEdit(int[] offsets, int position) {
+		int index= Arrays.binarySearch(offsets, 0, fEditCount, position);
+		if (index >= 0) {
+			// several empty edits may start at the same offset, take the last one
+			while (index + 1 < fEditCount && offsets[index + 1] == position)
+				index++;
+			return index;
+		}
+		return -index - 2;
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+		if (!fValid)
+			return;
+		try {
+			int offset= event.getOffset();
+			boolean valid= offset >= (fEditCount == 0 ? 0 : fEditEnds[fEditCount - 1])
+					&& isBlank(event.getText())
+					&& isBlank(fDocument.get(offset, event.getLength()))
+					&& (fDocument.getLineOffset(fDocument.getLineOfOffset(offset)) == offset || IJavaPartitions.JAVA_SINGLE_LINE_COMMENT.equals(getPartition(offset).getType()));
+			if (!valid)
+				fValid= false;
+		} catch (BadLocationException e) {
+			fValid= false;
+		}
+	}
+
+	private static boolean isBlank(String text) {
+		if (text == null)
+			return true;
+		for (int i= 0; i < text.length(); i++) {
+			char ch= text.charAt(i);
+			if (ch != ' ' && ch != '\t')
+				return false;
+		}
+		return true;
+	}
+
+	@Override
+	public void documentChanged(DocumentEvent event) {
+		if (!fValid)
+			return;
+		if (fEditCount == fEditOffsets.length) {
+			int capacity= fEditCount * 2;
+			fEditOffsets= Arrays.copyOf(fEditOffsets, capacity);
+			fEditEnds= Arrays.copyOf(fEditEnds, capacity);
+			fOriginalOffsets= Arrays.copyOf(fOriginalOffsets, capacity);
+			fOriginalEnds= Arrays.copyOf(fOriginalEnds, capacity);
+			fShifts= Arrays.copyOf(fShifts, capacity);
+		}
+		int offset= event.getOffset();
+		int textLength= event.getText() == null ? 0 : event.getText().length();
+		int shift= fEditCount == 0 ? 0 : fShifts[fEditCount - 1];
+		fEditOffsets[fEditCount]= offset;
+		fEditEnds[fEditCount]= offset + textLength;
+		fOriginalOffsets[fEditCount]= offset - shift;
+		fOriginalEnds[fEditCount]= offset - shift + event.getLength();
+		fShifts[fEditCount]= shift + textLength - event.getLength();
+		fEditCount++;
+	}
+}
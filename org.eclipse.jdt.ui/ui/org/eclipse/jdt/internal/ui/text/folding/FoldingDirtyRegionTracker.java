@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.folding;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.internal.ui.text.java.IJavaReconcilingListener;
+
+/**
+ * Remembers the document range that has been modified since the folding structure was last
+ * updated. All ranges are expressed in the coordinates of the current document.
+ * <p>
+ * The modifications are collected in a pending range. When a reconcile starts, the pending range
+ * is moved to the snapshot, which is what the folding update following that reconcile
+ * {@link #consume() consumes}. Modifications made while the reconcile is running are not part of
+ * the reconciled Java model yet and stay pending for the next reconcile.
+ * </p>
+ *
+ * @since 3.28
+ */
+public final class FoldingDirtyRegionTracker implements IDocumentListener, IJavaReconcilingListener {
+
+	/**
+	 * A mutable range <code>[fStart, fEnd)</code>, empty if <code>fStart</code> is
+	 * <code>-1</code>.
+	 */
+	private static final class Span {
+		int fStart= -1;
+		int fEnd= -1;
+
+		boolean isEmpty() {
+			return fStart == -1;
+		}
+
+		void clear() {
+			fStart= -1;
+			fEnd= -1;
+		}
+
+		void add(int start, int end) {
+			if (isEmpty()) {
+				fStart= start;
+				fEnd= end;
+			} else {
+				fStart= Math.min(fStart, start);
+				fEnd= Math.max(fEnd, end);
+			}
+		}
+
+		/**
+		 * Updates the range for a document change that replaced <code>length</code> characters at
+		 * <code>offset</code> by <code>textLength</code> characters. The range only grows if the
+		 * change touches it.
+		 */
+		void update(int offset, int length, int textLength) {
+			if (isEmpty())
+				return;
+			int shift= textLength - length;
+			if (offset + length < fStart) {
+				fStart+= shift;
+				fEnd+= shift;
+			} else if (offset <= fEnd) {
+				int end= fEnd >= offset + length ? fEnd + shift : offset + textLength;
+				fStart= Math.min(fStart, offset);
+				fEnd= Math.max(end, offset + textLength);
+			}
+		}
+
+		IRegion toRegion() {
+			return new Region(fStart, fEnd - fStart);
+		}
+	}
+
+	private IDocument fDocument;
+	private final Span fPending= new Span();
+	private final Span fSnapshot= new Span();
+
+	/**
+	 * Starts tracking the given document and forgets all recorded modifications.
+	 *
+	 * @param document the document to track, may be <code>null</code>
+	 */
+	public void install(IDocument document) {
+		if (fDocument != document) {
+			uninstall();
+			fDocument= document;
+			if (document != null)
+				document.addDocumentListener(this);
+		}
+		reset();
+	}
+
+	/**
+	 * Stops tracking the document.
+	 */
+	public void uninstall() {
+		if (fDocument != null) {
+			fDocument.removeDocumentListener(this);
+			fDocument= null;
+		}
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+	}
+
+	@Override
+	public synchronized void documentChanged(DocumentEvent event) {
+		int offset= event.getOffset();
+		int length= event.getLength();
+		int textLength= event.getText() == null ? 0 : event.getText().length();
+		fSnapshot.update(offset, length, textLength);
+		fPending.update(offset, length, textLength);
+		fPending.add(offset, offset + textLength);
+	}
+
+	/**
+	 * Moves the pending modifications to the snapshot. Called when a reconcile starts, the
+	 * snapshot then holds the modifications that reconcile reflects.
+	 */
+	public synchronized void snapshot() {
+		if (!fPending.isEmpty()) {
+			fSnapshot.add(fPending.fStart, fPending.fEnd);
+			fPending.clear();
+		}
+	}
+
+	/**
+	 * Returns and forgets the snapshot. Pending modifications are kept for the next reconcile.
+	 *
+	 * @return the modified range, or <code>null</code> if no modification has been snapshot
+	 */
+	public synchronized IRegion consume() {
+		if (fSnapshot.isEmpty())
+			return null;
+		IRegion region= fSnapshot.toRegion();
+		fSnapshot.clear();
+		return region;
+	}
+
+	/**
+	 * Forgets all recorded modifications.
+	 */
+	public synchronized void reset() {
+		fPending.clear();
+		fSnapshot.clear();
+	}
+
+	@Override
+	public void aboutToBeReconciled() {
+		snapshot();
+	}
+
+	@Override
+	public void reconciled(CompilationUnit ast, boolean forced, IProgressMonitor progressMonitor) {
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -244,6 +244,14 @@ public abstract class AbstractJavaCompletionProposal implements IJavaCompletionP
 
 	private int fPatternMatchRule= -1;
 
+	/**
+	 * The display string without bidi markers, used to validate the proposal against the typed
+	 * pattern. <code>null</code> if not yet computed.
+	 *
+	 * @since 3.28
+	 */
+	private String fMatchKey;
+
 	private StyleRange fRememberedStyleRange;
 
 	private boolean fToggleEating;
@@ -849,7 +857,21 @@ public abstract class AbstractJavaCompletionProposal implements IJavaCompletionP
 		 * for performance reasons, as computing the
 		 * replacement string can be expensive.
 		 */
-		return isPrefix(pattern, TextProcessor.deprocess(getDisplayString()));
+		return isPrefix(pattern, getMatchKey());
+	}
+
+	/**
+	 * Returns the string that {@link #isValidPrefix(String)} matches the typed pattern against,
+	 * i.e. the {@link #getDisplayString() display string} without bidi markers. The key is
+	 * computed once and reused while the user types.
+	 *
+	 * @return the match key of this proposal
+	 * @since 3.28
+	 */
+	protected final String getMatchKey() {
+		if (fMatchKey == null)
+			fMatchKey= TextProcessor.deprocess(getDisplayString());
+		return fMatchKey;
 	}
 
 	/**
@@ -924,21 +946,21 @@ public abstract class AbstractJavaCompletionProposal implements IJavaCompletionP
 	 * @since 3.12
 	 */
 	protected int getPatternMatchRule(String pattern, String string) {
-		String start;
-		try {
-			start= string.substring(0, pattern.length());
-		} catch (StringIndexOutOfBoundsException e) {
+		if (pattern.length() > string.length()) {
 			String message= "Error retrieving proposal text.\nDisplay string:\n" + string + "\nPattern:\n" + pattern; //$NON-NLS-1$//$NON-NLS-2$
-			JavaPlugin.log(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), IStatus.OK, message, e));
+			JavaPlugin.log(new Status(IStatus.ERROR, JavaPlugin.getPluginId(), IStatus.OK, message, new StringIndexOutOfBoundsException(pattern.length())));
 			return -1;
 		}
-		if (start.equalsIgnoreCase(pattern)) {
+		if (string.regionMatches(true, 0, pattern, 0, pattern.length())) {
 			return SearchPattern.R_PREFIX_MATCH;
-		} else if (isCamelCaseMatching() && CharOperation.camelCaseMatch(pattern.toCharArray(), string.toCharArray())) {
+		}
+		char[] patternChars= pattern.toCharArray();
+		char[] stringChars= string.toCharArray();
+		if (isCamelCaseMatching() && CharOperation.camelCaseMatch(patternChars, stringChars)) {
 			return SearchPattern.R_CAMELCASE_MATCH;
-		} else if (isSubstringMatching() && CharOperation.substringMatch(pattern.toCharArray(), string.toCharArray())) {
+		} else if (isSubstringMatching() && CharOperation.substringMatch(patternChars, stringChars)) {
 			return SearchPattern.R_SUBSTRING_MATCH;
-		} else if (isSubwordMatching() && CharOperation.subWordMatch(pattern.toCharArray(), string.toCharArray())) {
+		} else if (isSubwordMatching() && CharOperation.subWordMatch(patternChars, stringChars)) {
 			return SearchPattern.R_SUBWORD_MATCH;
 		} else {
 			return -1;
@@ -1234,6 +1256,7 @@ public abstract class AbstractJavaCompletionProposal implements IJavaCompletionP
 
 	protected void setDisplayString(String string) {
 		fDisplayString= new StyledString(string);
+		fMatchKey= null;
 	}
 
 	/*
@@ -1246,6 +1269,7 @@ public abstract class AbstractJavaCompletionProposal implements IJavaCompletionP
 
 	public void setStyledDisplayString(StyledString text) {
 		fDisplayString= text;
+		fMatchKey= null;
 	}
 
 	@Override
@@ -276,6 +276,24 @@ public final class CompletionProposalCategory {
 		return false;
 	}
 
+	/**
+	 * Returns <code>true</code> if any computer of this category in the given partition must be
+	 * called from the UI thread, <code>false</code> otherwise.
+	 *
+	 * @param partition the partition
+	 * @return <code>true</code> if the category cannot be computed concurrently with other
+	 *         categories, <code>false</code> otherwise
+	 * @since 3.28
+	 */
+	public boolean requiresUIThread(String partition) {
+		List<CompletionProposalComputerDescriptor> descriptors= fRegistry.getProposalComputerDescriptors(partition);
+		for (CompletionProposalComputerDescriptor desc : descriptors) {
+			if (desc.getCategory() == this && desc.requiresUIThread())
+				return true;
+		}
+		return false;
+	}
+
 	/**
 	 * @return sortOrder
 	 */
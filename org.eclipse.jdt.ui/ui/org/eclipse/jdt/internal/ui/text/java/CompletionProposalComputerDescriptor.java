@@ -155,7 +155,11 @@ final class CompletionProposalComputerDescriptor {
 	 */
 	private final boolean fRequiresUIThread;
 
-
+	/**
+	 * The latencies of {@link #computeCompletionProposals(ContentAssistInvocationContext, IProgressMonitor)}.
+	 * @since 3.28
+	 */
+	private final LatencyHistogram fLatencies;
 
 
 	/**
@@ -208,6 +212,8 @@ final class CompletionProposalComputerDescriptor {
 		// Not Boolean.parse() to ensure fRequiresUIThread is true if attribute is not set/null
 		fRequiresUIThread = !Boolean.FALSE.toString().equals(element.getAttribute(REQUIRES_UI_THREAD));
 
+		fLatencies= new LatencyHistogram(fName);
+
 		String categoryId= element.getAttribute(CATEGORY_ID);
 		if (categoryId == null)
 			categoryId= DEFAULT_CATEGORY_ID;
@@ -343,6 +349,7 @@ final class CompletionProposalComputerDescriptor {
 			if (computer == null) // not active yet
 				return Collections.emptyList();
 
+			long start= System.nanoTime();
 			try {
 				PerformanceStats stats= startMeter(context, computer);
 				List<ICompletionProposal> proposals= computer.computeCompletionProposals(context, monitor);
@@ -353,6 +360,7 @@ final class CompletionProposalComputerDescriptor {
 					return proposals;
 				}
 			} finally {
+				fLatencies.record(System.nanoTime() - start);
 				// If computers are using non-ui thread, don't report delays.
 				fIsReportingDelay= !(context.getViewer() instanceof JavaSourceViewer)
 						|| !((JavaSourceViewer) context.getViewer()).isAsyncCompletionActive();
@@ -616,4 +624,14 @@ final class CompletionProposalComputerDescriptor {
 	public boolean requiresUIThread() {
 		return this.fRequiresUIThread;
 	}
+
+	/**
+	 * Returns the latencies of the proposal computations of the described extension.
+	 *
+	 * @return the latency histogram of the described extension
+	 * @since 3.28
+	 */
+	public LatencyHistogram getLatencies() {
+		return fLatencies;
+	}
 }
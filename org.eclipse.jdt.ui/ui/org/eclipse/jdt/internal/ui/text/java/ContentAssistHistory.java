@@ -27,6 +27,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -194,15 +198,19 @@ public final class ContentAssistHistory {
 	private static final class MRUMap<K, V> extends LinkedHashMap<K, V> {
 		private static final long serialVersionUID= 1L;
 		private final int fMaxSize;
+		private final transient Consumer<K> fEvictionListener;
 
 		/**
 		 * Creates a new <code>MRUMap</code> with the given size.
 		 *
 		 * @param maxSize the maximum size of the cache, must be &gt; 0
+		 * @param evictionListener notified with the key of each entry that is evicted because the
+		 *            cache is full
 		 */
-		public MRUMap(int maxSize) {
+		public MRUMap(int maxSize, Consumer<K> evictionListener) {
 			Assert.isLegal(maxSize > 0);
 			fMaxSize= maxSize;
+			fEvictionListener= evictionListener;
 		}
 
 		/*
@@ -220,7 +228,11 @@ public final class ContentAssistHistory {
 		 */
 		@Override
 		protected boolean removeEldestEntry(Entry<K, V> eldest) {
-			return size() > fMaxSize;
+			if (size() > fMaxSize) {
+				fEvictionListener.accept(eldest.getKey());
+				return true;
+			}
+			return false;
 		}
 	}
 
@@ -315,8 +327,8 @@ public final class ContentAssistHistory {
 	}
 
 	private static final RHSHistory EMPTY_HISTORY= new RHSHistory(null);
-	private static final int DEFAULT_TRACKED_LHS= 100;
-	private static final int DEFAULT_TRACKED_RHS= 10;
+	static final int DEFAULT_TRACKED_LHS= 100;
+	static final int DEFAULT_TRACKED_RHS= 10;
 
 	private static final Set<String> UNCACHEABLE;
 	static {
@@ -332,6 +344,29 @@ public final class ContentAssistHistory {
 	private final int fMaxLHS;
 	private final int fMaxRHS;
 
+	/**
+	 * The remembered left hand sides in lexicographical order, for prefix lookups.
+	 * @since 3.28
+	 */
+	private final TreeSet<String> fSortedLHS= new TreeSet<>();
+	/**
+	 * Ranked right hand side histories by left hand side, computed on demand and discarded when
+	 * the right hand sides of the left hand side change.
+	 * @since 3.28
+	 */
+	private final Map<String, RHSHistory> fRHSHistories= new HashMap<>();
+	/**
+	 * The journal that every remembered selection is appended to, or <code>null</code>.
+	 * @since 3.28
+	 */
+	private ContentAssistHistoryJournal.Segment fJournal;
+	/**
+	 * The history that selections are also remembered in and that answers lookups for left hand
+	 * sides unknown to this history, or <code>null</code>.
+	 * @since 3.28
+	 */
+	private final ContentAssistHistory fParent;
+
 	/**
 	 * Creates a new history.
 	 *
@@ -339,11 +374,26 @@ public final class ContentAssistHistory {
 	 * @param maxRHS the maximum number of tracked right hand sides per left hand side(&gt; 0)
 	 */
 	public ContentAssistHistory(int maxLHS, int maxRHS) {
+		this(maxLHS, maxRHS, null);
+	}
+
+	/**
+	 * Creates a new history that is a segment of a parent history, e.g. the history of one project
+	 * within the workspace history. Selections are remembered in both histories; lookups of left
+	 * hand sides that this history does not know are answered by the parent.
+	 *
+	 * @param maxLHS the maximum number of tracked left hand sides (&gt; 0)
+	 * @param maxRHS the maximum number of tracked right hand sides per left hand side(&gt; 0)
+	 * @param parent the parent history, or <code>null</code>
+	 * @since 3.28
+	 */
+	ContentAssistHistory(int maxLHS, int maxRHS, ContentAssistHistory parent) {
 		Assert.isLegal(maxLHS > 0);
 		Assert.isLegal(maxRHS > 0);
 		fMaxLHS= maxLHS;
 		fMaxRHS= maxRHS;
-		fLHSCache= new MRUMap<>(fMaxLHS);
+		fParent= parent;
+		fLHSCache= new MRUMap<>(fMaxLHS, this::evicted);
 	}
 
 	/**
@@ -390,7 +440,19 @@ public final class ContentAssistHistory {
 	 *        requested, or <code>null</code>
 	 * @return the right hand side history for the given type
 	 */
-	public RHSHistory getHistory(String lhs) {
+	public synchronized RHSHistory getHistory(String lhs) {
+		RHSHistory history= fRHSHistories.get(lhs);
+		if (history == null) {
+			history= computeHistory(lhs);
+			if (history != EMPTY_HISTORY)
+				fRHSHistories.put(lhs, history);
+			else if (fParent != null)
+				return fParent.getHistory(lhs);
+		}
+		return history;
+	}
+
+	private RHSHistory computeHistory(String lhs) {
 		MRUSet<String> rhsCache= fLHSCache.get(lhs);
 		if (rhsCache != null) {
 			int count= rhsCache.size();
@@ -411,7 +473,7 @@ public final class ContentAssistHistory {
 	 *
 	 * @return the set of remembered right hand sides ordered by least recent selection
 	 */
-	public Map<String, RHSHistory> getEntireHistory() {
+	public synchronized Map<String, RHSHistory> getEntireHistory() {
 		HashMap<String, RHSHistory> map= new HashMap<>((int) (fLHSCache.size() / 0.75));
 		for (Entry<String, MRUSet<String>> entry : fLHSCache.entrySet()) {
 			String lhs= entry.getKey();
@@ -420,10 +482,104 @@ public final class ContentAssistHistory {
 		return Collections.unmodifiableMap(map);
 	}
 
+	/**
+	 * Returns the histories of all remembered left hand sides whose fully qualified name starts
+	 * with the given prefix, e.g. all types of a package.
+	 *
+	 * @param prefix the prefix of the fully qualified left hand side names
+	 * @return a read-only map from left hand side to its history, sorted by left hand side
+	 * @since 3.28
+	 */
+	public synchronized SortedMap<String, RHSHistory> getHistoriesWithPrefix(String prefix) {
+		TreeMap<String, RHSHistory> map= new TreeMap<>();
+		for (String lhs : fSortedLHS.tailSet(prefix)) {
+			if (!lhs.startsWith(prefix))
+				break;
+			map.put(lhs, getHistory(lhs));
+		}
+		return Collections.unmodifiableSortedMap(map);
+	}
+
 	private void rememberInternal(IType lhs, String rhsQualifiedName) throws JavaModelException {
 		String lhsQualifiedName= lhs.getFullyQualifiedName();
 		if (isCacheableLHS(lhs, lhsQualifiedName))
-			getCache(lhsQualifiedName).add(rhsQualifiedName);
+			remember(lhsQualifiedName, rhsQualifiedName);
+	}
+
+	/**
+	 * Remembers the selection of a right hand side for a left hand side by name, without any
+	 * checks.
+	 *
+	 * @param lhs the fully qualified name of the left hand side
+	 * @param rhs the fully qualified name of the selected right hand side
+	 * @since 3.28
+	 */
+	void remember(String lhs, String rhs) {
+		synchronized (this) {
+			replay(lhs, rhs);
+			if (fJournal != null)
+				fJournal.append(lhs, rhs);
+		}
+		if (fParent != null)
+			fParent.remember(lhs, rhs);
+	}
+
+	/**
+	 * Restores a selection that has been remembered before, e.g. when loading a journal. The
+	 * selection is neither journaled nor passed on to the parent history.
+	 *
+	 * @param lhs the fully qualified name of the left hand side
+	 * @param rhs the fully qualified name of the selected right hand side
+	 * @since 3.28
+	 */
+	synchronized void replay(String lhs, String rhs) {
+		getCache(lhs).add(rhs);
+		fRHSHistories.remove(lhs);
+	}
+
+	/**
+	 * Sets the journal that remembered selections are appended to.
+	 *
+	 * @param journal the journal, or <code>null</code> to stop journaling
+	 * @since 3.28
+	 */
+	synchronized void setJournal(ContentAssistHistoryJournal.Segment journal) {
+		fJournal= journal;
+	}
+
+	/**
+	 * Returns the remembered selections in an order that, when replayed through
+	 * {@link #replay(String, String)} on an empty history, reproduces this history.
+	 *
+	 * @return the remembered selections as <code>{lhs, rhs}</code> pairs
+	 * @since 3.28
+	 */
+	synchronized List<String[]> getSelections() {
+		List<String[]> selections= new ArrayList<>();
+		for (Entry<String, MRUSet<String>> entry : fLHSCache.entrySet()) {
+			for (String rhs : entry.getValue()) {
+				selections.add(new String[] { entry.getKey(), rhs });
+			}
+		}
+		return selections;
+	}
+
+	/**
+	 * Remembers all selections of the given history in this history, as if they had been made in
+	 * the order of {@link #getSelections()}.
+	 *
+	 * @param history the history to import
+	 * @since 3.28
+	 */
+	public void importHistory(ContentAssistHistory history) {
+		for (String[] selection : history.getSelections()) {
+			remember(selection[0], selection[1]);
+		}
+	}
+
+	private void evicted(String lhs) {
+		fSortedLHS.remove(lhs);
+		fRHSHistories.remove(lhs);
 	}
 
 	private boolean isCacheableLHS(IType type, String qualifiedName) throws JavaModelException {
@@ -439,6 +595,7 @@ public final class ContentAssistHistory {
 		if (rhsCache == null) {
 			rhsCache= new MRUSet<>(fMaxRHS);
 			fLHSCache.put(lhs, rhsCache);
+			fSortedLHS.add(lhs);
 		}
 
 		return rhsCache;
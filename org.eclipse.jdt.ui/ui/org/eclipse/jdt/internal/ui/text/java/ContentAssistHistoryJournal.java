@@ -0,0 +1,416 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.java;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * Persists {@link ContentAssistHistory content assist histories} incrementally. Every history is
+ * stored in an append-only segment file that receives one line per remembered selection. Loading a
+ * segment replays its lines; segments that have grown much larger than the history they describe
+ * are compacted when loaded.
+ * <p>
+ * There is one segment for the workspace and one segment per project. Project histories use the
+ * workspace history as their parent, see {@link ContentAssistHistory#remember(String, String)}.
+ * </p>
+ * <p>
+ * Remembered selections are buffered and written by a background job, so selecting a proposal
+ * does not write to the disk. The journal listens to resource changes when registered as a
+ * listener, to delete the segments of deleted projects and to rename the segments of renamed
+ * projects.
+ * </p>
+ *
+ * @since 3.28
+ */
+public final class ContentAssistHistoryJournal implements IResourceChangeListener {
+
+	/**
+	 * An append-only history file.
+	 */
+	static final class Segment {
+		private final File fFile;
+		private final ContentAssistHistoryJournal fJournal;
+		private Writer fWriter;
+		private int fLineCount;
+		/** The lines that have been appended but not written yet. */
+		private final StringBuilder fPending= new StringBuilder();
+		/** Set when the segment file has been deleted or moved, further selections are ignored. */
+		private boolean fDisposed;
+
+		Segment(File file, ContentAssistHistoryJournal journal) {
+			fFile= file;
+			fJournal= journal;
+		}
+
+		/**
+		 * Appends a selection to the segment. The selection is written by the write job of the
+		 * journal.
+		 *
+		 * @param lhs the fully qualified name of the left hand side
+		 * @param rhs the fully qualified name of the selected right hand side
+		 */
+		void append(String lhs, String rhs) {
+			synchronized (this) {
+				if (fDisposed)
+					return;
+				fPending.append(lhs).append(SEPARATOR).append(rhs).append('\n');
+				fLineCount++;
+			}
+			fJournal.scheduleWrite();
+		}
+
+		/**
+		 * Writes the pending selections to the segment file.
+		 */
+		synchronized void flush() {
+			if (fDisposed || fPending.length() == 0)
+				return;
+			try {
+				if (fWriter == null) {
+					fWriter= new BufferedWriter(new OutputStreamWriter(new FileOutputStream(fFile, true), StandardCharsets.UTF_8));
+				}
+				fWriter.write(fPending.toString());
+				fWriter.flush();
+			} catch (IOException e) {
+				JavaPlugin.log(e);
+				closeWriter();
+			}
+			fPending.setLength(0);
+		}
+
+		/**
+		 * Replays the segment file into the given history and compacts the file if it contains
+		 * many more lines than the history remembers.
+		 *
+		 * @param history the empty history to restore
+		 */
+		synchronized void load(ContentAssistHistory history) {
+			if (fFile.isFile()) {
+				try (BufferedReader reader= new BufferedReader(new InputStreamReader(new FileInputStream(fFile), StandardCharsets.UTF_8))) {
+					String line;
+					while ((line= reader.readLine()) != null) {
+						int separator= line.indexOf(SEPARATOR);
+						if (separator > 0 && separator < line.length() - 1) {
+							history.replay(line.substring(0, separator), line.substring(separator + 1));
+						}
+						fLineCount++;
+					}
+				} catch (IOException e) {
+					JavaPlugin.log(e);
+				}
+			}
+			int selections= history.getSelections().size();
+			if (fLineCount > COMPACTION_FACTOR * Math.max(selections, 1)) {
+				compact(history);
+			}
+		}
+
+		private void compact(ContentAssistHistory history) {
+			closeWriter();
+			File temp= new File(fFile.getPath() + ".tmp"); //$NON-NLS-1$
+			try (Writer writer= new BufferedWriter(new OutputStreamWriter(new FileOutputStream(temp), StandardCharsets.UTF_8))) {
+				int lines= 0;
+				for (String[] selection : history.getSelections()) {
+					writer.write(selection[0]);
+					writer.write(SEPARATOR);
+					writer.write(selection[1]);
+					writer.write('\n');
+					lines++;
+				}
+				writer.close();
+				Files.move(temp.toPath(), fFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				fLineCount= lines;
+			} catch (IOException e) {
+				JavaPlugin.log(e);
+				temp.delete();
+			}
+		}
+
+		/**
+		 * Writes the pending selections and closes the segment file.
+		 */
+		synchronized void close() {
+			flush();
+			closeWriter();
+		}
+
+		/**
+		 * Deletes the segment file. Selections appended later are ignored.
+		 */
+		synchronized void delete() {
+			fDisposed= true;
+			fPending.setLength(0);
+			closeWriter();
+			fFile.delete();
+		}
+
+		/**
+		 * Moves the segment file, or deletes it if the target exists. Selections appended later
+		 * are ignored.
+		 *
+		 * @param target the new segment file
+		 */
+		synchronized void moveTo(File target) {
+			flush();
+			closeWriter();
+			fDisposed= true;
+			if (!fFile.isFile())
+				return;
+			if (target.exists()) {
+				fFile.delete();
+				return;
+			}
+			try {
+				Files.move(fFile.toPath(), target.toPath());
+			} catch (IOException e) {
+				JavaPlugin.log(e);
+				fFile.delete();
+			}
+		}
+
+		private void closeWriter() {
+			if (fWriter != null) {
+				try {
+					fWriter.close();
+				} catch (IOException e) {
+					JavaPlugin.log(e);
+				}
+				fWriter= null;
+			}
+		}
+	}
+
+	/**
+	 * The maximum number of left hand sides remembered by a journaled history.
+	 */
+	static final int TRACKED_LHS= 10000;
+	/**
+	 * The maximum number of right hand sides remembered per left hand side by a journaled history.
+	 */
+	static final int TRACKED_RHS= 20;
+
+	private static final char SEPARATOR= '\t';
+	private static final String FILE_EXTENSION= ".history"; //$NON-NLS-1$
+	private static final String WORKSPACE_SEGMENT= ".workspace"; //$NON-NLS-1$
+	/**
+	 * The prefix of the names of project segments, so that project segments never collide with the
+	 * {@link #WORKSPACE_SEGMENT}.
+	 */
+	private static final String PROJECT_SEGMENT_PREFIX= "project."; //$NON-NLS-1$
+	/**
+	 * Segments with more than this factor times the lines needed to describe their history are
+	 * compacted when loaded.
+	 */
+	private static final int COMPACTION_FACTOR= 4;
+	/**
+	 * The delay in milliseconds after which appended selections are written.
+	 */
+	private static final long WRITE_DELAY= 1000;
+
+	private final File fDirectory;
+	private final Map<String, ContentAssistHistory> fHistories= new HashMap<>();
+	private final Map<String, Segment> fSegments= new HashMap<>();
+	/**
+	 * Writes the pending selections of all segments. Scheduled without holding any lock, since
+	 * segments are appended to while their history is locked.
+	 */
+	private final Job fWriteJob;
+
+	/**
+	 * Creates a journal that stores its segments in the given directory.
+	 *
+	 * @param directory the directory of the segment files
+	 */
+	public ContentAssistHistoryJournal(File directory) {
+		fDirectory= directory;
+		fWriteJob= new Job(JavaTextMessages.ContentAssistHistoryJournal_write_job) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				for (Segment segment : getSegments()) {
+					segment.flush();
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		fWriteJob.setSystem(true);
+		fWriteJob.setPriority(Job.DECORATE);
+	}
+
+	/**
+	 * Returns <code>true</code> if the workspace segment has been written before.
+	 *
+	 * @return <code>true</code> if a workspace history exists on disk
+	 */
+	public boolean hasWorkspaceHistory() {
+		return getFile(WORKSPACE_SEGMENT).isFile();
+	}
+
+	/**
+	 * Returns the workspace history, loading it if needed.
+	 *
+	 * @return the workspace history
+	 */
+	public ContentAssistHistory getWorkspaceHistory() {
+		return getHistory(WORKSPACE_SEGMENT, null);
+	}
+
+	/**
+	 * Returns the history of a project, loading it if needed. The returned history uses the
+	 * {@linkplain #getWorkspaceHistory() workspace history} as its parent.
+	 *
+	 * @param projectName the name of the project
+	 * @return the history of the project
+	 */
+	public ContentAssistHistory getProjectHistory(String projectName) {
+		return getHistory(PROJECT_SEGMENT_PREFIX + projectName, getWorkspaceHistory());
+	}
+
+	private synchronized ContentAssistHistory getHistory(String segmentName, ContentAssistHistory parent) {
+		ContentAssistHistory history= fHistories.get(segmentName);
+		if (history == null) {
+			history= new ContentAssistHistory(TRACKED_LHS, TRACKED_RHS, parent);
+			fDirectory.mkdirs();
+			Segment segment= new Segment(getFile(segmentName), this);
+			segment.load(history);
+			history.setJournal(segment);
+			fHistories.put(segmentName, history);
+			fSegments.put(segmentName, segment);
+		}
+		return history;
+	}
+
+	/**
+	 * Deletes the history of a project.
+	 *
+	 * @param projectName the name of the project
+	 */
+	public synchronized void removeProjectHistory(String projectName) {
+		String segmentName= PROJECT_SEGMENT_PREFIX + projectName;
+		ContentAssistHistory history= fHistories.remove(segmentName);
+		if (history != null)
+			history.setJournal(null);
+		Segment segment= fSegments.remove(segmentName);
+		if (segment != null)
+			segment.delete();
+		else
+			getFile(segmentName).delete();
+	}
+
+	/**
+	 * Moves the history of a renamed project.
+	 *
+	 * @param oldName the old name of the project
+	 * @param newName the new name of the project
+	 */
+	public synchronized void moveProjectHistory(String oldName, String newName) {
+		String segmentName= PROJECT_SEGMENT_PREFIX + oldName;
+		ContentAssistHistory history= fHistories.remove(segmentName);
+		if (history != null)
+			history.setJournal(null);
+		Segment segment= fSegments.remove(segmentName);
+		if (segment == null)
+			segment= new Segment(getFile(segmentName), this);
+		String newSegmentName= PROJECT_SEGMENT_PREFIX + newName;
+		if (fSegments.containsKey(newSegmentName))
+			segment.delete();
+		else
+			segment.moveTo(getFile(newSegmentName));
+	}
+
+	/**
+	 * Deletes the histories of all projects that are not in the given collection, e.g. of projects
+	 * that have been deleted while the journal was not listening to resource changes.
+	 *
+	 * @param projectNames the names of the existing projects
+	 */
+	public synchronized void retainProjectHistories(Collection<String> projectNames) {
+		File[] files= fDirectory.listFiles();
+		if (files == null)
+			return;
+		for (File file : files) {
+			String fileName= file.getName();
+			if (fileName.startsWith(PROJECT_SEGMENT_PREFIX) && fileName.endsWith(FILE_EXTENSION)) {
+				String projectName= fileName.substring(PROJECT_SEGMENT_PREFIX.length(), fileName.length() - FILE_EXTENSION.length());
+				if (!projectNames.contains(projectName))
+					removeProjectHistory(projectName);
+			}
+		}
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null)
+			return;
+		for (IResourceDelta projectDelta : delta.getAffectedChildren(IResourceDelta.REMOVED)) {
+			IResource project= projectDelta.getResource();
+			if ((projectDelta.getFlags() & IResourceDelta.MOVED_TO) != 0) {
+				moveProjectHistory(project.getName(), projectDelta.getMovedToPath().lastSegment());
+			} else {
+				removeProjectHistory(project.getName());
+			}
+		}
+	}
+
+	private File getFile(String segmentName) {
+		return new File(fDirectory, segmentName + FILE_EXTENSION);
+	}
+
+	private void scheduleWrite() {
+		fWriteJob.schedule(WRITE_DELAY);
+	}
+
+	private synchronized List<Segment> getSegments() {
+		return new ArrayList<>(fSegments.values());
+	}
+
+	/**
+	 * Writes all pending selections and closes all segment files. Histories remain usable, further
+	 * selections are appended after reopening the files.
+	 */
+	public void close() {
+		fWriteJob.cancel();
+		for (Segment segment : getSegments()) {
+			segment.close();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,10 +19,19 @@ package org.eclipse.jdt.internal.ui.text.java;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionAdapter;
@@ -73,6 +82,7 @@ import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.text.java.ContentAssistInvocationContext;
+import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.JavaUIMessages;
@@ -99,6 +109,61 @@ import org.eclipse.jdt.internal.ui.dialogs.OptionalMessageDialog;
  */
 public class ContentAssistProcessor implements IContentAssistProcessor {
 
+	/**
+	 * The computation of one category in a background thread.
+	 *
+	 * @since 3.28
+	 */
+	private final class CategoryComputation {
+		private final CompletionProposalCategory fCategory;
+		private final IProgressMonitor fMonitor= new NullProgressMonitor();
+		private final CompletableFuture<List<ICompletionProposal>> fResult= new CompletableFuture<>();
+
+		CategoryComputation(CompletionProposalCategory category, ContentAssistInvocationContext context) {
+			fCategory= category;
+			schedule(category, () -> {
+				if (fMonitor.isCanceled()) {
+					fResult.complete(Collections.emptyList());
+					return;
+				}
+				try {
+					fResult.complete(fCategory.computeCompletionProposals(context, fPartition, new SubProgressMonitor(fMonitor, 1)));
+				} catch (RuntimeException | Error e) {
+					fResult.completeExceptionally(e);
+				}
+			});
+		}
+
+		/**
+		 * Waits for the computation to finish. If the deadline passes, the computation is
+		 * cancelled through its progress monitor and no proposals are returned. The thread running
+		 * the computation is not interrupted, since it may be reading the Java model or the index.
+		 *
+		 * @param deadline the deadline as in {@link System#nanoTime()}
+		 * @return the computed proposals, possibly empty
+		 */
+		List<ICompletionProposal> join(long deadline) {
+			try {
+				if (deadline == Long.MAX_VALUE) {
+					return fResult.get();
+				}
+				return fResult.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (TimeoutException e) {
+				fMonitor.setCanceled(true);
+				fResult.cancel(false);
+				if (JavaPlugin.DEBUG_RESULT_COLLECTOR) {
+					System.err.println("Code Assist: dropped proposals of '" + fCategory.getDisplayName() + "' (over budget)"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			} catch (InterruptedException e) {
+				fMonitor.setCanceled(true);
+				fResult.cancel(false);
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				JavaPlugin.log(e.getCause());
+			}
+			return Collections.emptyList();
+		}
+	}
 
 	/**
 	 * The completion listener class for this processor.
@@ -121,7 +186,11 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 			// This may show the warning dialog if all categories are disabled
 			setCategoryIteration();
 			for (CompletionProposalCategory cat : getCategoriesToNotify()) {
-				cat.sessionStarted();
+				if (isComputing(cat)) {
+					schedule(cat, cat::sessionStarted);
+				} else {
+					cat.sessionStarted();
+				}
 			}
 
 			fRepetition= 0;
@@ -182,7 +251,15 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 			}
 
 			for (CompletionProposalCategory cat : getCategoriesToNotify()) {
-				cat.sessionEnded();
+				if (isComputing(cat)) {
+					schedule(cat, cat::sessionEnded);
+				} else {
+					cat.sessionEnded();
+				}
+			}
+
+			if (JavaPlugin.DEBUG_RESULT_COLLECTOR) {
+				printLatencies();
 			}
 
 			fSelectedProposal= null;
@@ -227,6 +304,50 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 	 */
 	private static final String PREF_WARN_ABOUT_EMPTY_ASSIST_CATEGORY= "EmptyDefaultAssistCategory"; //$NON-NLS-1$
 
+	/**
+	 * Preference key that controls whether categories that do not need the UI thread are computed
+	 * concurrently. Value is of type <code>Boolean</code>.
+	 *
+	 * @since 3.28
+	 */
+	public static final String PREF_PARALLEL_COMPUTATION= "content_assist_parallel_computation"; //$NON-NLS-1$
+
+	/**
+	 * Preference key for the time in milliseconds that the processor waits for concurrently
+	 * computed categories. Categories that take longer are cancelled and their proposals dropped.
+	 * Value is of type <code>Integer</code>, <code>0</code> means no limit.
+	 *
+	 * @since 3.28
+	 */
+	public static final String PREF_COMPUTATION_BUDGET= "content_assist_computation_budget"; //$NON-NLS-1$
+
+	private static final LatencyHistogram SETUP_LATENCIES= new LatencyHistogram("setup"); //$NON-NLS-1$
+	private static final LatencyHistogram COLLECT_LATENCIES= new LatencyHistogram("collect"); //$NON-NLS-1$
+	private static final LatencyHistogram SORT_LATENCIES= new LatencyHistogram("sort"); //$NON-NLS-1$
+
+	/**
+	 * The maximum number of threads computing categories concurrently.
+	 *
+	 * @since 3.28
+	 */
+	private static final int MAX_COMPUTATION_THREADS= Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	/**
+	 * The executor running concurrent category computations, lazily created.
+	 *
+	 * @since 3.28
+	 */
+	private static ExecutorService fgExecutor;
+
+	/**
+	 * The last work scheduled for the computers of each category. The computers are not
+	 * reentrant, so the work on a category is run after its previous work has finished, even if
+	 * that work has been abandoned because it took longer than the computation budget.
+	 *
+	 * @since 3.28
+	 */
+	private static final Map<CompletionProposalCategory, CompletableFuture<Void>> fgCategoryWork= new HashMap<>();
+
 	private static final Comparator<CompletionProposalCategory> ORDER_COMPARATOR= (d1, d2) -> d1.getSortOrder() - d2.getSortOrder();
 
 	private final List<CompletionProposalCategory> fCategories;
@@ -275,7 +396,7 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 	 */
 	@Override
 	public final ICompletionProposal[] computeCompletionProposals(ITextViewer viewer, int offset) {
-		long start= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
+		long start= System.nanoTime();
 
 		clearState();
 
@@ -283,11 +404,11 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		monitor.beginTask(JavaTextMessages.ContentAssistProcessor_computing_proposals, fCategories.size() + 1);
 
 		ContentAssistInvocationContext context= createContext(viewer, offset);
-		long setup= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
+		long setup= System.nanoTime();
 
 		monitor.subTask(JavaTextMessages.ContentAssistProcessor_collecting_proposals);
 		List<ICompletionProposal> proposals= collectProposals(viewer, offset, monitor, context);
-		long collect= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
+		long collect= System.nanoTime();
 
 		monitor.subTask(JavaTextMessages.ContentAssistProcessor_sorting_proposals);
 		if (fNeedsSortingAfterFiltering) {
@@ -296,17 +417,14 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 			proposals= sortProposals(proposals, monitor, context);
 		}
 		fNumberOfComputedResults= proposals.size();
-		long filter= JavaPlugin.DEBUG_RESULT_COLLECTOR ? System.currentTimeMillis() : 0;
+		long filter= System.nanoTime();
 
 		ICompletionProposal[] result= proposals.toArray(new ICompletionProposal[proposals.size()]);
 		monitor.done();
 
-		if (JavaPlugin.DEBUG_RESULT_COLLECTOR) {
-			System.err.println("Code Assist Stats (" + result.length + " proposals)"); //$NON-NLS-1$ //$NON-NLS-2$
-			System.err.println("Code Assist (setup):\t" + (setup - start) ); //$NON-NLS-1$
-			System.err.println("Code Assist (collect):\t" + (collect - setup) ); //$NON-NLS-1$
-			System.err.println("Code Assist (sort):\t" + (filter - collect) ); //$NON-NLS-1$
-		}
+		SETUP_LATENCIES.record(setup - start);
+		COLLECT_LATENCIES.record(collect - setup);
+		SORT_LATENCIES.record(filter - collect);
 
 		return result;
 	}
@@ -318,6 +436,13 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 
 	/**
 	 * Collects the proposals.
+	 * <p>
+	 * Categories that have to be called in the UI thread are computed in the calling thread, in
+	 * category order. All other categories are computed concurrently, if enabled by
+	 * {@link #PREF_PARALLEL_COMPUTATION}. Concurrently computed categories that do not finish
+	 * within the {@linkplain #PREF_COMPUTATION_BUDGET computation budget} are cancelled and their
+	 * proposals are dropped.
+	 * </p>
 	 *
 	 * @param viewer the text viewer
 	 * @param offset the offset
@@ -329,8 +454,24 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		boolean needsSortingAfterFiltering= false;
 		List<ICompletionProposal> proposals= new ArrayList<>();
 		List<CompletionProposalCategory> providers= getCategories();
+		long deadline= getComputationDeadline();
+		Map<CompletionProposalCategory, CategoryComputation> concurrent= startConcurrentComputations(providers, viewer, offset, context);
 		for (CompletionProposalCategory cat : providers) {
-			List<ICompletionProposal> computed= cat.computeCompletionProposals(context, fPartition, new SubProgressMonitor(monitor, 1));
+			List<ICompletionProposal> computed;
+			CategoryComputation computation= concurrent.get(cat);
+			if (computation != null) {
+				computed= computation.join(deadline);
+				monitor.worked(1);
+			} else if (isComputing(cat)) {
+				// an abandoned computation of a previous invocation is still using the computers
+				computed= Collections.emptyList();
+				monitor.worked(1);
+				if (JavaPlugin.DEBUG_RESULT_COLLECTOR) {
+					System.err.println("Code Assist: skipped '" + cat.getDisplayName() + "' (still computing)"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			} else {
+				computed= cat.computeCompletionProposals(context, fPartition, new SubProgressMonitor(monitor, 1));
+			}
 			proposals.addAll(computed);
 			needsSortingAfterFiltering= needsSortingAfterFiltering || (cat.isSortingAfterFilteringNeeded() && !computed.isEmpty());
 			if (fErrorMessage == null) {
@@ -344,6 +485,124 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		return proposals;
 	}
 
+	/**
+	 * Starts the computation of all categories that can be computed concurrently. Each category
+	 * gets its own invocation context, since computers attach their collectors to the context
+	 * they are called with. The contexts of the categories share the core completion context and
+	 * the keyword proposals of the invocation context, so that code completion is not run once
+	 * per category to compute them.
+	 *
+	 * @param providers the categories of the current invocation
+	 * @param viewer the text viewer
+	 * @param offset the offset
+	 * @param context the invocation context
+	 * @return the started computations, keyed by category; empty if concurrent computation is
+	 *         disabled or pointless
+	 */
+	private Map<CompletionProposalCategory, CategoryComputation> startConcurrentComputations(List<CompletionProposalCategory> providers, ITextViewer viewer, int offset, ContentAssistInvocationContext context) {
+		if (providers.size() < 2 || !JavaPlugin.getDefault().getPreferenceStore().getBoolean(PREF_PARALLEL_COMPUTATION)) {
+			return Collections.emptyMap();
+		}
+		List<CompletionProposalCategory> candidates= new ArrayList<>();
+		for (CompletionProposalCategory cat : providers) {
+			if (!cat.requiresUIThread(fPartition)) {
+				candidates.add(cat);
+			}
+		}
+		if (candidates.size() < 2) {
+			return Collections.emptyMap();
+		}
+		Map<CompletionProposalCategory, CategoryComputation> computations= new HashMap<>();
+		for (CompletionProposalCategory cat : candidates) {
+			ContentAssistInvocationContext categoryContext= createContext(viewer, offset);
+			if (categoryContext instanceof JavaContentAssistInvocationContext && context instanceof JavaContentAssistInvocationContext) {
+				((JavaContentAssistInvocationContext) categoryContext).setSharedContext((JavaContentAssistInvocationContext) context);
+			}
+			computations.put(cat, new CategoryComputation(cat, categoryContext));
+		}
+		return computations;
+	}
+
+	/**
+	 * Returns the time (as in {@link System#nanoTime()}) until which concurrently computed
+	 * categories are waited for.
+	 *
+	 * @return the deadline, or <code>Long.MAX_VALUE</code> if there is no computation budget
+	 */
+	private static long getComputationDeadline() {
+		int budget= JavaPlugin.getDefault().getPreferenceStore().getInt(PREF_COMPUTATION_BUDGET);
+		if (budget <= 0) {
+			return Long.MAX_VALUE;
+		}
+		return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budget);
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (fgExecutor == null) {
+			ThreadPoolExecutor executor= new ThreadPoolExecutor(MAX_COMPUTATION_THREADS, MAX_COMPUTATION_THREADS, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread= new Thread(runnable, "Java Content Assist Computer"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+			executor.allowCoreThreadTimeOut(true);
+			fgExecutor= executor;
+		}
+		return fgExecutor;
+	}
+
+	/**
+	 * Runs work on the computers of a category in the background, after the previous work on the
+	 * category has finished.
+	 *
+	 * @param category the category
+	 * @param work the work, must not throw exceptions
+	 * @since 3.28
+	 */
+	private static void schedule(CompletionProposalCategory category, Runnable work) {
+		synchronized (fgCategoryWork) {
+			CompletableFuture<Void> previous= fgCategoryWork.get(category);
+			CompletableFuture<Void> scheduled;
+			if (previous == null || previous.isDone()) {
+				scheduled= CompletableFuture.runAsync(work, getExecutor());
+			} else {
+				scheduled= previous.handle((result, exception) -> null).thenRunAsync(work, getExecutor());
+			}
+			fgCategoryWork.put(category, scheduled);
+		}
+	}
+
+	/**
+	 * Tells whether work on the computers of a category is scheduled or running in the background.
+	 *
+	 * @param category the category
+	 * @return <code>true</code> if the computers of the category must not be called now
+	 * @since 3.28
+	 */
+	private static boolean isComputing(CompletionProposalCategory category) {
+		synchronized (fgCategoryWork) {
+			CompletableFuture<Void> work= fgCategoryWork.get(category);
+			return work != null && !work.isDone();
+		}
+	}
+
+	/**
+	 * Prints the collected latencies to <code>System.err</code>.
+	 *
+	 * @since 3.28
+	 */
+	private void printLatencies() {
+		System.err.println("Code Assist Latencies"); //$NON-NLS-1$
+		System.err.println("  " + SETUP_LATENCIES); //$NON-NLS-1$
+		System.err.println("  " + COLLECT_LATENCIES); //$NON-NLS-1$
+		System.err.println("  " + SORT_LATENCIES); //$NON-NLS-1$
+		for (CompletionProposalComputerDescriptor desc : fComputerRegistry.getProposalComputerDescriptors(fPartition)) {
+			LatencyHistogram latencies= desc.getLatencies();
+			if (latencies.getCount() > 0) {
+				System.err.println("  " + latencies); //$NON-NLS-1$
+			}
+		}
+	}
+
 	/**
 	 * Filters and sorts the proposals. The passed list may be modified
 	 * and returned, or a new list may be created and returned.
@@ -90,7 +90,7 @@ public class JavaTypeCompletionProposalComputer extends JavaCompletionProposalCo
 					}
 
 					// insert history types
-					List<String> history= JavaPlugin.getDefault().getContentAssistHistory().getHistory(expectedType.getFullyQualifiedName()).getTypes();
+					List<String> history= JavaPlugin.getDefault().getContentAssistHistory(javaContext.getProject()).getHistory(expectedType.getFullyQualifiedName()).getTypes();
 					relevance-= history.size() + 1;
 					for (String type : history) {
 						if (proposed.contains(type))
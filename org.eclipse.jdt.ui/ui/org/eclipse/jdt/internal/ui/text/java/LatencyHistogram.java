@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.java;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A thread safe histogram of operation latencies. Samples are sorted into buckets of
+ * exponentially growing width: bucket <code>i</code> counts samples that took less than
+ * <code>2^i</code> milliseconds, the last bucket counts everything else.
+ *
+ * @since 3.28
+ */
+public final class LatencyHistogram {
+
+	private static final int BUCKET_COUNT= 15;
+
+	private final String fName;
+	private final AtomicLongArray fBuckets= new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong fCount= new AtomicLong();
+	private final AtomicLong fTotalNanos= new AtomicLong();
+	private final AtomicLong fMaxNanos= new AtomicLong();
+
+	/**
+	 * Creates a new histogram.
+	 *
+	 * @param name the name used when printing the histogram
+	 */
+	public LatencyHistogram(String name) {
+		fName= name;
+	}
+
+	/**
+	 * Returns the name of this histogram.
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return fName;
+	}
+
+	/**
+	 * Records a sample.
+	 *
+	 * @param nanos the latency of the sample in nanoseconds
+	 */
+	public void record(long nanos) {
+		if (nanos < 0)
+			nanos= 0;
+		fBuckets.incrementAndGet(bucketOf(TimeUnit.NANOSECONDS.toMillis(nanos)));
+		fCount.incrementAndGet();
+		fTotalNanos.addAndGet(nanos);
+		long max;
+		do {
+			max= fMaxNanos.get();
+		} while (nanos > max && !fMaxNanos.compareAndSet(max, nanos));
+	}
+
+	private static int bucketOf(long millis) {
+		int bucket= 0;
+		while (bucket < BUCKET_COUNT - 1 && millis >= 1L << bucket)
+			bucket++;
+		return bucket;
+	}
+
+	/**
+	 * Returns the number of recorded samples.
+	 *
+	 * @return the number of samples
+	 */
+	public long getCount() {
+		return fCount.get();
+	}
+
+	/**
+	 * Returns the mean latency in milliseconds.
+	 *
+	 * @return the mean latency, <code>0</code> if there are no samples
+	 */
+	public double getMeanMillis() {
+		long count= fCount.get();
+		if (count == 0)
+			return 0;
+		return fTotalNanos.get() / (count * 1e6);
+	}
+
+	/**
+	 * Returns the maximal latency in milliseconds.
+	 *
+	 * @return the maximal latency
+	 */
+	public long getMaxMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(fMaxNanos.get());
+	}
+
+	/**
+	 * Returns an upper bound for the given percentile in milliseconds, i.e. the exclusive upper
+	 * bound of the bucket that contains the percentile. For the last bucket, the maximal latency is
+	 * returned.
+	 *
+	 * @param percentile the percentile in <code>[0, 1]</code>
+	 * @return the upper bound of the percentile
+	 */
+	public long getPercentileMillis(double percentile) {
+		long count= fCount.get();
+		if (count == 0)
+			return 0;
+		long threshold= (long) Math.ceil(count * percentile);
+		long seen= 0;
+		for (int i= 0; i < BUCKET_COUNT - 1; i++) {
+			seen+= fBuckets.get(i);
+			if (seen >= threshold)
+				return 1L << i;
+		}
+		return getMaxMillis();
+	}
+
+	/**
+	 * Discards all samples.
+	 */
+	public void reset() {
+		for (int i= 0; i < BUCKET_COUNT; i++)
+			fBuckets.set(i, 0);
+		fCount.set(0);
+		fTotalNanos.set(0);
+		fMaxNanos.set(0);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buf= new StringBuilder();
+		buf.append(fName).append(": n=").append(getCount()); //$NON-NLS-1$
+		buf.append(", mean=").append(String.format("%.1f", Double.valueOf(getMeanMillis()))).append("ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		buf.append(", p50<").append(getPercentileMillis(0.5)).append("ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		buf.append(", p90<").append(getPercentileMillis(0.9)).append("ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		buf.append(", p99<").append(getPercentileMillis(0.99)).append("ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		buf.append(", max=").append(getMaxMillis()).append("ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		return buf.toString();
+	}
+}
@@ -249,7 +249,7 @@ public class LazyJavaTypeCompletionProposal extends LazyJavaCompletionProposal {
 		IType lhs= fInvocationContext.getExpectedType();
 		IType rhs= (IType) getJavaElement();
 		if (lhs != null && rhs != null)
-			JavaPlugin.getDefault().getContentAssistHistory().remember(lhs, rhs);
+			JavaPlugin.getDefault().getContentAssistHistory(fInvocationContext.getProject()).remember(lhs, rhs);
 
 		QualifiedTypeNameHistory.remember(getQualifiedTypeName());
 	}
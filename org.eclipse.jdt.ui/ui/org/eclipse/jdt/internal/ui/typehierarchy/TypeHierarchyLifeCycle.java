@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -53,6 +53,13 @@ import org.eclipse.jdt.internal.ui.JavaPlugin;
 
 /**
  * Manages a type hierarchy, to keep it refreshed, and to allow it to be shared.
+ * <p>
+ * For the type hierarchy view, changes that affect the hierarchy are not applied immediately.
+ * The view keeps showing the current hierarchy, marked as {@link #isStale() stale}, until a new
+ * hierarchy has been computed in the background after changes have stopped for a short time. For
+ * the hierarchy of a single type, deltas are checked first: edits that keep the supertypes of all
+ * types in the changed compilation units do not trigger a recomputation at all.
+ * </p>
  */
 public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IElementChangedListener {
 
@@ -84,6 +91,59 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 */
 	private boolean fRefreshJobCanceledExplicitly= true;
 
+	/**
+	 * Time after the last structural change before the hierarchy is recomputed, in milliseconds.
+	 *
+	 * @since 3.28
+	 */
+	private static final long REFRESH_DELAY= 500;
+
+	/**
+	 * The job that requests the recomputation of the hierarchy after structural changes, only used
+	 * for the type hierarchy view.
+	 *
+	 * @since 3.28
+	 */
+	private Job fDelayedRefreshJob;
+
+	/**
+	 * Set when the type hierarchy reported a change. The element changed event that caused the
+	 * report decides whether the structure of the hierarchy is affected.
+	 *
+	 * @since 3.28
+	 */
+	private volatile boolean fVerifyHierarchyChange;
+
+	/**
+	 * Set when a change reported by the type hierarchy did not affect its structure. The type
+	 * hierarchy does not report further changes until it is refreshed, so all following deltas are
+	 * checked here.
+	 *
+	 * @since 3.28
+	 */
+	private volatile boolean fHierarchyChangeAbsorbed;
+
+	/**
+	 * Set when a structural change has been detected and a refresh has been requested.
+	 *
+	 * @since 3.28
+	 */
+	private volatile boolean fStructuralChangePending;
+
+	/**
+	 * Whether the shown hierarchy is known to be outdated.
+	 *
+	 * @since 3.28
+	 */
+	private volatile boolean fStale;
+
+	/**
+	 * Checks the deltas against the current hierarchy, created when the first delta is checked.
+	 *
+	 * @since 3.28
+	 */
+	private TypeHierarchyStructureChecker fStructureChecker;
+
 	/**
 	 * Creates the type hierarchy life cycle.
 	 *
@@ -118,6 +178,7 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 
 
 	public void freeHierarchy() {
+		resetChangeTracking();
 		if (fHierarchy != null) {
 			fHierarchy.removeTypeHierarchyChangedListener(this);
 			JavaCore.removeElementChangedListener(this);
@@ -221,8 +282,10 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 						@Override
 						public IStatus run(IProgressMonitor pm) {
 							pm.beginTask(label, LONG);
+							boolean computed= false;
 							try {
 								doHierarchyRefreshBackground(elements, pm);
+								computed= true;
 							} catch (OperationCanceledException e) {
 								if (fRefreshJobCanceledExplicitly) {
 									fTypeHierarchyViewPart.showEmptyViewer();
@@ -231,7 +294,9 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 							} catch (JavaModelException e) {
 								return e.getStatus();
 							} finally {
-								fHierarchyRefreshNeeded= true;
+								if (!computed) {
+									fHierarchyRefreshNeeded= true;
+								}
 								pm.done();
 							}
 							return Status.OK_STATUS;
@@ -258,8 +323,8 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	}
 
 	/**
-	 * Refreshes the hierarchy in the background and updates the hierarchy viewer asynchronously in
-	 * the UI thread.
+	 * Computes a new hierarchy in the background, then installs it and updates the hierarchy viewer
+	 * asynchronously in the UI thread. The viewers keep showing the current hierarchy until then.
 	 *
 	 * @param elements the java elements on which the hierarchy is computed
 	 * @param pm the progress monitor
@@ -269,21 +334,25 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 * @since 3.6
 	 */
 	protected void doHierarchyRefreshBackground(final IJavaElement[] elements, final IProgressMonitor pm) throws JavaModelException {
-		doHierarchyRefresh(elements, pm);
-		if (!pm.isCanceled()) {
-			Display.getDefault().asyncExec(() -> {
-				synchronized (TypeHierarchyLifeCycle.this) {
-					if (fRefreshHierarchyJob == null) {
-						return;
-					}
-					fRefreshHierarchyJob= null;
-				}
-				if (pm.isCanceled())
-					return;
-				fTypeHierarchyViewPart.setViewersInput();
-				fTypeHierarchyViewPart.updateViewers();
-			});
+		final ITypeHierarchy hierarchy= createTypeHierarchy(elements, pm);
+		if (pm.isCanceled()) {
+			throw new OperationCanceledException();
 		}
+		Display.getDefault().asyncExec(() -> {
+			synchronized (TypeHierarchyLifeCycle.this) {
+				if (fRefreshHierarchyJob == null) {
+					return;
+				}
+				fRefreshHierarchyJob= null;
+			}
+			if (pm.isCanceled()) {
+				fHierarchyRefreshNeeded= true;
+				return;
+			}
+			installHierarchy(hierarchy, elements);
+			fTypeHierarchyViewPart.setViewersInput();
+			fTypeHierarchyViewPart.updateViewers();
+		});
 	}
 
 	private ITypeHierarchy createTypeHierarchy(IJavaElement[] elements, IProgressMonitor pm) throws JavaModelException {
@@ -335,6 +404,39 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 		fHierarchy.addTypeHierarchyChangedListener(this);
 		JavaCore.addElementChangedListener(this);
 		fHierarchyRefreshNeeded= false;
+		resetChangeTracking();
+	}
+
+	/**
+	 * Replaces the hierarchy by a newly computed one.
+	 *
+	 * @param hierarchy the new hierarchy
+	 * @param elements the input elements of the new hierarchy
+	 * @since 3.28
+	 */
+	private void installHierarchy(ITypeHierarchy hierarchy, IJavaElement[] elements) {
+		// to ensure the order of the two listeners always remove / add listeners on operations
+		// on type hierarchies
+		if (fHierarchy != null) {
+			fHierarchy.removeTypeHierarchyChangedListener(this);
+			JavaCore.removeElementChangedListener(this);
+		}
+		fHierarchy= hierarchy;
+		fInputElements= elements;
+		fHierarchy.addTypeHierarchyChangedListener(this);
+		JavaCore.addElementChangedListener(this);
+		fHierarchyRefreshNeeded= false;
+		resetChangeTracking();
+	}
+
+	/**
+	 * Returns whether the hierarchy is known to be outdated and will be recomputed soon.
+	 *
+	 * @return <code>true</code> if the hierarchy is outdated
+	 * @since 3.28
+	 */
+	public boolean isStale() {
+		return fStale;
 	}
 
 	/*
@@ -342,8 +444,86 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 */
 	@Override
 	public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
-	 	fHierarchyRefreshNeeded= true;
- 		fireChange(null);
+		if (fTypeHierarchyViewPart == null) {
+			fHierarchyRefreshNeeded= true;
+			fireChange(null);
+		} else {
+			if (canCheckStructuralChanges()) {
+				fVerifyHierarchyChange= true;
+			} else {
+				fStructuralChangePending= true;
+			}
+			scheduleDelayedRefresh();
+		}
+	}
+
+	private boolean canCheckStructuralChanges() {
+		IJavaElement[] inputElements= fInputElements;
+		return fHierarchy != null && inputElements != null && inputElements.length == 1 && inputElements[0].getElementType() == IJavaElement.TYPE;
+	}
+
+	private synchronized void scheduleDelayedRefresh() {
+		if (fDelayedRefreshJob == null) {
+			fDelayedRefreshJob= new Job(TypeHierarchyMessages.TypeHierarchyLifeCycle_delayedRefresh) {
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					fHierarchyRefreshNeeded= true;
+					fireChange(null);
+					return Status.OK_STATUS;
+				}
+			};
+			fDelayedRefreshJob.setSystem(true);
+		}
+		// rescheduling a sleeping job restarts the delay
+		fDelayedRefreshJob.schedule(REFRESH_DELAY);
+		setStale(true);
+	}
+
+	private synchronized void cancelDelayedRefresh() {
+		if (fDelayedRefreshJob != null && fDelayedRefreshJob.cancel()) {
+			setStale(false);
+		}
+	}
+
+	private void resetChangeTracking() {
+		synchronized (this) {
+			if (fDelayedRefreshJob != null) {
+				fDelayedRefreshJob.cancel();
+			}
+		}
+		fVerifyHierarchyChange= false;
+		fHierarchyChangeAbsorbed= false;
+		fStructuralChangePending= false;
+		fStructureChecker= null;
+		setStale(false);
+	}
+
+	private void setStale(boolean stale) {
+		if (fStale != stale) {
+			fStale= stale;
+			if (fTypeHierarchyViewPart != null) {
+				fTypeHierarchyViewPart.updateStaleState();
+			}
+		}
+	}
+
+	/**
+	 * Checks whether a delta affects the structure of the hierarchy of a single type, see
+	 * {@link TypeHierarchyStructureChecker}.
+	 *
+	 * @param delta the delta
+	 * @return <code>false</code> if the hierarchy is not affected by the delta
+	 * @since 3.28
+	 */
+	private boolean isStructuralChange(IJavaElementDelta delta) {
+		ITypeHierarchy hierarchy= fHierarchy;
+		if (hierarchy == null) {
+			return true;
+		}
+		if (fStructureChecker == null) {
+			fStructureChecker= new TypeHierarchyStructureChecker(hierarchy);
+		}
+		return fStructureChecker.isStructuralChange(delta);
 	}
 
 	/*
@@ -351,6 +531,21 @@ public class TypeHierarchyLifeCycle implements ITypeHierarchyChangedListener, IE
 	 */
 	@Override
 	public void elementChanged(ElementChangedEvent event) {
+		if (fVerifyHierarchyChange) {
+			fVerifyHierarchyChange= false;
+			if (isStructuralChange(event.getDelta())) {
+				fStructuralChangePending= true;
+			} else {
+				fHierarchyChangeAbsorbed= true;
+				cancelDelayedRefresh();
+			}
+		} else if (fHierarchyChangeAbsorbed && !fStructuralChangePending) {
+			if (isStructuralChange(event.getDelta())) {
+				fStructuralChangePending= true;
+				scheduleDelayedRefresh();
+			}
+		}
+
 		if (fChangeListeners.isEmpty()) {
 			return;
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -79,12 +79,14 @@ public final class TypeHierarchyMessages extends NLS {
 	public static String TypeHierarchyViewPart_ws_description;
 	public static String TypeHierarchyViewPart_ws_description2;
 	public static String TypeHierarchyViewPart_ws_description_more;
+	public static String TypeHierarchyViewPart_stale_description;
 	public static String TypeHierarchyViewPart_ws_tooltip;
 	public static String TypeHierarchyViewPart_ws_tooltip2;
 	public static String TypeHierarchyViewPart_ws_tooltip_more;
 	public static String TypeHierarchyViewPart_restoreinput;
 	public static String TypeHierarchyViewPart_layout_submenu;
 	public static String TypeHierarchyLifeCycle_computeInput;
+	public static String TypeHierarchyLifeCycle_delayedRefresh;
 	public static String ToggleViewAction_subtypes_label;
 	public static String ToggleViewAction_subtypes_tooltip;
 	public static String ToggleViewAction_subtypes_description;
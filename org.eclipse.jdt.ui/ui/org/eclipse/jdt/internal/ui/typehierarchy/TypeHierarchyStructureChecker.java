@@ -0,0 +1,298 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.typehierarchy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
+
+/**
+ * Checks whether a delta affects the structure of the hierarchy of a single type, i.e. whether it
+ * may add or remove types or change the supertypes of a type. The check is conservative: declared
+ * supertype names are resolved in the context of their type and compared with the qualified names
+ * of the types in the hierarchy, and changes of the imports or the package declaration of a
+ * compilation unit that may declare hierarchy types are always considered structural.
+ *
+ * @since 3.28
+ */
+public final class TypeHierarchyStructureChecker {
+
+	private final ITypeHierarchy fHierarchy;
+
+	/**
+	 * The types of the hierarchy by compilation unit, and the qualified and simple names of the
+	 * types that a new type can extend to join the hierarchy, i.e. the focus type and its subtypes,
+	 * computed when the first delta is checked.
+	 */
+	private Map<ICompilationUnit, List<IType>> fTypesByUnit;
+	private Set<String> fQualifiedNames;
+	private Set<String> fSimpleNames;
+
+	/**
+	 * Creates a checker for the current state of a hierarchy.
+	 *
+	 * @param hierarchy the hierarchy
+	 */
+	public TypeHierarchyStructureChecker(ITypeHierarchy hierarchy) {
+		fHierarchy= hierarchy;
+	}
+
+	/**
+	 * Checks whether a delta affects the structure of the hierarchy.
+	 *
+	 * @param delta the delta
+	 * @return <code>false</code> if the hierarchy is not affected by the delta
+	 */
+	public boolean isStructuralChange(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.JAVA_MODEL:
+				return isStructuralChildrenChange(delta);
+			case IJavaElement.JAVA_PROJECT:
+			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
+			case IJavaElement.PACKAGE_FRAGMENT:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & ~(IJavaElementDelta.F_CHILDREN | IJavaElementDelta.F_CONTENT)) != 0) {
+					return true;
+				}
+				return isStructuralChildrenChange(delta);
+			case IJavaElement.COMPILATION_UNIT:
+				ICompilationUnit cu= (ICompilationUnit) element;
+				if (!JavaModelUtil.isPrimary(cu)) {
+					return false;
+				}
+				return isStructuralChange(cu, hasDeclarationChange(delta));
+			default:
+				return true;
+		}
+	}
+
+	private boolean isStructuralChildrenChange(IJavaElementDelta delta) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (isStructuralChange(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether the imports or the package declaration of a compilation unit changed, which
+	 * may change the types its supertype names refer to.
+	 */
+	private static boolean hasDeclarationChange(IJavaElementDelta delta) {
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			switch (child.getElement().getElementType()) {
+				case IJavaElement.IMPORT_CONTAINER:
+				case IJavaElement.IMPORT_DECLARATION:
+				case IJavaElement.PACKAGE_DECLARATION:
+					return true;
+				default:
+					break;
+			}
+		}
+		return false;
+	}
+
+	private boolean isStructuralChange(ICompilationUnit cu, boolean importsChanged) {
+		if (fTypesByUnit == null) {
+			Map<ICompilationUnit, List<IType>> typesByUnit= new HashMap<>();
+			Set<String> qualifiedNames= new HashSet<>();
+			Set<String> simpleNames= new HashSet<>();
+			for (IType type : fHierarchy.getAllTypes()) {
+				ICompilationUnit unit= type.getCompilationUnit();
+				if (unit != null) {
+					typesByUnit.computeIfAbsent(unit, u -> new ArrayList<>()).add(type);
+				}
+			}
+			IType focus= fHierarchy.getType();
+			// a type outside of the hierarchy can only become a subtype, the supertypes of the
+			// focus type change only with the supertypes of a type in the hierarchy
+			IType[] extensibleTypes= focus != null ? fHierarchy.getAllSubtypes(focus) : fHierarchy.getAllTypes();
+			for (IType type : extensibleTypes) {
+				qualifiedNames.add(type.getFullyQualifiedName('.'));
+				simpleNames.add(type.getElementName());
+			}
+			if (focus != null) {
+				qualifiedNames.add(focus.getFullyQualifiedName('.'));
+				simpleNames.add(focus.getElementName());
+			}
+			fTypesByUnit= typesByUnit;
+			fQualifiedNames= qualifiedNames;
+			fSimpleNames= simpleNames;
+		}
+		List<IType> hierarchyTypes= fTypesByUnit.get(cu);
+		if (hierarchyTypes != null) {
+			if (importsChanged) {
+				return true;
+			}
+			for (IType type : hierarchyTypes) {
+				if (!type.exists()) {
+					return true;
+				}
+			}
+		}
+		if (!cu.exists()) {
+			return false;
+		}
+		try {
+			return hasStructuralChange(cu, importsChanged);
+		} catch (JavaModelException e) {
+			return true;
+		}
+	}
+
+	private boolean hasStructuralChange(IParent parent, boolean importsChanged) throws JavaModelException {
+		for (IJavaElement child : parent.getChildren()) {
+			if (child instanceof IType) {
+				IType type= (IType) child;
+				if (fHierarchy.contains(type)) {
+					if (!hasSameSupertypes(type)) {
+						return true;
+					}
+				} else if (extendsTypeInHierarchy(type, importsChanged)) {
+					return true;
+				}
+			}
+			// local and anonymous types
+			if (child instanceof IParent && hasStructuralChange((IParent) child, importsChanged)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasSameSupertypes(IType type) throws JavaModelException {
+		String superclassName= type.getSuperclassName();
+		IType superclass= fHierarchy.getSuperclass(type);
+		if (type.isAnonymous()) {
+			// the instantiated type is either the superclass or the only super interface
+			IType[] superInterfaces= fHierarchy.getSuperInterfaces(type);
+			IType instantiated= superInterfaces.length == 1 ? superInterfaces[0] : superclass;
+			return superclassName != null && instantiated != null && instantiated.getFullyQualifiedName('.').equals(resolve(type, superclassName));
+		}
+		if (superclassName == null) {
+			// implicit superclass: java.lang.Object, Enum or Record
+			if (superclass != null && !"java.lang".equals(superclass.getPackageFragment().getElementName())) { //$NON-NLS-1$
+				return false;
+			}
+		} else if (superclass == null || !superclass.getFullyQualifiedName('.').equals(resolve(type, superclassName))) {
+			return false;
+		}
+		if (type.isAnnotation()) {
+			return true;
+		}
+		Set<String> declared= new HashSet<>();
+		for (String name : type.getSuperInterfaceNames()) {
+			String resolved= resolve(type, name);
+			if (resolved == null) {
+				return false;
+			}
+			declared.add(resolved);
+		}
+		IType[] superInterfaces= fHierarchy.getSuperInterfaces(type);
+		Set<String> known= new HashSet<>();
+		for (IType superInterface : superInterfaces) {
+			known.add(superInterface.getFullyQualifiedName('.'));
+		}
+		return declared.size() == superInterfaces.length && declared.equals(known);
+	}
+
+	private boolean extendsTypeInHierarchy(IType type, boolean importsChanged) throws JavaModelException {
+		String superclassName= type.getSuperclassName();
+		if (superclassName == null) {
+			String implicitSuperclass= getImplicitSuperclassName(type);
+			if (implicitSuperclass != null && fQualifiedNames.contains(implicitSuperclass)) {
+				return true;
+			}
+		} else if (isTypeInHierarchy(type, superclassName, importsChanged)) {
+			return true;
+		}
+		for (String name : type.getSuperInterfaceNames()) {
+			if (isTypeInHierarchy(type, name, importsChanged)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static String getImplicitSuperclassName(IType type) throws JavaModelException {
+		if (type.isInterface()) {
+			return null;
+		}
+		if (type.isEnum()) {
+			return "java.lang.Enum"; //$NON-NLS-1$
+		}
+		if (type.isRecord()) {
+			return "java.lang.Record"; //$NON-NLS-1$
+		}
+		return "java.lang.Object"; //$NON-NLS-1$
+	}
+
+	private boolean isTypeInHierarchy(IType type, String typeName, boolean importsChanged) throws JavaModelException {
+		if (!fSimpleNames.contains(getSimpleName(typeName))) {
+			return false;
+		}
+		if (importsChanged) {
+			// the hierarchy may still be based on the previous imports
+			return true;
+		}
+		String resolved= resolve(type, typeName);
+		return resolved == null || fQualifiedNames.contains(resolved);
+	}
+
+	/**
+	 * Resolves a type name in the context of a type.
+	 *
+	 * @param type the type in which the name is used
+	 * @param typeName the type name as it appears in the source, may have type arguments
+	 * @return the fully qualified name, or <code>null</code> if the name could not be resolved
+	 *         unambiguously
+	 * @throws JavaModelException if the type does not exist
+	 */
+	private static String resolve(IType type, String typeName) throws JavaModelException {
+		IType context= type;
+		while (context != null && (context.isLocal() || context.isAnonymous())) {
+			context= context.getDeclaringType();
+		}
+		if (context == null) {
+			return null;
+		}
+		int typeArguments= typeName.indexOf('<');
+		String erasure= (typeArguments != -1 ? typeName.substring(0, typeArguments) : typeName).trim();
+		String[][] resolved= context.resolveType(erasure);
+		if (resolved == null || resolved.length != 1) {
+			return null;
+		}
+		return JavaModelUtil.concatenateName(resolved[0][0], resolved[0][1]);
+	}
+
+	private static String getSimpleName(String typeName) {
+		int typeArguments= typeName.indexOf('<');
+		String erasure= typeArguments != -1 ? typeName.substring(0, typeArguments) : typeName;
+		return erasure.substring(erasure.lastIndexOf('.') + 1).trim();
+	}
+}
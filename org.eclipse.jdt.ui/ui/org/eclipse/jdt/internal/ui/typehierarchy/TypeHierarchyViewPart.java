@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1384,10 +1384,30 @@ public class TypeHierarchyViewPart extends ViewPart implements ITypeHierarchyVie
 			description= ""; //$NON-NLS-1$
 			tooltip= getPartName();
 		}
+		if (fHierarchyLifeCycle.isStale() && !description.isEmpty()) {
+			description= Messages.format(TypeHierarchyMessages.TypeHierarchyViewPart_stale_description, description);
+		}
 		setContentDescription(description);
 		setTitleToolTip(tooltip);
 	}
 
+	/**
+	 * Called by the hierarchy life cycle when the shown hierarchy became outdated or has been
+	 * updated. Can be called from any thread.
+	 *
+	 * @since 3.28
+	 */
+	void updateStaleState() {
+		Display display= getDisplay();
+		if (display != null && !display.isDisposed()) {
+			display.asyncExec(() -> {
+				if (fPagebook != null && !fPagebook.isDisposed()) {
+					updateToolTipAndDescription();
+				}
+			});
+		}
+	}
+
 	private void updateToolbarButtons() {
 		boolean isNull= fInputElements == null;
 		boolean isType= !isNull && fInputElements.length == 1 && fInputElements[0] instanceof IType;
@@ -0,0 +1,309 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.viewsupport;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.jface.util.IPropertyChangeListener;
+import org.eclipse.jface.util.PropertyChangeEvent;
+import org.eclipse.jface.viewers.StyledString;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.ui.JavaElementLabels;
+
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+
+/**
+ * A cache of the labels and image descriptors of Java elements, shared by all Java viewers. Labels
+ * are cached by element and label flags, image descriptors by element and image flags. Decorations
+ * are not cached, they are applied by the label providers on each request.
+ * <p>
+ * Entries are removed when a Java element delta reports a change of the element or of one of its
+ * ancestors, and all entries are removed when a Java UI preference changes, since labels depend on
+ * the appearance preferences. The cache holds at most {@link #MAX_ELEMENTS} elements, the least
+ * recently used elements are removed first.
+ * </p>
+ *
+ * @since 3.28
+ */
+public final class JavaElementLabelCache implements IElementChangedListener, IPropertyChangeListener {
+
+	private static final int MAX_ELEMENTS= 5000;
+
+	/**
+	 * Delta flags of changes that affect the labels of all descendants.
+	 */
+	private static final int SUBTREE_FLAGS= IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_SOURCEATTACHED | IJavaElementDelta.F_SOURCEDETACHED | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED;
+
+	/**
+	 * The number of lookups after which the statistics are printed if debugging is enabled.
+	 */
+	private static final long DEBUG_INTERVAL= 10000;
+
+	private static final class Entry {
+		final Map<Long, String> fTextLabels= new HashMap<>(2);
+		final Map<Long, StyledString> fStyledLabels= new HashMap<>(2);
+		final Map<Integer, ImageDescriptor> fImageDescriptors= new HashMap<>(2);
+	}
+
+	private final Map<IJavaElement, Entry> fEntries= new LinkedHashMap<>(256, 0.75f, true) {
+		private static final long serialVersionUID= 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IJavaElement, Entry> eldest) {
+			return size() > MAX_ELEMENTS;
+		}
+	};
+
+	/**
+	 * Incremented when entries are removed, so that a value computed concurrently to a change is not
+	 * stored.
+	 */
+	private long fGeneration;
+
+	private final AtomicLong fHits= new AtomicLong();
+	private final AtomicLong fMisses= new AtomicLong();
+
+	private IPreferenceStore fPreferenceStore;
+
+	public JavaElementLabelCache() {
+		JavaCore.addElementChangedListener(this, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		fPreferenceStore= JavaPlugin.getDefault().getPreferenceStore();
+		fPreferenceStore.addPropertyChangeListener(this);
+	}
+
+	public void dispose() {
+		JavaCore.removeElementChangedListener(this);
+		if (fPreferenceStore != null) {
+			fPreferenceStore.removePropertyChangeListener(this);
+			fPreferenceStore= null;
+		}
+		if (JavaPlugin.DEBUG_LABEL_CACHE)
+			System.out.println(this);
+		clear();
+	}
+
+	/**
+	 * Returns the label of an element, see {@link JavaElementLabels#getElementLabel(IJavaElement, long)}.
+	 *
+	 * @param element the element
+	 * @param flags the rendering flags
+	 * @return the label
+	 */
+	public String getTextLabel(IJavaElement element, long flags) {
+		Long key= Long.valueOf(flags);
+		long generation;
+		synchronized (fEntries) {
+			Entry entry= fEntries.get(element);
+			String label= entry != null ? entry.fTextLabels.get(key) : null;
+			if (label != null) {
+				hit();
+				return label;
+			}
+			generation= fGeneration;
+		}
+		miss();
+		String label= JavaElementLabels.getElementLabel(element, flags);
+		synchronized (fEntries) {
+			if (generation == fGeneration)
+				getEntry(element).fTextLabels.put(key, label);
+		}
+		return label;
+	}
+
+	/**
+	 * Returns the styled label of an element, see
+	 * {@link JavaElementLabels#getStyledElementLabel(IJavaElement, long)}.
+	 *
+	 * @param element the element
+	 * @param flags the rendering flags
+	 * @return a new styled label, the caller may modify it
+	 */
+	public StyledString getStyledTextLabel(IJavaElement element, long flags) {
+		Long key= Long.valueOf(flags);
+		long generation;
+		synchronized (fEntries) {
+			Entry entry= fEntries.get(element);
+			StyledString label= entry != null ? entry.fStyledLabels.get(key) : null;
+			if (label != null) {
+				hit();
+				return copy(label);
+			}
+			generation= fGeneration;
+		}
+		miss();
+		StyledString label= JavaElementLabels.getStyledElementLabel(element, flags);
+		synchronized (fEntries) {
+			if (generation == fGeneration)
+				getEntry(element).fStyledLabels.put(key, copy(label));
+		}
+		return label;
+	}
+
+	/**
+	 * Returns the image descriptor of an element, see
+	 * {@link JavaElementImageProvider#getJavaImageDescriptor(IJavaElement, int)}.
+	 *
+	 * @param element the element
+	 * @param flags the image flags
+	 * @param provider the provider that computes the descriptor if it is not cached
+	 * @return the image descriptor
+	 */
+	public ImageDescriptor getImageDescriptor(IJavaElement element, int flags, JavaElementImageProvider provider) {
+		Integer key= Integer.valueOf(flags);
+		long generation;
+		synchronized (fEntries) {
+			Entry entry= fEntries.get(element);
+			ImageDescriptor descriptor= entry != null ? entry.fImageDescriptors.get(key) : null;
+			if (descriptor != null) {
+				hit();
+				return descriptor;
+			}
+			generation= fGeneration;
+		}
+		miss();
+		ImageDescriptor descriptor= provider.getJavaImageDescriptor(element, flags);
+		synchronized (fEntries) {
+			if (generation == fGeneration)
+				getEntry(element).fImageDescriptors.put(key, descriptor);
+		}
+		return descriptor;
+	}
+
+	/**
+	 * @return the number of lookups that were answered from the cache
+	 */
+	public long getHitCount() {
+		return fHits.get();
+	}
+
+	/**
+	 * @return the number of lookups that computed the label or image descriptor
+	 */
+	public long getMissCount() {
+		return fMisses.get();
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public void clear() {
+		synchronized (fEntries) {
+			fEntries.clear();
+			fGeneration++;
+		}
+	}
+
+	@Override
+	public void elementChanged(ElementChangedEvent event) {
+		synchronized (fEntries) {
+			fGeneration++;
+			if (!fEntries.isEmpty())
+				processDelta(event.getDelta());
+		}
+	}
+
+	@Override
+	public void propertyChange(PropertyChangeEvent event) {
+		clear();
+	}
+
+	@Override
+	public String toString() {
+		long hits= fHits.get();
+		long lookups= hits + fMisses.get();
+		int size;
+		synchronized (fEntries) {
+			size= fEntries.size();
+		}
+		return "JavaElementLabelCache: " + size + " elements, " + lookups + " lookups, hit rate " + (lookups == 0 ? 0 : hits * 100 / lookups) + "%"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	private void processDelta(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		IJavaElementDelta[] children= delta.getAffectedChildren();
+		int flags= delta.getFlags();
+		boolean fineGrained= (flags & IJavaElementDelta.F_FINE_GRAINED) != 0;
+		boolean contentChanged= (flags & IJavaElementDelta.F_CONTENT) != 0 && !fineGrained;
+		if (delta.getKind() != IJavaElementDelta.CHANGED || contentChanged || (flags & SUBTREE_FLAGS) != 0 || children.length == 0 && !fineGrained) {
+			// the labels of the element and of its descendants may have changed
+			removeSubtree(element);
+			return;
+		}
+		// the label or the image of the element may depend on its children, e.g. for empty packages
+		fEntries.remove(element);
+		for (IJavaElementDelta child : children) {
+			processDelta(child);
+		}
+	}
+
+	private void removeSubtree(IJavaElement element) {
+		if (element.getElementType() == IJavaElement.JAVA_MODEL) {
+			fEntries.clear();
+			return;
+		}
+		for (Iterator<IJavaElement> iter= fEntries.keySet().iterator(); iter.hasNext();) {
+			IJavaElement cached= iter.next();
+			if (element.equals(cached) || isAncestor(element, cached))
+				iter.remove();
+		}
+	}
+
+	private static boolean isAncestor(IJavaElement ancestor, IJavaElement element) {
+		IJavaElement parent= element.getParent();
+		while (parent != null) {
+			if (ancestor.equals(parent))
+				return true;
+			parent= parent.getParent();
+		}
+		return false;
+	}
+
+	private Entry getEntry(IJavaElement element) {
+		return fEntries.computeIfAbsent(element, e -> new Entry());
+	}
+
+	private void hit() {
+		fHits.incrementAndGet();
+		printStatistics();
+	}
+
+	private void miss() {
+		fMisses.incrementAndGet();
+		printStatistics();
+	}
+
+	private void printStatistics() {
+		if (JavaPlugin.DEBUG_LABEL_CACHE && (fHits.get() + fMisses.get()) % DEBUG_INTERVAL == 0)
+			System.out.println(this);
+	}
+
+	private static StyledString copy(StyledString label) {
+		StyledString copy= new StyledString();
+		copy.append(label);
+		return copy;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,11 +17,18 @@ package org.eclipse.jdt.internal.ui.viewsupport;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.ListenerList;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IMarkerDelta;
@@ -41,6 +48,10 @@ import org.eclipse.jface.text.source.IAnnotationModelListenerExtension;
 
 import org.eclipse.ui.PlatformUI;
 
+import org.eclipse.jdt.core.IJavaModelMarker;
+
+import org.eclipse.jdt.launching.JavaRuntime;
+
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.javaeditor.CompilationUnitAnnotationModelEvent;
 
@@ -48,6 +59,11 @@ import org.eclipse.jdt.internal.ui.javaeditor.CompilationUnitAnnotationModelEven
  * Listens to resource deltas and filters for marker changes of type IMarker.PROBLEM
  * Viewers showing error ticks should register as listener to
  * this type.
+ * <p>
+ * Marker changes are collected for a short while and containers whose problem severities did not
+ * change are filtered in the background, then the listeners are notified at most once per
+ * throttling period in the display thread.
+ * </p>
  */
 public class ProblemMarkerManager implements IResourceChangeListener, IAnnotationModelListener , IAnnotationModelListenerExtension {
 
@@ -57,9 +73,11 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	private static class ProjectErrorVisitor implements IResourceDeltaVisitor {
 
 		private HashSet<IResource> fChangedElements;
+		private Set<IResource> fChangedMarkerFiles;
 
-		public ProjectErrorVisitor(HashSet<IResource> changedElements) {
+		public ProjectErrorVisitor(HashSet<IResource> changedElements, Set<IResource> changedMarkerFiles) {
 			fChangedElements= changedElements;
+			fChangedMarkerFiles= changedMarkerFiles;
 		}
 
 		@Override
@@ -78,6 +96,10 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 
 		private void checkInvalidate(IResourceDelta delta, IResource resource) {
 			int kind= delta.getKind();
+			if (resource.getType() == IResource.FILE && (kind == IResourceDelta.REMOVED || (delta.getFlags() & IResourceDelta.MARKERS) != 0)) {
+				// any change can move a marker
+				fChangedMarkerFiles.add(resource);
+			}
 			if (kind == IResourceDelta.REMOVED || kind == IResourceDelta.ADDED || (kind == IResourceDelta.CHANGED && isErrorDelta(delta))) {
 				// invalidate the resource and all parents
 				while (resource.getType() != IResource.ROOT && fChangedElements.add(resource)) {
@@ -104,11 +126,91 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 		}
 	}
 
+	/**
+	 * Checks the containers of resources with marker changes in the background. Containers are
+	 * reported whenever a marker below them changes, which during a build means all the time, but
+	 * their error ticks rarely change. Only the containers whose problem severities changed are
+	 * passed on to the listeners.
+	 */
+	private class MarkerChangeJob extends Job {
+
+		MarkerChangeJob() {
+			super("Java problem marker changes..."); //$NON-NLS-1$
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			fMarkerChangeJobScheduled.set(false);
+			ArrayList<IResource> pending= new ArrayList<>();
+			fPendingMarkerChanges.removeIf(e -> pending.add(e));
+			ArrayList<IResource> changed= new ArrayList<>();
+			for (IResource resource : pending) {
+				if (monitor.isCanceled())
+					return Status.CANCEL_STATUS;
+				if (resource.getType() == IResource.FILE || !resource.isAccessible()) {
+					fContainerSeverities.remove(resource);
+					changed.add(resource);
+				} else {
+					Integer severities= getContainerSeverities(resource);
+					if (severities == null || !severities.equals(fContainerSeverities.put(resource, severities))) {
+						changed.add(resource);
+					}
+				}
+			}
+			if (fResourcesWithMarkerChanges.addAll(changed)) {
+				fireChanges();
+			}
+			return Status.OK_STATUS;
+		}
+
+		/**
+		 * Returns the severities that the error ticks of a container depend on: the maximal
+		 * severity of the problems of its members and of the problems below it, and for projects
+		 * those of the build path problems.
+		 *
+		 * @param container the container
+		 * @return the encoded severities, or <code>null</code> if they cannot be read
+		 */
+		private Integer getContainerSeverities(IResource container) {
+			try {
+				int severities= container.findMaxProblemSeverity(IMarker.PROBLEM, true, IResource.DEPTH_ONE) + 1;
+				severities|= (container.findMaxProblemSeverity(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE) + 1) << 2;
+				if (container.getType() == IResource.PROJECT) {
+					severities|= (container.findMaxProblemSeverity(IJavaModelMarker.BUILDPATH_PROBLEM_MARKER, true, IResource.DEPTH_ZERO) + 1) << 4;
+					severities|= (container.findMaxProblemSeverity(JavaRuntime.JRE_CONTAINER_MARKER, true, IResource.DEPTH_ZERO) + 1) << 6;
+				}
+				return Integer.valueOf(severities);
+			} catch (CoreException e) {
+				// deleted concurrently, report the change
+				return null;
+			}
+		}
+	}
+
+	/** The time in milliseconds during which marker changes are collected before they are checked. */
+	private static final long MARKER_CHANGE_DELAY= 250;
+
 	private final ListenerList<IProblemChangedListener> fListeners= new ListenerList<>();
 
+	private final Set<IResource> fPendingMarkerChanges= ConcurrentHashMap.newKeySet();
+	/** The last reported severities of containers, see {@link MarkerChangeJob}. */
+	private final Map<IResource, Integer> fContainerSeverities= new ConcurrentHashMap<>();
+	private final MarkerChangeJob fMarkerChangeJob= new MarkerChangeJob();
+	private final AtomicBoolean fMarkerChangeJobScheduled= new AtomicBoolean();
+
 	private final Set<IResource> fResourcesWithMarkerChanges= ConcurrentHashMap.newKeySet();
 	private final Set<IResource> fResourcesWithAnnotationChanges= ConcurrentHashMap.newKeySet();
 
+	/**
+	 * The problem marker ranges of the files whose members have been decorated, only maintained
+	 * while there are listeners.
+	 */
+	private final Map<IResource, ProblemMarkerRanges> fMarkerRanges= new ConcurrentHashMap<>();
+	/** Incremented whenever problem markers of files change, to detect ranges read concurrently. */
+	private final AtomicLong fMarkerRangesStamp= new AtomicLong();
+
 	private final Throttler throttledUpdates= new Throttler(PlatformUI.getWorkbench().getDisplay(), Duration.ofMillis(250), this::runPendingUpdates);
 
 	public ProblemMarkerManager() {
@@ -120,17 +222,23 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 	@Override
 	public void resourceChanged(IResourceChangeEvent event) {
 		HashSet<IResource> changedElements= new HashSet<>();
+		Set<IResource> changedMarkerFiles= new HashSet<>();
 
 		try {
 			IResourceDelta delta= event.getDelta();
 			if (delta != null)
-				delta.accept(new ProjectErrorVisitor(changedElements));
+				delta.accept(new ProjectErrorVisitor(changedElements, changedMarkerFiles));
 		} catch (CoreException e) {
 			JavaPlugin.log(e.getStatus());
 		}
+		if (!changedMarkerFiles.isEmpty()) {
+			fMarkerRangesStamp.incrementAndGet();
+			fMarkerRanges.keySet().removeAll(changedMarkerFiles);
+		}
 
-		if (fResourcesWithMarkerChanges.addAll(changedElements)) {
-			fireChanges();
+		if (fPendingMarkerChanges.addAll(changedElements) && fMarkerChangeJobScheduled.compareAndSet(false, true)) {
+			// collect the changes of a while, rescheduling would postpone the job during a build
+			fMarkerChangeJob.schedule(MARKER_CHANGE_DELAY);
 		}
 	}
 
@@ -174,7 +282,40 @@ public class ProblemMarkerManager implements IResourceChangeListener, IAnnotatio
 		if (fListeners.isEmpty()) {
 			JavaPlugin.getWorkspace().removeResourceChangeListener(this);
 			JavaPlugin.getDefault().getCompilationUnitDocumentProvider().removeGlobalAnnotationModelListener(this);
+			fMarkerRangesStamp.incrementAndGet();
+			fMarkerRanges.clear();
+			fMarkerChangeJob.cancel();
+			fMarkerChangeJobScheduled.set(false);
+			fPendingMarkerChanges.clear();
+			fContainerSeverities.clear();
+		}
+	}
+
+	/**
+	 * Returns the maximal severity of the problem markers of a file that start in a range. The
+	 * markers of a file are read and sorted once and kept until they change, as long as there are
+	 * listeners that keep this manager informed about marker changes.
+	 *
+	 * @param file the file
+	 * @param offset the offset of the range
+	 * @param length the length of the range
+	 * @return the maximal severity, or <code>-1</code> if no problem marker starts in the range
+	 * @throws CoreException if the markers cannot be read
+	 * @since 3.28
+	 */
+	public int findMaxProblemSeverity(IResource file, int offset, int length) throws CoreException {
+		ProblemMarkerRanges ranges= fMarkerRanges.get(file);
+		if (ranges == null) {
+			long stamp= fMarkerRangesStamp.get();
+			ranges= ProblemMarkerRanges.create(file);
+			// not tracked without listeners, and outdated if the markers changed while reading
+			if (!fListeners.isEmpty() && stamp == fMarkerRangesStamp.get()) {
+				fMarkerRanges.put(file, ranges);
+				if (stamp != fMarkerRangesStamp.get())
+					fMarkerRanges.remove(file);
+			}
 		}
+		return ranges.getMaxSeverity(offset, length);
 	}
 
 	private void fireChanges() {
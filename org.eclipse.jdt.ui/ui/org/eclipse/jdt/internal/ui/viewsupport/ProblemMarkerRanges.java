@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.viewsupport;
+
+import java.util.Arrays;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+
+/**
+ * The start positions and severities of the problem markers of a file, sorted by position. The
+ * maximal severity of the markers starting in a range is found with two binary searches, using the
+ * number of markers of each severity that start before a position.
+ *
+ * @since 3.28
+ */
+final class ProblemMarkerRanges {
+
+	private static final int[] SEVERITIES= { IMarker.SEVERITY_ERROR, IMarker.SEVERITY_WARNING, IMarker.SEVERITY_INFO };
+
+	/** The sorted start positions of the markers. */
+	private final int[] fStarts;
+	/**
+	 * fCounts[s][i] is the number of markers among the first <code>i</code> with severity
+	 * <code>SEVERITIES[s]</code>.
+	 */
+	private final int[][] fCounts;
+
+	private ProblemMarkerRanges(int[] starts, int[][] counts) {
+		fStarts= starts;
+		fCounts= counts;
+	}
+
+	/**
+	 * Reads the problem markers of a file.
+	 *
+	 * @param file the file
+	 * @return the marker ranges of the file
+	 * @throws CoreException if the markers cannot be read
+	 */
+	static ProblemMarkerRanges create(IResource file) throws CoreException {
+		IMarker[] markers= file.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_ZERO);
+		long[] entries= new long[markers.length];
+		int count= 0;
+		for (IMarker marker : markers) {
+			if (!marker.isSubtypeOf(IMarker.TEXT))
+				continue;
+			int start= marker.getAttribute(IMarker.CHAR_START, -1);
+			int severity= marker.getAttribute(IMarker.SEVERITY, -1);
+			if (start >= 0 && (severity == IMarker.SEVERITY_INFO || severity == IMarker.SEVERITY_WARNING || severity == IMarker.SEVERITY_ERROR)) {
+				// sort by start, the severity is kept in the low bits
+				entries[count++]= ((long) start << 2) | severity;
+			}
+		}
+		Arrays.sort(entries, 0, count);
+		int[] starts= new int[count];
+		int[][] counts= new int[SEVERITIES.length][count + 1];
+		for (int i= 0; i < count; i++) {
+			starts[i]= (int) (entries[i] >>> 2);
+			int severity= (int) (entries[i] & 3);
+			for (int s= 0; s < SEVERITIES.length; s++) {
+				counts[s][i + 1]= counts[s][i] + (SEVERITIES[s] == severity ? 1 : 0);
+			}
+		}
+		return new ProblemMarkerRanges(starts, counts);
+	}
+
+	/**
+	 * Returns the maximal severity of the markers that start in a range.
+	 *
+	 * @param offset the offset of the range
+	 * @param length the length of the range
+	 * @return the maximal severity, or <code>-1</code> if no marker starts in the range
+	 */
+	int getMaxSeverity(int offset, int length) {
+		int from= indexOf(offset);
+		int to= indexOf(offset + length);
+		for (int s= 0; s < SEVERITIES.length; s++) {
+			if (fCounts[s][to] > fCounts[s][from])
+				return SEVERITIES[s];
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the number of markers that start before a position.
+	 *
+	 * @param position the position
+	 * @return the index of the first marker starting at or after <code>position</code>
+	 */
+	private int indexOf(int position) {
+		int low= 0;
+		int high= fStarts.length;
+		while (low < high) {
+			int mid= (low + high) >>> 1;
+			if (fStarts[mid] < position)
+				low= mid + 1;
+			else
+				high= mid;
+		}
+		return low;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,8 +15,13 @@ package org.eclipse.jdt.internal.ui.workingsets;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.IAdaptable;
 
@@ -48,30 +53,95 @@ public class JavaWorkingSetUpdater implements IWorkingSetUpdater, IElementChange
 
 	private List<IWorkingSet> fWorkingSets;
 
+	/**
+	 * The members of the working sets, by working set. A membership is reused as long as the
+	 * elements of its working set do not change.
+	 */
+	private final Map<IWorkingSet, Membership> fMemberships= new IdentityHashMap<>();
+
+	/**
+	 * The elements of a working set with the position of each element, and the projects that
+	 * contain the elements.
+	 */
+	private static class Membership {
+		private final IAdaptable[] fElements;
+		private final Map<Object, Integer> fIndices;
+		private final Set<IProject> fProjects;
+		public Membership(IAdaptable[] elements) {
+			fElements= elements;
+			fIndices= new HashMap<>();
+			fProjects= new HashSet<>();
+			for (int i= 0; i < elements.length; i++) {
+				fIndices.putIfAbsent(elements[i], Integer.valueOf(i));
+				IProject project= getProject(elements[i]);
+				if (project != null)
+					fProjects.add(project);
+			}
+		}
+		private static IProject getProject(IAdaptable element) {
+			if (element instanceof IJavaElement) {
+				IJavaProject javaProject= ((IJavaElement) element).getJavaProject();
+				return javaProject != null ? javaProject.getProject() : null;
+			}
+			IResource resource= element.getAdapter(IResource.class);
+			return resource != null ? resource.getProject() : null;
+		}
+	}
+
+	/**
+	 * The changes of a working set. The elements are copied on the first change, removed elements
+	 * are cleared until the changes are processed, so that positions do not shift.
+	 */
 	private static class WorkingSetDelta {
 		private IWorkingSet fWorkingSet;
-		private List<IAdaptable> fElements;
+		private IAdaptable[] fElements;
+		private Map<Object, Integer> fIndices;
 		private boolean fChanged;
-		public WorkingSetDelta(IWorkingSet workingSet) {
+		public WorkingSetDelta(IWorkingSet workingSet, Membership membership) {
 			fWorkingSet= workingSet;
-			fElements= new ArrayList<>(Arrays.asList(workingSet.getElements()));
+			fElements= membership.fElements;
+			fIndices= membership.fIndices;
 		}
 		public int indexOf(Object element) {
-			return fElements.indexOf(element);
+			Integer index= fIndices.get(element);
+			return index != null ? index.intValue() : -1;
 		}
 		public void set(int index, IAdaptable element) {
-			fElements.set(index, element);
-			fChanged= true;
+			copy();
+			unmap(index);
+			fElements[index]= element;
+			if (element != null)
+				fIndices.putIfAbsent(element, Integer.valueOf(index));
 		}
 		public void remove(int index) {
-			if (fElements.remove(index) != null) {
+			if (fElements[index] != null) {
+				copy();
+				unmap(index);
+				fElements[index]= null;
+			}
+		}
+		private void copy() {
+			if (!fChanged) {
+				fElements= fElements.clone();
+				fIndices= new HashMap<>(fIndices);
 				fChanged= true;
 			}
 		}
-		public void process() {
+		private void unmap(int index) {
+			Object element= fElements[index];
+			if (element != null && Integer.valueOf(index).equals(fIndices.get(element)))
+				fIndices.remove(element);
+		}
+		public boolean process() {
 			if (fChanged) {
-				fWorkingSet.setElements(fElements.toArray(new IAdaptable[fElements.size()]));
+				List<IAdaptable> elements= new ArrayList<>(fElements.length);
+				for (IAdaptable element : fElements) {
+					if (element != null)
+						elements.add(element);
+				}
+				fWorkingSet.setElements(elements.toArray(new IAdaptable[elements.size()]));
 			}
+			return fChanged;
 		}
 	}
 
@@ -93,6 +163,7 @@ public class JavaWorkingSetUpdater implements IWorkingSetUpdater, IElementChange
 		boolean result;
 		synchronized(fWorkingSets) {
 			result= fWorkingSets.remove(workingSet);
+			fMemberships.remove(workingSet);
 		}
 		return result;
 	}
@@ -108,81 +179,120 @@ public class JavaWorkingSetUpdater implements IWorkingSetUpdater, IElementChange
 	public void dispose() {
 		synchronized(fWorkingSets) {
 			fWorkingSets.clear();
+			fMemberships.clear();
 		}
 		JavaCore.removeElementChangedListener(this);
 	}
 
 	@Override
 	public void elementChanged(ElementChangedEvent event) {
-		IWorkingSet[] workingSets;
+		List<WorkingSetDelta> workingSetDeltas= new ArrayList<>();
+		// the projects that contain elements of the working sets, deltas of other projects are skipped
+		Set<IProject> projects= new HashSet<>();
 		synchronized(fWorkingSets) {
-			workingSets= fWorkingSets.toArray(new IWorkingSet[fWorkingSets.size()]);
-		}
-		for (IWorkingSet workingSet : workingSets) {
-			WorkingSetDelta workingSetDelta= new WorkingSetDelta(workingSet);
-			processJavaDelta(workingSetDelta, event.getDelta());
-			IResourceDelta[] resourceDeltas= event.getDelta().getResourceDeltas();
-			if (resourceDeltas != null) {
-				for (IResourceDelta resourceDelta : resourceDeltas) {
-					processResourceDelta(workingSetDelta, resourceDelta);
+			for (IWorkingSet workingSet : fWorkingSets) {
+				Membership membership= getMembership(workingSet);
+				if (membership.fElements.length > 0) {
+					workingSetDeltas.add(new WorkingSetDelta(workingSet, membership));
+					projects.addAll(membership.fProjects);
+				}
+			}
+		}
+		if (workingSetDeltas.isEmpty())
+			return;
+
+		// all working sets are updated in one pass over the delta
+		processJavaDelta(workingSetDeltas, projects, event.getDelta());
+		IResourceDelta[] resourceDeltas= event.getDelta().getResourceDeltas();
+		if (resourceDeltas != null) {
+			for (IResourceDelta resourceDelta : resourceDeltas) {
+				processResourceDelta(workingSetDeltas, projects, resourceDelta);
+			}
+		}
+		for (WorkingSetDelta workingSetDelta : workingSetDeltas) {
+			if (workingSetDelta.process()) {
+				synchronized(fWorkingSets) {
+					fMemberships.remove(workingSetDelta.fWorkingSet);
 				}
 			}
-			workingSetDelta.process();
 		}
 	}
 
-	private void processJavaDelta(WorkingSetDelta result, IJavaElementDelta delta) {
+	/*
+	 * Must be called while holding the lock on fWorkingSets.
+	 */
+	private Membership getMembership(IWorkingSet workingSet) {
+		IAdaptable[] elements= workingSet.getElements();
+		Membership membership= fMemberships.get(workingSet);
+		if (membership == null || !Arrays.equals(membership.fElements, elements)) {
+			membership= new Membership(elements);
+			fMemberships.put(workingSet, membership);
+		}
+		return membership;
+	}
+
+	private void processJavaDelta(List<WorkingSetDelta> result, Set<IProject> projects, IJavaElementDelta delta) {
 		IJavaElement jElement= delta.getElement();
-		int index= result.indexOf(jElement);
+		IJavaProject jProject= jElement.getJavaProject();
+		if (jProject != null && !projects.contains(jProject.getProject()))
+			return;
 		int type= jElement.getElementType();
 		int kind= delta.getKind();
 		int flags= delta.getFlags();
-		if (type == IJavaElement.JAVA_PROJECT && kind == IJavaElementDelta.CHANGED) {
-			if (index != -1 && (flags & IJavaElementDelta.F_CLOSED) != 0) {
-				result.set(index, ((IJavaProject)jElement).getProject());
-			} else if ((flags & IJavaElementDelta.F_OPENED) != 0) {
-				index= result.indexOf(((IJavaProject)jElement).getProject());
-				if (index != -1)
-					result.set(index, jElement);
+		for (WorkingSetDelta workingSetDelta : result) {
+			int index= workingSetDelta.indexOf(jElement);
+			if (type == IJavaElement.JAVA_PROJECT && kind == IJavaElementDelta.CHANGED) {
+				if (index != -1 && (flags & IJavaElementDelta.F_CLOSED) != 0) {
+					workingSetDelta.set(index, ((IJavaProject)jElement).getProject());
+				} else if ((flags & IJavaElementDelta.F_OPENED) != 0) {
+					index= workingSetDelta.indexOf(((IJavaProject)jElement).getProject());
+					if (index != -1)
+						workingSetDelta.set(index, jElement);
+				}
 			}
-		}
-		if (index != -1) {
-			if (kind == IJavaElementDelta.REMOVED) {
-				if ((flags & IJavaElementDelta.F_MOVED_TO) != 0) {
-					result.set(index, delta.getMovedToElement());
-				} else {
-					result.remove(index);
+			if (index != -1) {
+				if (kind == IJavaElementDelta.REMOVED) {
+					if ((flags & IJavaElementDelta.F_MOVED_TO) != 0) {
+						workingSetDelta.set(index, delta.getMovedToElement());
+					} else {
+						workingSetDelta.remove(index);
+					}
 				}
 			}
 		}
 		IResourceDelta[] resourceDeltas= delta.getResourceDeltas();
 		if (resourceDeltas != null) {
 			for (IResourceDelta resourceDelta : resourceDeltas) {
-				processResourceDelta(result, resourceDelta);
+				processResourceDelta(result, projects, resourceDelta);
 			}
 		}
 		for (IJavaElementDelta child : delta.getAffectedChildren()) {
-			processJavaDelta(result, child);
+			processJavaDelta(result, projects, child);
 		}
 	}
 
-	private void processResourceDelta(WorkingSetDelta result, IResourceDelta delta) {
+	private void processResourceDelta(List<WorkingSetDelta> result, Set<IProject> projects, IResourceDelta delta) {
 		IResource resource= delta.getResource();
+		IProject project= resource.getProject();
+		if (project != null && !projects.contains(project))
+			return;
 		int type= resource.getType();
-		int index= result.indexOf(resource);
 		int kind= delta.getKind();
 		int flags= delta.getFlags();
-		if (kind == IResourceDelta.CHANGED && type == IResource.PROJECT && index != -1) {
-			if ((flags & IResourceDelta.OPEN) != 0) {
-				result.set(index, resource);
+		for (WorkingSetDelta workingSetDelta : result) {
+			int index= workingSetDelta.indexOf(resource);
+			if (kind == IResourceDelta.CHANGED && type == IResource.PROJECT && index != -1) {
+				if ((flags & IResourceDelta.OPEN) != 0) {
+					workingSetDelta.set(index, resource);
+				}
 			}
-		}
-		if (index != -1 && kind == IResourceDelta.REMOVED) {
-			if ((flags & IResourceDelta.MOVED_TO) != 0) {
-				result.set(index,
-					ResourcesPlugin.getWorkspace().getRoot().findMember(delta.getMovedToPath()));
-			} else {
-				result.remove(index);
+			if (index != -1 && kind == IResourceDelta.REMOVED) {
+				if ((flags & IResourceDelta.MOVED_TO) != 0) {
+					workingSetDelta.set(index,
+						ResourcesPlugin.getWorkspace().getRoot().findMember(delta.getMovedToPath()));
+				} else {
+					workingSetDelta.remove(index);
+				}
 			}
 		}
 
@@ -191,7 +301,7 @@ public class JavaWorkingSetUpdater implements IWorkingSetUpdater, IElementChange
 			return;
 
 		for (IResourceDelta child : delta.getAffectedChildren()) {
-			processResourceDelta(result, child);
+			processResourceDelta(result, projects, child);
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,11 +15,16 @@ package org.eclipse.jdt.internal.ui.workingsets;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IAdaptable;
 
 import org.eclipse.core.resources.IProject;
@@ -55,24 +60,33 @@ public class OthersWorkingSetUpdater implements IWorkingSetUpdater {
 	private IWorkingSet fWorkingSet;
 	private WorkingSetModel fWorkingSetModel;
 
+	/**
+	 * The projects contained in the other active working sets, or <code>null</code> if the
+	 * elements have not been computed yet.
+	 */
+	private volatile Set<IResource> fCoveredProjects;
+
+	/**
+	 * The projects contained in each of the other active working sets, or <code>null</code> if the
+	 * elements have not been computed yet. The map is replaced, not modified.
+	 */
+	private volatile Map<IWorkingSet, Set<IResource>> fProjectsByWorkingSet;
+
 	private class ResourceChangeListener implements IResourceChangeListener {
 		@Override
 		public void resourceChanged(IResourceChangeEvent event) {
 			if (fWorkingSet == null)
 				return;		// not yet initialized
 			IResourceDelta delta= event.getDelta();
-			IResourceDelta[] affectedChildren= delta.getAffectedChildren(IResourceDelta.ADDED | IResourceDelta.REMOVED, IResource.PROJECT);
-			if (affectedChildren.length > 0) {
-				updateElements();
-			} else {
-				for (IResourceDelta projectDelta : delta.getAffectedChildren(IResourceDelta.CHANGED, IResource.PROJECT)) {
-					if ((projectDelta.getFlags() & IResourceDelta.DESCRIPTION) != 0) {
-						updateElements();
-						// one is enough
-						return;
-					}
+			List<IResourceDelta> projectDeltas= new ArrayList<>(Arrays.asList(delta.getAffectedChildren(IResourceDelta.ADDED | IResourceDelta.REMOVED, IResource.PROJECT)));
+			for (IResourceDelta projectDelta : delta.getAffectedChildren(IResourceDelta.CHANGED, IResource.PROJECT)) {
+				if ((projectDelta.getFlags() & IResourceDelta.DESCRIPTION) != 0) {
+					projectDeltas.add(projectDelta);
 				}
 			}
+			if (!projectDeltas.isEmpty()) {
+				updateProjects(projectDeltas);
+			}
 		}
 	}
 	private IResourceChangeListener fResourceChangeListener;
@@ -83,7 +97,7 @@ public class OthersWorkingSetUpdater implements IWorkingSetUpdater {
 			if (IWorkingSetManager.CHANGE_WORKING_SET_CONTENT_CHANGE.equals(event.getProperty())) {
 				IWorkingSet changedWorkingSet= (IWorkingSet) event.getNewValue();
 				if (changedWorkingSet != fWorkingSet && fWorkingSetModel.isActiveWorkingSet(changedWorkingSet)) {
-					updateElements();
+					updateWorkingSet(changedWorkingSet);
 				}
 			}
 		}
@@ -170,21 +184,127 @@ public class OthersWorkingSetUpdater implements IWorkingSetUpdater {
 		}
 	}
 
+	/**
+	 * Updates the elements for added, removed and changed projects. Only the changed projects are
+	 * checked against the other working sets.
+	 *
+	 * @param projectDeltas the deltas of the projects
+	 */
+	private void updateProjects(List<IResourceDelta> projectDeltas) {
+		Set<IResource> coveredProjects= fCoveredProjects;
+		if (coveredProjects == null) {
+			updateElements();
+			return;
+		}
+		IAdaptable[] oldElements= fWorkingSet.getElements();
+		Map<Object, IAdaptable> elements= getElementsByResource(oldElements);
+		for (IResourceDelta projectDelta : projectDeltas) {
+			IProject project= (IProject) projectDelta.getResource();
+			elements.remove(project);
+			if (projectDelta.getKind() != IResourceDelta.REMOVED && !coveredProjects.contains(project) && project.exists()) {
+				elements.put(project, createElement(project));
+			}
+		}
+		setElements(oldElements, elements.values());
+	}
+
+	/**
+	 * Updates the elements for a content change of another active working set. Only the projects
+	 * added to or removed from that working set are checked against the other working sets. A
+	 * change that keeps the projects, like opening or closing a project, changes nothing.
+	 *
+	 * @param workingSet the changed working set
+	 */
+	private void updateWorkingSet(IWorkingSet workingSet) {
+		Map<IWorkingSet, Set<IResource>> projectsByWorkingSet= fProjectsByWorkingSet;
+		Set<IResource> oldProjects= projectsByWorkingSet != null ? projectsByWorkingSet.get(workingSet) : null;
+		if (oldProjects == null) {
+			updateElements();
+			return;
+		}
+		Set<IResource> newProjects= getProjects(workingSet);
+		if (newProjects.equals(oldProjects)) {
+			return;
+		}
+		Map<IWorkingSet, Set<IResource>> updated= new HashMap<>(projectsByWorkingSet);
+		updated.put(workingSet, newProjects);
+		Set<IResource> coveredProjects= new HashSet<>();
+		for (Set<IResource> projects : updated.values()) {
+			coveredProjects.addAll(projects);
+		}
+		fProjectsByWorkingSet= updated;
+		fCoveredProjects= coveredProjects;
+
+		// the projects added to or removed from the changed working set
+		Set<IResource> changedProjects= new HashSet<>(oldProjects);
+		changedProjects.addAll(newProjects);
+		Set<IResource> keptProjects= new HashSet<>(oldProjects);
+		keptProjects.retainAll(newProjects);
+		changedProjects.removeAll(keptProjects);
+
+		IAdaptable[] oldElements= fWorkingSet.getElements();
+		Map<Object, IAdaptable> elements= getElementsByResource(oldElements);
+		for (IResource project : changedProjects) {
+			if (coveredProjects.contains(project)) {
+				elements.remove(project);
+			} else if (!elements.containsKey(project) && project.exists()) {
+				elements.put(project, createElement((IProject) project));
+			}
+		}
+		setElements(oldElements, elements.values());
+	}
+
+	private static Map<Object, IAdaptable> getElementsByResource(IAdaptable[] elements) {
+		Map<Object, IAdaptable> result= new LinkedHashMap<>();
+		for (IAdaptable element : elements) {
+			IResource resource= element.getAdapter(IResource.class);
+			result.put(resource != null ? resource : element, element);
+		}
+		return result;
+	}
+
+	private static Set<IResource> getProjects(IWorkingSet workingSet) {
+		Set<IResource> projects= new HashSet<>();
+		for (IAdaptable element : workingSet.getElements()) {
+			IResource resource= element.getAdapter(IResource.class);
+			if (resource != null && resource.getType() == IResource.PROJECT) {
+				projects.add(resource);
+			}
+		}
+		return projects;
+	}
+
+	private static IAdaptable createElement(IProject project) {
+		try {
+			if (project.isOpen() && project.hasNature(JavaCore.NATURE_ID))
+				return JavaCore.create(project);
+		} catch (CoreException e) {
+			JavaPlugin.log(e);
+		}
+		return project;
+	}
+
+	private void setElements(IAdaptable[] oldElements, Collection<IAdaptable> newElements) {
+		IAdaptable[] elements= CollectionsUtil.toArray(newElements, IAdaptable.class);
+		// avoid content change notifications if nothing changed
+		if (!Arrays.equals(oldElements, elements)) {
+			fWorkingSet.setElements(elements);
+		}
+	}
+
 	public void updateElements() {
 		Assert.isTrue(fWorkingSet != null && fWorkingSetModel != null); // init and addWorkingSet have happend
 
 		List<IAdaptable> result= new ArrayList<>();
 		Set<IResource> projects= new HashSet<>();
+		Map<IWorkingSet, Set<IResource>> projectsByWorkingSet= new HashMap<>();
 		for (IWorkingSet activeWorkingSet : fWorkingSetModel.getActiveWorkingSets()) {
 			if (activeWorkingSet == fWorkingSet) {
 				continue;
 			}
-			for (IAdaptable element : activeWorkingSet.getElements()) {
-				IResource resource= element.getAdapter(IResource.class);
-				if (resource != null && resource.getType() == IResource.PROJECT) {
-					projects.add(resource);
-				}
-			}
+			Set<IResource> workingSetProjects= getProjects(activeWorkingSet);
+			projectsByWorkingSet.put(activeWorkingSet, workingSetProjects);
+			projects.addAll(workingSetProjects);
 		}
 		IJavaModel model= JavaCore.create(ResourcesPlugin.getWorkspace().getRoot());
 		try {
@@ -201,6 +321,8 @@ public class OthersWorkingSetUpdater implements IWorkingSetUpdater {
 		} catch (JavaModelException e) {
 			JavaPlugin.log(e);
 		}
-		fWorkingSet.setElements(CollectionsUtil.toArray(result, IAdaptable.class));
+		fCoveredProjects= projects;
+		fProjectsByWorkingSet= projectsByWorkingSet;
+		setElements(fWorkingSet.getElements(), result);
 	}
 }
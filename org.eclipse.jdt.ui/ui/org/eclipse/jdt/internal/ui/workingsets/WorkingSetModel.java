@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,8 +18,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IAdaptable;
@@ -130,8 +132,8 @@ public class WorkingSetModel {
 			if (oldElements == null)
 				return null;
 			IAdaptable[] newElements= ws.getElements();
-			List<IAdaptable> toRemove= new ArrayList<>(Arrays.asList(oldElements));
-			List<IAdaptable> toAdd= new ArrayList<>(Arrays.asList(newElements));
+			Set<IAdaptable> toRemove= new LinkedHashSet<>(Arrays.asList(oldElements));
+			Set<IAdaptable> toAdd= new LinkedHashSet<>(Arrays.asList(newElements));
 			computeDelta(toRemove, toAdd, oldElements, newElements);
 			for (IAdaptable iAdaptable : toAdd) {
 				addElement(iAdaptable, ws);
@@ -143,14 +145,14 @@ public class WorkingSetModel {
 				fWorkingSetToElement.put(ws, newElements);
 			return oldElements;
 		}
-		private void computeDelta(List<IAdaptable> toRemove, List<IAdaptable> toAdd, IAdaptable[] oldElements, IAdaptable[] newElements) {
+		private void computeDelta(Set<IAdaptable> toRemove, Set<IAdaptable> toAdd, IAdaptable[] oldElements, IAdaptable[] newElements) {
+			// sets, since working sets of many projects are refreshed on every project change
 			for (IAdaptable oldElement : oldElements) {
 				toAdd.remove(oldElement);
 			}
 			for (IAdaptable newElement : newElements) {
 				toRemove.remove(newElement);
 			}
-
 		}
 		public IWorkingSet getFirstWorkingSet(Object element) {
 			return (IWorkingSet)getFirstElement(fElementToWorkingSet, element);
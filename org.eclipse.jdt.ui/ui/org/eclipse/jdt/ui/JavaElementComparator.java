@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,10 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui;
 
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Arrays;
+
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IPath;
 
@@ -32,6 +36,8 @@ import org.eclipse.jface.viewers.ViewerComparator;
 import org.eclipse.ui.model.IWorkbenchAdapter;
 
 import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IInitializer;
 import org.eclipse.jdt.core.IJarEntryResource;
@@ -89,8 +95,35 @@ public class JavaElementComparator extends ViewerComparator {
 	private static final int JAVAELEMENTS= 50;
 	private static final int OTHERS= 51;
 
+	/**
+	 * The number of elements from which the sort keys are computed before sorting.
+	 */
+	private static final int SORT_KEYS_THRESHOLD= 200;
+
+	/**
+	 * The category and name of an element, computed once when sorting many elements.
+	 */
+	private static final class SortKey {
+		final Object fElement;
+		final int fCategory;
+		final String fName;
+		final CollationKey fCollationKey;
+
+		SortKey(Object element, int category, String name, Collator collator) {
+			fElement= element;
+			fCategory= category;
+			fName= name;
+			fCollationKey= collator != null && name != null ? collator.getCollationKey(name) : null;
+		}
+	}
+
 	private final MembersOrderPreferenceCache fMemberOrderCache;
 	private final boolean fSortPFRByName;
+	/**
+	 * <code>true</code> if the elements are compared by {@link #compare(Viewer, Object, Object)} of
+	 * this class, so that they can be sorted by their precomputed categories and names.
+	 */
+	private final boolean fComparesByCategory;
 
 	/**
 	 * Constructor.
@@ -110,6 +143,15 @@ public class JavaElementComparator extends ViewerComparator {
 		super(null); // delay initialization of collator
 		fMemberOrderCache= JavaPlugin.getDefault().getMemberOrderPreferenceCache();
 		fSortPFRByName = sortPFRByName;
+		fComparesByCategory= !overridesCompare(getClass());
+	}
+
+	private static boolean overridesCompare(Class<?> clazz) {
+		try {
+			return clazz.getMethod("compare", Viewer.class, Object.class, Object.class).getDeclaringClass() != JavaElementComparator.class; //$NON-NLS-1$
+		} catch (NoSuchMethodException | SecurityException e) {
+			return true;
+		}
 	}
 
 
@@ -198,11 +240,95 @@ public class JavaElementComparator extends ViewerComparator {
 		return offset + MEMBERSOFFSET;
 	}
 
+	@Override
+	public void sort(Viewer viewer, Object[] elements) {
+		if (!fComparesByCategory) {
+			// subclasses may compare elements by other means than the category
+			super.sort(viewer, elements);
+			return;
+		}
+		if (elements.length >= SORT_KEYS_THRESHOLD && sortByKeys(viewer, elements))
+			return;
+		// the categories of members are computed from the modifiers, compute them once
+		SortKey[] keys= new SortKey[elements.length];
+		for (int i= 0; i < elements.length; i++) {
+			keys[i]= new SortKey(elements[i], category(elements[i]), null, null);
+		}
+		Arrays.sort(keys, (k1, k2) -> compare(viewer, k1.fElement, k1.fCategory, k2.fElement, k2.fCategory));
+		for (int i= 0; i < keys.length; i++) {
+			elements[i]= keys[i].fElement;
+		}
+	}
+
+	/**
+	 * Sorts elements that are compared by category and name only, e.g. the children of large
+	 * packages and archives. The category and the collation key of each element are computed once
+	 * instead of for each comparison.
+	 *
+	 * @param viewer the viewer
+	 * @param elements the elements to sort
+	 * @return <code>true</code> if the elements have been sorted, <code>false</code> if there are
+	 *         elements that need to be compared by {@link #compare(Viewer, Object, Object)}
+	 */
+	private boolean sortByKeys(Viewer viewer, Object[] elements) {
+		Object comparator= getComparator();
+		Collator collator= comparator instanceof Collator ? (Collator) comparator : null;
+		SortKey[] keys= new SortKey[elements.length];
+		for (int i= 0; i < elements.length; i++) {
+			Object element= elements[i];
+			int category= category(element);
+			String name= getSortName(viewer, element, category);
+			if (name == null)
+				return false;
+			keys[i]= new SortKey(element, category, name, collator);
+		}
+		Arrays.sort(keys, (k1, k2) -> {
+			if (k1.fCategory != k2.fCategory)
+				return k1.fCategory - k2.fCategory;
+			if (collator != null)
+				return k1.fCollationKey.compareTo(k2.fCollationKey);
+			return getComparator().compare(k1.fName, k2.fName);
+		});
+		for (int i= 0; i < keys.length; i++) {
+			elements[i]= keys[i].fElement;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the name by which an element is compared to other elements of its category, if the
+	 * element is compared by category and name only.
+	 *
+	 * @param viewer the viewer
+	 * @param element the element
+	 * @param category the category of the element
+	 * @return the name, or <code>null</code> if the element is compared otherwise
+	 */
+	private String getSortName(Viewer viewer, Object element, int category) {
+		switch (category) {
+			case COMPILATIONUNITS:
+			case CLASSFILES:
+			case PACKAGEFRAGMENT:
+				// package fragments are compared with the classpath index of roots only
+				if (element instanceof ICompilationUnit || element instanceof IClassFile || element instanceof IPackageFragment)
+					return ((IJavaElement) element).getElementName();
+				return null;
+			case RESOURCES:
+			case RESOURCEFOLDERS:
+				if (element instanceof IResource || element instanceof IJarEntryResource)
+					return getNonJavaElementLabel(viewer, element);
+				return null;
+			default:
+				return null;
+		}
+	}
+
 	@Override
 	public int compare(Viewer viewer, Object e1, Object e2) {
-		int cat1= category(e1);
-		int cat2= category(e2);
+		return compare(viewer, e1, category(e1), e2, category(e2));
+	}
 
+	private int compare(Viewer viewer, Object e1, int cat1, Object e2, int cat2) {
 		if (needsClasspathComparison(e1, cat1, e2, cat2)) {
 			IPackageFragmentRoot root1= getPackageFragmentRoot(e1);
 			IPackageFragmentRoot root2= getPackageFragmentRoot(e2);
@@ -3752,7 +3752,11 @@ public class PreferenceConstants {
 	 *
 	 * @see org.eclipse.jdt.internal.ui.text.java.ContentAssistHistory#load(org.eclipse.core.runtime.Preferences, String)
 	 * @since 3.2
+	 * @deprecated As of 3.28, the history is journaled in the plug-in's state location, see
+	 *             {@link org.eclipse.jdt.internal.ui.JavaPlugin#getContentAssistHistory()}. This
+	 *             preference is only read to migrate an existing history and is cleared afterwards.
 	 */
+	@Deprecated
 	public static final String CODEASSIST_LRU_HISTORY= "content_assist_lru_history"; //$NON-NLS-1$
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -148,6 +148,12 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 
 	private ListenerList<ILabelProviderListener> fListeners;
 	private ISourceRange fCachedRange;
+	/**
+	 * <code>true</code> if {@link #isInside(int, ISourceReference)} is not overridden, the
+	 * markers of members can then be looked up in the sorted marker ranges of the problem marker
+	 * manager.
+	 */
+	private final boolean fUseMarkerRanges;
 
 	/** job to update adornments for container resources in UI thread */
 	private final AdornmentUpdateJob adornmentUpdateJob;
@@ -170,9 +176,22 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 	public ProblemsLabelDecorator(ImageDescriptorRegistry registry) {
 		fRegistry= registry;
 		adornmentUpdateJob = new AdornmentUpdateJob();
+		fUseMarkerRanges= !overridesIsInside(getClass());
 		AdornmentCacheManager.register(this);
 	}
 
+	private static boolean overridesIsInside(Class<?> clazz) {
+		for (Class<?> curr= clazz; curr != ProblemsLabelDecorator.class; curr= curr.getSuperclass()) {
+			try {
+				curr.getDeclaredMethod("isInside", int.class, ISourceReference.class); //$NON-NLS-1$
+				return true;
+			} catch (NoSuchMethodException e) {
+				// check the super class
+			}
+		}
+		return false;
+	}
+
 	private ImageDescriptorRegistry getRegistry() {
 		if (fRegistry == null) {
 			fRegistry= fUseNewRegistry ? new ImageDescriptorRegistry() : JavaPlugin.getImageDescriptorRegistry();
@@ -604,6 +623,16 @@ public class ProblemsLabelDecorator implements ILabelDecorator, ILightweightLabe
 			return 0;
 		}
 		int severity= -1;
+		if (fUseMarkerRanges && res.getType() == IResource.FILE) {
+			if (fCachedRange == null) {
+				fCachedRange= sourceElement.getSourceRange();
+			}
+			ISourceRange range= fCachedRange;
+			if (range != null) {
+				severity= JavaPlugin.getDefault().getProblemMarkerManager().findMaxProblemSeverity(res, range.getOffset(), range.getLength());
+			}
+			return convertToTick(severity);
+		}
 		IMarker[] markers= res.findMarkers(IMarker.PROBLEM, true, depth);
 		if (markers != null && markers.length > 0) {
 			for (int i= 0; i < markers.length && (severity != IMarker.SEVERITY_ERROR); i++) {
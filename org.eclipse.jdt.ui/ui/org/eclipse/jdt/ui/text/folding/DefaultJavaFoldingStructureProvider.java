@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2011 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -73,9 +73,11 @@ import org.eclipse.jdt.ui.PreferenceConstants;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.actions.SelectionConverter;
+import org.eclipse.jdt.internal.ui.javaeditor.CompilationUnitEditor;
 import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
 import org.eclipse.jdt.internal.ui.text.DocumentCharacterIterator;
+import org.eclipse.jdt.internal.ui.text.folding.FoldingDirtyRegionTracker;
 
 /**
  * Updates the projection model of a class file or compilation unit.
@@ -136,6 +138,17 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 			fHasHeaderComment= true;
 		}
 
+		/**
+		 * Discards the computed folding regions.
+		 *
+		 * @since 3.28
+		 */
+		private void reset() {
+			fMap.clear();
+			fFirstType= null;
+			fHasHeaderComment= false;
+		}
+
 		/**
 		 * Returns <code>true</code> if newly created folding regions may be collapsed,
 		 * <code>false</code> if not. This is usually <code>false</code> when updating the
@@ -363,15 +376,40 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 				if (shouldIgnoreDelta(e.getDelta().getCompilationUnitAST(), delta))
 					return;
 
+				// without reconcile notifications, everything modified so far is taken
+				if (!(fEditor instanceof CompilationUnitEditor))
+					fDirtyRegionTracker.snapshot();
+				IRegion dirtyRegion= fDirtyRegionTracker.consume();
+				if (hasTypeHandleChange(delta))
+					dirtyRegion= null;
+
 				fUpdatingCount++;
 				try {
-					update(createContext(false));
+					update(createContext(false), dirtyRegion);
 				} finally {
 					fUpdatingCount--;
 				}
 			}
 		}
 
+		/**
+		 * Returns <code>true</code> if a type was added or removed. This changes the handles of
+		 * all members of the type, including the ones whose source did not change.
+		 *
+		 * @param delta the delta of the input element
+		 * @return <code>true</code> if the delta adds or removes a type
+		 * @since 3.28
+		 */
+		private boolean hasTypeHandleChange(IJavaElementDelta delta) {
+			for (IJavaElementDelta child : delta.getAffectedChildren()) {
+				if (child.getKind() != IJavaElementDelta.CHANGED && child.getElement().getElementType() == IJavaElement.TYPE)
+					return true;
+				if (hasTypeHandleChange(child))
+					return true;
+			}
+			return false;
+		}
+
 		/**
 		 * Ignore the delta if there are errors on the caret line.
 		 * <p>
@@ -727,6 +765,12 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 
 	private volatile int fUpdatingCount= 0;
 
+	/**
+	 * Tracks the document changes that incremental updates have to look at.
+	 * @since 3.28
+	 */
+	private final FoldingDirtyRegionTracker fDirtyRegionTracker= new FoldingDirtyRegionTracker();
+
 	/**
 	 * Creates a new folding provider. It must be
 	 * {@link #install(ITextEditor, ProjectionViewer) installed} on an editor/viewer pair before it
@@ -827,6 +871,9 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 	 * </p>
 	 */
 	protected void handleProjectionDisabled() {
+		fDirtyRegionTracker.uninstall();
+		if (fEditor instanceof CompilationUnitEditor)
+			((CompilationUnitEditor) fEditor).removeReconcileListener(fDirtyRegionTracker);
 		if (fElementListener != null) {
 			JavaCore.removeElementChangedListener(fElementListener);
 			fElementListener= null;
@@ -852,7 +899,13 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		if (fInput == null)
 			return null;
 
-		return createContext(true);
+		FoldingStructureComputationContext ctx= createContext(true);
+		if (ctx != null) {
+			fDirtyRegionTracker.install(ctx.getDocument());
+			if (fEditor instanceof CompilationUnitEditor)
+				((CompilationUnitEditor) fEditor).addReconcileListener(fDirtyRegionTracker);
+		}
+		return ctx;
 	}
 
 	private FoldingStructureComputationContext createContext(boolean allowCollapse) {
@@ -888,6 +941,19 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 	}
 
 	private void update(FoldingStructureComputationContext ctx) {
+		update(ctx, null);
+	}
+
+	/**
+	 * Updates the folding structure. If a dirty region is given, only the elements overlapping
+	 * the lines of that region are recomputed and compared to their existing annotations, all
+	 * other annotations are kept; their positions have been updated by the document already.
+	 *
+	 * @param ctx the computation context
+	 * @param dirtyRegion the region modified since the last update, or <code>null</code> to
+	 *            recompute the entire folding structure
+	 */
+	private void update(FoldingStructureComputationContext ctx, IRegion dirtyRegion) {
 		if (ctx == null)
 			return;
 
@@ -895,9 +961,20 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		List<JavaProjectionAnnotation> deletions= new ArrayList<>();
 		List<JavaProjectionAnnotation> updates= new ArrayList<>();
 
-		computeFoldingStructure(ctx);
+		Set<IJavaElement> scope= null;
+		if (dirtyRegion != null) {
+			dirtyRegion= alignToLines(dirtyRegion, ctx);
+			scope= new HashSet<>();
+			if (dirtyRegion == null || !computeFoldingStructure(dirtyRegion, scope, ctx)) {
+				scope= null;
+				dirtyRegion= null;
+				ctx.reset();
+			}
+		}
+		if (scope == null)
+			computeFoldingStructure(ctx);
 		Map<JavaProjectionAnnotation, Position> newStructure= ctx.fMap;
-		Map<IJavaElement, List<Tuple>> oldStructure= computeCurrentStructure(ctx);
+		Map<IJavaElement, List<Tuple>> oldStructure= computeCurrentStructure(ctx, scope, dirtyRegion);
 
 		Iterator<JavaProjectionAnnotation> e= newStructure.keySet().iterator();
 		while (e.hasNext()) {
@@ -983,6 +1060,95 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		}
 	}
 
+	/**
+	 * Computes the folding structure of the elements that overlap the given region.
+	 *
+	 * @param dirtyRegion the line aligned region that has been modified
+	 * @param scope a set that receives the elements whose folding structure was computed
+	 * @param ctx the computation context
+	 * @return <code>false</code> if the region may affect folding regions of elements it does not
+	 *         overlap, e.g. the header comment, and the entire structure has to be computed
+	 * @since 3.28
+	 */
+	private boolean computeFoldingStructure(IRegion dirtyRegion, Set<IJavaElement> scope, FoldingStructureComputationContext ctx) {
+		if (!(fInput instanceof ISourceReference) || !(fInput instanceof IParent))
+			return false;
+		try {
+			IJavaElement[] children= ((IParent) fInput).getChildren();
+			IType firstType= null;
+			for (IJavaElement child : children) {
+				if (child instanceof IType) {
+					firstType= (IType) child;
+					break;
+				}
+			}
+			if (firstType == null)
+				return false;
+			ISourceRange firstTypeRange= firstType.getSourceRange();
+			if (!SourceRange.isAvailable(firstTypeRange) || dirtyRegion.getOffset() <= firstTypeRange.getOffset())
+				return false;
+			// the header comment is only computed for the first type, keep it if the first type is not visited
+			if (!overlaps(firstTypeRange, dirtyRegion))
+				ctx.setFirstType(firstType);
+
+			String source= ((ISourceReference) fInput).getSource();
+			if (source == null)
+				return false;
+
+			ctx.getScanner().setSource(source.toCharArray());
+			computeFoldingStructure(children, dirtyRegion, scope, ctx);
+			return true;
+		} catch (JavaModelException x) {
+			return false;
+		}
+	}
+
+	private void computeFoldingStructure(IJavaElement[] elements, IRegion dirtyRegion, Set<IJavaElement> scope, FoldingStructureComputationContext ctx) throws JavaModelException {
+		for (IJavaElement element : elements) {
+			if (!(element instanceof ISourceReference))
+				continue;
+			ISourceRange range= ((ISourceReference) element).getSourceRange();
+			if (!SourceRange.isAvailable(range) || !overlaps(range, dirtyRegion))
+				continue;
+
+			scope.add(element);
+			computeFoldingStructure(element, ctx);
+
+			if (element instanceof IParent) {
+				IParent parent= (IParent) element;
+				computeFoldingStructure(parent.getChildren(), dirtyRegion, scope, ctx);
+			}
+		}
+	}
+
+	private static boolean overlaps(ISourceRange range, IRegion region) {
+		return range.getOffset() <= region.getOffset() + region.getLength() && region.getOffset() <= range.getOffset() + range.getLength();
+	}
+
+	private static boolean overlaps(Position position, IRegion region) {
+		return position.getOffset() < region.getOffset() + region.getLength() && region.getOffset() < position.getOffset() + position.getLength();
+	}
+
+	/**
+	 * Extends a region to comprise the entire lines it touches.
+	 *
+	 * @param region the region to extend
+	 * @param ctx the computation context
+	 * @return the extended region, or <code>null</code> if the region is not valid in the document
+	 * @since 3.28
+	 */
+	private IRegion alignToLines(IRegion region, FoldingStructureComputationContext ctx) {
+		IDocument document= ctx.getDocument();
+		try {
+			int start= document.getLineOffset(document.getLineOfOffset(region.getOffset()));
+			IRegion endLine= document.getLineInformationOfOffset(region.getOffset() + region.getLength());
+			return new Region(start, endLine.getOffset() + endLine.getLength() - start);
+		} catch (BadLocationException x) {
+			// concurrent modification
+			return null;
+		}
+	}
+
 	private void computeFoldingStructure(IJavaElement[] elements, FoldingStructureComputationContext ctx) throws JavaModelException {
 		for (IJavaElement element : elements) {
 			computeFoldingStructure(element, ctx);
@@ -1391,7 +1557,19 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 		return null;
 	}
 
-	private Map<IJavaElement, List<Tuple>> computeCurrentStructure(FoldingStructureComputationContext ctx) {
+	/**
+	 * Returns the existing annotations grouped by element. If a scope is given, only the
+	 * annotations of elements in the scope and the annotations of elements that no longer exist
+	 * inside the dirty region are returned.
+	 *
+	 * @param ctx the computation context
+	 * @param scope the elements whose folding structure has been computed, or <code>null</code>
+	 *            for all elements
+	 * @param dirtyRegion the region modified since the last update, or <code>null</code> if
+	 *            <code>scope</code> is <code>null</code>
+	 * @return the current structure
+	 */
+	private Map<IJavaElement, List<Tuple>> computeCurrentStructure(FoldingStructureComputationContext ctx, Set<IJavaElement> scope, IRegion dirtyRegion) {
 		Map<IJavaElement, List<Tuple>> map= new HashMap<>();
 		ProjectionAnnotationModel model= ctx.getModel();
 		Iterator<Annotation> e= model.getAnnotationIterator();
@@ -1401,6 +1579,12 @@ public class DefaultJavaFoldingStructureProvider implements IJavaFoldingStructur
 				JavaProjectionAnnotation java= (JavaProjectionAnnotation) annotation;
 				Position position= model.getPosition(java);
 				Assert.isNotNull(position);
+				if (scope != null && !scope.contains(java.getElement())) {
+					IJavaElement element= java.getElement();
+					boolean stale= (position.isDeleted() || overlaps(position, dirtyRegion)) && (element == null || !element.exists());
+					if (!stale)
+						continue;
+				}
 				List<Tuple> list= map.get(java.getElement());
 				if (list == null) {
 					list= new ArrayList<>(2);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -38,6 +38,11 @@ import org.eclipse.jdt.internal.ui.text.java.ContentAssistHistory.RHSHistory;
 /**
  * Describes the context of a content assist invocation in a Java editor.
  * <p>
+ * The lazily computed values are published under the lock of the context, so that the context
+ * may be accessed from other threads than the one running the proposal computers. Values that
+ * require code completion are computed outside of the lock.
+ * </p>
+ * <p>
  * Clients may use but not subclass this class.
  * </p>
  *
@@ -60,6 +65,18 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	private IJavaCompletionProposal[] fKeywordProposals= null;
 	private CompletionContext fCoreContext= null;
 
+	/**
+	 * The context of the same invocation whose core context and keyword proposals are used when
+	 * no collector provides them, or <code>null</code> if this context computes them itself.
+	 */
+	private JavaContentAssistInvocationContext fSharedContext;
+
+	/**
+	 * Held while {@link #computeKeywordsAndContext()} runs code completion, so that it runs once
+	 * per context. Never acquired while holding the lock of the context.
+	 */
+	private final Object fCompletionLock= new Object();
+
 	/**
 	 * Creates a new context.
 	 *
@@ -103,7 +120,7 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 *
 	 * @return the compilation unit that content assist is invoked in, possibly <code>null</code>
 	 */
-	public ICompilationUnit getCompilationUnit() {
+	public synchronized ICompilationUnit getCompilationUnit() {
 		if (!fCUComputed) {
 			fCUComputed= true;
 			if (fCollector != null) {
@@ -140,17 +157,26 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 * @return the available keyword proposals
 	 */
 	public IJavaCompletionProposal[] getKeywordProposals() {
-		if (fKeywordProposals == null) {
-			if (fCollector != null && !fCollector.isIgnored(CompletionProposal.KEYWORD) && fCollector.getContext() != null) {
-				// use the existing collector if it exists, collects keywords, and has already been invoked
-				fKeywordProposals= fCollector.getKeywordCompletionProposals();
-			} else {
-				// otherwise, retrieve keywords ourselves
-				computeKeywordsAndContext();
+		CompletionProposalCollector collector;
+		synchronized (this) {
+			if (fKeywordProposals != null)
+				return fKeywordProposals;
+			collector= fCollector;
+		}
+		if (collector != null && !collector.isIgnored(CompletionProposal.KEYWORD) && collector.getContext() != null) {
+			// use the existing collector if it exists, collects keywords, and has already been invoked
+			IJavaCompletionProposal[] keywordProposals= collector.getKeywordCompletionProposals();
+			synchronized (this) {
+				if (fKeywordProposals == null)
+					fKeywordProposals= keywordProposals;
+				return fKeywordProposals;
 			}
 		}
-
-		return fKeywordProposals;
+		// otherwise, retrieve keywords ourselves
+		computeKeywordsAndContext();
+		synchronized (this) {
+			return fKeywordProposals;
+		}
 	}
 
 	/**
@@ -165,21 +191,30 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 * @return the core completion context if available, <code>null</code> otherwise
 	 */
 	public CompletionContext getCoreContext() {
-		if (fCollector != null) {
-			CompletionContext context= fCollector.getContext();
+		CompletionProposalCollector collector;
+		synchronized (this) {
+			collector= fCollector;
+		}
+		if (collector != null) {
+			CompletionContext context= collector.getContext();
 			if (context != null) {
-				if (fCoreContext == null) {
-					fCoreContext= context;
+				synchronized (this) {
+					if (fCoreContext == null) {
+						fCoreContext= context;
+					}
 				}
 				return context;
 			}
 		}
 
-		if (fCoreContext == null) {
-			computeKeywordsAndContext(); // Retrieve the context ourselves
+		synchronized (this) {
+			if (fCoreContext != null)
+				return fCoreContext;
+		}
+		computeKeywordsAndContext(); // Retrieve the context ourselves
+		synchronized (this) {
+			return fCoreContext;
 		}
-
-		return fCoreContext;
 	}
 
 	/**
@@ -206,20 +241,27 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 * @return the content assist type history for the expected type
 	 */
 	private RHSHistory getRHSHistory() {
-		if (fRHSHistory == null) {
-			CompletionContext context= getCoreContext();
-			if (context != null) {
-				char[][] expectedTypes= context.getExpectedTypesSignatures();
-				if (expectedTypes != null && expectedTypes.length > 0) {
-					String expected= SignatureUtil.stripSignatureToFQN(String.valueOf(expectedTypes[0]));
-					fRHSHistory= JavaPlugin.getDefault().getContentAssistHistory().getHistory(expected);
-				}
-			}
-			if (fRHSHistory == null) {
-				fRHSHistory= JavaPlugin.getDefault().getContentAssistHistory().getHistory(null);
+		synchronized (this) {
+			if (fRHSHistory != null)
+				return fRHSHistory;
+		}
+		RHSHistory history= null;
+		CompletionContext context= getCoreContext();
+		if (context != null) {
+			char[][] expectedTypes= context.getExpectedTypesSignatures();
+			if (expectedTypes != null && expectedTypes.length > 0) {
+				String expected= SignatureUtil.stripSignatureToFQN(String.valueOf(expectedTypes[0]));
+				history= JavaPlugin.getDefault().getContentAssistHistory(getProject()).getHistory(expected);
 			}
 		}
-		return fRHSHistory;
+		if (history == null) {
+			history= JavaPlugin.getDefault().getContentAssistHistory(getProject()).getHistory(null);
+		}
+		synchronized (this) {
+			if (fRHSHistory == null)
+				fRHSHistory= history;
+			return fRHSHistory;
+		}
 	}
 
 	/**
@@ -233,15 +275,21 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 * @return the expected type if any, <code>null</code> otherwise
 	 */
 	public IType getExpectedType() {
-		if (fType == null && getCompilationUnit() != null) {
+		synchronized (this) {
+			if (fType != null)
+				return fType;
+		}
+		IType type= null;
+		ICompilationUnit cu= getCompilationUnit();
+		if (cu != null) {
 			CompletionContext context= getCoreContext();
 			if (context != null) {
 				char[][] expectedTypes= context.getExpectedTypesSignatures();
 				if (expectedTypes != null && expectedTypes.length > 0) {
-					IJavaProject project= getCompilationUnit().getJavaProject();
+					IJavaProject project= cu.getJavaProject();
 					if (project != null) {
 						try {
-							fType= project.findType(SignatureUtil.stripSignatureToFQN(String.valueOf(expectedTypes[0])));
+							type= project.findType(SignatureUtil.stripSignatureToFQN(String.valueOf(expectedTypes[0])));
 						} catch (JavaModelException x) {
 							JavaPlugin.log(x);
 						}
@@ -249,7 +297,11 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 				}
 			}
 		}
-		return fType;
+		synchronized (this) {
+			if (fType == null)
+				fType= type;
+			return fType;
+		}
 	}
 
 	/**
@@ -257,7 +309,7 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 *
 	 * @return a label provider that can be used to compute proposal labels
 	 */
-	public CompletionProposalLabelProvider getLabelProvider() {
+	public synchronized CompletionProposalLabelProvider getLabelProvider() {
 		if (fLabelProvider == null) {
 			if (fCollector != null) {
 				fLabelProvider= fCollector.getLabelProvider();
@@ -280,46 +332,99 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 *
 	 * @param collector the collector
 	 */
-	void setCollector(CompletionProposalCollector collector) {
+	synchronized void setCollector(CompletionProposalCollector collector) {
 		fCollector= collector;
 	}
 
+	/**
+	 * Makes this context use the core context and the keyword proposals of another context of the
+	 * same invocation when no collector provides them, instead of running code completion itself.
+	 * This allows proposal computers that are called concurrently with their own contexts to run
+	 * code completion for these values only once.
+	 *
+	 * @param context the context of the same invocation
+	 * @since 3.28
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	public synchronized void setSharedContext(JavaContentAssistInvocationContext context) {
+		Assert.isTrue(context != this);
+		fSharedContext= context;
+	}
+
 	/**
 	 * Fallback to retrieve a core context and keyword proposals when no collector is available.
 	 * Runs code completion on the cu and collects keyword proposals. {@link #fKeywordProposals} is
 	 * non-<code>null</code> after this call.
+	 * <p>
+	 * Code completion runs outside of the lock of the context, the results are published under
+	 * the lock.
+	 * </p>
 	 *
 	 * @since 3.3
 	 */
 	private void computeKeywordsAndContext() {
-		ICompilationUnit cu= getCompilationUnit();
-		if (cu == null) {
-			if (fKeywordProposals == null) {
-				fKeywordProposals= new IJavaCompletionProposal[0];
+		JavaContentAssistInvocationContext shared;
+		synchronized (this) {
+			shared= fSharedContext;
+		}
+		if (shared != null) {
+			// code completion runs once in the shared context
+			CompletionContext coreContext= shared.getCoreContext();
+			IJavaCompletionProposal[] keywordProposals= shared.getKeywordProposals();
+			synchronized (this) {
+				if (fCoreContext == null) {
+					fCoreContext= coreContext;
+				}
+				if (fKeywordProposals == null) {
+					fKeywordProposals= keywordProposals;
+				}
 			}
 			return;
 		}
-
-		CompletionProposalCollector collector= new CompletionProposalCollector(cu, true);
-		collector.setIgnored(CompletionProposal.KEYWORD, false);
-
-		try {
-			cu.codeComplete(getInvocationOffset(), collector, new CompletionTimeoutProgressMonitor());
-			if (fCoreContext == null) {
-				fCoreContext= collector.getContext();
+		synchronized (fCompletionLock) {
+			synchronized (this) {
+				if (fCoreContext != null && fKeywordProposals != null)
+					return;
 			}
-			if (fKeywordProposals == null) {
-				fKeywordProposals= collector.getKeywordCompletionProposals();
-			}
-			if (fLabelProvider == null) {
-				fLabelProvider= collector.getLabelProvider();
-			}
-		} catch (JavaModelException x) {
-			if (!x.isDoesNotExist() || cu.getJavaProject() == null || cu.getJavaProject().isOnClasspath(cu)) {
-				JavaPlugin.log(x);
+
+			ICompilationUnit cu= getCompilationUnit();
+			if (cu == null) {
+				synchronized (this) {
+					if (fKeywordProposals == null) {
+						fKeywordProposals= new IJavaCompletionProposal[0];
+					}
+				}
+				return;
 			}
-			if (fKeywordProposals == null) {
-				fKeywordProposals= new IJavaCompletionProposal[0];
+
+			CompletionProposalCollector collector= new CompletionProposalCollector(cu, true);
+			collector.setIgnored(CompletionProposal.KEYWORD, false);
+
+			try {
+				cu.codeComplete(getInvocationOffset(), collector, new CompletionTimeoutProgressMonitor());
+				CompletionContext coreContext= collector.getContext();
+				IJavaCompletionProposal[] keywordProposals= collector.getKeywordCompletionProposals();
+				CompletionProposalLabelProvider labelProvider= collector.getLabelProvider();
+				synchronized (this) {
+					if (fCoreContext == null) {
+						fCoreContext= coreContext;
+					}
+					if (fKeywordProposals == null) {
+						fKeywordProposals= keywordProposals;
+					}
+					if (fLabelProvider == null) {
+						fLabelProvider= labelProvider;
+					}
+				}
+			} catch (JavaModelException x) {
+				if (!x.isDoesNotExist() || cu.getJavaProject() == null || cu.getJavaProject().isOnClasspath(cu)) {
+					JavaPlugin.log(x);
+				}
+				synchronized (this) {
+					if (fKeywordProposals == null) {
+						fKeywordProposals= new IJavaCompletionProposal[0];
+					}
+				}
 			}
 		}
 	}